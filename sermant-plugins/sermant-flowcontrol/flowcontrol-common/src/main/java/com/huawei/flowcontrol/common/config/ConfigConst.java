@@ -259,6 +259,21 @@ public class ConfigConst {
      */
     public static final String FLOW_REMOTE_SERVICE_NAME_HEADER_KEY = "sermant.flowcontrol.header.remote.service.name";
 
+    /**
+     * 系统规则滑动窗口默认窗口数量
+     */
+    public static final int DEFAULT_SYSTEM_WINDOW_BUCKET_COUNT = 60;
+
+    /**
+     * 系统规则滑动窗口默认单个窗口时长, 单位毫秒
+     */
+    public static final long DEFAULT_SYSTEM_WINDOW_BUCKET_WIDTH_MS = 1000L;
+
+    /**
+     * 系统状态默认采样周期, 单位毫秒
+     */
+    public static final long DEFAULT_SYSTEM_STATUS_SAMPLE_PERIOD_MS = 100L;
+
     private ConfigConst() {
     }
 }
@@ -296,6 +296,24 @@ public class FlowControlConfig implements PluginConfig {
     @ConfigFieldKey("enable-system-rule")
     private boolean enableSystemRule;
 
+    /**
+     * 系统规则滑动窗口数量
+     */
+    @ConfigFieldKey("system-window-bucket-count")
+    private int systemWindowBucketCount = ConfigConst.DEFAULT_SYSTEM_WINDOW_BUCKET_COUNT;
+
+    /**
+     * 系统规则滑动窗口单个窗口时长, 单位毫秒
+     */
+    @ConfigFieldKey("system-window-bucket-width-ms")
+    private long systemWindowBucketWidthMs = ConfigConst.DEFAULT_SYSTEM_WINDOW_BUCKET_WIDTH_MS;
+
+    /**
+     * 系统状态采样周期, 单位毫秒, 支持亚秒级
+     */
+    @ConfigFieldKey("system-status-sample-period-ms")
+    private long systemStatusSamplePeriodMs = ConfigConst.DEFAULT_SYSTEM_STATUS_SAMPLE_PERIOD_MS;
+
     public boolean isUseOriginInvoker() {
         return useOriginInvoker;
     }
@@ -711,4 +729,28 @@ public class FlowControlConfig implements PluginConfig {
     public boolean isEnableSystemRule() {
         return enableSystemRule;
     }
+
+    public int getSystemWindowBucketCount() {
+        return systemWindowBucketCount;
+    }
+
+    public void setSystemWindowBucketCount(int systemWindowBucketCount) {
+        this.systemWindowBucketCount = systemWindowBucketCount;
+    }
+
+    public long getSystemWindowBucketWidthMs() {
+        return systemWindowBucketWidthMs;
+    }
+
+    public void setSystemWindowBucketWidthMs(long systemWindowBucketWidthMs) {
+        this.systemWindowBucketWidthMs = systemWindowBucketWidthMs;
+    }
+
+    public long getSystemStatusSamplePeriodMs() {
+        return systemStatusSamplePeriodMs;
+    }
+
+    public void setSystemStatusSamplePeriodMs(long systemStatusSamplePeriodMs) {
+        this.systemStatusSamplePeriodMs = systemStatusSamplePeriodMs;
+    }
 }
@@ -31,9 +31,11 @@ import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 解析器管理
@@ -57,6 +59,11 @@ public enum ResolverManager {
      */
     private Set<String> resolverConfigPrefix;
 
+    /**
+     * 整体下发的yaml配置缓存 map 配置键, 原始配置与展开后的规则配置; 配置未变化时直接复用, 无需重复解析
+     */
+    private final Map<String, YamlDocument> yamlDocuments = new ConcurrentHashMap<>();
+
     ResolverManager() {
         loadSpiResolvers();
     }
@@ -94,9 +101,47 @@ public enum ResolverManager {
             if (isTargetConfig(key, configKeyPrefixDic)) {
                 resolve(key, value, isForDelete);
             } else {
-                resolve(filterValidConfig(tryResolveWithYaml(value), configKeyPrefixDic), isForDelete);
+                final YamlDocument previous = key == null ? null : yamlDocuments.get(key);
+                final Map<String, String> configs = resolveYamlDocument(key, value, isForDelete, configKeyPrefixDic);
+                if (!isForDelete && previous != null) {
+                    // 重新下发的文档中不再包含的规则需删除
+                    resolve(getRemovedConfigs(previous.configs, configs), true);
+                }
+                resolve(configs, isForDelete);
+            }
+        }
+    }
+
+    private Map<String, String> getRemovedConfigs(Map<String, String> oldConfigs, Map<String, String> newConfigs) {
+        final Map<String, String> removedConfigs = new HashMap<>();
+        for (Entry<String, String> entry : oldConfigs.entrySet()) {
+            if (!newConfigs.containsKey(entry.getKey())) {
+                removedConfigs.put(entry.getKey(), entry.getValue());
             }
         }
+        return removedConfigs;
+    }
+
+    private Map<String, String> resolveYamlDocument(String key, String value, boolean isForDelete,
+            Set<String> configKeyPrefixDic) {
+        final YamlDocument cached = key == null ? null : yamlDocuments.get(key);
+
+        // 删除时以缓存的展开规则为准, 无需解析删除事件携带的配置
+        if (cached != null && (isForDelete || Objects.equals(cached.rawValue, value))) {
+            if (isForDelete) {
+                yamlDocuments.remove(key);
+            }
+            return cached.configs;
+        }
+        final Map<String, String> configs = filterValidConfig(tryResolveWithYaml(value), configKeyPrefixDic);
+        if (key != null) {
+            if (isForDelete) {
+                yamlDocuments.remove(key);
+            } else {
+                yamlDocuments.put(key, new YamlDocument(value, configs));
+            }
+        }
+        return configs;
     }
 
     /**
@@ -113,14 +158,22 @@ public enum ResolverManager {
                 continue;
             }
             String businessKey = key.substring(resolverEntry.getKey().length());
+            final AbstractResolver<?> resolver = resolverEntry.getValue();
 
-            // 匹配以该配置打头的解析器，更新解析器内容
-            final Optional<?> rule = resolverEntry.getValue().parseRule(businessKey, value, true, isForDelete);
-            if (rule.isPresent() || isForDelete) {
-                resolverEntry.getValue().notifyListeners(businessKey);
-                LoggerFactory.getLogger().info(String.format(Locale.ENGLISH,
-                    "Config [%s] has been updated or deleted successfully, raw content: [%s]", key, value));
+            // 配置与当前生效规则一致(原始配置相同或解析后的内容相同), 无需重新解析与通知
+            if (!isForDelete && resolver.isSameRule(businessKey, value)) {
+                continue;
             }
+
+            // 匹配以该配置打头的解析器，更新解析器内容, 仅在生效规则发生变化时通知该业务场景
+            final Object oldRule = resolver.getRules().get(businessKey);
+            resolver.parseRule(businessKey, value, true, isForDelete);
+            if (oldRule == null && resolver.getRules().get(businessKey) == null) {
+                continue;
+            }
+            resolver.notifyListeners(businessKey);
+            LoggerFactory.getLogger().info(String.format(Locale.ENGLISH,
+                "Config [%s] has been updated or deleted successfully, raw content: [%s]", key, value));
         }
     }
 
@@ -226,4 +279,20 @@ public enum ResolverManager {
         }
         resolverConfigPrefix = resolversMap.keySet();
     }
+
+    /**
+     * 整体下发的yaml配置
+     *
+     * @since 2023-01-19
+     */
+    private static class YamlDocument {
+        private final String rawValue;
+
+        private final Map<String, String> configs;
+
+        YamlDocument(String rawValue, Map<String, String> configs) {
+            this.rawValue = rawValue;
+            this.configs = configs;
+        }
+    }
 }
@@ -67,6 +67,18 @@ public class BusinessMatcher extends Configurable implements Matcher {
         this.matches = matches;
     }
 
+    /**
+     * 预编译所有匹配器的匹配条件
+     */
+    public void compile() {
+        if (matches == null) {
+            return;
+        }
+        for (RequestMatcher matcher : matches) {
+            matcher.compile();
+        }
+    }
+
     /**
      * 是否匹配
      *
@@ -19,6 +19,11 @@ package com.huawei.flowcontrol.common.core.match;
 
 import com.huawei.flowcontrol.common.core.resolver.AbstractResolver;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
 /**
  * 业务组
  *
@@ -31,6 +36,11 @@ public class MatchGroupResolver extends AbstractResolver<BusinessMatcher> {
      */
     public static final String CONFIG_KEY = "servicecomb.matchGroup";
 
+    /**
+     * 当前所有业务场景引用的请求头名称, 规则变更时整体替换
+     */
+    private volatile Set<String> headerKeys = Collections.emptySet();
+
     /**
      * 业务场景解析器构造
      */
@@ -38,6 +48,43 @@ public class MatchGroupResolver extends AbstractResolver<BusinessMatcher> {
         super(CONFIG_KEY);
     }
 
+    @Override
+    public Optional<BusinessMatcher> parseRule(String businessKey, String value, boolean isOverride,
+            boolean isForDelete) {
+        final Optional<BusinessMatcher> rule = super.parseRule(businessKey, value, isOverride, isForDelete);
+        refreshHeaderKeys();
+        return rule;
+    }
+
+    /**
+     * 获取当前所有业务场景引用的请求头名称, 请求侧仅需读取这些请求头
+     *
+     * @return 请求头名称
+     */
+    public Set<String> getHeaderKeys() {
+        return headerKeys;
+    }
+
+    private void refreshHeaderKeys() {
+        final Set<String> keys = new HashSet<>();
+        for (BusinessMatcher businessMatcher : getRules().values()) {
+            if (businessMatcher.getMatches() == null) {
+                continue;
+            }
+            for (RequestMatcher requestMatcher : businessMatcher.getMatches()) {
+                if (requestMatcher.getHeaders() != null) {
+                    keys.addAll(requestMatcher.getHeaders().keySet());
+                }
+            }
+        }
+        headerKeys = keys.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(keys);
+    }
+
+    @Override
+    protected void prepareRule(BusinessMatcher rule) {
+        rule.compile();
+    }
+
     @Override
     protected Class<BusinessMatcher> getRuleClass() {
         return BusinessMatcher.class;
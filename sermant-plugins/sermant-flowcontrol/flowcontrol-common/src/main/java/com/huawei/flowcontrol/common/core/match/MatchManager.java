@@ -106,6 +106,16 @@ public enum MatchManager {
         return Collections.singletonMap(businessName, businessMatcher);
     }
 
+    /**
+     * 获取当前业务场景引用的请求头名称
+     *
+     * @return 请求头名称
+     */
+    public Set<String> getHeaderKeys() {
+        final MatchGroupResolver resolver = getMatchGroupResolver();
+        return resolver == null ? Collections.emptySet() : resolver.getHeaderKeys();
+    }
+
     private MatchGroupResolver getMatchGroupResolver() {
         if (matchGroupResolver == null) {
             matchGroupResolver = ResolverManager.INSTANCE.getResolver(MatchGroupResolver.CONFIG_KEY);
@@ -21,6 +21,7 @@
 
 package com.huawei.flowcontrol.common.core.match;
 
+import com.huawei.flowcontrol.common.core.match.operator.CompiledOperator;
 import com.huawei.flowcontrol.common.core.match.operator.Operator;
 import com.huawei.flowcontrol.common.core.match.operator.OperatorManager;
 import com.huawei.flowcontrol.common.entity.RequestEntity;
@@ -61,6 +62,11 @@ public class RequestMatcher implements Matcher {
      */
     private String serviceName;
 
+    /**
+     * 预编译的请求头与请求路径匹配条件, 配置变更时重置
+     */
+    private volatile CompiledConditions compiledConditions;
+
     public String getServiceName() {
         return serviceName;
     }
@@ -83,6 +89,7 @@ public class RequestMatcher implements Matcher {
 
     public void setHeaders(Map<String, RawOperator> headers) {
         this.headers = headers;
+        this.compiledConditions = null;
     }
 
     public RawOperator getApiPath() {
@@ -91,6 +98,7 @@ public class RequestMatcher implements Matcher {
 
     public void setApiPath(RawOperator apiPath) {
         this.apiPath = apiPath;
+        this.compiledConditions = null;
     }
 
     public List<String> getMethod() {
@@ -130,18 +138,35 @@ public class RequestMatcher implements Matcher {
         return this.serviceName.equals(targetServiceName);
     }
 
+    /**
+     * 预编译请求头与请求路径的匹配条件, 规则解析时调用, 避免请求时重复解析匹配串
+     */
+    public void compile() {
+        getCompiledConditions();
+    }
+
+    private CompiledConditions getCompiledConditions() {
+        CompiledConditions conditions = compiledConditions;
+        if (conditions == null) {
+            conditions = new CompiledConditions(headers, apiPath);
+            compiledConditions = conditions;
+        }
+        return conditions;
+    }
+
     private boolean isHeadersMatch(Map<String, String> requestHeaders) {
         if (this.headers == null) {
             return true;
         }
+        final CompiledConditions conditions = getCompiledConditions();
 
         // 匹配请求头
-        for (Map.Entry<String, RawOperator> entry : this.headers.entrySet()) {
-            final String headerValue = requestHeaders.get(entry.getKey());
+        for (int i = 0; i < conditions.headerKeys.length; i++) {
+            final String headerValue = requestHeaders.get(conditions.headerKeys[i]);
             if (StringUtils.isEmpty(headerValue)) {
                 return false;
             }
-            if (!operatorMatch(headerValue, entry.getValue())) {
+            if (!conditions.headerOperators[i].match(headerValue)) {
                 return false;
             }
         }
@@ -152,7 +177,7 @@ public class RequestMatcher implements Matcher {
         if (this.apiPath == null) {
             return true;
         }
-        return operatorMatch(api, this.apiPath);
+        return getCompiledConditions().apiPathOperator.match(api);
     }
 
     private boolean isMethodMatch(String requestMethod) {
@@ -162,21 +187,60 @@ public class RequestMatcher implements Matcher {
         return this.method.contains(requestMethod);
     }
 
-    private boolean operatorMatch(String target, RawOperator operator) {
+    private static CompiledOperator compileOperator(RawOperator operator) {
         if (operator == null || operator.isEmpty()) {
-            return false;
+            return CompiledOperator.NEVER_MATCH;
         }
+        final CompiledOperator[] compiledOperators = new CompiledOperator[operator.size()];
+        int index = 0;
         for (Map.Entry<String, String> entry : operator.entrySet()) {
             final Operator matchOperator = OperatorManager.INSTANCE.getOperator(entry.getKey());
             if (matchOperator == null) {
                 // 无相关匹配器，数据错误！
-                return false;
+                return CompiledOperator.NEVER_MATCH;
             }
-            if (!matchOperator.match(target, String.valueOf(entry.getValue()))) {
-                // 条件全部匹配
-                return false;
+            compiledOperators[index++] = matchOperator.compile(String.valueOf(entry.getValue()));
+        }
+        if (compiledOperators.length == 1) {
+            return compiledOperators[0];
+        }
+        return target -> {
+            for (CompiledOperator compiledOperator : compiledOperators) {
+                if (!compiledOperator.match(target)) {
+                    // 条件全部匹配
+                    return false;
+                }
             }
+            return true;
+        };
+    }
+
+    /**
+     * 预编译的匹配条件
+     *
+     * @since 2023-01-19
+     */
+    private static class CompiledConditions {
+        private final String[] headerKeys;
+
+        private final CompiledOperator[] headerOperators;
+
+        private final CompiledOperator apiPathOperator;
+
+        CompiledConditions(Map<String, RawOperator> headers, RawOperator apiPath) {
+            if (headers == null) {
+                this.headerKeys = new String[0];
+                this.headerOperators = new CompiledOperator[0];
+            } else {
+                this.headerKeys = new String[headers.size()];
+                this.headerOperators = new CompiledOperator[headers.size()];
+                int index = 0;
+                for (Map.Entry<String, RawOperator> entry : headers.entrySet()) {
+                    headerKeys[index] = entry.getKey();
+                    headerOperators[index++] = compileOperator(entry.getValue());
+                }
+            }
+            this.apiPathOperator = compileOperator(apiPath);
         }
-        return true;
     }
 }
@@ -22,14 +22,9 @@
 
 package com.huawei.flowcontrol.common.core.match.operator;
 
-import com.huawei.flowcontrol.common.util.StringUtils;
-
 import com.huaweicloud.sermant.core.common.LoggerFactory;
 
-import java.util.Arrays;
-import java.util.HashSet;
 import java.util.Locale;
-import java.util.Set;
 import java.util.logging.Logger;
 
 /**
@@ -49,62 +44,30 @@ public class CompareOperator implements Operator {
      */
     private static final int OPERATOR_INDEX = 2;
 
-    private final Set<Character> operators = new HashSet<Character>();
-
-    /**
-     * 比较器构造
-     */
-    public CompareOperator() {
-        operators.addAll(Arrays.asList('=', '>', '<', '!'));
-    }
-
     @Override
-    public boolean match(String targetValue, String patternValue) {
-        if (targetValue == null || patternValue == null) {
-            return false;
+    public CompiledOperator compile(String patternValue) {
+        if (patternValue == null || patternValue.isEmpty() || !isOperatorChar(patternValue.charAt(0))) {
+            return CompiledOperator.NEVER_MATCH;
         }
-        if (operators.contains(patternValue.charAt(0)) && operators.contains(patternValue.charAt(1))) {
-            // 前两个字符为比较符
-            return compare(targetValue, patternValue.substring(0, OPERATOR_INDEX),
-                patternValue.substring(OPERATOR_INDEX));
-        } else if (operators.contains(patternValue.charAt(0))) {
-            // 仅第一个为比较字符
-            return compare(targetValue, patternValue.substring(0, 1), patternValue.substring(1));
-        } else {
-            return false;
-        }
-    }
 
-    private boolean compare(String targetValue, String operator, String num) {
-        double parsedTarget;
-        double parsedNum;
+        // 前两个字符为比较符时, 取两位比较符, 否则仅第一个为比较字符
+        final int operatorIndex = patternValue.length() > 1 && isOperatorChar(patternValue.charAt(1))
+            ? OPERATOR_INDEX : 1;
+        final String operator = patternValue.substring(0, operatorIndex);
+        final CompareType compareType = CompareType.of(operator);
+        if (compareType == null) {
+            LOGGER.warning(String.format(Locale.ENGLISH, "Not support operator %s", operator));
+            return CompiledOperator.NEVER_MATCH;
+        }
+        final String num = patternValue.substring(operatorIndex);
+        final double parsedNum;
         try {
-            parsedTarget = Double.parseDouble(targetValue);
             parsedNum = Double.parseDouble(num);
         } catch (NumberFormatException ex) {
-            // 转换失败的直接返回未匹配
-            LOGGER.warning(
-                String.format(Locale.ENGLISH, "Format number failed when convert %s and %s", targetValue, num));
-            return false;
-        }
-
-        // 根据operator进行比较
-        if (StringUtils.equal(operator, "=")) {
-            return doubleEquals(parsedTarget, parsedNum);
-        } else if (StringUtils.equal(operator, ">")) {
-            return parsedTarget > parsedNum;
-        } else if (StringUtils.equal(operator, "<")) {
-            return parsedTarget < parsedNum;
-        } else if (StringUtils.equal(operator, "!=") || StringUtils.equal(operator, "!")) {
-            return !doubleEquals(parsedTarget, parsedNum);
-        } else if (StringUtils.equal(operator, "<=")) {
-            return parsedTarget <= parsedNum;
-        } else if (StringUtils.equal(operator, ">=")) {
-            return parsedTarget >= parsedNum;
-        } else {
-            LOGGER.warning(String.format(Locale.ENGLISH, "Not support operator %s", operator));
-            return false;
+            LOGGER.warning(String.format(Locale.ENGLISH, "Format number failed when convert %s", num));
+            return CompiledOperator.NEVER_MATCH;
         }
+        return new CompiledCompare(compareType, parsedNum);
     }
 
     @Override
@@ -112,7 +75,92 @@ public class CompareOperator implements Operator {
         return "compare";
     }
 
-    private boolean doubleEquals(double target, double result) {
+    private static boolean isOperatorChar(char ch) {
+        return ch == '=' || ch == '>' || ch == '<' || ch == '!';
+    }
+
+    private static boolean doubleEquals(double target, double result) {
         return Math.abs(target - result) < DOUBLE_EPSLON;
     }
+
+    /**
+     * 比较类型
+     *
+     * @since 2023-01-19
+     */
+    private enum CompareType {
+        EQUAL,
+        GREATER,
+        LESS,
+        NOT_EQUAL,
+        LESS_OR_EQUAL,
+        GREATER_OR_EQUAL;
+
+        static CompareType of(String operator) {
+            switch (operator) {
+                case "=":
+                    return EQUAL;
+                case ">":
+                    return GREATER;
+                case "<":
+                    return LESS;
+                case "!=":
+                case "!":
+                    return NOT_EQUAL;
+                case "<=":
+                    return LESS_OR_EQUAL;
+                case ">=":
+                    return GREATER_OR_EQUAL;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    /**
+     * 预解析比较符与阈值的比较条件
+     *
+     * @since 2023-01-19
+     */
+    private static class CompiledCompare implements CompiledOperator {
+        private final CompareType compareType;
+
+        private final double threshold;
+
+        CompiledCompare(CompareType compareType, double threshold) {
+            this.compareType = compareType;
+            this.threshold = threshold;
+        }
+
+        @Override
+        public boolean match(String targetValue) {
+            if (targetValue == null) {
+                return false;
+            }
+            final double parsedTarget;
+            try {
+                parsedTarget = Double.parseDouble(targetValue);
+            } catch (NumberFormatException ex) {
+                // 转换失败的直接返回未匹配
+                LOGGER.warning(String.format(Locale.ENGLISH, "Format number failed when convert %s", targetValue));
+                return false;
+            }
+            switch (compareType) {
+                case EQUAL:
+                    return doubleEquals(parsedTarget, threshold);
+                case GREATER:
+                    return parsedTarget > threshold;
+                case LESS:
+                    return parsedTarget < threshold;
+                case NOT_EQUAL:
+                    return !doubleEquals(parsedTarget, threshold);
+                case LESS_OR_EQUAL:
+                    return parsedTarget <= threshold;
+                case GREATER_OR_EQUAL:
+                    return parsedTarget >= threshold;
+                default:
+                    return false;
+            }
+        }
+    }
 }
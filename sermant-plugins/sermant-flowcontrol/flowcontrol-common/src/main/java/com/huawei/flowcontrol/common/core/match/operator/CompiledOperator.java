@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.huawei.flowcontrol.common.core.match.operator;
+
+/**
+ * 预编译后的匹配条件, 匹配串已在规则加载时解析完成
+ *
+ * @author zhouss
+ * @since 2023-01-19
+ */
+@FunctionalInterface
+public interface CompiledOperator {
+    /**
+     * 不匹配任何目标串的条件
+     */
+    CompiledOperator NEVER_MATCH = targetValue -> false;
+
+    /**
+     * 匹配目标串
+     *
+     * @param targetValue 目标匹配串
+     * @return 是否匹配成功
+     */
+    boolean match(String targetValue);
+}
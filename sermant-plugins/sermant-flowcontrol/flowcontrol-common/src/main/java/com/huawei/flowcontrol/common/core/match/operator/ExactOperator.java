@@ -22,7 +22,7 @@
 
 package com.huawei.flowcontrol.common.core.match.operator;
 
-import com.huawei.flowcontrol.common.util.StringUtils;
+import java.util.Objects;
 
 /**
  * 相等匹配
@@ -32,8 +32,11 @@ import com.huawei.flowcontrol.common.util.StringUtils;
  */
 public class ExactOperator implements Operator {
     @Override
-    public boolean match(String targetValue, String patternValue) {
-        return StringUtils.equal(targetValue, patternValue);
+    public CompiledOperator compile(String patternValue) {
+        if (patternValue == null) {
+            return Objects::isNull;
+        }
+        return patternValue::equals;
     }
 
     @Override
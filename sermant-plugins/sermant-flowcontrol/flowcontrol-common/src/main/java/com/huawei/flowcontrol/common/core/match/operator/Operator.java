@@ -32,13 +32,23 @@ import com.huawei.flowcontrol.common.core.match.RawOperator;
  */
 public interface Operator {
     /**
-     * 键值匹配
+     * 键值匹配, 每次调用均会编译匹配串, 仅用于一次性匹配; 规则匹配需在规则加载时调用{@link #compile(String)}并复用编译结果
      *
      * @param targetValue 目标匹配串
      * @param patternValue 匹配匹配串
      * @return 是否匹配成功
      */
-    boolean match(String targetValue, String patternValue);
+    default boolean match(String targetValue, String patternValue) {
+        return compile(patternValue).match(targetValue);
+    }
+
+    /**
+     * 预编译匹配串, 规则加载时调用, 请求时仅需基于目标串进行匹配
+     *
+     * @param patternValue 匹配匹配串
+     * @return 编译后的匹配条件
+     */
+    CompiledOperator compile(String patternValue);
 
     /**
      * 匹配器ID
@@ -22,8 +22,6 @@
 
 package com.huawei.flowcontrol.common.core.match.operator;
 
-import com.huawei.flowcontrol.common.util.StringUtils;
-
 /**
  * 后缀匹配
  *
@@ -32,8 +30,11 @@ import com.huawei.flowcontrol.common.util.StringUtils;
  */
 public class SuffixOperator implements Operator {
     @Override
-    public boolean match(String targetValue, String patternValue) {
-        return StringUtils.suffix(targetValue, patternValue);
+    public CompiledOperator compile(String patternValue) {
+        if (patternValue == null) {
+            return CompiledOperator.NEVER_MATCH;
+        }
+        return targetValue -> targetValue != null && targetValue.endsWith(patternValue);
     }
 
     @Override
@@ -33,6 +33,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 /**
@@ -55,6 +56,16 @@ public abstract class AbstractResolver<T extends Configurable> {
      */
     private final Map<String, T> rules;
 
+    /**
+     * 原始规则数据 map 业务场景名, 生效规则对应的原始配置, 用于快速判断下发的配置是否变化
+     */
+    private final Map<String, String> rawRules = new ConcurrentHashMap<>();
+
+    /**
+     * 规则内容 map 业务场景名, 生效规则对应配置解析后的键值, 原始配置仅格式不同(如注释、键顺序)时视为同一规则
+     */
+    private final Map<String, Map<String, Object>> ruleContents = new ConcurrentHashMap<>();
+
     /**
      * 配置更新监听 进行解析后再通知
      */
@@ -109,18 +120,18 @@ public abstract class AbstractResolver<T extends Configurable> {
             return Optional.empty();
         }
         if (isForDelete) {
-            rules.remove(businessKey);
+            removeRule(businessKey);
             return Optional.empty();
         }
 
         // 值为空场景，用户删除了该业务场景名
         if (StringUtils.isEmpty(value) && isOverride) {
-            rules.remove(businessKey);
+            removeRule(businessKey);
             return Optional.empty();
         }
 
         // 1、移除旧的配置
-        rules.remove(businessKey);
+        removeRule(businessKey);
 
         // 2、转换配置
         final Optional<T> optionalRule = OperationManager.getOperation(YamlConverter.class)
@@ -140,12 +151,57 @@ public abstract class AbstractResolver<T extends Configurable> {
         if (!isServicesMatch(rule.getServices())) {
             return Optional.empty();
         }
+
+        // 5、规则预处理
+        prepareRule(rule);
         if (isOverride) {
             rules.put(businessKey, rule);
+            rawRules.put(businessKey, value);
+            parseContent(value).ifPresent(content -> ruleContents.put(businessKey, content));
         }
         return Optional.of(rule);
     }
 
+    /**
+     * 判断下发的配置与当前生效的规则是否一致, 一致时无需重新解析
+     *
+     * @param businessKey 业务场景名
+     * @param value 业务规则
+     * @return 是否一致
+     */
+    public boolean isSameRule(String businessKey, String value) {
+        if (value == null || !rules.containsKey(businessKey)) {
+            return false;
+        }
+        if (value.equals(rawRules.get(businessKey))) {
+            return true;
+        }
+        final Map<String, Object> content = ruleContents.get(businessKey);
+        if (content == null || !parseContent(value).filter(content::equals).isPresent()) {
+            return false;
+        }
+        rawRules.put(businessKey, value);
+        return true;
+    }
+
+    private Optional<Map<String, Object>> parseContent(String value) {
+        return OperationManager.getOperation(YamlConverter.class).convert(value, Map.class);
+    }
+
+    private void removeRule(String businessKey) {
+        rules.remove(businessKey);
+        rawRules.remove(businessKey);
+        ruleContents.remove(businessKey);
+    }
+
+    /**
+     * 规则预处理, 在规则生效前执行, 子类可在此提前完成解析等耗时操作
+     *
+     * @param rule 规则
+     */
+    protected void prepareRule(T rule) {
+    }
+
     /**
      * 获取规则实体类型
      *
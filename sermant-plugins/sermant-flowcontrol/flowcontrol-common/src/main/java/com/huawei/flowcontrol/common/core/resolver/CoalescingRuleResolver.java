@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.huawei.flowcontrol.common.core.resolver;
+
+import com.huawei.flowcontrol.common.core.rule.CoalescingRule;
+
+/**
+ * 请求合并配置解析
+ *
+ * @author zhouss
+ * @since 2023-01-19
+ */
+public class CoalescingRuleResolver extends AbstractResolver<CoalescingRule> {
+    /**
+     * 请求合并配置 键
+     */
+    public static final String CONFIG_KEY = "servicecomb.requestCoalescing";
+
+    /**
+     * 请求合并构造器
+     */
+    public CoalescingRuleResolver() {
+        super(CONFIG_KEY);
+    }
+
+    @Override
+    protected Class<CoalescingRule> getRuleClass() {
+        return CoalescingRule.class;
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.huawei.flowcontrol.common.core.rule;
+
+import com.huawei.flowcontrol.common.config.CommonConst;
+
+/**
+ * 自适应并发规则, 基于观测到的响应时间梯度动态调整允许的并发数, 无需按服务配置静态阈值
+ *
+ * @author zhouss
+ * @since 2023-01-12
+ */
+public class AdaptiveConcurrencyRule extends AbstractRule {
+    /**
+     * 默认初始并发上限
+     */
+    public static final int DEFAULT_INITIAL_LIMIT = 20;
+
+    /**
+     * 默认最小并发上限
+     */
+    public static final int DEFAULT_MIN_LIMIT = 1;
+
+    /**
+     * 默认最大并发上限
+     */
+    public static final int DEFAULT_MAX_LIMIT = 1000;
+
+    /**
+     * 默认平滑因子
+     */
+    public static final double DEFAULT_SMOOTHING = 0.2D;
+
+    /**
+     * 默认响应时间容忍度
+     */
+    public static final double DEFAULT_RTT_TOLERANCE = 1.5D;
+
+    /**
+     * 默认采样窗口时长
+     */
+    public static final long DEFAULT_WINDOW_DURATION_MS = 1000L;
+
+    /**
+     * 默认单个采样窗口最少样本数
+     */
+    public static final int DEFAULT_MIN_WINDOW_SAMPLES = 10;
+
+    /**
+     * 默认重新探测无负载响应时间的窗口间隔
+     */
+    public static final int DEFAULT_PROBE_INTERVAL = 600;
+
+    /**
+     * 默认排队余量
+     */
+    public static final int DEFAULT_QUEUE_SIZE = 4;
+
+    /**
+     * 初始并发上限
+     */
+    private int initialLimit = DEFAULT_INITIAL_LIMIT;
+
+    /**
+     * 最小并发上限
+     */
+    private int minLimit = DEFAULT_MIN_LIMIT;
+
+    /**
+     * 最大并发上限
+     */
+    private int maxLimit = DEFAULT_MAX_LIMIT;
+
+    /**
+     * 平滑因子 (0, 1], 越小调整越平缓
+     */
+    private double smoothing = DEFAULT_SMOOTHING;
+
+    /**
+     * 响应时间容忍度, 需大于等于1, 窗口平均响应时间超过无负载响应时间该倍数时收缩并发上限
+     */
+    private double rttTolerance = DEFAULT_RTT_TOLERANCE;
+
+    /**
+     * 采样窗口时长, 窗口结束时根据窗口内样本调整一次并发上限
+     */
+    private String windowDuration = String.valueOf(DEFAULT_WINDOW_DURATION_MS);
+
+    /**
+     * 转换后的采样窗口时长
+     */
+    private long parsedWindowDuration = DEFAULT_WINDOW_DURATION_MS;
+
+    /**
+     * 单个采样窗口最少样本数, 样本不足时窗口延续
+     */
+    private int minWindowSamples = DEFAULT_MIN_WINDOW_SAMPLES;
+
+    /**
+     * 重新探测无负载响应时间的窗口间隔, 探测时并发上限回落至排队余量后重新增长
+     */
+    private int probeInterval = DEFAULT_PROBE_INTERVAL;
+
+    /**
+     * 排队余量, 每次调整时在梯度计算结果上额外允许的并发数
+     */
+    private int queueSize = DEFAULT_QUEUE_SIZE;
+
+    /**
+     * 触发限制后的错误码
+     */
+    private int errorCode = CommonConst.TOO_MANY_REQUEST_CODE;
+
+    @Override
+    public boolean isInValid() {
+        if (minLimit <= 0 || maxLimit < minLimit) {
+            return true;
+        }
+        if (initialLimit < minLimit || initialLimit > maxLimit) {
+            return true;
+        }
+        if (smoothing <= 0 || smoothing > 1) {
+            return true;
+        }
+        if (rttTolerance < 1 || queueSize < 0) {
+            return true;
+        }
+        if (minWindowSamples <= 0 || probeInterval <= 0) {
+            return true;
+        }
+        return super.isInValid();
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public double getSmoothing() {
+        return smoothing;
+    }
+
+    public void setSmoothing(double smoothing) {
+        this.smoothing = smoothing;
+    }
+
+    public double getRttTolerance() {
+        return rttTolerance;
+    }
+
+    public void setRttTolerance(double rttTolerance) {
+        this.rttTolerance = rttTolerance;
+    }
+
+    public String getWindowDuration() {
+        return windowDuration;
+    }
+
+    /**
+     * 设置采样窗口时长
+     *
+     * @param windowDuration 采样窗口时长
+     */
+    public void setWindowDuration(String windowDuration) {
+        this.windowDuration = windowDuration;
+        this.parsedWindowDuration = parseLongTime(windowDuration, DEFAULT_WINDOW_DURATION_MS);
+    }
+
+    public long getParsedWindowDuration() {
+        return parsedWindowDuration;
+    }
+
+    public int getMinWindowSamples() {
+        return minWindowSamples;
+    }
+
+    public void setMinWindowSamples(int minWindowSamples) {
+        this.minWindowSamples = minWindowSamples;
+    }
+
+    public int getProbeInterval() {
+        return probeInterval;
+    }
+
+    public void setProbeInterval(int probeInterval) {
+        this.probeInterval = probeInterval;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public int getErrorCode() {
+        return errorCode;
+    }
+
+    public void setErrorCode(int errorCode) {
+        this.errorCode = errorCode;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.huawei.flowcontrol.common.core.rule;
+
+/**
+ * 请求合并规则, 相同的并发幂等调用仅由首个请求发起, 其余请求等待并共享其结果
+ *
+ * @author zhouss
+ * @since 2023-01-19
+ */
+public class CoalescingRule extends AbstractRule {
+    /**
+     * 默认最大等待时间, 单位毫秒
+     */
+    public static final long DEFAULT_MAX_WAIT_DURATION_MS = 1000L;
+
+    /**
+     * 等待首个请求结果的最大时间, 超时后自行发起调用
+     */
+    private String maxWaitDuration = String.valueOf(DEFAULT_MAX_WAIT_DURATION_MS);
+
+    /**
+     * 转换后的最大等待时间
+     */
+    private long parsedMaxWaitDuration = DEFAULT_MAX_WAIT_DURATION_MS;
+
+    @Override
+    public boolean isInValid() {
+        if (parsedMaxWaitDuration <= 0) {
+            return true;
+        }
+        return super.isInValid();
+    }
+
+    public long getParsedMaxWaitDuration() {
+        return parsedMaxWaitDuration;
+    }
+
+    public String getMaxWaitDuration() {
+        return maxWaitDuration;
+    }
+
+    /**
+     * 设置最大等待时间
+     *
+     * @param maxWaitDuration 最大等待时间
+     */
+    public void setMaxWaitDuration(String maxWaitDuration) {
+        this.maxWaitDuration = maxWaitDuration;
+        this.parsedMaxWaitDuration = parseLongTime(maxWaitDuration, DEFAULT_MAX_WAIT_DURATION_MS);
+    }
+}
@@ -52,16 +52,24 @@ public abstract class AbstractFault implements Fault {
 
     @Override
     public void acquirePermission() {
-        long curReqCount = reqCount.incrementAndGet();
-        if (curReqCount == Long.MAX_VALUE - COUNT_BUFFER) {
-            reqCount.set(0L);
-        }
-        if (isNeedFault(curReqCount)) {
+        if (isNeedFault()) {
             exeFault(rule);
         }
     }
 
-    private boolean isNeedFault(long curReqCount) {
+    @Override
+    public long acquireAsyncPermission() {
+        if (isNeedFault()) {
+            return exeAsyncFault(rule);
+        }
+        return 0L;
+    }
+
+    private boolean isNeedFault() {
+        long curReqCount = reqCount.incrementAndGet();
+        if (curReqCount == Long.MAX_VALUE - COUNT_BUFFER) {
+            reqCount.set(0L);
+        }
         if (rule.isForceClosed()) {
             return false;
         }
@@ -86,4 +94,15 @@ public abstract class AbstractFault implements Fault {
      * @param faultRule 错误注入规则
      */
     protected abstract void exeFault(FaultRule faultRule);
+
+    /**
+     * 异步请求执行错误注入, 默认与同步请求一致
+     *
+     * @param faultRule 错误注入规则
+     * @return 需延迟完成的时间, 单位毫秒
+     */
+    protected long exeAsyncFault(FaultRule faultRule) {
+        exeFault(faultRule);
+        return 0L;
+    }
 }
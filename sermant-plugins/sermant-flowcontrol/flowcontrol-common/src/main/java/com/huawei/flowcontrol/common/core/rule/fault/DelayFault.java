@@ -20,6 +20,7 @@ package com.huawei.flowcontrol.common.core.rule.fault;
 import com.huaweicloud.sermant.core.common.LoggerFactory;
 
 import java.util.Locale;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -50,11 +51,29 @@ public class DelayFault extends AbstractFault {
     @Override
     protected void exeFault(FaultRule faultRule) {
         try {
-            LOGGER.fine(String.format(Locale.ENGLISH,
-                    "Start delay request by delay fault, delay time is [%s]ms", delayTimeMs));
+            logDelay();
             Thread.sleep(delayTimeMs);
         } catch (InterruptedException ignored) {
             // ignored
         }
     }
+
+    /**
+     * 异步请求不在当前线程等待, 由调用方在共享定时器上延迟完成结果
+     *
+     * @param faultRule 错误注入规则
+     * @return 延迟时间
+     */
+    @Override
+    protected long exeAsyncFault(FaultRule faultRule) {
+        logDelay();
+        return delayTimeMs;
+    }
+
+    private void logDelay() {
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine(String.format(Locale.ENGLISH,
+                    "Start delay request by delay fault, delay time is [%s]ms", delayTimeMs));
+        }
+    }
 }
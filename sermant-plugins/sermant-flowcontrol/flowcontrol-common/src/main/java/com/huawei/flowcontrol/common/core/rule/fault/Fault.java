@@ -28,4 +28,14 @@ public interface Fault {
      * 获取许可, 判断当前是否需进行错误注入, 满足条件执行错误注入逻辑
      */
     void acquirePermission();
+
+    /**
+     * 异步请求获取许可, 与{@link #acquirePermission()}相同, 但延迟注入不阻塞当前线程, 而是返回需延迟完成的时间
+     *
+     * @return 需延迟完成的时间, 单位毫秒, 无需延迟返回0
+     */
+    default long acquireAsyncPermission() {
+        acquirePermission();
+        return 0L;
+    }
 }
@@ -38,6 +38,13 @@ public abstract class AbstractRequestEntity implements RequestEntity {
 
     private long timestamp;
 
+    private boolean isAsync;
+
+    /**
+     * 调用参数, 不参与equals与hashCode, 避免影响匹配缓存
+     */
+    private Object[] arguments;
+
     @Override
     public String getServiceName() {
         return serviceName;
@@ -56,6 +63,24 @@ public abstract class AbstractRequestEntity implements RequestEntity {
         this.requestType = requestType;
     }
 
+    @Override
+    public boolean isAsync() {
+        return isAsync;
+    }
+
+    public void setAsync(boolean isAsync) {
+        this.isAsync = isAsync;
+    }
+
+    @Override
+    public Object[] getArguments() {
+        return arguments;
+    }
+
+    public void setArguments(Object[] arguments) {
+        this.arguments = arguments;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
@@ -88,6 +88,10 @@ public class FlowControlResponse {
         return result;
     }
 
+    public void setResult(Object result) {
+        this.result = result;
+    }
+
     public boolean isReplaceResult() {
         return isReplaceResult;
     }
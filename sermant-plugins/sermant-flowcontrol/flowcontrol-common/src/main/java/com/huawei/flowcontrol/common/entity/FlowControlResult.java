@@ -41,6 +41,11 @@ public class FlowControlResult {
      */
     private RequestType requestType;
 
+    /**
+     * 异步请求需延迟完成的时间, 单位毫秒, 由延迟错误注入设置
+     */
+    private long delayTimeMs;
+
     /**
      * 构建响应提示, requestType
      *
@@ -74,6 +79,14 @@ public class FlowControlResult {
         this.requestType = requestType;
     }
 
+    public long getDelayTimeMs() {
+        return delayTimeMs;
+    }
+
+    public void setDelayTimeMs(long delayTimeMs) {
+        this.delayTimeMs = delayTimeMs;
+    }
+
     public FlowControlResponse getResponse() {
         return response;
     }
@@ -15,10 +15,10 @@
 
 package com.huawei.flowcontrol.common.entity;
 
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * 指标信息
+ * 指标信息, 计数采用分段累加器, 避免高并发更新时的竞争
  *
  * @author zhp
  * @since 2022-09-14
@@ -32,110 +32,88 @@ public class MetricEntity {
     /**
      * 服务端请求数量
      */
-    private AtomicLong serverRequest;
+    private final LongAdder serverRequest = new LongAdder();
 
     /**
      * 客户端请求数量
      */
-    private AtomicLong clientRequest;
+    private final LongAdder clientRequest = new LongAdder();
 
     /**
      * 客户端请求耗时
      */
-    private AtomicLong consumeClientTime;
+    private final LongAdder consumeClientTime = new LongAdder();
 
     /**
      * 服务段请求耗时
      */
-    private AtomicLong consumeServerTime;
+    private final LongAdder consumeServerTime = new LongAdder();
 
     /**
      * 服务端请求成功数量
      */
-    private AtomicLong successServerRequest;
+    private final LongAdder successServerRequest = new LongAdder();
 
     /**
      * 客户端请求成功数量
      */
-    private AtomicLong successClientRequest;
+    private final LongAdder successClientRequest = new LongAdder();
 
     /**
      * 服务段请求失败数量
      */
-    private AtomicLong failedServerRequest;
+    private final LongAdder failedServerRequest = new LongAdder();
 
     /**
      * 客户端请求失败数量
      */
-    private AtomicLong failedClientRequest;
+    private final LongAdder failedClientRequest = new LongAdder();
 
     /**
      * 上次采集时间
      */
-    private AtomicLong lastTime;
+    private volatile long lastTime;
 
     /**
      * 熔断耗时
      */
-    private AtomicLong fuseTime;
+    private final LongAdder fuseTime = new LongAdder();
 
     /**
      * 熔断失败请求数量
      */
-    private AtomicLong failedFuseRequest;
+    private final LongAdder failedFuseRequest = new LongAdder();
 
     /**
      * 熔断成功数量
      */
-    private AtomicLong successFulFuseRequest;
+    private final LongAdder successFulFuseRequest = new LongAdder();
 
     /**
      * 熔断断开数量
      */
-    private AtomicLong permittedFulFuseRequest;
+    private final LongAdder permittedFulFuseRequest = new LongAdder();
 
     /**
      * 熔断忽略异常数量
      */
-    private AtomicLong ignoreFulFuseRequest;
+    private final LongAdder ignoreFulFuseRequest = new LongAdder();
 
     /**
      * 熔断慢调用数量
      */
-    private AtomicLong slowFuseRequest;
+    private final LongAdder slowFuseRequest = new LongAdder();
 
     /**
      * 熔断调用数量
      */
-    private AtomicLong fuseRequest;
+    private final LongAdder fuseRequest = new LongAdder();
 
     /**
      * 熔断调用数量
      */
     private long reportTime;
 
-    /**
-     * 构造初始化
-     */
-    public MetricEntity() {
-        this.serverRequest = new AtomicLong();
-        this.clientRequest = new AtomicLong();
-        this.consumeClientTime = new AtomicLong();
-        this.consumeServerTime = new AtomicLong();
-        this.successServerRequest = new AtomicLong();
-        this.successClientRequest = new AtomicLong();
-        this.failedServerRequest = new AtomicLong();
-        this.failedClientRequest = new AtomicLong();
-        this.lastTime = new AtomicLong();
-        this.fuseTime = new AtomicLong();
-        this.failedFuseRequest = new AtomicLong();
-        this.successFulFuseRequest = new AtomicLong();
-        this.permittedFulFuseRequest = new AtomicLong();
-        this.ignoreFulFuseRequest = new AtomicLong();
-        this.slowFuseRequest = new AtomicLong();
-        this.fuseRequest = new AtomicLong();
-    }
-
     public String getName() {
         return name;
     }
@@ -144,134 +122,74 @@ public class MetricEntity {
         this.name = name;
     }
 
-    public AtomicLong getServerRequest() {
+    public LongAdder getServerRequest() {
         return serverRequest;
     }
 
-    public void setServerRequest(AtomicLong serverRequest) {
-        this.serverRequest = serverRequest;
-    }
-
-    public AtomicLong getClientRequest() {
+    public LongAdder getClientRequest() {
         return clientRequest;
     }
 
-    public void setClientRequest(AtomicLong clientRequest) {
-        this.clientRequest = clientRequest;
-    }
-
-    public AtomicLong getConsumeClientTime() {
+    public LongAdder getConsumeClientTime() {
         return consumeClientTime;
     }
 
-    public void setConsumeClientTime(AtomicLong consumeClientTime) {
-        this.consumeClientTime = consumeClientTime;
-    }
-
-    public AtomicLong getConsumeServerTime() {
+    public LongAdder getConsumeServerTime() {
         return consumeServerTime;
     }
 
-    public void setConsumeServerTime(AtomicLong consumeServerTime) {
-        this.consumeServerTime = consumeServerTime;
-    }
-
-    public AtomicLong getSuccessServerRequest() {
+    public LongAdder getSuccessServerRequest() {
         return successServerRequest;
     }
 
-    public void setSuccessServerRequest(AtomicLong successServerRequest) {
-        this.successServerRequest = successServerRequest;
-    }
-
-    public AtomicLong getSuccessClientRequest() {
+    public LongAdder getSuccessClientRequest() {
         return successClientRequest;
     }
 
-    public void setSuccessClientRequest(AtomicLong successClientRequest) {
-        this.successClientRequest = successClientRequest;
-    }
-
-    public AtomicLong getFailedServerRequest() {
+    public LongAdder getFailedServerRequest() {
         return failedServerRequest;
     }
 
-    public void setFailedServerRequest(AtomicLong failedServerRequest) {
-        this.failedServerRequest = failedServerRequest;
-    }
-
-    public AtomicLong getFailedClientRequest() {
+    public LongAdder getFailedClientRequest() {
         return failedClientRequest;
     }
 
-    public void setFailedClientRequest(AtomicLong failedClientRequest) {
-        this.failedClientRequest = failedClientRequest;
-    }
-
-    public AtomicLong getLastTime() {
+    public long getLastTime() {
         return lastTime;
     }
 
-    public void setLastTime(AtomicLong lastTime) {
+    public void setLastTime(long lastTime) {
         this.lastTime = lastTime;
     }
 
-    public AtomicLong getFuseTime() {
+    public LongAdder getFuseTime() {
         return fuseTime;
     }
 
-    public void setFuseTime(AtomicLong fuseTime) {
-        this.fuseTime = fuseTime;
-    }
-
-    public AtomicLong getFailedFuseRequest() {
+    public LongAdder getFailedFuseRequest() {
         return failedFuseRequest;
     }
 
-    public void setFailedFuseRequest(AtomicLong failedFuseRequest) {
-        this.failedFuseRequest = failedFuseRequest;
-    }
-
-    public AtomicLong getSuccessFulFuseRequest() {
+    public LongAdder getSuccessFulFuseRequest() {
         return successFulFuseRequest;
     }
 
-    public void setSuccessFulFuseRequest(AtomicLong successFulFuseRequest) {
-        this.successFulFuseRequest = successFulFuseRequest;
-    }
-
-    public AtomicLong getPermittedFulFuseRequest() {
+    public LongAdder getPermittedFulFuseRequest() {
         return permittedFulFuseRequest;
     }
 
-    public void setPermittedFulFuseRequest(AtomicLong permittedFulFuseRequest) {
-        this.permittedFulFuseRequest = permittedFulFuseRequest;
-    }
-
-    public AtomicLong getIgnoreFulFuseRequest() {
+    public LongAdder getIgnoreFulFuseRequest() {
         return ignoreFulFuseRequest;
     }
 
-    public void setIgnoreFulFuseRequest(AtomicLong ignoreFulFuseRequest) {
-        this.ignoreFulFuseRequest = ignoreFulFuseRequest;
-    }
-
-    public AtomicLong getSlowFuseRequest() {
+    public LongAdder getSlowFuseRequest() {
         return slowFuseRequest;
     }
 
-    public void setSlowFuseRequest(AtomicLong slowFuseRequest) {
-        this.slowFuseRequest = slowFuseRequest;
-    }
-
-    public AtomicLong getFuseRequest() {
+    public LongAdder getFuseRequest() {
         return fuseRequest;
     }
 
-    public void setFuseRequest(AtomicLong fuseRequest) {
-        this.fuseRequest = fuseRequest;
-    }
-
     public long getReportTime() {
         return reportTime;
     }
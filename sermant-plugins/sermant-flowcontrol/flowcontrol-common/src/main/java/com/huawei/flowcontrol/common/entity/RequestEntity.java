@@ -63,6 +63,24 @@ public interface RequestEntity extends Timed {
      */
     RequestType getRequestType();
 
+    /**
+     * 是否为异步请求, 异步请求可通过延迟完成结果的方式注入延迟, 无需阻塞当前线程
+     *
+     * @return 是否为异步请求
+     */
+    default boolean isAsync() {
+        return false;
+    }
+
+    /**
+     * 获取调用参数, 用于请求合并时识别相同调用; 未设置时不参与请求合并
+     *
+     * @return 调用参数
+     */
+    default Object[] getArguments() {
+        return null;
+    }
+
     /**
      * 必须实现equal方法
      *
@@ -28,17 +28,32 @@ import java.util.concurrent.ThreadFactory;
 public class FlowControlThreadFactory implements ThreadFactory {
     private final String threadName;
 
+    private final boolean isDaemon;
+
     /**
      * 流控线程工厂
      *
      * @param threadName 线程名称
      */
     public FlowControlThreadFactory(String threadName) {
+        this(threadName, false);
+    }
+
+    /**
+     * 流控线程工厂
+     *
+     * @param threadName 线程名称
+     * @param isDaemon 是否为守护线程
+     */
+    public FlowControlThreadFactory(String threadName, boolean isDaemon) {
         this.threadName = threadName;
+        this.isDaemon = isDaemon;
     }
 
     @Override
     public Thread newThread(Runnable runnable) {
-        return new Thread(runnable, threadName);
+        final Thread thread = new Thread(runnable, threadName);
+        thread.setDaemon(isDaemon);
+        return thread;
     }
 }
@@ -23,13 +23,14 @@ import com.huawei.flowcontrol.common.core.resolver.AbstractResolver;
 import com.huawei.flowcontrol.common.core.rule.AbstractRule;
 import com.huawei.flowcontrol.common.entity.RequestEntity;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 /**
  * 拦截请求处理器
@@ -45,6 +46,12 @@ public abstract class AbstractRequestHandler<H, R extends AbstractRule> {
      */
     private final Map<String, Optional<H>> handlers = new ConcurrentHashMap<>();
 
+    /**
+     * 处理器列表缓存 map 已匹配的业务场景集合, 处理器列表; 规则变更时整体替换, 相当于按规则版本缓存,
+     * 变更前计算中的列表只会写入旧缓存, 不会污染新缓存
+     */
+    private volatile Map<Set<String>, List<H>> handlerLists = new ConcurrentHashMap<>();
+
     /**
      * 处理器构造方法
      */
@@ -53,7 +60,10 @@ public abstract class AbstractRequestHandler<H, R extends AbstractRule> {
     }
 
     private void registerConfigListener() {
-        ResolverManager.INSTANCE.registerListener(configKey(), (updateKey, rules) -> handlers.remove(updateKey));
+        ResolverManager.INSTANCE.registerListener(configKey(), (updateKey, rules) -> {
+            handlers.remove(updateKey);
+            handlerLists = new ConcurrentHashMap<>();
+        });
     }
 
     /**
@@ -71,17 +81,36 @@ public abstract class AbstractRequestHandler<H, R extends AbstractRule> {
     }
 
     /**
-     * 创建处理器
+     * 创建处理器, 相同的已匹配业务场景集合在规则变更前直接返回缓存的处理器列表, 返回的列表不可修改
      *
      * @param businessNames 已匹配的业务名
      * @return 处理器
      */
     public List<H> createOrGetHandlers(Set<String> businessNames) {
-        return businessNames.stream()
-            .map(businessName -> handlers.computeIfAbsent(businessName, fn -> create(businessName)))
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .collect(Collectors.toList());
+        if (businessNames.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final Map<Set<String>, List<H>> curHandlerLists = handlerLists;
+        final List<H> cached = curHandlerLists.get(businessNames);
+        if (cached != null) {
+            return cached;
+        }
+        final List<H> resolved = resolveHandlers(businessNames);
+        final List<H> previous = curHandlerLists.putIfAbsent(Collections.unmodifiableSet(
+                new HashSet<>(businessNames)), resolved);
+        return previous == null ? resolved : previous;
+    }
+
+    private List<H> resolveHandlers(Set<String> businessNames) {
+        final List<H> result = new ArrayList<>(businessNames.size());
+        for (String businessName : businessNames) {
+            final Optional<H> handler = handlers.computeIfAbsent(businessName, this::create);
+            handler.ifPresent(result::add);
+        }
+        if (result.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(result);
     }
 
     private Optional<H> create(String businessName) {
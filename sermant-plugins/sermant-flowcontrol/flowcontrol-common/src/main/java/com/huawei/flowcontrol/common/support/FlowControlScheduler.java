@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.huawei.flowcontrol.common.support;
+
+import com.huawei.flowcontrol.common.factory.FlowControlThreadFactory;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 流控共享定时器, 用于异步重试、延迟注入等需延迟执行的场景, 等待期间不占用业务线程
+ *
+ * @author zhouss
+ * @since 2023-01-18
+ */
+public enum FlowControlScheduler {
+    /**
+     * 单例
+     */
+    INSTANCE;
+
+    /**
+     * 完成线程池空闲线程存活时间, 单位秒
+     */
+    private static final long COMPLETION_KEEP_ALIVE_SECONDS = 60L;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile ScheduledExecutorService scheduler;
+
+    private volatile Executor completionExecutor;
+
+    /**
+     * 延迟执行任务
+     *
+     * @param task 任务
+     * @param delayMs 延迟时间, 单位毫秒
+     * @return 调度结果
+     */
+    public ScheduledFuture<?> schedule(Runnable task, long delayMs) {
+        return getScheduler().schedule(task, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 延迟完成任务, 定时器到期后将任务转交完成线程池执行
+     * <p>完成异步结果时会在当前线程执行调用方的后续回调, 若直接在定时器线程完成, 所有服务的回调都将串行在唯一的定时器线程上</p>
+     *
+     * @param task 完成任务
+     * @param delayMs 延迟时间, 单位毫秒
+     * @return 调度结果
+     */
+    public ScheduledFuture<?> scheduleCompletion(Runnable task, long delayMs) {
+        return schedule(() -> getCompletionExecutor().execute(task), delayMs);
+    }
+
+    /**
+     * 获取完成线程池, 首次使用时创建, 线程数与处理器数量一致, 空闲线程超时回收
+     *
+     * @return 完成线程池
+     */
+    public Executor getCompletionExecutor() {
+        if (completionExecutor == null) {
+            lock.lock();
+            try {
+                if (completionExecutor == null) {
+                    final int threads = Runtime.getRuntime().availableProcessors();
+                    final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+                            COMPLETION_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                            new FlowControlThreadFactory("FLOW_CONTROL_COMPLETION_THREAD", true));
+                    executor.allowCoreThreadTimeOut(true);
+                    completionExecutor = executor;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return completionExecutor;
+    }
+
+    /**
+     * 获取定时器, 首次使用时创建, 仅包含一个守护线程
+     *
+     * @return 定时器
+     */
+    public ScheduledExecutorService getScheduler() {
+        if (scheduler == null) {
+            lock.lock();
+            try {
+                if (scheduler == null) {
+                    final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1,
+                            new FlowControlThreadFactory("FLOW_CONTROL_SCHEDULER_THREAD", true));
+                    executor.setRemoveOnCancelPolicy(true);
+                    scheduler = executor;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return scheduler;
+    }
+}
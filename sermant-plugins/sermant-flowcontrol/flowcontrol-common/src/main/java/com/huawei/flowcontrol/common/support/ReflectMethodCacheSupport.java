@@ -17,11 +17,19 @@
 
 package com.huawei.flowcontrol.common.support;
 
+import com.huaweicloud.sermant.core.common.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.logging.Logger;
 
 /**
  * 提供反射方法缓存
@@ -30,6 +38,8 @@ import java.util.function.Function;
  * @since 2022-02-10
  */
 public class ReflectMethodCacheSupport {
+    private static final Logger LOGGER = LoggerFactory.getLogger();
+
     /**
      * 占位方法
      */
@@ -40,6 +50,11 @@ public class ReflectMethodCacheSupport {
      */
     private final Map<String, Method> cacheMethods = new ConcurrentHashMap<>();
 
+    /**
+     * 用于缓存方法对应的方法句柄
+     */
+    private final Map<Method, Optional<MethodHandle>> cacheMethodHandles = new ConcurrentHashMap<>();
+
     /**
      * 获取调用方法
      *
@@ -57,4 +72,37 @@ public class ReflectMethodCacheSupport {
         }
         return Optional.ofNullable(cacheMethods.computeIfAbsent(methodName, mappingFunction));
     }
+
+    /**
+     * 获取方法句柄, 句柄统一为(目标对象, 参数数组)的调用形式, 静态方法忽略目标对象
+     * <p>通过句柄调用时目标方法抛出的异常直接透传, 不再包装为InvocationTargetException</p>
+     *
+     * @param method 方法
+     * @return 方法句柄, 无法访问该方法时返回空
+     */
+    protected final Optional<MethodHandle> getInvokerMethodHandle(Method method) {
+        if (method == null) {
+            return Optional.empty();
+        }
+        return cacheMethodHandles.computeIfAbsent(method, ReflectMethodCacheSupport::createMethodHandle);
+    }
+
+    private static Optional<MethodHandle> createMethodHandle(Method method) {
+        try {
+            method.setAccessible(true);
+            final int parameterCount = method.getParameterCount();
+            MethodHandle methodHandle = MethodHandles.lookup().unreflect(method);
+            if (Modifier.isStatic(method.getModifiers())) {
+                methodHandle = MethodHandles.dropArguments(
+                        methodHandle.asType(MethodType.genericMethodType(parameterCount)), 0, Object.class);
+            } else {
+                methodHandle = methodHandle.asType(MethodType.genericMethodType(parameterCount + 1));
+            }
+            return Optional.of(methodHandle.asSpreader(Object[].class, parameterCount));
+        } catch (IllegalAccessException | RuntimeException ex) {
+            LOGGER.fine(String.format(Locale.ENGLISH, "Can not create method handle for method %s, reason: %s",
+                    method.getName(), ex.getMessage()));
+            return Optional.empty();
+        }
+    }
 }
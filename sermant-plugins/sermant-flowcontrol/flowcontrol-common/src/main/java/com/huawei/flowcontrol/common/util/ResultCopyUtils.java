@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.huawei.flowcontrol.common.util;
+
+import com.huaweicloud.sermant.core.common.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * 调用结果复制工具类, 用于请求合并时为每个等待者生成独立的返回值, 避免共享可变对象
+ * <p>可变返回值通过序列化深拷贝, 每个等待者各自执行一次序列化与反序列化, 开销与返回值大小成正比;
+ * 序列化后超过{@link #MAX_SERIALIZED_BYTES}的对象不复制, 由对应请求自行发起调用</p>
+ *
+ * @author zhouss
+ * @since 2023-01-19
+ */
+public class ResultCopyUtils {
+    /**
+     * 可复制对象序列化后的最大字节数
+     */
+    public static final int MAX_SERIALIZED_BYTES = 64 * 1024;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger();
+
+    private ResultCopyUtils() {
+    }
+
+    /**
+     * 复制返回值, 不可变类型直接返回, 可序列化类型通过序列化深拷贝
+     *
+     * @param value 返回值, 非空
+     * @return 复制后的返回值, 无法复制或超过大小上限时返回空
+     */
+    public static Optional<Object> copy(Object value) {
+        if (isImmutable(value)) {
+            return Optional.of(value);
+        }
+        final Optional<byte[]> bytes = serialize(value);
+        if (!bytes.isPresent()) {
+            return Optional.empty();
+        }
+        try (ObjectInputStream objectIn = new ContextObjectInputStream(new ByteArrayInputStream(bytes.get()))) {
+            return Optional.ofNullable(objectIn.readObject());
+        } catch (IOException | ClassNotFoundException ex) {
+            LOGGER.log(Level.FINE, "Can not copy result of type " + value.getClass().getName(), ex);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 序列化对象, 用于复制返回值或生成不受对象后续修改影响的快照
+     *
+     * @param value 对象
+     * @return 序列化结果, 不可序列化或超过{@link #MAX_SERIALIZED_BYTES}时返回空
+     */
+    public static Optional<byte[]> serialize(Object value) {
+        if (value != null && !(value instanceof Serializable)) {
+            return Optional.empty();
+        }
+        final BoundedOutputStream out = new BoundedOutputStream();
+        try (ObjectOutputStream objectOut = new ObjectOutputStream(out)) {
+            objectOut.writeObject(value);
+        } catch (IOException | SizeLimitExceededException ex) {
+            LOGGER.log(Level.FINE, "Can not serialize object", ex);
+            return Optional.empty();
+        }
+        return Optional.of(out.toByteArray());
+    }
+
+    private static boolean isImmutable(Object value) {
+        return value instanceof String || value instanceof Boolean || value instanceof Character
+                || value instanceof Enum || value instanceof BigDecimal || value instanceof BigInteger
+                || (value instanceof Number && value.getClass().getName().startsWith("java.lang."));
+    }
+
+    /**
+     * 限制大小的输出流, 超过{@link #MAX_SERIALIZED_BYTES}时中止写入
+     *
+     * @since 2023-01-19
+     */
+    private static class BoundedOutputStream extends ByteArrayOutputStream {
+        @Override
+        public synchronized void write(int data) {
+            ensureCapacity(1);
+            super.write(data);
+        }
+
+        @Override
+        public synchronized void write(byte[] data, int off, int len) {
+            ensureCapacity(len);
+            super.write(data, off, len);
+        }
+
+        private void ensureCapacity(int len) {
+            if (count + len > MAX_SERIALIZED_BYTES) {
+                throw new SizeLimitExceededException();
+            }
+        }
+    }
+
+    /**
+     * 超过序列化大小上限
+     *
+     * @since 2023-01-19
+     */
+    private static class SizeLimitExceededException extends RuntimeException {
+        private static final long serialVersionUID = -2466853196403617562L;
+
+        SizeLimitExceededException() {
+            super("Serialized size exceeds " + MAX_SERIALIZED_BYTES + " bytes");
+        }
+    }
+
+    /**
+     * 优先基于线程上下文类加载器解析类, 返回值类型通常由宿主应用加载
+     *
+     * @since 2023-01-19
+     */
+    private static class ContextObjectInputStream extends ObjectInputStream {
+        ContextObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+            if (contextClassLoader != null) {
+                try {
+                    return Class.forName(desc.getName(), false, contextClassLoader);
+                } catch (ClassNotFoundException ignored) {
+                    // 上下文类加载器无法加载时使用默认方式解析
+                }
+            }
+            return super.resolveClass(desc);
+        }
+    }
+}
@@ -46,7 +46,9 @@ import org.junit.Test;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
+import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 测试规则管理器
@@ -104,6 +106,66 @@ public class ResolverManagerTest {
         testTargetResolver(new SystemRuleResolverTest());
     }
 
+    /**
+     * 测试增量解析, 配置未变化时不重复解析与通知
+     */
+    @Test
+    public void testIncrementalResolve() {
+        final AtomicInteger notifyCount = new AtomicInteger();
+        instance.registerListener(BulkheadRuleResolver.CONFIG_KEY, (updateKey, rules) -> notifyCount.incrementAndGet());
+        final BulkheadRuleResolverTest resolverTest = new BulkheadRuleResolverTest();
+        final String key = resolverTest.getKey();
+        instance.resolve(key, resolverTest.getValue(), false);
+        final Object rule = instance.getResolver(BulkheadRuleResolver.CONFIG_KEY).getRules()
+                .get(resolverTest.getBusinessKey());
+        instance.resolve(key, resolverTest.getValue(), false);
+        Assert.assertEquals(1, notifyCount.get());
+        Assert.assertSame(rule, instance.getResolver(BulkheadRuleResolver.CONFIG_KEY).getRules()
+                .get(resolverTest.getBusinessKey()));
+
+        // 仅格式不同的配置视为同一规则
+        instance.resolve(key, "# reformatted\nmaxWaitDuration: 4S\nmaxConcurrentCalls: \"2\"\n", false);
+        Assert.assertEquals(1, notifyCount.get());
+        Assert.assertSame(rule, instance.getResolver(BulkheadRuleResolver.CONFIG_KEY).getRules()
+                .get(resolverTest.getBusinessKey()));
+
+        // 整体下发的yaml配置, 仅变化的规则通知
+        final String document = key + ": |\n  maxConcurrentCalls: 10\n";
+        instance.resolve(Collections.singletonMap("document", document));
+        Assert.assertEquals(2, notifyCount.get());
+        instance.resolve(Collections.singletonMap("document", document));
+        Assert.assertEquals(2, notifyCount.get());
+
+        // 删除后不再重复通知
+        instance.resolve(key, null, true);
+        Assert.assertEquals(3, notifyCount.get());
+        instance.resolve(key, null, true);
+        Assert.assertEquals(3, notifyCount.get());
+    }
+
+    /**
+     * 测试重新下发的yaml配置中移除的规则被删除
+     */
+    @Test
+    public void testResolveRemovedFromDocument() {
+        final String keyPrefix = BulkheadRuleResolver.CONFIG_KEY + ".";
+        final String keptKey = "documentKept";
+        final String removedKey = "documentRemoved";
+        final String rule = ": |\n  maxConcurrentCalls: 10\n";
+        instance.resolve(Collections.singletonMap("removeDocument",
+                keyPrefix + keptKey + rule + keyPrefix + removedKey + rule));
+        final Map<String, ?> rules = instance.getResolver(BulkheadRuleResolver.CONFIG_KEY).getRules();
+        Assert.assertTrue(rules.containsKey(keptKey));
+        Assert.assertTrue(rules.containsKey(removedKey));
+        instance.resolve(Collections.singletonMap("removeDocument", keyPrefix + keptKey + rule));
+        Assert.assertTrue(rules.containsKey(keptKey));
+        Assert.assertFalse(rules.containsKey(removedKey));
+
+        // 删除事件不携带配置时以缓存的规则为准
+        instance.resolve(Collections.singletonMap("removeDocument", null), true);
+        Assert.assertFalse(rules.containsKey(keptKey));
+    }
+
     private <T extends AbstractRule> void testTargetResolver(AbstractRuleResolverTest<T> resolverTest) {
         instance.resolve(resolverTest.getKey(), resolverTest.getValue(), false);
         resolverTest.checkAttrs((T) instance.getResolver(resolverTest.getConfigKey())
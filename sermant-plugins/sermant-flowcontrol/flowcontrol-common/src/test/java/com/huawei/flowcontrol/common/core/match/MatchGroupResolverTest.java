@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.huawei.flowcontrol.common.core.match;
+
+import com.huaweicloud.sermant.core.operation.OperationManager;
+import com.huaweicloud.sermant.core.operation.converter.api.YamlConverter;
+import com.huaweicloud.sermant.implement.operation.converter.YamlConverterImpl;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.util.Optional;
+
+/**
+ * 业务场景解析测试
+ *
+ * @author zhouss
+ * @since 2023-01-19
+ */
+public class MatchGroupResolverTest {
+    private static final String BUSINESS_NAME = "test";
+
+    private MockedStatic<OperationManager> operationManagerMockedStatic;
+
+    @Before
+    public void setUp() {
+        operationManagerMockedStatic = Mockito.mockStatic(OperationManager.class);
+        operationManagerMockedStatic.when(() -> OperationManager.getOperation(YamlConverter.class))
+                .thenReturn(new YamlConverterImpl());
+    }
+
+    @After
+    public void tearDown() {
+        operationManagerMockedStatic.close();
+    }
+
+    /**
+     * 测试规则引用的请求头随规则更新
+     */
+    @Test
+    public void testHeaderKeys() {
+        final MatchGroupResolver resolver = new MatchGroupResolver();
+        Assert.assertTrue(resolver.getHeaderKeys().isEmpty());
+        final Optional<BusinessMatcher> rule = resolver.parseRule(BUSINESS_NAME, getValue(), true, false);
+        Assert.assertTrue(rule.isPresent());
+        Assert.assertEquals(2, resolver.getHeaderKeys().size());
+        Assert.assertTrue(resolver.getHeaderKeys().contains("key1"));
+        Assert.assertTrue(resolver.getHeaderKeys().contains("key2"));
+        resolver.parseRule(BUSINESS_NAME, null, true, true);
+        Assert.assertTrue(resolver.getHeaderKeys().isEmpty());
+    }
+
+    private String getValue() {
+        return "alias: test\n"
+                + "matches:\n"
+                + "- apiPath:\n"
+                + "    prefix: /api\n"
+                + "  headers:\n"
+                + "    key1:\n"
+                + "      exact: value1\n"
+                + "  name: first\n"
+                + "- apiPath:\n"
+                + "    exact: /test\n"
+                + "  headers:\n"
+                + "    key2:\n"
+                + "      compare: '>10'\n"
+                + "  name: second\n";
+    }
+}
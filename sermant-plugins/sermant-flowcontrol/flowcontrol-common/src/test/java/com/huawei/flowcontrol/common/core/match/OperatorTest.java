@@ -18,14 +18,19 @@
 package com.huawei.flowcontrol.common.core.match;
 
 import com.huawei.flowcontrol.common.core.match.operator.CompareOperator;
+import com.huawei.flowcontrol.common.core.match.operator.CompiledOperator;
 import com.huawei.flowcontrol.common.core.match.operator.ExactOperator;
 import com.huawei.flowcontrol.common.core.match.operator.PrefixOperator;
 import com.huawei.flowcontrol.common.core.match.operator.ContainsOperator;
 import com.huawei.flowcontrol.common.core.match.operator.SuffixOperator;
 
+import com.huawei.flowcontrol.common.entity.HttpRequestEntity;
+
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Collections;
+
 /**
  * 比较器测试
  *
@@ -49,6 +54,78 @@ public class OperatorTest {
         Assert.assertTrue(compareOperator.match("160.0", "!120"));
     }
 
+    /**
+     * 测试预编译的数字比较
+     */
+    @Test
+    public void testCompiledCompare() {
+        final CompareOperator compareOperator = new CompareOperator();
+        final CompiledOperator lessOrEqual = compareOperator.compile("<=120");
+        Assert.assertTrue(lessOrEqual.match("120"));
+        Assert.assertTrue(lessOrEqual.match("80.5"));
+        Assert.assertFalse(lessOrEqual.match("121"));
+        Assert.assertFalse(lessOrEqual.match("abc"));
+        Assert.assertFalse(lessOrEqual.match(null));
+        final CompiledOperator notEqual = compareOperator.compile("!=5");
+        Assert.assertTrue(notEqual.match("6"));
+        Assert.assertFalse(notEqual.match("5.0"));
+
+        // 非法的匹配串在编译时即确定不匹配
+        Assert.assertSame(CompiledOperator.NEVER_MATCH, compareOperator.compile("="));
+        Assert.assertSame(CompiledOperator.NEVER_MATCH, compareOperator.compile("=>10"));
+        Assert.assertSame(CompiledOperator.NEVER_MATCH, compareOperator.compile("10"));
+        Assert.assertSame(CompiledOperator.NEVER_MATCH, compareOperator.compile(""));
+        Assert.assertFalse(compareOperator.match("10", "="));
+    }
+
+    /**
+     * 测试请求匹配器预编译条件
+     */
+    @Test
+    public void testRequestMatcherCompiled() {
+        final RequestMatcher requestMatcher = new RequestMatcher();
+        final RawOperator headerOperator = new RawOperator();
+        headerOperator.put("compare", ">=10");
+        requestMatcher.setHeaders(Collections.singletonMap("key", headerOperator));
+        final RawOperator apiPathOperator = new RawOperator();
+        apiPathOperator.put("prefix", "/api");
+        apiPathOperator.put("suffix", "test");
+        requestMatcher.setApiPath(apiPathOperator);
+        requestMatcher.compile();
+        final HttpRequestEntity entity = new HttpRequestEntity.Builder().setApiPath("/api/test")
+            .setHeaders(Collections.singletonMap("key", "11")).setMethod("GET").build();
+        Assert.assertTrue(requestMatcher.match(entity));
+        final HttpRequestEntity lowEntity = new HttpRequestEntity.Builder().setApiPath("/api/test")
+            .setHeaders(Collections.singletonMap("key", "9")).setMethod("GET").build();
+        Assert.assertFalse(requestMatcher.match(lowEntity));
+
+        // 更新配置后重新编译
+        final RawOperator newHeaderOperator = new RawOperator();
+        newHeaderOperator.put("compare", "<10");
+        requestMatcher.setHeaders(Collections.singletonMap("key", newHeaderOperator));
+        Assert.assertFalse(requestMatcher.match(entity));
+        Assert.assertTrue(requestMatcher.match(lowEntity));
+    }
+
+    /**
+     * 测试字符串匹配条件预编译
+     */
+    @Test
+    public void testCompileString() {
+        final CompiledOperator prefix = new PrefixOperator().compile("/api");
+        Assert.assertTrue(prefix.match("/api/test"));
+        Assert.assertFalse(prefix.match(null));
+        final CompiledOperator suffix = new SuffixOperator().compile("test");
+        Assert.assertTrue(suffix.match("/api/test"));
+        Assert.assertFalse(suffix.match("/api"));
+        final CompiledOperator contains = new ContainsOperator().compile("pi/t");
+        Assert.assertTrue(contains.match("/api/test"));
+        Assert.assertFalse(contains.match(null));
+        Assert.assertTrue(new ExactOperator().compile("/api").match("/api"));
+        Assert.assertFalse(new ExactOperator().compile("/api").match(null));
+        Assert.assertSame(CompiledOperator.NEVER_MATCH, new PrefixOperator().compile(null));
+    }
+
     /**
      * 测试字符串包含
      */
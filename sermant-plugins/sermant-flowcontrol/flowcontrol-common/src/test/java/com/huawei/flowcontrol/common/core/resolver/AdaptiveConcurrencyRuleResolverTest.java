@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.huawei.flowcontrol.common.core.resolver;
+
+import com.huawei.flowcontrol.common.core.rule.AdaptiveConcurrencyRule;
+
+import org.junit.Assert;
+
+/**
+ * 自适应并发规则解析测试
+ *
+ * @author zhouss
+ * @since 2023-01-12
+ */
+public class AdaptiveConcurrencyRuleResolverTest extends AbstractRuleResolverTest<AdaptiveConcurrencyRule> {
+    private static final int INITIAL_LIMIT = 10;
+
+    private static final int MAX_LIMIT = 200;
+
+    private static final long WINDOW_DURATION = 500L;
+
+    private static final int PROBE_INTERVAL = 100;
+
+    private static final double DELTA = 1e-6;
+
+    @Override
+    public AbstractResolver<AdaptiveConcurrencyRule> getResolver() {
+        return new AdaptiveConcurrencyRuleResolver();
+    }
+
+    @Override
+    public String getConfigKey() {
+        return AdaptiveConcurrencyRuleResolver.CONFIG_KEY;
+    }
+
+    @Override
+    public String getValue() {
+        return "initialLimit: 10\n"
+                + "maxLimit: 200\n"
+                + "rttTolerance: 2.0\n"
+                + "windowDuration: 500\n"
+                + "probeInterval: 100";
+    }
+
+    @Override
+    public void checkAttrs(AdaptiveConcurrencyRule rule) {
+        Assert.assertEquals(INITIAL_LIMIT, rule.getInitialLimit());
+        Assert.assertEquals(MAX_LIMIT, rule.getMaxLimit());
+        Assert.assertEquals(AdaptiveConcurrencyRule.DEFAULT_MIN_LIMIT, rule.getMinLimit());
+        Assert.assertEquals(2.0D, rule.getRttTolerance(), DELTA);
+        Assert.assertEquals(WINDOW_DURATION, rule.getParsedWindowDuration());
+        Assert.assertEquals(PROBE_INTERVAL, rule.getProbeInterval());
+        Assert.assertFalse(rule.isInValid());
+        rule.setMaxLimit(INITIAL_LIMIT - 1);
+        Assert.assertTrue(rule.isInValid());
+    }
+}
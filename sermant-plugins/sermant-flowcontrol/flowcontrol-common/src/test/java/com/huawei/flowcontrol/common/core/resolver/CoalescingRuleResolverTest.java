@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.huawei.flowcontrol.common.core.resolver;
+
+import com.huawei.flowcontrol.common.core.rule.CoalescingRule;
+
+import org.junit.Assert;
+
+/**
+ * 请求合并规则解析测试
+ *
+ * @author zhouss
+ * @since 2023-01-19
+ */
+public class CoalescingRuleResolverTest extends AbstractRuleResolverTest<CoalescingRule> {
+    private static final long MAX_WAIT_DURATION = 500L;
+
+    @Override
+    public AbstractResolver<CoalescingRule> getResolver() {
+        return new CoalescingRuleResolver();
+    }
+
+    @Override
+    public String getConfigKey() {
+        return CoalescingRuleResolver.CONFIG_KEY;
+    }
+
+    @Override
+    public String getValue() {
+        return "maxWaitDuration: 500";
+    }
+
+    @Override
+    public void checkAttrs(CoalescingRule rule) {
+        Assert.assertEquals(MAX_WAIT_DURATION, rule.getParsedMaxWaitDuration());
+        Assert.assertFalse(rule.isInValid());
+        rule.setMaxWaitDuration("0");
+        Assert.assertTrue(rule.isInValid());
+    }
+}
@@ -20,7 +20,9 @@ package com.huawei.flowcontrol.common.support;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
+import java.util.Optional;
 
 /**
  * 方法缓存测试
@@ -48,4 +50,42 @@ public class ReflectMethodCacheSupportTest {
         }).get();
         Assert.assertNotNull(toString.invoke(reflectMethodCacheSupport));
     }
+
+    /**
+     * 测试方法句柄缓存及调用
+     *
+     * @throws Throwable 调用失败抛出
+     */
+    @Test
+    public void testMethodHandle() throws Throwable {
+        final ReflectMethodCacheSupport reflectMethodCacheSupport = new ReflectMethodCacheSupport();
+        final Method concat = String.class.getDeclaredMethod("concat", String.class);
+        final Optional<MethodHandle> handle = reflectMethodCacheSupport.getInvokerMethodHandle(concat);
+        Assert.assertTrue(handle.isPresent());
+        Assert.assertSame(handle, reflectMethodCacheSupport.getInvokerMethodHandle(concat));
+        Assert.assertEquals("ab", (Object) handle.get().invokeExact((Object) "a", new Object[]{"b"}));
+
+        final Method valueOf = String.class.getDeclaredMethod("valueOf", int.class);
+        final Optional<MethodHandle> staticHandle = reflectMethodCacheSupport.getInvokerMethodHandle(valueOf);
+        Assert.assertTrue(staticHandle.isPresent());
+        Assert.assertEquals("1", (Object) staticHandle.get().invokeExact((Object) null, new Object[]{1}));
+    }
+
+    /**
+     * 测试方法句柄调用异常直接抛出
+     *
+     * @throws Exception 获取方法失败抛出
+     */
+    @Test
+    public void testMethodHandleException() throws Exception {
+        final ReflectMethodCacheSupport reflectMethodCacheSupport = new ReflectMethodCacheSupport();
+        final Method parseInt = Integer.class.getDeclaredMethod("parseInt", String.class);
+        final MethodHandle handle = reflectMethodCacheSupport.getInvokerMethodHandle(parseInt).get();
+        try {
+            final Object ignored = (Object) handle.invokeExact((Object) null, new Object[]{"abc"});
+            Assert.fail();
+        } catch (Throwable ex) {
+            Assert.assertTrue(ex instanceof NumberFormatException);
+        }
+    }
 }
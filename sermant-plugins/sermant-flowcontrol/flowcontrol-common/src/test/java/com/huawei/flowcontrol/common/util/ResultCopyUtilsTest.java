@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.huawei.flowcontrol.common.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 调用结果复制工具测试类
+ *
+ * @author zhouss
+ * @since 2023-01-19
+ */
+public class ResultCopyUtilsTest {
+    /**
+     * 测试不可变类型直接返回, 可序列化类型深拷贝, 其余类型无法复制
+     */
+    @Test
+    public void testCopy() {
+        final String value = "test";
+        Assert.assertSame(value, ResultCopyUtils.copy(value).orElse(null));
+        final List<List<String>> list = new ArrayList<>();
+        list.add(new ArrayList<>(Collections.singletonList(value)));
+        final Optional<Object> copied = ResultCopyUtils.copy(list);
+        Assert.assertTrue(copied.isPresent());
+        Assert.assertEquals(list, copied.get());
+        Assert.assertNotSame(list, copied.get());
+        Assert.assertNotSame(list.get(0), ((List<?>) copied.get()).get(0));
+        Assert.assertFalse(ResultCopyUtils.copy(new Object()).isPresent());
+    }
+
+    /**
+     * 测试序列化超过上限时不复制
+     */
+    @Test
+    public void testSizeLimit() {
+        final byte[] large = new byte[ResultCopyUtils.MAX_SERIALIZED_BYTES + 1];
+        Assert.assertFalse(ResultCopyUtils.serialize(large).isPresent());
+        Assert.assertFalse(ResultCopyUtils.copy(large).isPresent());
+        final byte[] small = new byte[]{1, 2, 3};
+        Assert.assertTrue(ResultCopyUtils.serialize(small).isPresent());
+        Assert.assertArrayEquals(small, (byte[]) ResultCopyUtils.copy(small).orElse(null));
+    }
+}
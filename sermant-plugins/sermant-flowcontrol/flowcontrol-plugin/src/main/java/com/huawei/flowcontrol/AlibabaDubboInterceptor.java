@@ -20,10 +20,12 @@ package com.huawei.flowcontrol;
 import com.huawei.flowcontrol.common.config.CommonConst;
 import com.huawei.flowcontrol.common.context.FlowControlContext;
 import com.huawei.flowcontrol.common.entity.DubboRequestEntity;
+import com.huawei.flowcontrol.common.entity.FlowControlResponse;
 import com.huawei.flowcontrol.common.entity.FlowControlResult;
 import com.huawei.flowcontrol.common.entity.RequestEntity.RequestType;
 import com.huawei.flowcontrol.common.util.ConvertUtils;
 import com.huawei.flowcontrol.common.util.DubboAttachmentsHelper;
+import com.huawei.flowcontrol.common.util.ResultCopyUtils;
 import com.huawei.flowcontrol.service.InterceptorSupporter;
 
 import com.huaweicloud.sermant.core.common.LoggerFactory;
@@ -35,8 +37,10 @@ import com.alibaba.dubbo.rpc.Invoker;
 import com.alibaba.dubbo.rpc.Result;
 import com.alibaba.dubbo.rpc.RpcException;
 import com.alibaba.dubbo.rpc.RpcResult;
+import com.alibaba.dubbo.rpc.support.RpcUtils;
 
 import java.util.Locale;
+import java.util.Optional;
 
 /**
  * alibaba dubbo拦截后的增强类 埋点定义sentinel资源
@@ -80,9 +84,15 @@ public class AlibabaDubboInterceptor extends InterceptorSupporter {
         // 高版本使用api invocation.getTargetServiceUniqueName获取路径，此处使用版本加接口，达到的最终结果一致
         String apiPath = ConvertUtils.buildApiPath(interfaceName, version, methodName);
         final boolean isProvider = isProvider(curInvoker);
-        return new DubboRequestEntity(apiPath, DubboAttachmentsHelper.resolveAttachments(invocation, false),
+        final DubboRequestEntity entity = new DubboRequestEntity(apiPath,
+                DubboAttachmentsHelper.resolveAttachments(invocation, false),
                 isProvider ? RequestType.SERVER : RequestType.CLIENT, getApplication(url, interfaceName, isProvider),
                 isGeneric);
+        if (!isProvider && !RpcUtils.isAsync(url, invocation) && !RpcUtils.isOneway(url, invocation)) {
+            // 同步消费端调用携带参数, 用于请求合并识别相同调用
+            entity.setArguments(invocation.getArguments());
+        }
+        return entity;
     }
 
     private String getApplication(URL url, String interfaceName, boolean isProvider) {
@@ -117,6 +127,9 @@ public class AlibabaDubboInterceptor extends InterceptorSupporter {
 
     private void skipResult(ExecuteContext context, Invocation invocation, Invoker<?> invoker,
             FlowControlResult result) {
+        if (result.getResponse().isReplaceResult() && !copyCoalescedResult(result.getResponse())) {
+            return;
+        }
         if (result.getResponse().isReplaceResult()) {
             context.skip(new RpcResult(result.getResponse().getResult()));
         } else {
@@ -125,6 +138,26 @@ public class AlibabaDubboInterceptor extends InterceptorSupporter {
         FlowControlContext.INSTANCE.triggerFlowControl();
     }
 
+    /**
+     * 请求合并共享的是首个请求的调用结果, 需为当前请求复制其返回值, 避免多个请求共享同一可变对象
+     *
+     * @param response 流控响应
+     * @return 是否复制成功, 无法复制时由当前请求自行发起调用
+     */
+    private boolean copyCoalescedResult(FlowControlResponse response) {
+        if (!(response.getResult() instanceof Result)) {
+            return true;
+        }
+        final Object value = ((Result) response.getResult()).getValue();
+        if (value == null) {
+            response.setResult(null);
+            return true;
+        }
+        final Optional<Object> copiedValue = ResultCopyUtils.copy(value);
+        copiedValue.ifPresent(response::setResult);
+        return copiedValue.isPresent();
+    }
+
     private boolean isProvider(ExecuteContext context) {
         final Object argument = context.getArguments()[0];
         if (argument instanceof Invoker) {
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.huawei.flowcontrol;
+
+import com.huaweicloud.sermant.core.common.LoggerFactory;
+
+import org.apache.dubbo.rpc.AppResponse;
+import org.apache.dubbo.rpc.AsyncRpcResult;
+import org.apache.dubbo.rpc.Invocation;
+import org.apache.dubbo.rpc.Result;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Logger;
+
+/**
+ * apache dubbo异步结果工具类, 用于异步重试、延迟注入等需延迟完成结果的场景, 仅可在宿主已加载apache dubbo时使用
+ *
+ * @author zhouss
+ * @since 2023-01-16
+ */
+public class ApacheDubboAsyncResultHelper {
+    private static final Logger LOGGER = LoggerFactory.getLogger();
+
+    /**
+     * 高版本(2.7.5+)异步结果构造器, 低版本AsyncRpcResult本身即为Future, 不存在该构造器
+     */
+    private static final Optional<Constructor<?>> FUTURE_RESULT_CONSTRUCTOR = findFutureResultConstructor();
+
+    /**
+     * 是否支持延迟完成异步结果, 2.7.3以下版本AsyncRpcResult既非Future也不存在上述构造器
+     */
+    private static final boolean IS_ASYNC_RESULT_SUPPORTED = FUTURE_RESULT_CONSTRUCTOR.isPresent()
+            || CompletableFuture.class.isAssignableFrom(AsyncRpcResult.class);
+
+    private ApacheDubboAsyncResultHelper() {
+    }
+
+    /**
+     * 当前dubbo版本是否支持延迟完成异步结果
+     *
+     * @return 是否支持
+     */
+    public static boolean isAsyncResultSupported() {
+        return IS_ASYNC_RESULT_SUPPORTED;
+    }
+
+    /**
+     * 转换为AppResponse, 用于完成异步结果
+     *
+     * @param result 调用结果
+     * @return AppResponse
+     */
+    public static AppResponse toAppResponse(Result result) {
+        if (result instanceof AppResponse) {
+            return (AppResponse) result;
+        }
+        final AppResponse appResponse = result.hasException() ? new AppResponse(result.getException())
+                : new AppResponse(result.getValue());
+        appResponse.setAttachments(result.getAttachments());
+        return appResponse;
+    }
+
+    /**
+     * 创建由future完成的异步结果
+     *
+     * @param future 结果future
+     * @param invocation 调用信息
+     * @return 异步结果, 创建失败时为空
+     */
+    public static Optional<Result> createAsyncResult(CompletableFuture<AppResponse> future, Invocation invocation) {
+        if (FUTURE_RESULT_CONSTRUCTOR.isPresent()) {
+            try {
+                return Optional.of((Result) FUTURE_RESULT_CONSTRUCTOR.get().newInstance(future, invocation));
+            } catch (InstantiationException | IllegalAccessException | InvocationTargetException ex) {
+                LOGGER.warning(String.format(Locale.ENGLISH, "Can not create async result, reason: %s",
+                        ex.getMessage()));
+                return Optional.empty();
+            }
+        }
+        final AsyncRpcResult asyncRpcResult = new AsyncRpcResult(invocation);
+        asyncRpcResult.subscribeTo(future);
+        return Optional.of(asyncRpcResult);
+    }
+
+    private static Optional<Constructor<?>> findFutureResultConstructor() {
+        try {
+            return Optional.of(AsyncRpcResult.class.getConstructor(CompletableFuture.class, Invocation.class));
+        } catch (NoSuchMethodException ignored) {
+            return Optional.empty();
+        }
+    }
+}
@@ -20,10 +20,13 @@ package com.huawei.flowcontrol;
 import com.huawei.flowcontrol.common.config.CommonConst;
 import com.huawei.flowcontrol.common.context.FlowControlContext;
 import com.huawei.flowcontrol.common.entity.DubboRequestEntity;
+import com.huawei.flowcontrol.common.entity.FlowControlResponse;
 import com.huawei.flowcontrol.common.entity.FlowControlResult;
 import com.huawei.flowcontrol.common.entity.RequestEntity.RequestType;
+import com.huawei.flowcontrol.common.support.FlowControlScheduler;
 import com.huawei.flowcontrol.common.util.ConvertUtils;
 import com.huawei.flowcontrol.common.util.DubboAttachmentsHelper;
+import com.huawei.flowcontrol.common.util.ResultCopyUtils;
 import com.huawei.flowcontrol.service.InterceptorSupporter;
 
 import com.huaweicloud.sermant.core.common.LoggerFactory;
@@ -31,11 +34,13 @@ import com.huaweicloud.sermant.core.plugin.agent.entity.ExecuteContext;
 import com.huaweicloud.sermant.core.utils.ReflectUtils;
 
 import org.apache.dubbo.common.URL;
+import org.apache.dubbo.rpc.AppResponse;
 import org.apache.dubbo.rpc.AsyncRpcResult;
 import org.apache.dubbo.rpc.Invocation;
 import org.apache.dubbo.rpc.Invoker;
 import org.apache.dubbo.rpc.Result;
 import org.apache.dubbo.rpc.RpcException;
+import org.apache.dubbo.rpc.support.RpcUtils;
 
 import java.util.Locale;
 import java.util.Optional;
@@ -53,6 +58,8 @@ public class ApacheDubboInterceptor extends InterceptorSupporter {
 
     private static final String LOW_VERSION_RPC_RESULT = "org.apache.dubbo.rpc.RpcResult";
 
+    private static final String DELAY_TIME_KEY = "flowControlDelayTimeMs";
+
     private final String className = ApacheDubboInterceptor.class.getName();
 
     /**
@@ -88,9 +95,21 @@ public class ApacheDubboInterceptor extends InterceptorSupporter {
         // 高版本使用api invocation.getTargetServiceUniqueName获取路径，此处使用版本加接口，达到的最终结果一致
         String apiPath = ConvertUtils.buildApiPath(interfaceName, version, methodName);
         final boolean isProvider = isProvider(curInvoker);
-        return new DubboRequestEntity(apiPath, DubboAttachmentsHelper.resolveAttachments(invocation, true),
+        final DubboRequestEntity entity = new DubboRequestEntity(apiPath,
+                DubboAttachmentsHelper.resolveAttachments(invocation, true),
                 isProvider ? RequestType.SERVER : RequestType.CLIENT,
                 getApplication(url, interfaceName, isProvider), isGeneric);
+        entity.setAsync(!isProvider && isAsync(url, invocation));
+        if (!isProvider && !entity.isAsync() && !RpcUtils.isOneway(url, invocation)) {
+            // 同步消费端调用携带参数, 用于请求合并识别相同调用
+            entity.setArguments(invocation.getArguments());
+        }
+        return entity;
+    }
+
+    private boolean isAsync(URL url, Invocation invocation) {
+        return ApacheDubboAsyncResultHelper.isAsyncResultSupported()
+                && (RpcUtils.isAsync(url, invocation) || RpcUtils.isReturnTypeFuture(invocation));
     }
 
     private String getApplication(URL url, String interfaceName, boolean isProvider) {
@@ -112,6 +131,9 @@ public class ApacheDubboInterceptor extends InterceptorSupporter {
             chooseDubboService().onBefore(className, convertToApacheDubboEntity(invocation,
                     (Invoker<?>) allArguments[0]), result, isProvider(context));
             if (!result.isSkip()) {
+                if (result.getDelayTimeMs() > 0) {
+                    context.setLocalFieldValue(DELAY_TIME_KEY, result.getDelayTimeMs());
+                }
                 return context;
             }
             skipResult(context, invocation, (Invoker<?>) allArguments[0], result);
@@ -121,6 +143,9 @@ public class ApacheDubboInterceptor extends InterceptorSupporter {
 
     private void skipResult(ExecuteContext context, Invocation invocation, Invoker<?> invoker,
             FlowControlResult result) {
+        if (result.getResponse().isReplaceResult() && !copyCoalescedResult(result.getResponse())) {
+            return;
+        }
         if (isLowApacheDubbo()) {
             skipWithLowVersion(context, invocation, invoker, result);
         } else {
@@ -157,6 +182,26 @@ public class ApacheDubboInterceptor extends InterceptorSupporter {
         }
     }
 
+    /**
+     * 请求合并共享的是首个请求的调用结果, 需为当前请求复制其返回值, 避免多个请求共享同一可变对象
+     *
+     * @param response 流控响应
+     * @return 是否复制成功, 无法复制时由当前请求自行发起调用
+     */
+    private boolean copyCoalescedResult(FlowControlResponse response) {
+        if (!(response.getResult() instanceof Result)) {
+            return true;
+        }
+        final Object value = ((Result) response.getResult()).getValue();
+        if (value == null) {
+            response.setResult(null);
+            return true;
+        }
+        final Optional<Object> copiedValue = ResultCopyUtils.copy(value);
+        copiedValue.ifPresent(response::setResult);
+        return copiedValue.isPresent();
+    }
+
     /**
      * 判断dubbo版本是否在2.7.0 - 2.7.3(不包含) 分界点通过AsyncRpcResult构造器判定, 从2.7.3起, AsyncRpcResult改变实现方式, 继承了CompleteFuture
      *
@@ -197,9 +242,37 @@ public class ApacheDubboInterceptor extends InterceptorSupporter {
         if (isProvider) {
             FlowControlContext.INSTANCE.clear();
         }
+        final Object delayTimeMs = context.getLocalFieldValue(DELAY_TIME_KEY);
+        if (result != null && delayTimeMs instanceof Long) {
+            context.changeResult(delayResult(result, (Invocation) context.getArguments()[1], (Long) delayTimeMs));
+        }
         return context;
     }
 
+    /**
+     * 延迟错误注入, 异步请求由共享定时器计时, 到期后在完成线程池上完成结果, 不占用业务线程与定时器线程
+     *
+     * @param result 原始异步结果
+     * @param invocation 调用信息
+     * @param delayTimeMs 延迟时间
+     * @return 延迟完成的异步结果
+     */
+    private Result delayResult(Result result, Invocation invocation, long delayTimeMs) {
+        final CompletableFuture<AppResponse> future = new CompletableFuture<>();
+        final Optional<Result> delayedResult = ApacheDubboAsyncResultHelper.createAsyncResult(future, invocation);
+        if (!delayedResult.isPresent()) {
+            return result;
+        }
+        result.whenCompleteWithContext((response, throwable) -> FlowControlScheduler.INSTANCE.scheduleCompletion(() -> {
+            if (throwable != null) {
+                future.complete(new AppResponse(throwable));
+            } else {
+                future.complete(ApacheDubboAsyncResultHelper.toAppResponse(response));
+            }
+        }, delayTimeMs));
+        return delayedResult.get();
+    }
+
     @Override
     protected final ExecuteContext doThrow(ExecuteContext context) {
         chooseDubboService().onThrow(className, context.getThrowable(), isProvider(context));
@@ -17,6 +17,7 @@
 
 package com.huawei.flowcontrol.retry.cluster;
 
+import com.huawei.flowcontrol.ApacheDubboAsyncResultHelper;
 import com.huawei.flowcontrol.DubboApplicationCache;
 import com.huawei.flowcontrol.common.config.CommonConst;
 import com.huawei.flowcontrol.common.config.FlowControlConfig;
@@ -28,6 +29,7 @@ import com.huawei.flowcontrol.common.handler.retry.Retry;
 import com.huawei.flowcontrol.common.handler.retry.RetryContext;
 import com.huawei.flowcontrol.common.util.ConvertUtils;
 import com.huawei.flowcontrol.common.util.DubboAttachmentsHelper;
+import com.huawei.flowcontrol.retry.handler.AsyncRetryExecutor;
 import com.huawei.flowcontrol.retry.handler.RetryHandlerV2;
 
 import com.huaweicloud.sermant.core.common.LoggerFactory;
@@ -38,6 +40,7 @@ import io.github.resilience4j.decorators.Decorators.DecorateCheckedSupplier;
 import io.vavr.CheckedFunction0;
 
 import org.apache.dubbo.common.URL;
+import org.apache.dubbo.rpc.AppResponse;
 import org.apache.dubbo.rpc.Invocation;
 import org.apache.dubbo.rpc.Invoker;
 import org.apache.dubbo.rpc.Result;
@@ -46,12 +49,16 @@ import org.apache.dubbo.rpc.cluster.Directory;
 import org.apache.dubbo.rpc.cluster.LoadBalance;
 import org.apache.dubbo.rpc.cluster.support.AbstractClusterInvoker;
 import org.apache.dubbo.rpc.service.GenericException;
+import org.apache.dubbo.rpc.support.RpcUtils;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -99,6 +106,15 @@ public class ApacheDubboClusterInvoker<T> extends AbstractClusterInvoker<T> {
         final List<io.github.resilience4j.retry.Retry> handlers = retryHandler
                 .getHandlers(convertToApacheDubboEntity(invocation, invokers.get(0)));
         final List<Invoker<T>> selected = new ArrayList<>();
+        if (!handlers.isEmpty() && isAsync(invocation)) {
+            try {
+                return doAsyncInvoke(invocation, buildFunc(invocation, invokers, loadbalance, selected),
+                        handlers.get(0), selected);
+            } finally {
+                RetryContext.INSTANCE.remove();
+                FlowControlContext.INSTANCE.clear();
+            }
+        }
         DecorateCheckedSupplier<Result> dcs = Decorators.ofCheckedSupplier(buildFunc(invocation, invokers,
                 loadbalance, selected));
         io.github.resilience4j.retry.Retry retryRule = null;
@@ -122,6 +138,79 @@ public class ApacheDubboClusterInvoker<T> extends AbstractClusterInvoker<T> {
         }
     }
 
+    /**
+     * 异步调用重试, 重试间隔交由共享定时器调度, 调用线程直接返回异步结果, 不会因重试等待而阻塞
+     *
+     * @param invocation 调用信息
+     * @param func 单次调用方法
+     * @param retryRule 重试器
+     * @param selected 已选择的invoker
+     * @return 异步结果, 重试结束后完成
+     */
+    private Result doAsyncInvoke(Invocation invocation, CheckedFunction0<Result> func,
+            io.github.resilience4j.retry.Retry retryRule, List<Invoker<T>> selected) {
+        final CompletableFuture<AppResponse> future = AsyncRetryExecutor.INSTANCE
+                .execute(retryRule, () -> invokeAsync(func))
+                .handle((result, throwable) -> {
+                    selected.clear();
+                    if (throwable != null) {
+                        log(retryRule, invocation);
+                        return new AppResponse(getRealCause(throwable));
+                    }
+                    return ApacheDubboAsyncResultHelper.toAppResponse(result);
+                });
+        return ApacheDubboAsyncResultHelper.createAsyncResult(future, invocation)
+                .orElseThrow(() -> new RpcException("Can not create async result for retry"));
+    }
+
+    private CompletionStage<Result> invokeAsync(CheckedFunction0<Result> func) {
+        final CompletableFuture<Result> future = new CompletableFuture<>();
+        final boolean isMarked = RetryContext.INSTANCE.isMarkedRetry();
+        if (!isMarked) {
+            // 定时器线程触发的重试, 需重新标记, 防止拦截器重复处理
+            RetryContext.INSTANCE.markRetry(retry);
+        }
+
+        // 重试可能在定时器线程执行, 需清理该线程此前调用残留的流控标记, 避免真实的调用异常被当作流控结果而不再重试
+        FlowControlContext.INSTANCE.clear();
+        try {
+            final Result invokeResult = func.apply();
+
+            // 流控在本次调用中同步触发, 回调可能在其他线程执行, 因此在调用线程记录流控标记
+            final boolean isFlowControl = FlowControlContext.INSTANCE.isFlowControl();
+            invokeResult.whenCompleteWithContext((result, throwable) -> {
+                if (throwable != null) {
+                    future.completeExceptionally(throwable);
+                } else if (result.hasException() && !isFlowControl) {
+                    future.completeExceptionally(result.getException());
+                } else {
+                    future.complete(result);
+                }
+            });
+        } catch (Throwable ex) {
+            future.completeExceptionally(ex);
+        } finally {
+            FlowControlContext.INSTANCE.clear();
+            if (!isMarked) {
+                RetryContext.INSTANCE.remove();
+            }
+        }
+        return future;
+    }
+
+    private boolean isAsync(Invocation invocation) {
+        // 2.7.3以下版本不支持延迟完成异步结果, 仍使用同步重试
+        return ApacheDubboAsyncResultHelper.isAsyncResultSupported() && (RpcUtils.isAsync(getUrl(), invocation)
+                || RpcUtils.isReturnTypeFuture(invocation));
+    }
+
+    private Throwable getRealCause(Throwable throwable) {
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            return throwable.getCause();
+        }
+        return throwable;
+    }
+
     private RuntimeException formatEx(Throwable ex) {
         if (ex instanceof GenericException) {
             return (GenericException) ex;
@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.huawei.flowcontrol.retry.handler;
+
+import com.huawei.flowcontrol.common.support.FlowControlScheduler;
+
+import io.github.resilience4j.retry.Retry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * 异步重试执行器, 重试间隔由共享定时器调度, 等待期间不占用调用线程
+ *
+ * @author zhouss
+ * @since 2023-01-16
+ */
+public enum AsyncRetryExecutor {
+    /**
+     * 单例
+     */
+    INSTANCE;
+
+    /**
+     * 异步执行并重试, 首次调用在当前线程执行, 后续重试由定时器线程按重试间隔触发
+     *
+     * @param retry 重试器
+     * @param supplier 异步调用
+     * @param <T> 结果类型
+     * @return 最终结果, 重试结束后完成
+     */
+    public <T> CompletableFuture<T> execute(Retry retry, Supplier<CompletionStage<T>> supplier) {
+        return retry.executeCompletionStage(FlowControlScheduler.INSTANCE.getScheduler(), supplier)
+                .toCompletableFuture();
+    }
+}
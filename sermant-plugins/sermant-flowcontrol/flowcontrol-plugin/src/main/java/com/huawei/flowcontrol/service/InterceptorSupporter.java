@@ -36,8 +36,10 @@ import com.huaweicloud.sermant.core.service.ServiceManager;
 
 import io.github.resilience4j.retry.RetryConfig;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Optional;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -143,7 +145,7 @@ public abstract class InterceptorSupporter extends ReflectMethodCacheSupport imp
     }
 
     /**
-     * 创建重试方法
+     * 创建重试方法, 优先通过缓存的方法句柄调用, 运行时异常直接透传, 仅受检异常包装为{@link InvokerWrapperException}
      *
      * @param obj          增强类
      * @param method       目标方法
@@ -152,6 +154,19 @@ public abstract class InterceptorSupporter extends ReflectMethodCacheSupport imp
      * @return 方法
      */
     protected final Supplier<Object> createRetryFunc(Object obj, Method method, Object[] allArguments, Object result) {
+        final Optional<MethodHandle> methodHandle = getInvokerMethodHandle(method);
+        if (methodHandle.isPresent()) {
+            final MethodHandle handle = methodHandle.get();
+            return () -> {
+                try {
+                    return (Object) handle.invokeExact(obj, allArguments);
+                } catch (RuntimeException | Error ex) {
+                    throw ex;
+                } catch (Throwable ex) {
+                    throw new InvokerWrapperException(ex);
+                }
+            };
+        }
         return () -> {
             method.setAccessible(true);
             try {
@@ -31,16 +31,24 @@ import com.huaweicloud.sermant.core.service.ServiceManager;
 
 import org.apache.dubbo.common.URL;
 import org.apache.dubbo.monitor.support.MonitorFilter;
+import org.apache.dubbo.rpc.AppResponse;
+import org.apache.dubbo.rpc.AsyncRpcResult;
+import org.apache.dubbo.rpc.Invocation;
 import org.apache.dubbo.rpc.Invoker;
+import org.apache.dubbo.rpc.Result;
 import org.apache.dubbo.rpc.cluster.directory.StaticDirectory;
 import org.apache.dubbo.rpc.cluster.support.FailoverClusterInvoker;
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * apache dubbo 测试
@@ -49,6 +57,8 @@ import java.util.Collections;
  * @since 2022-03-03
  */
 public class ApacheDubboInterceptorTest {
+    private static final long DELAY_TIME_MS = 100L;
+
     private ExecuteContext context;
 
     private Interceptor interceptor;
@@ -59,6 +69,8 @@ public class ApacheDubboInterceptorTest {
 
     private MockedStatic<ServiceManager> serviceManagerMockedStatic;
 
+    private long delayTimeMs;
+
     @After
     public void tearDown() {
         pluginConfigManagerMockedStatic.close();
@@ -94,13 +106,44 @@ public class ApacheDubboInterceptorTest {
         interceptor.onThrow(context);
     }
 
+    /**
+     * 测试延迟注入时异步结果延迟完成, 且在完成线程池而非定时器线程上完成
+     *
+     * @throws Exception 执行异常
+     */
+    @Test
+    public void testDelayAsyncResult() throws Exception {
+        delayTimeMs = DELAY_TIME_MS;
+        context = ExecuteContext.forMemberMethod(context.getObject(),
+                MonitorFilter.class.getMethod("invoke", Invoker.class, Invocation.class), context.getArguments(),
+                Collections.emptyMap(), Collections.emptyMap());
+        final AsyncRpcResult rawResult = new AsyncRpcResult((Invocation) context.getArguments()[1]);
+        interceptor.before(context);
+        context.afterMethod(rawResult, null);
+        interceptor.after(context);
+        final Result delayedResult = (Result) context.getResult();
+        Assert.assertNotSame(rawResult, delayedResult);
+        final AtomicReference<String> completeThread = new AtomicReference<>();
+        final CompletableFuture<?> callback = ((CompletableFuture<?>) delayedResult)
+                .thenRun(() -> completeThread.set(Thread.currentThread().getName()));
+        final long start = System.nanoTime();
+        rawResult.complete(new AppResponse("ok"));
+        Assert.assertFalse(((CompletableFuture<?>) delayedResult).isDone());
+
+        // 仅等待回调完成, 直接等待结果时等待线程被唤醒后可能协助执行回调
+        callback.get(DELAY_TIME_MS * 10, TimeUnit.MILLISECONDS);
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= DELAY_TIME_MS);
+        Assert.assertEquals("ok", delayedResult.getValue());
+        Assert.assertEquals("FLOW_CONTROL_COMPLETION_THREAD", completeThread.get());
+    }
+
     private DubboRest4jService createRestService() {
         return new DubboRest4jService() {
 
             @Override
             public void onBefore(String sourceName, RequestEntity requestEntity, FlowControlResult fixedResult,
                     boolean isProvider) {
-
+                fixedResult.setDelayTimeMs(delayTimeMs);
             }
 
             @Override
@@ -18,15 +18,23 @@ package com.huawei.flowcontrol.retry.cluster;
 
 import com.huawei.flowcontrol.common.config.CommonConst;
 import com.huawei.flowcontrol.common.config.FlowControlConfig;
+import com.huawei.flowcontrol.common.context.FlowControlContext;
+import com.huawei.flowcontrol.common.support.FlowControlScheduler;
 import com.huawei.flowcontrol.common.util.ConvertUtils;
+import com.huawei.flowcontrol.retry.handler.RetryHandlerV2;
 
 import com.huaweicloud.sermant.core.operation.OperationManager;
 import com.huaweicloud.sermant.core.operation.converter.api.YamlConverter;
 import com.huaweicloud.sermant.core.plugin.config.PluginConfigManager;
 import com.huaweicloud.sermant.core.service.ServiceManager;
+import com.huaweicloud.sermant.core.utils.ReflectUtils;
 import com.huaweicloud.sermant.implement.operation.converter.YamlConverterImpl;
 
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+
 import org.apache.dubbo.common.URL;
+import org.apache.dubbo.rpc.AppResponse;
 import org.apache.dubbo.rpc.AsyncRpcResult;
 import org.apache.dubbo.rpc.Invocation;
 import org.apache.dubbo.rpc.Invoker;
@@ -41,7 +49,12 @@ import org.junit.Test;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Apache duubo 集群调用测试
@@ -114,4 +127,48 @@ public class ApacheDubboClusterInvokerTest {
         }
         Assert.assertTrue(isEx);
     }
+
+    /**
+     * 测试异步重试在曾触发流控的定时器线程上执行时, 调用异常仍会重试
+     *
+     * @throws Exception 执行失败抛出
+     */
+    @Test
+    public void doAsyncInvokeOnFlowControlledThread() throws Exception {
+        // 定时器线程此前的调用触发了流控, 残留流控标记
+        FlowControlScheduler.INSTANCE.getScheduler().submit(FlowControlContext.INSTANCE::triggerFlowControl)
+                .get(1, TimeUnit.SECONDS);
+        final URL url = new URL("dubbo", "localhost", 8080);
+        final Directory<Result> directory = Mockito.mock(Directory.class);
+        Mockito.when(directory.getUrl()).thenReturn(url);
+        final ApacheDubboClusterInvoker<Result> clusterInvoker = new ApacheDubboClusterInvoker<>(directory);
+        final RetryHandlerV2 retryHandler = Mockito.mock(RetryHandlerV2.class);
+        Mockito.when(retryHandler.getHandlers(Mockito.any())).thenReturn(Collections.singletonList(
+                Retry.of("test", RetryConfig.custom().maxAttempts(3).waitDuration(Duration.ofMillis(10L))
+                        .retryExceptions(RpcException.class).build())));
+        ReflectUtils.setFieldValue(clusterInvoker, "retryHandler", retryHandler);
+        final Invocation invocation = Mockito.mock(Invocation.class);
+        Mockito.when(invocation.getMethodName()).thenReturn("test");
+        Mockito.when(invocation.getAttachment("async")).thenReturn(Boolean.TRUE.toString());
+        final Invoker invoker = Mockito.mock(Invoker.class);
+        Mockito.when(invoker.getInterface()).thenReturn(this.getClass());
+        Mockito.when(invoker.getUrl()).thenReturn(url);
+        Mockito.when(invocation.getInvoker()).thenReturn(invoker);
+        final AtomicInteger attempts = new AtomicInteger();
+        Mockito.when(invoker.invoke(invocation)).thenAnswer(answer -> {
+            if (attempts.incrementAndGet() < 3) {
+                return AsyncRpcResult.newDefaultAsyncResult(new RpcException("test error"), invocation);
+            }
+            return AsyncRpcResult.newDefaultAsyncResult("success", invocation);
+        });
+        final Result result = clusterInvoker.doInvoke(invocation, Arrays.asList(invoker),
+                new RoundRobinLoadBalance());
+        Assert.assertTrue(result instanceof CompletableFuture);
+        final Object appResponse = ((CompletableFuture<?>) result).get(1, TimeUnit.SECONDS);
+        Assert.assertEquals(3, attempts.get());
+        Assert.assertTrue(appResponse instanceof AppResponse);
+        Assert.assertEquals("success", ((AppResponse) appResponse).getValue());
+        Assert.assertFalse(FlowControlScheduler.INSTANCE.getScheduler()
+                .submit(FlowControlContext.INSTANCE::isFlowControl).get(1, TimeUnit.SECONDS));
+    }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.huawei.flowcontrol.retry.handler;
+
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 异步重试执行器测试
+ *
+ * @author zhouss
+ * @since 2023-01-16
+ */
+public class AsyncRetryExecutorTest {
+    private static final long WAIT_DURATION_MS = 200L;
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    /**
+     * 测试重试等待期间调用线程不阻塞, 且重试在定时器线程执行
+     *
+     * @throws Exception 执行失败抛出
+     */
+    @Test
+    public void testNonBlockingRetry() throws Exception {
+        final AtomicInteger attempts = new AtomicInteger();
+        final Thread caller = Thread.currentThread();
+        final CompletableFuture<Thread> retryThread = new CompletableFuture<>();
+        final long start = System.nanoTime();
+        final CompletableFuture<String> result = AsyncRetryExecutor.INSTANCE.execute(createRetry(), () -> {
+            final CompletableFuture<String> future = new CompletableFuture<>();
+            if (attempts.incrementAndGet() < MAX_ATTEMPTS) {
+                future.completeExceptionally(new IllegalStateException("test error"));
+            } else {
+                retryThread.complete(Thread.currentThread());
+                future.complete("success");
+            }
+            return future;
+        });
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < WAIT_DURATION_MS);
+        Assert.assertFalse(result.isDone());
+        Assert.assertEquals("success", result.get(WAIT_DURATION_MS * MAX_ATTEMPTS * 2, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(MAX_ATTEMPTS, attempts.get());
+        Assert.assertNotSame(caller, retryThread.get());
+        Assert.assertTrue(retryThread.get().isDaemon());
+    }
+
+    /**
+     * 测试达到最大重试次数后异常结束
+     *
+     * @throws TimeoutException 等待超时抛出
+     * @throws InterruptedException 中断抛出
+     */
+    @Test
+    public void testExhausted() throws TimeoutException, InterruptedException {
+        final AtomicInteger attempts = new AtomicInteger();
+        final CompletableFuture<String> result = AsyncRetryExecutor.INSTANCE.execute(createRetry(), () -> {
+            attempts.incrementAndGet();
+            final CompletableFuture<String> future = new CompletableFuture<>();
+            future.completeExceptionally(new IllegalStateException("test error"));
+            return future;
+        });
+        try {
+            result.get(WAIT_DURATION_MS * MAX_ATTEMPTS * 2, TimeUnit.MILLISECONDS);
+            Assert.fail("retry should be exhausted");
+        } catch (ExecutionException ex) {
+            Assert.assertTrue(ex.getCause() instanceof IllegalStateException);
+        }
+        Assert.assertEquals(MAX_ATTEMPTS, attempts.get());
+    }
+
+    private Retry createRetry() {
+        return Retry.of("test", RetryConfig.custom()
+                .maxAttempts(MAX_ATTEMPTS)
+                .waitDuration(Duration.ofMillis(WAIT_DURATION_MS))
+                .retryExceptions(IllegalStateException.class)
+                .build());
+    }
+}
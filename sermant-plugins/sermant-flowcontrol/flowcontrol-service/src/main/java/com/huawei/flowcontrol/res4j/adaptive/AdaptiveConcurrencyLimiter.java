@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.huawei.flowcontrol.res4j.adaptive;
+
+import com.huawei.flowcontrol.common.core.rule.AdaptiveConcurrencyRule;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 自适应并发限制器, 基于梯度算法根据响应时间调整并发上限
+ * <p>请求完成时样本计入当前采样窗口, 窗口结束后计算一次:
+ * gradient = max(0.5, min(1, rttTolerance * noLoadRtt / windowRtt)), 新上限 = 上限 * gradient + queueSize,
+ * 再通过平滑因子与旧上限加权。noLoadRtt为窗口平均响应时间的最小值</p>
+ * <p>执行异常(含超时)的请求同样计入样本, 其响应时间不低于rttTolerance * 2倍的noLoadRtt, 使错误率升高时上限随之收缩</p>
+ * <p>每隔probeInterval个窗口并发上限回落至queueSize并重新学习noLoadRtt, 避免过载期间基线被抬高导致上限持续增长</p>
+ * <p>请求线程仅通过CAS获取许可, 不等待</p>
+ *
+ * @author zhouss
+ * @since 2023-01-12
+ */
+public class AdaptiveConcurrencyLimiter {
+    /**
+     * 梯度下限, 避免单次调整过度收缩
+     */
+    private static final double MIN_GRADIENT = 0.5D;
+
+    /**
+     * 执行异常时响应时间的惩罚倍数, 与rttTolerance相乘后作用于noLoadRtt
+     */
+    private static final double ERROR_RTT_FACTOR = 2D;
+
+    private final String name;
+
+    private final AdaptiveConcurrencyRule rule;
+
+    private final long windowDurationNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Object lock = new Object();
+
+    /**
+     * 当前并发上限
+     */
+    private volatile int limit;
+
+    /**
+     * 以下字段仅在锁内读写
+     */
+    private double estimatedLimit;
+
+    private double noLoadRtt;
+
+    private int probeCountdown;
+
+    private long windowStart;
+
+    private long windowRttSum;
+
+    private int windowSamples;
+
+    private int windowMaxInFlight;
+
+    /**
+     * 构造器
+     *
+     * @param name 业务场景名
+     * @param rule 自适应并发规则
+     */
+    public AdaptiveConcurrencyLimiter(String name, AdaptiveConcurrencyRule rule) {
+        this.name = name;
+        this.rule = rule;
+        this.windowDurationNanos = TimeUnit.MILLISECONDS.toNanos(rule.getParsedWindowDuration());
+        this.estimatedLimit = rule.getInitialLimit();
+        this.limit = rule.getInitialLimit();
+        this.probeCountdown = rule.getProbeInterval();
+        this.windowStart = System.nanoTime();
+    }
+
+    /**
+     * 尝试获取许可, 不等待
+     *
+     * @return 是否获取成功
+     */
+    public boolean tryAcquirePermission() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * 释放许可且不采样, 用于请求未实际执行的场景
+     */
+    public void releasePermission() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * 请求完成, 释放许可并记录响应时间样本
+     *
+     * @param rttNanos 响应时间, 单位纳秒
+     */
+    public void onComplete(long rttNanos) {
+        final int currentInFlight = inFlight.getAndDecrement();
+        if (rttNanos > 0) {
+            onSample(rttNanos, currentInFlight, false);
+        }
+    }
+
+    /**
+     * 请求执行异常(含超时), 释放许可并记录惩罚后的响应时间样本
+     *
+     * @param rttNanos 响应时间, 单位纳秒
+     */
+    public void onError(long rttNanos) {
+        final int currentInFlight = inFlight.getAndDecrement();
+        onSample(Math.max(rttNanos, 0L), currentInFlight, true);
+    }
+
+    private void onSample(long rttNanos, int currentInFlight, boolean isError) {
+        synchronized (lock) {
+            windowRttSum += isError ? Math.max(rttNanos, (long) (noLoadRtt * rule.getRttTolerance() * ERROR_RTT_FACTOR))
+                    : rttNanos;
+            windowSamples++;
+            windowMaxInFlight = Math.max(windowMaxInFlight, currentInFlight);
+            final long now = System.nanoTime();
+            if (windowSamples < rule.getMinWindowSamples() || now - windowStart < windowDurationNanos) {
+                return;
+            }
+            final double windowRtt = (double) windowRttSum / windowSamples;
+            final int maxInFlight = windowMaxInFlight;
+            windowStart = now;
+            windowRttSum = 0L;
+            windowSamples = 0;
+            windowMaxInFlight = 0;
+            updateLimit(windowRtt, maxInFlight);
+        }
+    }
+
+    private void updateLimit(double windowRtt, int maxInFlight) {
+        if (--probeCountdown <= 0) {
+            probeCountdown = rule.getProbeInterval();
+            noLoadRtt = 0D;
+            setEstimatedLimit(rule.getQueueSize());
+            return;
+        }
+        if (noLoadRtt <= 0D || windowRtt < noLoadRtt) {
+            noLoadRtt = windowRtt;
+        }
+
+        // 并发远低于上限时响应时间无法反映容量, 不调整
+        if (maxInFlight * 2 < estimatedLimit) {
+            return;
+        }
+        final double gradient = Math.max(MIN_GRADIENT, Math.min(1D, rule.getRttTolerance() * noLoadRtt / windowRtt));
+        final double newLimit = estimatedLimit * gradient + rule.getQueueSize();
+        setEstimatedLimit(estimatedLimit * (1 - rule.getSmoothing()) + newLimit * rule.getSmoothing());
+    }
+
+    private void setEstimatedLimit(double newLimit) {
+        estimatedLimit = Math.max(rule.getMinLimit(), Math.min(rule.getMaxLimit(), newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    /**
+     * 获取当前并发上限
+     *
+     * @return 并发上限
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * 获取当前并发数
+     *
+     * @return 当前并发数
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public AdaptiveConcurrencyRule getRule() {
+        return rule;
+    }
+}
@@ -18,22 +18,89 @@
 package com.huawei.flowcontrol.res4j.adaptor;
 
 import com.huawei.flowcontrol.common.core.rule.CircuitBreakerRule;
+import com.huawei.flowcontrol.common.entity.MetricEntity;
 
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig.SlidingWindowType;
 import io.vavr.collection.Map;
 
+import java.time.Clock;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * 适配接口io.github.resilience4j.circuitbreaker.CircuitBreaker, 增加新的字段功能
+ * <p>基于时间窗口的熔断器在关闭状态下走快速路径: 许可判断仅读取一次volatile状态, 调用结果记录至按秒划分的分段计数器,
+ * 与rest4j相同以最近N秒作为滑动窗口。成功调用只会降低失败率与慢调用率, 因此仅在失败或慢调用时立即评估;
+ * 旧数据滑出窗口也可能使比例升高, 由每进入新的一秒时的评估覆盖。超过阈值时交由rest4j原生熔断器打开熔断。
+ * 关闭状态下调用结果仅记录在快速路径, 非关闭状态(打开、半开等)及基于调用数的窗口仍完全交由rest4j原生熔断器处理</p>
  *
  * @author zhouss
  * @since 2022-08-09
  */
 public class CircuitBreakerAdaptor implements CircuitBreaker {
+    /**
+     * 百分比基数
+     */
+    private static final float PERCENTAGE = 100f;
+
+    /**
+     * 未达到最小调用数时的比例值, 与rest4j保持一致
+     */
+    private static final float NOT_CALCULATED_RATE = -1f;
+
+    /**
+     * 秒与毫秒转换单位
+     */
+    private static final long MS_PER_SECOND = 1000L;
+
     private final CircuitBreaker oldCircuitBreaker;
 
+    /**
+     * 监控指标, 未开启监控时为null
+     */
+    private final MetricEntity metricEntity;
+
+    /**
+     * 时钟, 与rest4j滑动窗口一致按秒划分窗口
+     */
+    private final Clock clock;
+
+    /**
+     * 是否支持快速路径, 仅基于时间的滑动窗口支持
+     */
+    private final boolean isFastPathSupported;
+
+    private final float failureRateThreshold;
+
+    private final float slowCallRateThreshold;
+
+    private final long slowCallDurationThresholdNanos;
+
+    private final int minimumNumberOfCalls;
+
+    /**
+     * 按秒划分的窗口, 数量为滑动窗口时长(秒)
+     */
+    private final AtomicReferenceArray<SecondBucket> buckets;
+
+    /**
+     * 最近一次评估对应的秒数, 用于保证每秒仅由一个线程评估
+     */
+    private final AtomicLong evaluatedSecond = new AtomicLong();
+
+    private final Metrics fastPathMetrics = new FastPathMetrics();
+
+    /**
+     * 是否处于快速路径的关闭状态
+     */
+    private volatile boolean isClosed;
+
     /**
      * 强制关闭熔断
      */
@@ -51,44 +118,121 @@ public class CircuitBreakerAdaptor implements CircuitBreaker {
      * @param rule 熔断规则
      */
     public CircuitBreakerAdaptor(CircuitBreaker oldCircuitBreaker, CircuitBreakerRule rule) {
+        this(oldCircuitBreaker, rule, null);
+    }
+
+    /**
+     * 构造器
+     *
+     * @param oldCircuitBreaker rest4j 原生熔断器
+     * @param rule 熔断规则
+     * @param metricEntity 监控指标, 快速路径下直接记录, 未开启监控传null
+     */
+    public CircuitBreakerAdaptor(CircuitBreaker oldCircuitBreaker, CircuitBreakerRule rule,
+            MetricEntity metricEntity) {
+        this(oldCircuitBreaker, rule, metricEntity, Clock.systemUTC());
+    }
+
+    /**
+     * 构造器
+     *
+     * @param oldCircuitBreaker rest4j 原生熔断器
+     * @param rule 熔断规则
+     * @param metricEntity 监控指标, 未开启监控传null
+     * @param clock 时钟
+     */
+    CircuitBreakerAdaptor(CircuitBreaker oldCircuitBreaker, CircuitBreakerRule rule, MetricEntity metricEntity,
+            Clock clock) {
         this.oldCircuitBreaker = oldCircuitBreaker;
         this.forceClosed = rule.isForceClosed();
         this.forceOpen = rule.isForceOpen();
+        this.metricEntity = metricEntity;
+        this.clock = clock;
+        final CircuitBreakerConfig config = oldCircuitBreaker.getCircuitBreakerConfig();
+        this.isFastPathSupported = config.getSlidingWindowType() == SlidingWindowType.TIME_BASED;
+        this.failureRateThreshold = config.getFailureRateThreshold();
+        this.slowCallRateThreshold = config.getSlowCallRateThreshold();
+        this.slowCallDurationThresholdNanos = config.getSlowCallDurationThreshold().toNanos();
+        this.minimumNumberOfCalls = config.getMinimumNumberOfCalls();
+        final int bucketCount = isFastPathSupported ? Math.max(1, config.getSlidingWindowSize()) : 0;
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.set(i, new SecondBucket());
+        }
+        this.evaluatedSecond.set(currentSecond());
+        this.isClosed = isFastPathSupported && oldCircuitBreaker.getState() == State.CLOSED;
+        if (isFastPathSupported) {
+            oldCircuitBreaker.getEventPublisher()
+                    .onStateTransition(event -> onStateTransition(event.getStateTransition().getToState()));
+        }
     }
 
     @Override
     public boolean tryAcquirePermission() {
+        if (isClosed) {
+            return true;
+        }
         return oldCircuitBreaker.tryAcquirePermission();
     }
 
     @Override
     public void releasePermission() {
+        if (isClosed) {
+            return;
+        }
         oldCircuitBreaker.releasePermission();
     }
 
     @Override
     public void acquirePermission() {
+        if (isClosed) {
+            return;
+        }
         oldCircuitBreaker.acquirePermission();
     }
 
     @Override
     public void onError(long duration, TimeUnit durationUnit, Throwable throwable) {
-        oldCircuitBreaker.onError(duration, durationUnit, throwable);
+        if (!isClosed) {
+            oldCircuitBreaker.onError(duration, durationUnit, throwable);
+            return;
+        }
+
+        // 与rest4j一致, 异步调用的包装异常按其原始异常判断
+        final Throwable cause = (throwable instanceof CompletionException || throwable instanceof ExecutionException)
+                ? throwable.getCause() : throwable;
+        final CircuitBreakerConfig config = oldCircuitBreaker.getCircuitBreakerConfig();
+        if (config.getIgnoreExceptionPredicate().test(cause)) {
+            recordIgnoredMetric(durationUnit.toMillis(duration));
+            return;
+        }
+        record(durationUnit.toNanos(duration), config.getRecordExceptionPredicate().test(cause));
     }
 
     @Override
     public void onSuccess(long duration, TimeUnit durationUnit) {
-        oldCircuitBreaker.onSuccess(duration, durationUnit);
+        if (!isClosed) {
+            oldCircuitBreaker.onSuccess(duration, durationUnit);
+            return;
+        }
+        record(durationUnit.toNanos(duration), false);
     }
 
     @Override
     public void onResult(long duration, TimeUnit durationUnit, Object result) {
-        oldCircuitBreaker.onResult(duration, durationUnit, result);
+        if (!isClosed) {
+            oldCircuitBreaker.onResult(duration, durationUnit, result);
+            return;
+        }
+        record(durationUnit.toNanos(duration),
+                result != null && oldCircuitBreaker.getCircuitBreakerConfig().getRecordResultPredicate().test(result));
     }
 
     @Override
     public void reset() {
         oldCircuitBreaker.reset();
+        resetBuckets();
+        isClosed = isFastPathSupported && oldCircuitBreaker.getState() == State.CLOSED;
     }
 
     @Override
@@ -138,6 +282,9 @@ public class CircuitBreakerAdaptor implements CircuitBreaker {
 
     @Override
     public Metrics getMetrics() {
+        if (isClosed) {
+            return fastPathMetrics;
+        }
         return oldCircuitBreaker.getMetrics();
     }
 
@@ -176,4 +323,288 @@ public class CircuitBreakerAdaptor implements CircuitBreaker {
     public void setForceOpen(boolean forceOpen) {
         this.forceOpen = forceOpen;
     }
+
+    /**
+     * 快速路径记录调用结果, 进入新的一秒时先评估上一秒结束时的滑动窗口, 失败或慢调用时评估当前滑动窗口
+     *
+     * @param durationNanos 调用耗时, 单位纳秒
+     * @param isFailed 是否失败
+     */
+    private void record(long durationNanos, boolean isFailed) {
+        final long second = currentSecond();
+        evaluateIfRolled(second);
+        final boolean isSlow = durationNanos > slowCallDurationThresholdNanos;
+        final SecondBucket bucket = getBucket(second);
+        if (bucket != null) {
+            bucket.record(isSlow, isFailed);
+        }
+        recordMetric(TimeUnit.NANOSECONDS.toMillis(durationNanos), isFailed);
+        if (isFailed || isSlow) {
+            evaluate(snapshot(second));
+        }
+    }
+
+    private void recordMetric(long durationMs, boolean isFailed) {
+        if (metricEntity == null) {
+            return;
+        }
+        metricEntity.getFuseRequest().increment();
+        if (isFailed) {
+            metricEntity.getFailedFuseRequest().increment();
+        } else {
+            metricEntity.getSuccessFulFuseRequest().increment();
+        }
+        metricEntity.getFuseTime().add(durationMs);
+    }
+
+    private void recordIgnoredMetric(long durationMs) {
+        if (metricEntity == null) {
+            return;
+        }
+        metricEntity.getIgnoreFulFuseRequest().increment();
+        metricEntity.getFuseRequest().increment();
+        metricEntity.getFuseTime().add(durationMs);
+    }
+
+    private long currentSecond() {
+        return clock.millis() / MS_PER_SECOND;
+    }
+
+    /**
+     * 获取指定秒对应的窗口, 窗口已过期则复用
+     *
+     * @param second 秒
+     * @return 窗口, 若该秒的窗口已被更新的时间复用则返回null
+     */
+    private SecondBucket getBucket(long second) {
+        final SecondBucket bucket = buckets.get((int) (second % buckets.length()));
+        final long oldSecond = bucket.second;
+        if (oldSecond == second) {
+            return bucket;
+        }
+        if (oldSecond > second) {
+            return null;
+        }
+        bucket.resetTo(oldSecond, second);
+        return bucket.second == second ? bucket : null;
+    }
+
+    /**
+     * 进入新的一秒时, 由抢到评估权的线程评估截止上一秒结束时的滑动窗口
+     *
+     * @param second 当前秒
+     */
+    private void evaluateIfRolled(long second) {
+        final long last = evaluatedSecond.get();
+        if (second <= last || !evaluatedSecond.compareAndSet(last, second)) {
+            return;
+        }
+        evaluate(snapshot(second - 1));
+    }
+
+    /**
+     * 评估滑动窗口, 与rest4j一致, 调用数达到最小调用数后失败率或慢调用率达到阈值即打开熔断
+     *
+     * @param snapshot 滑动窗口汇总
+     */
+    private void evaluate(WindowSnapshot snapshot) {
+        if (snapshot.calls == 0 || snapshot.calls < minimumNumberOfCalls) {
+            return;
+        }
+        final boolean isFailureRateExceeded = snapshot.failedCalls * PERCENTAGE / snapshot.calls
+                >= failureRateThreshold;
+        final boolean isSlowCallRateExceeded = snapshot.slowCalls * PERCENTAGE / snapshot.calls
+                >= slowCallRateThreshold;
+        if (isFailureRateExceeded || isSlowCallRateExceeded) {
+            transitionToOpen(!isFailureRateExceeded);
+        }
+    }
+
+    /**
+     * 汇总以指定秒结束的滑动窗口
+     *
+     * @param lastSecond 滑动窗口最后一秒
+     * @return 滑动窗口汇总
+     */
+    private WindowSnapshot snapshot(long lastSecond) {
+        final long firstSecond = lastSecond - buckets.length() + 1;
+        final WindowSnapshot snapshot = new WindowSnapshot();
+        for (int i = 0; i < buckets.length(); i++) {
+            final SecondBucket bucket = buckets.get(i);
+            final long second = bucket.second;
+            if (second < firstSecond || second > lastSecond) {
+                continue;
+            }
+            snapshot.calls += bucket.calls.sum();
+            snapshot.failedCalls += bucket.failedCalls.sum();
+            snapshot.slowCalls += bucket.slowCalls.sum();
+            snapshot.slowFailedCalls += bucket.slowFailedCalls.sum();
+        }
+        return snapshot;
+    }
+
+    private void transitionToOpen(boolean isSlowCall) {
+        synchronized (this) {
+            if (!isClosed) {
+                return;
+            }
+            isClosed = false;
+            if (oldCircuitBreaker.getState() != State.CLOSED) {
+                return;
+            }
+            oldCircuitBreaker.transitionToOpenState();
+        }
+        if (isSlowCall && metricEntity != null) {
+            metricEntity.getSlowFuseRequest().increment();
+        }
+    }
+
+    /**
+     * 跟随rest4j原生熔断器状态, 回到关闭状态时清空窗口并重新启用快速路径
+     *
+     * @param toState 目标状态
+     */
+    private void onStateTransition(State toState) {
+        if (toState == State.CLOSED) {
+            resetBuckets();
+            isClosed = true;
+            return;
+        }
+        isClosed = false;
+    }
+
+    private void resetBuckets() {
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.get(i).resetTo(buckets.get(i).second, -1L);
+        }
+        evaluatedSecond.set(currentSecond());
+    }
+
+    /**
+     * 单秒窗口
+     *
+     * @since 2023-01-19
+     */
+    private static class SecondBucket {
+        private final LongAdder calls = new LongAdder();
+
+        private final LongAdder failedCalls = new LongAdder();
+
+        private final LongAdder slowCalls = new LongAdder();
+
+        private final LongAdder slowFailedCalls = new LongAdder();
+
+        /**
+         * 窗口所属秒数
+         */
+        private volatile long second = -1L;
+
+        void record(boolean isSlow, boolean isFailed) {
+            calls.increment();
+            if (isFailed) {
+                failedCalls.increment();
+            }
+            if (isSlow) {
+                slowCalls.increment();
+                if (isFailed) {
+                    slowFailedCalls.increment();
+                }
+            }
+        }
+
+        /**
+         * 先重置数据再发布新的秒数, 保证看到新秒数的线程记录的数据不会被重置清除
+         *
+         * @param expectSecond 旧秒数
+         * @param newSecond 新秒数
+         */
+        synchronized void resetTo(long expectSecond, long newSecond) {
+            if (second != expectSecond) {
+                return;
+            }
+            calls.reset();
+            failedCalls.reset();
+            slowCalls.reset();
+            slowFailedCalls.reset();
+            second = newSecond;
+        }
+    }
+
+    /**
+     * 滑动窗口汇总
+     *
+     * @since 2023-01-19
+     */
+    private static class WindowSnapshot {
+        private long calls;
+
+        private long failedCalls;
+
+        private long slowCalls;
+
+        private long slowFailedCalls;
+    }
+
+    /**
+     * 快速路径下的当前滑动窗口指标, 供监控采集
+     *
+     * @since 2023-01-19
+     */
+    private class FastPathMetrics implements Metrics {
+        @Override
+        public float getFailureRate() {
+            final WindowSnapshot snapshot = snapshot(currentSecond());
+            return rate(snapshot.failedCalls, snapshot.calls);
+        }
+
+        @Override
+        public float getSlowCallRate() {
+            final WindowSnapshot snapshot = snapshot(currentSecond());
+            return rate(snapshot.slowCalls, snapshot.calls);
+        }
+
+        @Override
+        public int getNumberOfSlowCalls() {
+            return (int) snapshot(currentSecond()).slowCalls;
+        }
+
+        @Override
+        public int getNumberOfSlowSuccessfulCalls() {
+            final WindowSnapshot snapshot = snapshot(currentSecond());
+            return (int) (snapshot.slowCalls - snapshot.slowFailedCalls);
+        }
+
+        @Override
+        public int getNumberOfSlowFailedCalls() {
+            return (int) snapshot(currentSecond()).slowFailedCalls;
+        }
+
+        @Override
+        public int getNumberOfBufferedCalls() {
+            return (int) snapshot(currentSecond()).calls;
+        }
+
+        @Override
+        public int getNumberOfFailedCalls() {
+            return (int) snapshot(currentSecond()).failedCalls;
+        }
+
+        @Override
+        public long getNumberOfNotPermittedCalls() {
+            return oldCircuitBreaker.getMetrics().getNumberOfNotPermittedCalls();
+        }
+
+        @Override
+        public int getNumberOfSuccessfulCalls() {
+            final WindowSnapshot snapshot = snapshot(currentSecond());
+            return (int) (snapshot.calls - snapshot.failedCalls);
+        }
+
+        private float rate(long count, long total) {
+            if (total == 0 || total < minimumNumberOfCalls) {
+                return NOT_CALCULATED_RATE;
+            }
+            return count * PERCENTAGE / total;
+        }
+    }
 }
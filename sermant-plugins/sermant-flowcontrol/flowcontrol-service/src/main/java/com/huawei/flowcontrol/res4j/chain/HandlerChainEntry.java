@@ -58,6 +58,7 @@ public enum HandlerChainEntry {
         try {
             final RequestContext threadLocalContext = ChainContext.getThreadLocalContext(sourceName);
             threadLocalContext.setRequestEntity(requestEntity);
+            threadLocalContext.setFlowControlResult(flowControlResult);
             chain.onBefore(threadLocalContext, null);
         } catch (Exception ex) {
             flowControlResult.setRequestType(requestEntity.getRequestType());
@@ -49,6 +49,11 @@ public class HandlerConstants {
      */
     public static final int BULK_HEAD_ORDER = 5000;
 
+    /**
+     * 自适应并发优先级
+     */
+    public static final int ADAPTIVE_CONCURRENCY_ORDER = 6000;
+
     /**
      * 实例隔离优先级, 该优先级必须大于熔断优先级
      */
@@ -64,6 +69,11 @@ public class HandlerConstants {
      */
     public static final int SYSTEM_RULE_FLOW_CONTROL = 11000;
 
+    /**
+     * 请求合并优先级, 需位于所有可能拒绝请求的客户端处理器之后, 避免发起者登记后被拒绝
+     */
+    public static final int COALESCING_ORDER = 12000;
+
     /**
      * 标记当前线程是否发生流控异常
      */
@@ -17,6 +17,7 @@
 
 package com.huawei.flowcontrol.res4j.chain.context;
 
+import com.huawei.flowcontrol.common.entity.FlowControlResult;
 import com.huawei.flowcontrol.common.entity.RequestEntity;
 import com.huawei.flowcontrol.res4j.chain.HandlerConstants;
 
@@ -43,6 +44,8 @@ public class RequestContext {
 
     private RequestEntity requestEntity;
 
+    private FlowControlResult flowControlResult;
+
     /**
      * 构造函数
      *
@@ -88,6 +91,7 @@ public class RequestContext {
     public void remove(String name) {
         localMap.remove(formatKey(name));
         if (localMap.isEmpty()) {
+            flowControlResult = null;
             threadLocal.remove();
         }
     }
@@ -97,6 +101,7 @@ public class RequestContext {
      */
     public void clear() {
         localMap.clear();
+        flowControlResult = null;
     }
 
     private boolean isNeedFormat(String name) {
@@ -122,6 +127,14 @@ public class RequestContext {
         this.requestEntity = requestEntity;
     }
 
+    public FlowControlResult getFlowControlResult() {
+        return flowControlResult;
+    }
+
+    public void setFlowControlResult(FlowControlResult flowControlResult) {
+        this.flowControlResult = flowControlResult;
+    }
+
     public String getSourceName() {
         return sourceName;
     }
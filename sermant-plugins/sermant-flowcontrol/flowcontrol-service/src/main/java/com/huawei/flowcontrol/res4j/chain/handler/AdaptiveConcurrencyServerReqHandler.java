@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.huawei.flowcontrol.res4j.chain.handler;
+
+import com.huawei.flowcontrol.common.entity.RequestEntity.RequestType;
+import com.huawei.flowcontrol.res4j.adaptive.AdaptiveConcurrencyLimiter;
+import com.huawei.flowcontrol.res4j.chain.HandlerConstants;
+import com.huawei.flowcontrol.res4j.chain.context.RequestContext;
+import com.huawei.flowcontrol.res4j.exceptions.AdaptiveConcurrencyException;
+import com.huawei.flowcontrol.res4j.handler.AdaptiveConcurrencyHandler;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 自适应并发处理, 仅作用于服务端, 根据响应时间动态调整允许的并发数
+ *
+ * @author zhouss
+ * @since 2023-01-12
+ */
+public class AdaptiveConcurrencyServerReqHandler extends FlowControlHandler<AdaptiveConcurrencyLimiter> {
+    private static final String CONTEXT_NAME = AdaptiveConcurrencyServerReqHandler.class.getName();
+
+    private static final String START_TIME = CONTEXT_NAME + "_START_TIME";
+
+    private final AdaptiveConcurrencyHandler adaptiveConcurrencyHandler = new AdaptiveConcurrencyHandler();
+
+    @Override
+    public void onBefore(RequestContext context, Set<String> businessNames) {
+        final List<AdaptiveConcurrencyLimiter> limiters = adaptiveConcurrencyHandler.createOrGetHandlers(businessNames);
+        if (!limiters.isEmpty()) {
+            acquirePermission(limiters);
+            context.save(getContextName(), limiters);
+            context.save(START_TIME, System.nanoTime());
+        }
+        super.onBefore(context, businessNames);
+    }
+
+    /**
+     * 获取所有限制器的许可, 任一失败则释放已获取的许可
+     *
+     * @param limiters 限制器
+     * @throws AdaptiveConcurrencyException 超过并发上限时抛出
+     */
+    private void acquirePermission(List<AdaptiveConcurrencyLimiter> limiters) {
+        for (int i = 0; i < limiters.size(); i++) {
+            final AdaptiveConcurrencyLimiter limiter = limiters.get(i);
+            if (limiter.tryAcquirePermission()) {
+                continue;
+            }
+            for (int j = 0; j < i; j++) {
+                limiters.get(j).releasePermission();
+            }
+            throw AdaptiveConcurrencyException.createException(limiter);
+        }
+    }
+
+    @Override
+    public void onResult(RequestContext context, Set<String> businessNames, Object result) {
+        try {
+            final List<AdaptiveConcurrencyLimiter> limiters =
+                    getHandlersFromCache(context.getSourceName(), getContextName());
+            final Long startTime = context.get(START_TIME, Long.class);
+            if (limiters != null && startTime != null) {
+                release(context, limiters, System.nanoTime() - startTime);
+            }
+        } finally {
+            context.remove(getContextName());
+            context.remove(START_TIME);
+        }
+        super.onResult(context, businessNames, result);
+    }
+
+    private void release(RequestContext context, List<AdaptiveConcurrencyLimiter> limiters, long rttNanos) {
+        // 请求未实际执行(被后续处理器拦截)时, 其响应时间不能反映服务容量, 仅释放许可; 执行异常(含超时)时按惩罚后的响应时间采样
+        final boolean isIgnoreSample = context.get(HandlerConstants.OCCURRED_FLOW_EXCEPTION, Exception.class) != null;
+        final boolean isError = context.get(HandlerConstants.OCCURRED_REQUEST_EXCEPTION, Throwable.class) != null;
+        for (AdaptiveConcurrencyLimiter limiter : limiters) {
+            if (isIgnoreSample) {
+                limiter.releasePermission();
+            } else if (isError) {
+                limiter.onError(rttNanos);
+            } else {
+                limiter.onComplete(rttNanos);
+            }
+        }
+    }
+
+    @Override
+    protected RequestType direct() {
+        return RequestType.SERVER;
+    }
+
+    @Override
+    public int getOrder() {
+        return HandlerConstants.ADAPTIVE_CONCURRENCY_ORDER;
+    }
+
+    @Override
+    protected String getContextName() {
+        return CONTEXT_NAME;
+    }
+}
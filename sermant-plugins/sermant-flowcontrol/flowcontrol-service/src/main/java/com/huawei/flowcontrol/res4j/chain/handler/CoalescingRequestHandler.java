@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.huawei.flowcontrol.res4j.chain.handler;
+
+import com.huawei.flowcontrol.common.config.CommonConst;
+import com.huawei.flowcontrol.common.entity.FlowControlResponse;
+import com.huawei.flowcontrol.common.entity.FlowControlResult;
+import com.huawei.flowcontrol.common.entity.RequestEntity;
+import com.huawei.flowcontrol.common.entity.RequestEntity.RequestType;
+import com.huawei.flowcontrol.common.util.ResultCopyUtils;
+import com.huawei.flowcontrol.res4j.chain.HandlerConstants;
+import com.huawei.flowcontrol.res4j.chain.context.RequestContext;
+import com.huawei.flowcontrol.res4j.coalescing.RequestCoalescer;
+import com.huawei.flowcontrol.res4j.coalescing.RequestCoalescer.CallKey;
+import com.huawei.flowcontrol.res4j.coalescing.RequestCoalescer.InFlightCall;
+import com.huawei.flowcontrol.res4j.handler.CoalescingHandler;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 请求合并处理器, 仅处理携带调用参数的同步客户端请求; 接口、请求头及参数均相同的调用仅由首个请求发起, 其余请求等待并以其结果跳过调用,
+ * 首个请求失败或等待超时则自行发起调用; 共享结果由各请求在替换返回值时自行复制
+ *
+ * @author zhouss
+ * @since 2023-01-19
+ */
+public class CoalescingRequestHandler extends FlowControlHandler<RequestCoalescer> {
+    private static final String COALESCED_MSG = "Request coalesced with an in-flight call";
+
+    private final CoalescingHandler coalescingHandler = new CoalescingHandler();
+
+    private final String contextName = CoalescingRequestHandler.class.getName();
+
+    @Override
+    public void onBefore(RequestContext context, Set<String> businessNames) {
+        final RequestEntity requestEntity = context.getRequestEntity();
+        final FlowControlResult flowControlResult = context.getFlowControlResult();
+        if (flowControlResult != null && !requestEntity.isAsync() && requestEntity.getArguments() != null) {
+            final List<RequestCoalescer> coalescers = coalescingHandler.createOrGetHandlers(businessNames);
+            if (!coalescers.isEmpty()) {
+                coalesce(context, coalescers.get(0), requestEntity, flowControlResult);
+            }
+        }
+        super.onBefore(context, businessNames);
+    }
+
+    private void coalesce(RequestContext context, RequestCoalescer coalescer, RequestEntity requestEntity,
+            FlowControlResult flowControlResult) {
+        final Optional<CallKey> key = buildKey(requestEntity);
+        if (!key.isPresent()) {
+            return;
+        }
+        final InFlightCall call = coalescer.join(key.get());
+        if (call.tryLead()) {
+            context.save(getContextName(), call);
+            return;
+        }
+        if (call.await(coalescer.getMaxWaitMs())) {
+            flowControlResult.setResponse(new FlowControlResponse(COALESCED_MSG, CommonConst.HTTP_OK,
+                    call.getResult()));
+        }
+    }
+
+    /**
+     * 构建调用键, 请求头(dubbo为attachments)中通常携带租户、鉴权及路由标签等信息, 需一并参与比较, 避免不同调用方共享结果;
+     * 调用键为构建时的序列化快照, 不依赖参数可变的equals/hashCode
+     *
+     * @param requestEntity 请求体
+     * @return 调用键, 参数不可序列化或过大时返回空, 此时不合并
+     */
+    private Optional<CallKey> buildKey(RequestEntity requestEntity) {
+        final Map<String, String> headers = requestEntity.getHeaders();
+        return ResultCopyUtils.serialize(new Object[]{requestEntity.getApiPath(),
+                headers == null ? Collections.emptyMap() : new HashMap<>(headers), requestEntity.getArguments()})
+                .map(CallKey::new);
+    }
+
+    @Override
+    public void onThrow(RequestContext context, Set<String> businessNames, Throwable throwable) {
+        final InFlightCall call = context.get(getContextName(), InFlightCall.class);
+        if (call != null) {
+            call.complete(null, false);
+            context.remove(getContextName());
+        }
+        super.onThrow(context, businessNames, throwable);
+    }
+
+    @Override
+    public void onResult(RequestContext context, Set<String> businessNames, Object result) {
+        final InFlightCall call = context.get(getContextName(), InFlightCall.class);
+        if (call != null) {
+            call.complete(result, context.get(HandlerConstants.OCCURRED_REQUEST_EXCEPTION, Throwable.class) == null);
+            context.remove(getContextName());
+        }
+        super.onResult(context, businessNames, result);
+    }
+
+    @Override
+    public int getOrder() {
+        return HandlerConstants.COALESCING_ORDER;
+    }
+
+    @Override
+    protected RequestType direct() {
+        return RequestType.CLIENT;
+    }
+
+    @Override
+    public String getContextName() {
+        return contextName;
+    }
+}
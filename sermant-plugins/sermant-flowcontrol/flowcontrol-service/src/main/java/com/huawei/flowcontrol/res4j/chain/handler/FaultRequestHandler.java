@@ -18,6 +18,7 @@
 package com.huawei.flowcontrol.res4j.chain.handler;
 
 import com.huawei.flowcontrol.common.core.rule.fault.Fault;
+import com.huawei.flowcontrol.common.entity.FlowControlResult;
 import com.huawei.flowcontrol.common.entity.RequestEntity.RequestType;
 import com.huawei.flowcontrol.res4j.chain.HandlerConstants;
 import com.huawei.flowcontrol.res4j.chain.context.RequestContext;
@@ -41,12 +42,33 @@ public class FaultRequestHandler extends FlowControlHandler<Fault> {
     public void onBefore(RequestContext context, Set<String> businessNames) {
         final List<Fault> faults = faultHandler.createOrGetHandlers(businessNames);
         if (!faults.isEmpty()) {
-            faults.forEach(Fault::acquirePermission);
+            final FlowControlResult flowControlResult = context.getFlowControlResult();
+            if (flowControlResult != null && context.getRequestEntity().isAsync()) {
+                acquireAsync(faults, flowControlResult);
+            } else {
+                faults.forEach(Fault::acquirePermission);
+            }
             context.save(getContextName(), faults);
         }
         super.onBefore(context, businessNames);
     }
 
+    /**
+     * 异步请求的延迟注入交由调用方在共享定时器上延迟完成结果, 不占用当前线程
+     *
+     * @param faults 错误注入
+     * @param flowControlResult 流控结果
+     */
+    private void acquireAsync(List<Fault> faults, FlowControlResult flowControlResult) {
+        long delayTimeMs = 0L;
+        for (Fault fault : faults) {
+            delayTimeMs += fault.acquireAsyncPermission();
+        }
+        if (delayTimeMs > 0) {
+            flowControlResult.setDelayTimeMs(flowControlResult.getDelayTimeMs() + delayTimeMs);
+        }
+    }
+
     @Override
     public void onResult(RequestContext context, Set<String> businessNames, Object result) {
         context.remove(getContextName());
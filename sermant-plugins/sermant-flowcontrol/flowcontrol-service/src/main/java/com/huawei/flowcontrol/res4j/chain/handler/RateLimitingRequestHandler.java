@@ -22,6 +22,7 @@ import com.huawei.flowcontrol.res4j.chain.context.RequestContext;
 import com.huawei.flowcontrol.res4j.handler.RateLimitingHandler;
 
 import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
 
 import java.util.List;
 import java.util.Set;
@@ -40,7 +41,11 @@ public class RateLimitingRequestHandler extends FlowControlHandler<RateLimiter>
         final List<RateLimiter> handlers = rateLimitingHandler.createOrGetHandlers(businessNames);
         if (!handlers.isEmpty()) {
             context.save(getContextName(), handlers);
-            handlers.forEach(rateLimiter -> RateLimiter.waitForPermission(rateLimiter, 1));
+            for (RateLimiter rateLimiter : handlers) {
+                if (!rateLimiter.acquirePermission()) {
+                    throw RequestNotPermitted.createRequestNotPermitted(rateLimiter);
+                }
+            }
         }
         super.onBefore(context, businessNames);
     }
@@ -52,8 +52,9 @@ public class SystemServerReqHandler extends FlowControlHandler<Fault> {
             }
 
             // 记录请求时间
-            context.save(CommonConst.REQUEST_START_TIME, System.currentTimeMillis());
-            WindowsArray.INSTANCE.addThreadNum(context.get(CommonConst.REQUEST_START_TIME, long.class));
+            final long startTime = WindowsArray.INSTANCE.currentTimeMillis();
+            context.save(CommonConst.REQUEST_START_TIME, startTime);
+            WindowsArray.INSTANCE.addThreadNum(startTime);
         }
         super.onBefore(context, businessNames);
     }
@@ -71,7 +72,7 @@ public class SystemServerReqHandler extends FlowControlHandler<Fault> {
             long startTime = context.get(CommonConst.REQUEST_START_TIME, long.class);
             WindowsArray.INSTANCE.addSuccess(startTime);
             WindowsArray.INSTANCE.decreaseThreadNum(startTime);
-            WindowsArray.INSTANCE.addRt(startTime, System.currentTimeMillis() - startTime);
+            WindowsArray.INSTANCE.addRt(startTime, WindowsArray.INSTANCE.currentTimeMillis() - startTime);
             context.remove(CommonConst.REQUEST_START_TIME);
         }
         context.remove(getContextName());
@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.huawei.flowcontrol.res4j.coalescing;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 请求合并器, 按调用键记录进行中的调用, 相同调用仅由首个请求发起, 其余请求等待其结果
+ *
+ * @author zhouss
+ * @since 2023-01-19
+ */
+public class RequestCoalescer {
+    private final String name;
+
+    private final long maxWaitMs;
+
+    private final Map<CallKey, InFlightCall> inFlightCalls = new ConcurrentHashMap<>();
+
+    /**
+     * 构造器
+     *
+     * @param name 业务场景名
+     * @param maxWaitMs 等待首个请求结果的最大时间
+     */
+    public RequestCoalescer(String name, long maxWaitMs) {
+        this.name = name;
+        this.maxWaitMs = maxWaitMs;
+    }
+
+    /**
+     * 加入调用, 返回该调用键当前进行中的调用; 通过{@link InFlightCall#tryLead()}确定是否由当前请求发起调用
+     *
+     * @param key 调用键
+     * @return 进行中的调用
+     */
+    public InFlightCall join(CallKey key) {
+        return inFlightCalls.computeIfAbsent(key, InFlightCall::new);
+    }
+
+    /**
+     * 当前进行中的调用数
+     *
+     * @return 进行中的调用数
+     */
+    public int getInFlightCount() {
+        return inFlightCalls.size();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getMaxWaitMs() {
+        return maxWaitMs;
+    }
+
+    /**
+     * 调用键, 基于构建时的序列化快照比较, 请求参数后续被修改也不影响进行中记录的移除
+     *
+     * @since 2023-01-19
+     */
+    public static final class CallKey {
+        private final byte[] snapshot;
+
+        private final int hash;
+
+        /**
+         * 构造器
+         *
+         * @param snapshot 调用信息的序列化快照
+         */
+        public CallKey(byte[] snapshot) {
+            this.snapshot = snapshot;
+            this.hash = Arrays.hashCode(snapshot);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CallKey)) {
+                return false;
+            }
+            final CallKey other = (CallKey) obj;
+            return hash == other.hash && Arrays.equals(snapshot, other.snapshot);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * 进行中的调用
+     *
+     * @since 2023-01-19
+     */
+    public class InFlightCall {
+        private final CallKey key;
+
+        private final AtomicBoolean isLed = new AtomicBoolean();
+
+        private final CountDownLatch latch = new CountDownLatch(1);
+
+        private volatile Object result;
+
+        private volatile boolean isSuccess;
+
+        InFlightCall(CallKey key) {
+            this.key = key;
+        }
+
+        /**
+         * 尝试作为发起者, 每个调用仅有一个请求成功
+         *
+         * @return 是否由当前请求发起调用
+         */
+        public boolean tryLead() {
+            return isLed.compareAndSet(false, true);
+        }
+
+        /**
+         * 等待发起者的调用结果
+         *
+         * @param timeoutMs 最大等待时间
+         * @return 是否在等待时间内成功获取结果, 失败、超时或被中断均返回false
+         */
+        public boolean await(long timeoutMs) {
+            try {
+                return latch.await(timeoutMs, TimeUnit.MILLISECONDS) && isSuccess;
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        public Object getResult() {
+            return result;
+        }
+
+        /**
+         * 完成调用, 移除进行中记录并唤醒等待者, 重复调用以首次为准
+         *
+         * @param callResult 调用结果
+         * @param isCallSuccess 是否成功, 仅成功结果共享给等待者
+         */
+        public void complete(Object callResult, boolean isCallSuccess) {
+            if (latch.getCount() == 0) {
+                return;
+            }
+            inFlightCalls.remove(key, this);
+            this.result = callResult;
+            this.isSuccess = isCallSuccess;
+            latch.countDown();
+        }
+    }
+}
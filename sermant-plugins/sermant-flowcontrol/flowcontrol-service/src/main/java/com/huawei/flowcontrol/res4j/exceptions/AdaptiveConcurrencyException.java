@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.huawei.flowcontrol.res4j.exceptions;
+
+import com.huawei.flowcontrol.res4j.adaptive.AdaptiveConcurrencyLimiter;
+
+import java.util.Locale;
+
+/**
+ * 自适应并发限制异常
+ *
+ * @author zhouss
+ * @since 2023-01-12
+ */
+public class AdaptiveConcurrencyException extends RuntimeException {
+    private final int errorCode;
+
+    /**
+     * 自适应并发限制异常
+     *
+     * @param msg 异常信息
+     * @param errorCode 错误码
+     */
+    public AdaptiveConcurrencyException(String msg, int errorCode) {
+        super(msg, null, false, false);
+        this.errorCode = errorCode;
+    }
+
+    /**
+     * 根据限制器创建异常
+     *
+     * @param limiter 自适应并发限制器
+     * @return 异常
+     */
+    public static AdaptiveConcurrencyException createException(AdaptiveConcurrencyLimiter limiter) {
+        return new AdaptiveConcurrencyException(String.format(Locale.ENGLISH,
+                "Adaptive concurrency limit [%s] is reached, current limit is %s!", limiter.getName(),
+                limiter.getLimit()), limiter.getRule().getErrorCode());
+    }
+
+    public int getErrorCode() {
+        return errorCode;
+    }
+}
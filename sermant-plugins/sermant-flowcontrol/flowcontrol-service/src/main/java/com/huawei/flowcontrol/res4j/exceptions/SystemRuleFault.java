@@ -21,6 +21,7 @@ import com.huawei.flowcontrol.common.config.CommonConst;
 import com.huawei.flowcontrol.common.core.rule.SystemRule;
 import com.huawei.flowcontrol.common.core.rule.fault.Fault;
 import com.huawei.flowcontrol.res4j.util.SystemRuleUtils;
+import com.huawei.flowcontrol.res4j.windows.SystemStatusSnapshot;
 
 /**
  * 处理限流异常
@@ -42,8 +43,10 @@ public class SystemRuleFault implements Fault {
 
     @Override
     public void acquirePermission() {
+        final SystemStatusSnapshot systemStatus = SystemRuleUtils.getSystemStatus();
+
         // check qps
-        if (SystemRuleUtils.getQps() > rule.getQps()) {
+        if (systemStatus.getQps() > rule.getQps()) {
             throw new SystemRuleException("Trigger qps flow control", rule);
         }
 
@@ -53,32 +56,33 @@ public class SystemRuleFault implements Fault {
         }
 
         // check rt
-        if (SystemRuleUtils.getAveRt() > rule.getAveRt()) {
+        if (systemStatus.getAveRt() > rule.getAveRt()) {
             throw new SystemRuleException("Trigger rt flow control", rule);
         }
 
         // check load
-        if (SystemRuleUtils.getCurrentLoad() > rule.getSystemLoad()) {
-            if (!SystemRuleUtils.isEnableSystemAdaptive() || checkHistoryData()) {
+        if (systemStatus.getCurrentLoad() > rule.getSystemLoad()) {
+            if (!SystemRuleUtils.isEnableSystemAdaptive() || checkHistoryData(systemStatus)) {
                 throw new SystemRuleException("Trigger load flow control", rule);
             }
         }
 
         // check cpu
-        if (SystemRuleUtils.getCurrentCpuUsage() > rule.getCpuUsage()) {
+        if (systemStatus.getCurrentCpuUsage() > rule.getCpuUsage()) {
             throw new SystemRuleException("Trigger cpu flow control", rule);
         }
     }
 
     /**
-     * 系统负载自适应检测
+     * 系统负载自适应检测, 最大线程数已按每秒数量统计, 与最小响应时间(毫秒)相乘后换算为秒
      *
+     * @param systemStatus 系统状态快照
      * @return 是否流控
      */
-    private boolean checkHistoryData() {
+    private boolean checkHistoryData(SystemStatusSnapshot systemStatus) {
         long threadNum = SystemRuleUtils.getThreadNum();
-        if (threadNum > 1 && threadNum > SystemRuleUtils.getMaxThreadNum()
-                * SystemRuleUtils.getMinRt() / CommonConst.S_MS_UNIT) {
+        if (threadNum > 1 && threadNum > systemStatus.getMaxThreadNum()
+                * systemStatus.getMinRt() / CommonConst.S_MS_UNIT) {
             return true;
         }
         return false;
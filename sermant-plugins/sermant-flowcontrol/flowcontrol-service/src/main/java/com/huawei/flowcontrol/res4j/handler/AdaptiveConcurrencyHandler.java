@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.huawei.flowcontrol.res4j.handler;
+
+import com.huawei.flowcontrol.common.core.resolver.AdaptiveConcurrencyRuleResolver;
+import com.huawei.flowcontrol.common.core.rule.AdaptiveConcurrencyRule;
+import com.huawei.flowcontrol.common.handler.AbstractRequestHandler;
+import com.huawei.flowcontrol.res4j.adaptive.AdaptiveConcurrencyLimiter;
+
+import java.util.Optional;
+
+/**
+ * 自适应并发处理器
+ *
+ * @author zhouss
+ * @since 2023-01-12
+ */
+public class AdaptiveConcurrencyHandler
+        extends AbstractRequestHandler<AdaptiveConcurrencyLimiter, AdaptiveConcurrencyRule> {
+    @Override
+    protected final Optional<AdaptiveConcurrencyLimiter> createProcessor(String businessName,
+            AdaptiveConcurrencyRule rule) {
+        return Optional.of(new AdaptiveConcurrencyLimiter(businessName, rule));
+    }
+
+    @Override
+    protected final String configKey() {
+        return AdaptiveConcurrencyRuleResolver.CONFIG_KEY;
+    }
+}
@@ -20,10 +20,10 @@ package com.huawei.flowcontrol.res4j.handler;
 import com.huawei.flowcontrol.common.core.resolver.BulkheadRuleResolver;
 import com.huawei.flowcontrol.common.core.rule.BulkheadRule;
 import com.huawei.flowcontrol.common.handler.AbstractRequestHandler;
+import com.huawei.flowcontrol.res4j.limiter.TryAcquireBulkhead;
 
 import io.github.resilience4j.bulkhead.Bulkhead;
 import io.github.resilience4j.bulkhead.BulkheadConfig;
-import io.github.resilience4j.bulkhead.BulkheadRegistry;
 
 import java.time.Duration;
 import java.util.Optional;
@@ -41,7 +41,12 @@ public class BulkheadHandler extends AbstractRequestHandler<Bulkhead, BulkheadRu
             .maxConcurrentCalls(rule.getMaxConcurrentCalls())
             .maxWaitDuration(Duration.ofMillis(rule.getParsedMaxWaitDuration()))
             .build();
-        return Optional.of(BulkheadRegistry.of(config).bulkhead(businessName));
+
+        // 隔离仓已按业务场景缓存于处理器中, 无需额外创建注册中心; 不等待时使用无锁的尝试获取实现
+        if (rule.getParsedMaxWaitDuration() <= 0) {
+            return Optional.of(new TryAcquireBulkhead(businessName, config));
+        }
+        return Optional.of(Bulkhead.of(businessName, config));
     }
 
     @Override
@@ -29,7 +29,6 @@ import com.huawei.flowcontrol.res4j.util.MonitorUtils;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig.SlidingWindowType;
-import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 
 import java.time.Duration;
 import java.util.Map;
@@ -45,46 +44,50 @@ public class CircuitBreakerHandler extends AbstractRequestHandler<CircuitBreaker
     @Override
     protected final Optional<CircuitBreaker> createProcessor(String businessName, CircuitBreakerRule rule) {
         final SlidingWindowType slidingWindowType = getSlidingWindowType(rule.getSlidingWindowType());
-        CircuitBreaker circuitBreaker = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+        CircuitBreaker circuitBreaker = CircuitBreaker.of(businessName, CircuitBreakerConfig.custom()
                         .failureRateThreshold(rule.getFailureRateThreshold())
                         .slowCallRateThreshold(rule.getSlowCallRateThreshold())
                         .waitDurationInOpenState(Duration.ofMillis(rule.getParsedWaitDurationInOpenState()))
                         .slowCallDurationThreshold(Duration.ofMillis(rule.getParsedSlowCallDurationThreshold()))
                         .permittedNumberOfCallsInHalfOpenState(rule.getPermittedNumberOfCallsInHalfOpenState())
                         .minimumNumberOfCalls(rule.getMinimumNumberOfCalls()).slidingWindowType(slidingWindowType)
-                        .slidingWindowSize(getWindowSize(slidingWindowType, rule.getParsedSlidingWindowSize())).build())
-                .circuitBreaker(businessName);
-        if (MonitorUtils.isStartMonitor()) {
-            addEventConsumers(circuitBreaker);
-            ServiceCollectorService.CIRCUIT_BREAKER_MAP.putIfAbsent(businessName, circuitBreaker);
+                        .slidingWindowSize(getWindowSize(slidingWindowType, rule.getParsedSlidingWindowSize())).build());
+        if (!MonitorUtils.isStartMonitor()) {
+            return Optional.of(new CircuitBreakerAdaptor(circuitBreaker, rule));
         }
-        return Optional.of(new CircuitBreakerAdaptor(circuitBreaker, rule));
+        final MetricEntity metricEntity = addEventConsumers(circuitBreaker);
+        final CircuitBreakerAdaptor circuitBreakerAdaptor = new CircuitBreakerAdaptor(circuitBreaker, rule,
+                metricEntity);
+        ServiceCollectorService.CIRCUIT_BREAKER_MAP.putIfAbsent(businessName, circuitBreakerAdaptor);
+        return Optional.of(circuitBreakerAdaptor);
     }
 
     /**
-     * 增加事件消费处理
+     * 增加事件消费处理, 关闭状态下的快速路径不经过原生熔断器, 由适配器直接记录至返回的指标
      *
      * @param circuitBreaker 熔断器
+     * @return 监控指标
      */
-    private static void addEventConsumers(CircuitBreaker circuitBreaker) {
+    private static MetricEntity addEventConsumers(CircuitBreaker circuitBreaker) {
         Map<String, MetricEntity> monitors = ServiceCollectorService.MONITORS;
         MetricEntity metricEntity = monitors.computeIfAbsent(circuitBreaker.getName(), s -> new MetricEntity());
         metricEntity.setName(circuitBreaker.getName());
         circuitBreaker.getEventPublisher().onError(event -> {
-            metricEntity.getFailedFuseRequest().getAndIncrement();
-            metricEntity.getFuseRequest().getAndIncrement();
-            metricEntity.getFuseTime().getAndAdd(event.getElapsedDuration().toMillis());
+            metricEntity.getFailedFuseRequest().increment();
+            metricEntity.getFuseRequest().increment();
+            metricEntity.getFuseTime().add(event.getElapsedDuration().toMillis());
         }).onSuccess(event -> {
-            metricEntity.getFuseRequest().getAndIncrement();
-            metricEntity.getSuccessFulFuseRequest().getAndIncrement();
-            metricEntity.getFuseTime().getAndAdd(event.getElapsedDuration().toMillis());
+            metricEntity.getFuseRequest().increment();
+            metricEntity.getSuccessFulFuseRequest().increment();
+            metricEntity.getFuseTime().add(event.getElapsedDuration().toMillis());
         }).onCallNotPermitted(event -> {
-            metricEntity.getPermittedFulFuseRequest().getAndIncrement();
+            metricEntity.getPermittedFulFuseRequest().increment();
         }).onIgnoredError(event -> {
-            metricEntity.getIgnoreFulFuseRequest().getAndIncrement();
-            metricEntity.getFuseRequest().getAndIncrement();
-            metricEntity.getFuseTime().getAndAdd(event.getElapsedDuration().toMillis());
-        }).onSlowCallRateExceeded(event -> metricEntity.getSlowFuseRequest().getAndIncrement());
+            metricEntity.getIgnoreFulFuseRequest().increment();
+            metricEntity.getFuseRequest().increment();
+            metricEntity.getFuseTime().add(event.getElapsedDuration().toMillis());
+        }).onSlowCallRateExceeded(event -> metricEntity.getSlowFuseRequest().increment());
+        return metricEntity;
     }
 
     private int getWindowSize(SlidingWindowType slidingWindowType, long parsedSlidingWindowSize) {
@@ -20,10 +20,10 @@ package com.huawei.flowcontrol.res4j.handler;
 import com.huawei.flowcontrol.common.core.resolver.RateLimitingRuleResolver;
 import com.huawei.flowcontrol.common.core.rule.RateLimitingRule;
 import com.huawei.flowcontrol.common.handler.AbstractRequestHandler;
+import com.huawei.flowcontrol.res4j.limiter.TryAcquireRateLimiter;
 
 import io.github.resilience4j.ratelimiter.RateLimiter;
 import io.github.resilience4j.ratelimiter.RateLimiterConfig;
-import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
 
 import java.time.Duration;
 import java.util.Optional;
@@ -42,8 +42,12 @@ public class RateLimitingHandler extends AbstractRequestHandler<RateLimiter, Rat
             .limitRefreshPeriod(Duration.ofMillis(rule.getParsedLimitRefreshPeriod()))
             .timeoutDuration(Duration.ofMillis(rule.getParsedTimeoutDuration()))
             .build();
-        RateLimiterRegistry rateLimiterRegistry = RateLimiterRegistry.of(config);
-        return Optional.of(rateLimiterRegistry.rateLimiter(businessName));
+
+        // 限流器已按业务场景缓存于处理器中, 无需额外创建注册中心; 不等待时使用无锁的尝试获取实现
+        if (rule.getParsedTimeoutDuration() <= 0) {
+            return Optional.of(new TryAcquireRateLimiter(businessName, config));
+        }
+        return Optional.of(RateLimiter.of(businessName, config));
     }
 
     @Override
@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.huawei.flowcontrol.res4j.limiter;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.event.BulkheadEvent;
+import io.github.resilience4j.bulkhead.event.BulkheadOnCallFinishedEvent;
+import io.github.resilience4j.bulkhead.event.BulkheadOnCallPermittedEvent;
+import io.github.resilience4j.bulkhead.event.BulkheadOnCallRejectedEvent;
+import io.github.resilience4j.core.EventConsumer;
+import io.github.resilience4j.core.EventProcessor;
+import io.vavr.collection.HashMap;
+import io.vavr.collection.Map;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 仅尝试获取许可的信号量隔离仓, 适用于不等待(maxWaitDuration为0)的场景
+ * <p>
+ * 使用单个原子计数记录并发数, 获取许可为一次CAS, 不经过AQS排队
+ * </p>
+ *
+ * @author zhouss
+ * @since 2023-01-17
+ */
+public class TryAcquireBulkhead implements Bulkhead {
+    private final String name;
+
+    private final AtomicInteger concurrentCalls = new AtomicInteger();
+
+    private final BulkheadEventProcessor eventProcessor = new BulkheadEventProcessor();
+
+    private volatile BulkheadConfig config;
+
+    private volatile int maxConcurrentCalls;
+
+    /**
+     * 构造器
+     *
+     * @param name 隔离仓名称
+     * @param config 隔离仓配置
+     */
+    public TryAcquireBulkhead(String name, BulkheadConfig config) {
+        this.name = name;
+        this.config = config;
+        this.maxConcurrentCalls = config.getMaxConcurrentCalls();
+    }
+
+    @Override
+    public void changeConfig(BulkheadConfig newConfig) {
+        this.config = newConfig;
+        this.maxConcurrentCalls = newConfig.getMaxConcurrentCalls();
+    }
+
+    @Override
+    public boolean tryAcquirePermission() {
+        final int max = maxConcurrentCalls;
+        int current;
+        do {
+            current = concurrentCalls.get();
+            if (current >= max) {
+                if (eventProcessor.hasConsumers()) {
+                    eventProcessor.consumeEvent(new BulkheadOnCallRejectedEvent(name));
+                }
+                return false;
+            }
+        } while (!concurrentCalls.compareAndSet(current, current + 1));
+        if (eventProcessor.hasConsumers()) {
+            eventProcessor.consumeEvent(new BulkheadOnCallPermittedEvent(name));
+        }
+        return true;
+    }
+
+    @Override
+    public void acquirePermission() {
+        if (!tryAcquirePermission()) {
+            throw BulkheadFullException.createBulkheadFullException(this);
+        }
+    }
+
+    @Override
+    public void releasePermission() {
+        int current;
+        do {
+            current = concurrentCalls.get();
+            if (current <= 0) {
+                return;
+            }
+        } while (!concurrentCalls.compareAndSet(current, current - 1));
+    }
+
+    @Override
+    public void onComplete() {
+        releasePermission();
+        if (eventProcessor.hasConsumers()) {
+            eventProcessor.consumeEvent(new BulkheadOnCallFinishedEvent(name));
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public BulkheadConfig getBulkheadConfig() {
+        return config;
+    }
+
+    @Override
+    public Metrics getMetrics() {
+        return new Metrics() {
+            @Override
+            public int getAvailableConcurrentCalls() {
+                return Math.max(0, maxConcurrentCalls - concurrentCalls.get());
+            }
+
+            @Override
+            public int getMaxAllowedConcurrentCalls() {
+                return maxConcurrentCalls;
+            }
+        };
+    }
+
+    @Override
+    public Map<String, String> getTags() {
+        return HashMap.empty();
+    }
+
+    @Override
+    public EventPublisher getEventPublisher() {
+        return eventProcessor;
+    }
+
+    /**
+     * 隔离仓事件处理
+     *
+     * @since 2023-01-17
+     */
+    private static class BulkheadEventProcessor extends EventProcessor<BulkheadEvent>
+            implements EventConsumer<BulkheadEvent>, EventPublisher {
+        @Override
+        public EventPublisher onCallRejected(EventConsumer<BulkheadOnCallRejectedEvent> eventConsumer) {
+            registerConsumer(BulkheadOnCallRejectedEvent.class.getName(), eventConsumer);
+            return this;
+        }
+
+        @Override
+        public EventPublisher onCallPermitted(EventConsumer<BulkheadOnCallPermittedEvent> eventConsumer) {
+            registerConsumer(BulkheadOnCallPermittedEvent.class.getName(), eventConsumer);
+            return this;
+        }
+
+        @Override
+        public EventPublisher onCallFinished(EventConsumer<BulkheadOnCallFinishedEvent> eventConsumer) {
+            registerConsumer(BulkheadOnCallFinishedEvent.class.getName(), eventConsumer);
+            return this;
+        }
+
+        @Override
+        public void consumeEvent(BulkheadEvent event) {
+            super.processEvent(event);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.huawei.flowcontrol.res4j.limiter;
+
+import io.github.resilience4j.core.EventConsumer;
+import io.github.resilience4j.core.EventProcessor;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.event.RateLimiterEvent;
+import io.github.resilience4j.ratelimiter.event.RateLimiterOnFailureEvent;
+import io.github.resilience4j.ratelimiter.event.RateLimiterOnSuccessEvent;
+import io.vavr.collection.HashMap;
+import io.vavr.collection.Map;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 仅尝试获取许可的限流器, 适用于不等待(timeoutDuration为0)的场景
+ * <p>
+ * 固定窗口计数, 窗口序号(低32位)与已使用许可数打包在同一个原子变量中, 获取许可仅需一次CAS, 无锁且不会阻塞调用线程
+ * </p>
+ *
+ * @author zhouss
+ * @since 2023-01-17
+ */
+public class TryAcquireRateLimiter implements RateLimiter {
+    private static final int CYCLE_SHIFT = 32;
+
+    private static final long PERMITS_MASK = 0xFFFFFFFFL;
+
+    /**
+     * 并发线程可能已推进的最大窗口数, 超出该范围的存储窗口视为过期窗口
+     */
+    private static final int MAX_AHEAD_CYCLES = 1024;
+
+    private static final long CLOCK_ORIGIN = System.nanoTime();
+
+    private final String name;
+
+    private final long cyclePeriodNanos;
+
+    private final AtomicLong state;
+
+    private final RateLimiterEventProcessor eventProcessor = new RateLimiterEventProcessor();
+
+    private volatile RateLimiterConfig config;
+
+    private volatile int limitForPeriod;
+
+    /**
+     * 构造器
+     *
+     * @param name 限流器名称
+     * @param config 限流配置, 刷新周期不可动态修改
+     */
+    public TryAcquireRateLimiter(String name, RateLimiterConfig config) {
+        this.name = name;
+        this.config = config;
+        this.limitForPeriod = config.getLimitForPeriod();
+        this.cyclePeriodNanos = config.getLimitRefreshPeriod().toNanos();
+        this.state = new AtomicLong(pack(currentCycle(), 0));
+    }
+
+    @Override
+    public void changeTimeoutDuration(Duration timeoutDuration) {
+        config = RateLimiterConfig.from(config).timeoutDuration(timeoutDuration).build();
+    }
+
+    @Override
+    public void changeLimitForPeriod(int limit) {
+        config = RateLimiterConfig.from(config).limitForPeriod(limit).build();
+        limitForPeriod = limit;
+    }
+
+    @Override
+    public boolean acquirePermission(int permits) {
+        final boolean isAcquired = tryAcquire(permits);
+        if (eventProcessor.hasConsumers()) {
+            if (isAcquired) {
+                eventProcessor.consumeEvent(new RateLimiterOnSuccessEvent(name, permits));
+            } else {
+                eventProcessor.consumeEvent(new RateLimiterOnFailureEvent(name, permits));
+            }
+        }
+        return isAcquired;
+    }
+
+    /**
+     * 不支持预留许可, 可立即获取时返回0, 否则返回-1
+     *
+     * @param permits 许可数
+     * @return 需等待的纳秒数
+     */
+    @Override
+    public long reservePermission(int permits) {
+        return acquirePermission(permits) ? 0L : -1L;
+    }
+
+    @Override
+    public void drainPermissions() {
+        final long cycle = currentCycle();
+        long current;
+        do {
+            current = state.get();
+        } while (!state.compareAndSet(current, pack(cycle + aheadCycles(current, cycle), limitForPeriod)));
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public RateLimiterConfig getRateLimiterConfig() {
+        return config;
+    }
+
+    @Override
+    public Map<String, String> getTags() {
+        return HashMap.empty();
+    }
+
+    @Override
+    public Metrics getMetrics() {
+        return new Metrics() {
+            @Override
+            public int getNumberOfWaitingThreads() {
+                return 0;
+            }
+
+            @Override
+            public int getAvailablePermissions() {
+                final long cycle = currentCycle();
+                final long current = state.get();
+                return isExpired(current, cycle) ? limitForPeriod : Math.max(0, limitForPeriod - permitsOf(current));
+            }
+        };
+    }
+
+    @Override
+    public EventPublisher getEventPublisher() {
+        return eventProcessor;
+    }
+
+    private boolean tryAcquire(int permits) {
+        final int limit = limitForPeriod;
+        if (permits > limit) {
+            return false;
+        }
+        final long cycle = currentCycle();
+        while (true) {
+            final long current = state.get();
+            final int used = isExpired(current, cycle) ? 0 : permitsOf(current);
+            if (used + permits > limit) {
+                return false;
+            }
+            if (state.compareAndSet(current, pack(cycle + aheadCycles(current, cycle), used + permits))) {
+                return true;
+            }
+        }
+    }
+
+    private long currentCycle() {
+        return (System.nanoTime() - CLOCK_ORIGIN) / cyclePeriodNanos;
+    }
+
+    private long pack(long cycle, int permits) {
+        return (cycle << CYCLE_SHIFT) | (permits & PERMITS_MASK);
+    }
+
+    private int permitsOf(long packed) {
+        return (int) (packed & PERMITS_MASK);
+    }
+
+    /**
+     * 存储窗口是否已过期
+     *
+     * @param packed 打包状态
+     * @param cycle 当前线程计算的窗口序号
+     * @return 存储窗口早于当前窗口时返回true
+     */
+    private boolean isExpired(long packed, long cycle) {
+        final int diff = cycleDiff(packed, cycle);
+        return diff < 0 || diff > MAX_AHEAD_CYCLES;
+    }
+
+    /**
+     * 存储窗口领先当前线程的窗口数, 其他线程已推进到更新的窗口时沿用其窗口, 避免使用旧窗口覆盖计数
+     *
+     * @param packed 打包状态
+     * @param cycle 当前线程计算的窗口序号
+     * @return 领先窗口数, 未领先时为0
+     */
+    private int aheadCycles(long packed, long cycle) {
+        return isExpired(packed, cycle) ? 0 : cycleDiff(packed, cycle);
+    }
+
+    /**
+     * 存储仅保留窗口序号的低32位, 以当前窗口为基准计算有符号差值
+     *
+     * @param packed 打包状态
+     * @param cycle 当前线程计算的窗口序号
+     * @return 存储窗口与当前窗口的差值
+     */
+    private int cycleDiff(long packed, long cycle) {
+        return (int) ((packed >>> CYCLE_SHIFT) - cycle);
+    }
+
+    /**
+     * 限流事件处理
+     *
+     * @since 2023-01-17
+     */
+    private static class RateLimiterEventProcessor extends EventProcessor<RateLimiterEvent>
+            implements EventConsumer<RateLimiterEvent>, EventPublisher {
+        @Override
+        public EventPublisher onSuccess(EventConsumer<RateLimiterOnSuccessEvent> eventConsumer) {
+            registerConsumer(RateLimiterOnSuccessEvent.class.getName(), eventConsumer);
+            return this;
+        }
+
+        @Override
+        public EventPublisher onFailure(EventConsumer<RateLimiterOnFailureEvent> eventConsumer) {
+            registerConsumer(RateLimiterOnFailureEvent.class.getName(), eventConsumer);
+            return this;
+        }
+
+        @Override
+        public void consumeEvent(RateLimiterEvent event) {
+            super.processEvent(event);
+        }
+    }
+}
@@ -36,10 +36,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * 服务指标监控
+ * 服务指标监控, 采集时直接基于计数器当前值与上次采集值计算增量, 不拷贝全量指标数据
  *
  * @author zhp
  * @since 2022-08-30
@@ -57,12 +56,17 @@ public class ServiceCollectorService extends Collector implements PluginService
 
     private static final List<String> DEFAULT_LABEL_NAME = Collections.singletonList("name");
 
-    private static Map<String, MetricEntity> lastMetricMap = new ConcurrentHashMap<>();
-
-    private static Long lastStartTime;
+    private static final MetricType[] METRIC_TYPES = MetricType.values();
 
     private static final int PROPORTION = 1000;
 
+    /**
+     * 各指标上次采集的计数值, 仅采集线程访问
+     */
+    private final Map<String, FuseCount> lastCounts = new HashMap<>();
+
+    private long lastStartTime;
+
     @Override
     public void start() {
         if (!MonitorUtils.isStartMonitor()) {
@@ -75,175 +79,143 @@ public class ServiceCollectorService extends Collector implements PluginService
     }
 
     @Override
-    public List<MetricFamilySamples> collect() {
-        Map<String, GaugeMetricFamily> metricMap = new HashMap<>();
-        collectCircuitBreakerMetric(metricMap);
-        List<MetricFamilySamples> samples = new ArrayList<>();
+    public synchronized List<MetricFamilySamples> collect() {
+        final GaugeMetricFamily[] families = new GaugeMetricFamily[METRIC_TYPES.length];
+        collectCircuitBreakerMetric(families);
         if (MONITORS.isEmpty()) {
-            samples.addAll(metricMap.values());
-            return samples;
+            lastCounts.clear();
+            return toSamples(families);
         }
-        Map<String, MetricEntity> currentMap = getCurrentMap();
-        currentMap.forEach((k, v) -> {
-            if (v == null || StringUtils.isBlank(v.getName())) {
-                return;
+        final long currentTime = System.currentTimeMillis();
+        for (Map.Entry<String, MetricEntity> entry : MONITORS.entrySet()) {
+            final MetricEntity metricEntity = entry.getValue();
+            if (metricEntity == null || StringUtils.isBlank(metricEntity.getName())) {
+                continue;
             }
-            collectFuseMetric(metricMap, k, v);
-        });
-        lastStartTime = System.currentTimeMillis();
-        lastMetricMap = currentMap;
-        samples.addAll(metricMap.values());
-        return samples;
+            collectFuseMetric(families, entry.getKey(), metricEntity, currentTime);
+        }
+        if (lastCounts.size() > MONITORS.size()) {
+            lastCounts.keySet().retainAll(MONITORS.keySet());
+        }
+        lastStartTime = currentTime;
+        return toSamples(families);
     }
 
     /**
      * 采集熔断指标
      *
-     * @param metricMap 指标采集Map
-     * @param k         指标标签值
-     * @param v         指标信息
+     * @param families 指标集合, 按指标类型下标存储
+     * @param key 指标标签值
+     * @param metricEntity 指标信息
+     * @param currentTime 本次采集时间
      */
-    private void collectFuseMetric(Map<String, GaugeMetricFamily> metricMap, String k, MetricEntity v) {
-        MetricEntity lastMetric;
-        if (lastMetricMap.get(k) == null) {
-            lastMetric = new MetricEntity();
+    private void collectFuseMetric(GaugeMetricFamily[] families, String key, MetricEntity metricEntity,
+            long currentTime) {
+        final FuseCount lastCount = lastCounts.computeIfAbsent(key, name -> new FuseCount());
+        final long fuseRequest = metricEntity.getFuseRequest().sum();
+        final long failedFuseRequest = metricEntity.getFailedFuseRequest().sum();
+        final long ignoreFuseRequest = metricEntity.getIgnoreFulFuseRequest().sum();
+        final long fuseTime = metricEntity.getFuseTime().sum();
+        final long slowFuseRequest = metricEntity.getSlowFuseRequest().sum();
+        final long permittedFuseRequest = metricEntity.getPermittedFulFuseRequest().sum();
+        long total = fuseRequest - lastCount.fuseRequest;
+        addMetric(families, MetricType.FUSED_REQUEST, total, key);
+        long failure = failedFuseRequest - lastCount.failedFuseRequest + ignoreFuseRequest
+                - lastCount.ignoreFuseRequest;
+        addMetric(families, MetricType.FAILURE_FUSE_REQUEST, failure, key);
+        double failRate = total == 0 ? 0 : failure / (double) total;
+        addMetric(families, MetricType.FAILURE_RATE_FUSE_REQUEST, failRate, key);
+        double avgResponseTime = total == 0 ? 0 : (fuseTime - lastCount.fuseTime) / (double) total;
+        addMetric(families, MetricType.AVG_RESPONSE_TIME, avgResponseTime, key);
+        if (lastStartTime == 0L) {
+            addMetric(families, MetricType.QPS, 0, key);
+            addMetric(families, MetricType.TPS, 0, key);
         } else {
-            lastMetric = lastMetricMap.get(k);
-        }
-        long total = v.getFuseRequest().get() - lastMetric.getFuseRequest().get();
-        addMetric(metricMap, MetricType.FUSED_REQUEST, total, k);
-        long failure = v.getFailedClientRequest().get() - lastMetric.getFailedClientRequest().get();
-        long ignore = v.getIgnoreFulFuseRequest().get() - lastMetric.getIgnoreFulFuseRequest().get();
-        addMetric(metricMap, MetricType.FAILURE_FUSE_REQUEST, failure + ignore, k);
-        double failRate = total == 0 ? 0 : (failure + ignore) / (double) total;
-        addMetric(metricMap, MetricType.FAILURE_RATE_FUSE_REQUEST, failRate, k);
-        long fuseTime = v.getFuseTime().get() - lastMetric.getFuseTime().get();
-        double avgResponseTime = total == 0 ? 0 : fuseTime / (double) total;
-        addMetric(metricMap, MetricType.AVG_RESPONSE_TIME, avgResponseTime, k);
-        if (lastStartTime == null) {
-            addMetric(metricMap, MetricType.QPS, 0, k);
-            addMetric(metricMap, MetricType.TPS, 0, k);
-        } else {
-            long interval = System.currentTimeMillis() - lastStartTime;
-            double qps = interval == 0 ? 0 : total * PROPORTION / (double) interval;
+            long interval = currentTime - lastStartTime;
+            double qps = interval <= 0 ? 0 : total * PROPORTION / (double) interval;
             double tps = avgResponseTime == 0 ? 0 : qps * PROPORTION / avgResponseTime;
-            addMetric(metricMap, MetricType.QPS, qps, k);
-            addMetric(metricMap, MetricType.TPS, tps, k);
+            addMetric(families, MetricType.QPS, qps, key);
+            addMetric(families, MetricType.TPS, tps, key);
         }
-        long slowNum = v.getSlowFuseRequest().get() - lastMetric.getSlowFuseRequest().get();
-        addMetric(metricMap, MetricType.SLOW_CALL_NUMBER, slowNum, k);
-        long permitted = v.getPermittedFulFuseRequest().get() - lastMetric.getPermittedFulFuseRequest().get();
-        addMetric(metricMap, MetricType.PERMITTED_FUSE_REQUEST, permitted, k);
+        addMetric(families, MetricType.SLOW_CALL_NUMBER, slowFuseRequest - lastCount.slowFuseRequest, key);
+        addMetric(families, MetricType.PERMITTED_FUSE_REQUEST, permittedFuseRequest - lastCount.permittedFuseRequest,
+                key);
+        lastCount.fuseRequest = fuseRequest;
+        lastCount.failedFuseRequest = failedFuseRequest;
+        lastCount.ignoreFuseRequest = ignoreFuseRequest;
+        lastCount.fuseTime = fuseTime;
+        lastCount.slowFuseRequest = slowFuseRequest;
+        lastCount.permittedFuseRequest = permittedFuseRequest;
     }
 
     /**
      * 采集熔断器指标
      *
-     * @param metricMap 指标Map
+     * @param families 指标集合, 按指标类型下标存储
      */
-    private void collectCircuitBreakerMetric(Map<String, GaugeMetricFamily> metricMap) {
-        if (!CIRCUIT_BREAKER_MAP.isEmpty()) {
-            CIRCUIT_BREAKER_MAP.forEach((key, circuitBreaker) -> {
-                if (circuitBreaker == null) {
-                    return;
-                }
-                CircuitBreaker.Metrics metrics = circuitBreaker.getMetrics();
-                addMetric(metricMap, MetricType.FAILURE_RATE, metrics.getFailureRate(), key);
-                addMetric(metricMap, MetricType.SLOW_CALL_RATE, metrics.getSlowCallRate(), key);
-                addMetric(metricMap, MetricType.SLOW_CALL_NUMBER, metrics.getNumberOfSlowCalls(), key);
-                addMetric(metricMap, MetricType.BUFFERED_CALLS_NUMBER, metrics.getNumberOfBufferedCalls(), key);
-                addMetric(metricMap, MetricType.FAILED_CALLS_NUMBER, metrics.getNumberOfFailedCalls(), key);
-                addMetric(metricMap, MetricType.SLOW_CALL_FAILURE_NUMBER, metrics.getNumberOfSlowFailedCalls(), key);
-                addMetric(metricMap, MetricType.SUCCESSFUL_CALLS_NUMBER, metrics.getNumberOfSuccessfulCalls(), key);
-                addMetric(metricMap, MetricType.NOT_PERMITTED_CALLS_NUMBER, metrics.getNumberOfNotPermittedCalls(),
-                        key);
-                addMetric(metricMap, MetricType.SLOW_CALL_SUCCESS_NUMBER, metrics.getNumberOfSlowSuccessfulCalls(),
-                        key);
-            });
+    private void collectCircuitBreakerMetric(GaugeMetricFamily[] families) {
+        for (Map.Entry<String, CircuitBreaker> entry : CIRCUIT_BREAKER_MAP.entrySet()) {
+            final CircuitBreaker circuitBreaker = entry.getValue();
+            if (circuitBreaker == null) {
+                continue;
+            }
+            final String key = entry.getKey();
+            CircuitBreaker.Metrics metrics = circuitBreaker.getMetrics();
+            addMetric(families, MetricType.FAILURE_RATE, metrics.getFailureRate(), key);
+            addMetric(families, MetricType.SLOW_CALL_RATE, metrics.getSlowCallRate(), key);
+            addMetric(families, MetricType.SLOW_CALL_NUMBER, metrics.getNumberOfSlowCalls(), key);
+            addMetric(families, MetricType.BUFFERED_CALLS_NUMBER, metrics.getNumberOfBufferedCalls(), key);
+            addMetric(families, MetricType.FAILED_CALLS_NUMBER, metrics.getNumberOfFailedCalls(), key);
+            addMetric(families, MetricType.SLOW_CALL_FAILURE_NUMBER, metrics.getNumberOfSlowFailedCalls(), key);
+            addMetric(families, MetricType.SUCCESSFUL_CALLS_NUMBER, metrics.getNumberOfSuccessfulCalls(), key);
+            addMetric(families, MetricType.NOT_PERMITTED_CALLS_NUMBER, metrics.getNumberOfNotPermittedCalls(), key);
+            addMetric(families, MetricType.SLOW_CALL_SUCCESS_NUMBER, metrics.getNumberOfSlowSuccessfulCalls(), key);
         }
     }
 
-    /**
-     * 构造指标收集器
-     *
-     * @param metricType 指标类型
-     * @return 收集器
-     */
-    private GaugeMetricFamily buildGaugeMetric(MetricType metricType) {
-        return new GaugeMetricFamily(metricType.getName(), metricType.getDesc(),
-                ServiceCollectorService.DEFAULT_LABEL_NAME);
-    }
-
     /**
      * 增加指标信息
      *
-     * @param metricMap  指标信息存储MAP
+     * @param families   指标集合, 按指标类型下标存储
      * @param type       指标类型
      * @param value      指标值
      * @param labelValue 指标标签值
      */
-    private void addMetric(Map<String, GaugeMetricFamily> metricMap, MetricType type, double value, String labelValue) {
-        GaugeMetricFamily metric = metricMap.computeIfAbsent(type.getName(), s -> buildGaugeMetric(type));
+    private void addMetric(GaugeMetricFamily[] families, MetricType type, double value, String labelValue) {
+        GaugeMetricFamily metric = families[type.ordinal()];
+        if (metric == null) {
+            metric = new GaugeMetricFamily(type.getName(), type.getDesc(), DEFAULT_LABEL_NAME);
+            families[type.ordinal()] = metric;
+        }
         metric.addMetric(Collections.singletonList(labelValue), value < 0 ? 0 : value);
     }
 
-    /**
-     * 暂存当前数据，防止数据在后续收集指标过程中被更新
-     *
-     * @return 当前指标信息
-     */
-    private Map<String, MetricEntity> getCurrentMap() {
-        Map<String, MetricEntity> target = new ConcurrentHashMap<>();
-        if (!MONITORS.isEmpty()) {
-            for (Map.Entry<String, MetricEntity> entry : MONITORS.entrySet()) {
-                MetricEntity metricEntity = new MetricEntity();
-                MetricEntity sourceMetric = entry.getValue();
-                copy(metricEntity, sourceMetric);
-                target.put(entry.getKey(), metricEntity);
+    private List<MetricFamilySamples> toSamples(GaugeMetricFamily[] families) {
+        final List<MetricFamilySamples> samples = new ArrayList<>(families.length);
+        for (GaugeMetricFamily family : families) {
+            if (family != null) {
+                samples.add(family);
             }
         }
-        return target;
+        return samples;
     }
 
     /**
-     * 数据copy
+     * 上次采集的熔断计数值
      *
-     * @param metricEntity 待拷贝数据
-     * @param sourceMetric 元数据
+     * @since 2023-01-19
      */
-    private void copy(MetricEntity metricEntity, MetricEntity sourceMetric) {
-        if (sourceMetric == null) {
-            return;
-        }
-        metricEntity.setName(sourceMetric.getName());
-        copyValue(sourceMetric.getServerRequest(), metricEntity.getServerRequest());
-        copyValue(sourceMetric.getClientRequest(), metricEntity.getClientRequest());
-        copyValue(sourceMetric.getConsumeClientTime(), metricEntity.getConsumeClientTime());
-        copyValue(sourceMetric.getConsumeServerTime(), metricEntity.getConsumeServerTime());
-        copyValue(sourceMetric.getSuccessServerRequest(), metricEntity.getSuccessServerRequest());
-        copyValue(sourceMetric.getSuccessClientRequest(), metricEntity.getSuccessClientRequest());
-        copyValue(sourceMetric.getFailedServerRequest(), metricEntity.getFailedServerRequest());
-        copyValue(sourceMetric.getFailedClientRequest(), metricEntity.getFailedClientRequest());
-        copyValue(sourceMetric.getLastTime(), metricEntity.getLastTime());
-        copyValue(sourceMetric.getFuseTime(), metricEntity.getFuseTime());
-        copyValue(sourceMetric.getFailedFuseRequest(), metricEntity.getFailedFuseRequest());
-        copyValue(sourceMetric.getSuccessFulFuseRequest(), metricEntity.getSuccessFulFuseRequest());
-        copyValue(sourceMetric.getPermittedFulFuseRequest(), metricEntity.getPermittedFulFuseRequest());
-        copyValue(sourceMetric.getIgnoreFulFuseRequest(), metricEntity.getIgnoreFulFuseRequest());
-        copyValue(sourceMetric.getSlowFuseRequest(), metricEntity.getSlowFuseRequest());
-        copyValue(sourceMetric.getFuseRequest(), metricEntity.getFuseRequest());
-        metricEntity.setReportTime(sourceMetric.getReportTime());
-    }
+    private static class FuseCount {
+        private long fuseRequest;
 
-    /**
-     * 值拷贝
-     *
-     * @param source 来源
-     * @param target 赋值的对象
-     */
-    private void copyValue(AtomicLong source, AtomicLong target) {
-        if (source != null) {
-            target.set(source.get());
-        }
+        private long failedFuseRequest;
+
+        private long ignoreFuseRequest;
+
+        private long fuseTime;
+
+        private long slowFuseRequest;
+
+        private long permittedFuseRequest;
     }
 }
@@ -15,13 +15,18 @@
 
 package com.huawei.flowcontrol.res4j.service;
 
-import com.huawei.flowcontrol.common.config.CommonConst;
+import com.huawei.flowcontrol.common.config.ConfigConst;
+import com.huawei.flowcontrol.common.config.FlowControlConfig;
+import com.huawei.flowcontrol.common.factory.FlowControlThreadFactory;
 import com.huawei.flowcontrol.res4j.windows.SystemStatusTask;
 import com.huawei.flowcontrol.res4j.windows.WindowsArray;
 
+import com.huaweicloud.sermant.core.plugin.config.PluginConfigManager;
 import com.huaweicloud.sermant.core.plugin.service.PluginService;
 
-import java.util.Timer;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 系统状态滑动窗口服务
@@ -31,28 +36,30 @@ import java.util.Timer;
  */
 public class SystemStatusSlidingWindow implements PluginService {
 
-    private final Timer systemStatus = new Timer();
-    private final SystemStatusTask systemStatusTask = new SystemStatusTask();
+    private final ScheduledExecutorService systemStatus = new ScheduledThreadPoolExecutor(1,
+            new FlowControlThreadFactory("FLOW_CONTROL_SYSTEM_STATUS_THREAD", true));
 
     @Override
     public void start() {
         /**
          * 初始化滑动窗口
          */
-        WindowsArray.INSTANCE.initWindowsArray();
+        final FlowControlConfig config = PluginConfigManager.getPluginConfig(FlowControlConfig.class);
+        WindowsArray.INSTANCE.initWindowsArray(config.getSystemWindowBucketCount(),
+                config.getSystemWindowBucketWidthMs());
 
         /**
-         * 定时任务 更新系统状态
+         * 定时任务 按采样周期更新系统状态
          */
-        systemStatus.scheduleAtFixedRate(systemStatusTask, getDelay(), CommonConst.S_MS_UNIT);
-    }
-
-    private long getDelay() {
-        return CommonConst.S_MS_UNIT - System.currentTimeMillis() % CommonConst.S_MS_UNIT;
+        long periodMs = config.getSystemStatusSamplePeriodMs();
+        if (periodMs <= 0) {
+            periodMs = ConfigConst.DEFAULT_SYSTEM_STATUS_SAMPLE_PERIOD_MS;
+        }
+        systemStatus.scheduleAtFixedRate(new SystemStatusTask(), periodMs, periodMs, TimeUnit.MILLISECONDS);
     }
 
     @Override
     public void stop() {
-        systemStatus.cancel();
+        systemStatus.shutdownNow();
     }
 }
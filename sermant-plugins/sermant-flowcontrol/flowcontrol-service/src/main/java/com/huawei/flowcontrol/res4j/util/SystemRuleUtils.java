@@ -17,6 +17,7 @@ package com.huawei.flowcontrol.res4j.util;
 
 import com.huawei.flowcontrol.common.config.FlowControlConfig;
 import com.huawei.flowcontrol.res4j.windows.SystemStatus;
+import com.huawei.flowcontrol.res4j.windows.SystemStatusSnapshot;
 import com.huawei.flowcontrol.res4j.windows.WindowsArray;
 
 import com.huaweicloud.sermant.core.plugin.config.PluginConfigManager;
@@ -51,6 +52,15 @@ public class SystemRuleUtils {
         return CONFIG.isEnableSystemRule();
     }
 
+    /**
+     * 获取当前系统状态快照, 一次读取即可获得一致的系统状态
+     *
+     * @return 系统状态快照
+     */
+    public static SystemStatusSnapshot getSystemStatus() {
+        return SystemStatus.getInstance().getSnapshot();
+    }
+
     /**
      * 获取qps
      *
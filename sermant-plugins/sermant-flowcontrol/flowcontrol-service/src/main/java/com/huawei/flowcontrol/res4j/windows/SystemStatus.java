@@ -18,7 +18,7 @@
 package com.huawei.flowcontrol.res4j.windows;
 
 /**
- * 系统状态
+ * 系统状态, 以不可变快照的形式发布, 请求线程通过一次volatile读获取
  *
  * @author xuezechao1
  * @since 2022-12-06
@@ -28,85 +28,61 @@ public class SystemStatus {
     private static final SystemStatus INSTANCE = new SystemStatus();
 
     /**
-     * 当前系统负载
+     * 当前发布的系统状态快照
      */
-    private double currentLoad = -1;
+    private volatile SystemStatusSnapshot snapshot = SystemStatusSnapshot.INITIAL;
 
-    /**
-     * 当前系统CPU使用率
-     */
-    private double currentCpuUsage = -1;
+    private SystemStatus() {
 
-    /**
-     * qps
-     */
-    private double qps = 0;
+    }
 
     /**
-     * 平均响应时间
+     * 发布新的系统状态快照
+     *
+     * @param newSnapshot 系统状态快照
      */
-    private double aveRt = 0;
+    public void publish(SystemStatusSnapshot newSnapshot) {
+        this.snapshot = newSnapshot;
+    }
 
     /**
-     * 最小响应时间
+     * 获取当前系统状态快照
+     *
+     * @return 系统状态快照
      */
-    private double minRt = Long.MAX_VALUE;
+    public SystemStatusSnapshot getSnapshot() {
+        return snapshot;
+    }
 
     /**
-     * 最大线程数
+     * 重置为初始状态
      */
-    private long maxThreadNum = Long.MIN_VALUE;
-
-    private SystemStatus() {
-
-    }
-
-    public void setCurrentLoad(double load) {
-        this.currentLoad = load;
+    public void reset() {
+        this.snapshot = SystemStatusSnapshot.INITIAL;
     }
 
     public double getCurrentLoad() {
-        return currentLoad;
-    }
-
-    public void setCurrentCpuUsage(double cpuUsage) {
-        this.currentCpuUsage = cpuUsage;
+        return snapshot.getCurrentLoad();
     }
 
     public double getCurrentCpuUsage() {
-        return currentCpuUsage;
-    }
-
-    public void setQps(double qps) {
-        this.qps = qps;
+        return snapshot.getCurrentCpuUsage();
     }
 
     public double getQps() {
-        return qps;
-    }
-
-    public void setAveRt(double aveRt) {
-        this.aveRt = aveRt;
+        return snapshot.getQps();
     }
 
     public double getAveRt() {
-        return aveRt;
-    }
-
-    public void setMinRt(double minRt) {
-        this.minRt = minRt;
+        return snapshot.getAveRt();
     }
 
     public double getMinRt() {
-        return minRt;
-    }
-
-    public void setMaxThreadNum(long threadNum) {
-        this.maxThreadNum = threadNum;
+        return snapshot.getMinRt();
     }
 
     public long getMaxThreadNum() {
-        return maxThreadNum;
+        return snapshot.getMaxThreadNum();
     }
 
     public static SystemStatus getInstance() {
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.huawei.flowcontrol.res4j.windows;
+
+/**
+ * 系统状态快照, 不可变, 由采样任务整体发布, 请求线程一次读取即可获得一致的系统状态
+ *
+ * @author zhouss
+ * @since 2023-01-19
+ */
+public final class SystemStatusSnapshot {
+    /**
+     * 初始快照
+     */
+    static final SystemStatusSnapshot INITIAL = new SystemStatusSnapshot(-1, -1, 0, 0, Long.MAX_VALUE,
+            Long.MIN_VALUE);
+
+    /**
+     * 当前系统负载
+     */
+    private final double currentLoad;
+
+    /**
+     * 当前系统CPU使用率
+     */
+    private final double currentCpuUsage;
+
+    /**
+     * qps
+     */
+    private final double qps;
+
+    /**
+     * 平均响应时间
+     */
+    private final double aveRt;
+
+    /**
+     * 最小响应时间
+     */
+    private final double minRt;
+
+    /**
+     * 最大线程数
+     */
+    private final long maxThreadNum;
+
+    /**
+     * 构造器
+     *
+     * @param currentLoad 当前系统负载
+     * @param currentCpuUsage 当前系统CPU使用率
+     * @param qps qps
+     * @param aveRt 平均响应时间
+     * @param minRt 最小响应时间
+     * @param maxThreadNum 最大线程数
+     */
+    public SystemStatusSnapshot(double currentLoad, double currentCpuUsage, double qps, double aveRt, double minRt,
+            long maxThreadNum) {
+        this.currentLoad = currentLoad;
+        this.currentCpuUsage = currentCpuUsage;
+        this.qps = qps;
+        this.aveRt = aveRt;
+        this.minRt = minRt;
+        this.maxThreadNum = maxThreadNum;
+    }
+
+    public double getCurrentLoad() {
+        return currentLoad;
+    }
+
+    public double getCurrentCpuUsage() {
+        return currentCpuUsage;
+    }
+
+    public double getQps() {
+        return qps;
+    }
+
+    public double getAveRt() {
+        return aveRt;
+    }
+
+    public double getMinRt() {
+        return minRt;
+    }
+
+    public long getMaxThreadNum() {
+        return maxThreadNum;
+    }
+}
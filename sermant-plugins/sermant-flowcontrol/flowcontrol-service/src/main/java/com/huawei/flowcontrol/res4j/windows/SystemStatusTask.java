@@ -22,67 +22,101 @@ import com.huawei.flowcontrol.common.config.CommonConst;
 import com.sun.management.OperatingSystemMXBean;
 
 import java.lang.management.ManagementFactory;
-import java.util.TimerTask;
 
 /**
- * 滑动窗口定时任务
+ * 系统状态采样任务, 按采样周期执行, 平滑后整体发布系统状态快照
  *
  * @author xuezechao1
  * @since 2022-12-07
  */
-public class SystemStatusTask extends TimerTask {
+public class SystemStatusTask implements Runnable {
+    /**
+     * 平滑系数, 取值越大对最新采样越敏感
+     */
+    private static final double SMOOTHING_FACTOR = 0.5D;
 
     private final SystemStatus systemStatus = SystemStatus.getInstance();
 
+    /**
+     * 缓存的系统MXBean, 避免每次采样重复获取
+     */
+    private final OperatingSystemMXBean operatingSystemMxBean =
+            ManagementFactory.getPlatformMXBean(OperatingSystemMXBean.class);
+
+    /**
+     * 当前统计轮次, 滑动窗口完整转动一圈为一轮
+     */
+    private long round = -1L;
+
+    private double cpuUsage = -1D;
+
+    private double qps;
+
+    /**
+     * 平均响应时间, 小于0表示尚无数据
+     */
+    private double aveRt = -1D;
+
+    private double minRt = Double.MAX_VALUE;
+
+    private long maxThreadNum = Long.MIN_VALUE;
+
     @Override
     public void run() {
+        final long currentTime = WindowsArray.INSTANCE.currentTimeMillis();
+        final long bucketWidthMs = WindowsArray.INSTANCE.getBucketWidthMs();
+
         // 新一轮窗口初始化数据
-        if (WindowsArray.INSTANCE.calculateCurrentWindowsIndex() == 0) {
+        final long currentRound = currentTime / (bucketWidthMs * WindowsArray.INSTANCE.getWindowsSize());
+        if (currentRound != round) {
+            round = currentRound;
             initMinRtAndMaxThreadNum();
         }
 
-        // 更新系统负载和CPU使用率
-        OperatingSystemMXBean operatingSystemMxBean = ManagementFactory.getPlatformMXBean(OperatingSystemMXBean.class);
-        systemStatus.setCurrentLoad(operatingSystemMxBean.getSystemLoadAverage());
-        systemStatus.setCurrentCpuUsage(operatingSystemMxBean.getSystemCpuLoad());
+        // 更新CPU使用率, 系统负载本身已由操作系统平滑
+        cpuUsage = smooth(cpuUsage, operatingSystemMxBean.getSystemCpuLoad());
 
         // 更新最小响应时间 最大线程数
-        updateMinRtAndMaxThreadNum();
-
-        // 更新qps 平均响应时间
-        updateQpsAndAveRt();
+        updateMinRtAndMaxThreadNum(bucketWidthMs);
 
-        // 重置下一秒数据
-        WindowsArray.INSTANCE.resetNextWindows();
+        // 更新qps 平均响应时间, 过期窗口由记录数据时惰性重置
+        updateQpsAndAveRt(currentTime, bucketWidthMs);
+        systemStatus.publish(new SystemStatusSnapshot(operatingSystemMxBean.getSystemLoadAverage(), cpuUsage, qps,
+                Math.max(aveRt, 0D), minRt, maxThreadNum));
     }
 
     /**
-     * 检查数据项
+     * 指数加权平滑, 采样值不可用(小于0)时直接使用采样值
      *
-     * @param windowsBucket 数据窗口
-     * @return 窗口是否有效
+     * @param previous 上次平滑结果
+     * @param sample 本次采样值
+     * @return 平滑结果
      */
-    private boolean checkBucket(WindowsBucket windowsBucket) {
-        if (windowsBucket == null || windowsBucket.success.sum() == 0
-                || windowsBucket.rt.sum() == 0) {
-            return false;
+    private double smooth(double previous, double sample) {
+        if (sample < 0 || previous < 0) {
+            return sample;
         }
-        return true;
+        return previous + SMOOTHING_FACTOR * (sample - previous);
     }
 
     /**
      * 初始化最小响应时间 最大线程数
      */
     private void initMinRtAndMaxThreadNum() {
-        systemStatus.setMinRt(Double.MAX_VALUE);
-        systemStatus.setMaxThreadNum(Long.MIN_VALUE);
+        minRt = Double.MAX_VALUE;
+        maxThreadNum = Long.MIN_VALUE;
     }
 
     /**
-     * 更新最小响应时间 最大线程数
+     * 更新最小响应时间 最大线程数, 最大线程数为每秒成功数与现存线程数之和, 成功数按窗口时长折算为每秒数量
+     *
+     * @param bucketWidthMs 单个窗口时长
      */
-    private void updateMinRtAndMaxThreadNum() {
+    private void updateMinRtAndMaxThreadNum(long bucketWidthMs) {
         WindowsBucket windowsBucket = WindowsArray.INSTANCE.getCurrentWindow();
+        if (windowsBucket == null) {
+            return;
+        }
 
         // 调用成功总数
         long successNum = windowsBucket.success.sum();
@@ -91,32 +125,41 @@ public class SystemStatusTask extends TimerTask {
         double rt = windowsBucket.rt.sum();
 
         // 现存线程数
-        double threadNum = windowsBucket.threadNum.sum();
+        double threadNum = WindowsArray.INSTANCE.getThreadNum();
         if (0 != successNum) {
-            systemStatus.setMinRt(Math.min(systemStatus.getMinRt(), rt / successNum));
+            minRt = Math.min(minRt, rt / successNum);
         }
-        systemStatus.setMaxThreadNum((long) Math.max(systemStatus.getMaxThreadNum(), threadNum + successNum));
+        maxThreadNum = (long) Math.max(maxThreadNum,
+                threadNum + (double) successNum * CommonConst.S_MS_UNIT / bucketWidthMs);
     }
 
     /**
-     * 更新qps 平均响应时间
+     * 更新qps 平均响应时间, 统计区间为前一个完整窗口加上当前窗口已经过的时长, 无需等待窗口结束即可感知流量变化
+     *
+     * @param currentTime 当前时间
+     * @param bucketWidthMs 单个窗口时长
      */
-    private void updateQpsAndAveRt() {
-        WindowsBucket previousWindowsBucket = WindowsArray.INSTANCE.getPreviousWindow();
-        if (checkBucket(previousWindowsBucket)) {
-            systemStatus.setQps(previousWindowsBucket.success.sum());
-            systemStatus.setAveRt(previousWindowsBucket.rt.sum() / systemStatus.getQps());
+    private void updateQpsAndAveRt(long currentTime, long bucketWidthMs) {
+        long intervalMs = currentTime % bucketWidthMs;
+        long successNum = 0L;
+        long rtSum = 0L;
+        final WindowsBucket previousWindowsBucket = WindowsArray.INSTANCE.getPreviousWindow();
+        if (previousWindowsBucket != null) {
+            intervalMs += bucketWidthMs;
+            successNum += previousWindowsBucket.success.sum();
+            rtSum += previousWindowsBucket.rt.sum();
+        }
+        final WindowsBucket currentWindowsBucket = WindowsArray.INSTANCE.getCurrentWindow();
+        if (currentWindowsBucket != null) {
+            successNum += currentWindowsBucket.success.sum();
+            rtSum += currentWindowsBucket.rt.sum();
+        }
+        if (intervalMs == 0) {
             return;
         }
-        WindowsBucket currentWindowsBucket = WindowsArray.INSTANCE.getCurrentWindow();
-        if (checkBucket(currentWindowsBucket)) {
-            long currentMillis = System.currentTimeMillis() % CommonConst.S_MS_UNIT;
-            if (currentMillis != 0) {
-                systemStatus.setQps(
-                        (double) CommonConst.S_MS_UNIT * currentWindowsBucket.success.sum() / currentMillis);
-                systemStatus.setAveRt(
-                        (double) currentWindowsBucket.rt.sum() / currentWindowsBucket.success.sum());
-            }
+        qps = smooth(qps, (double) CommonConst.S_MS_UNIT * successNum / intervalMs);
+        if (successNum != 0) {
+            aveRt = smooth(aveRt, (double) rtSum / successNum);
         }
     }
 }
@@ -19,12 +19,11 @@ package com.huawei.flowcontrol.res4j.windows;
 
 import com.huawei.flowcontrol.common.config.CommonConst;
 
-import java.util.Calendar;
 import java.util.concurrent.atomic.AtomicReferenceArray;
-import java.util.stream.Stream;
 
 /**
- * 滑动窗口
+ * 滑动窗口, 基于单调时钟计算窗口, 窗口数量与单个窗口时长可配置
+ * <p>窗口采用惰性重置, 请求线程发现窗口过期时加锁复用该窗口, 记录数据时不加锁且不产生额外对象</p>
  *
  * @author xuezechao1
  * @since 2022-12-07
@@ -39,7 +38,22 @@ public enum WindowsArray {
     /**
      * 默认窗口大小
      */
-    private static final int DEFAULT_WINDOWS_SIZE = 60;
+    public static final int DEFAULT_WINDOWS_SIZE = 60;
+
+    /**
+     * 默认单个窗口时长, 单位毫秒
+     */
+    public static final long DEFAULT_BUCKET_WIDTH_MS = CommonConst.S_MS_UNIT;
+
+    /**
+     * 纳秒与毫秒转换单位
+     */
+    private static final long NANOS_PER_MS = 1000000L;
+
+    /**
+     * 单调时钟起点, 保证计算出的时间非负
+     */
+    private static final long CLOCK_ORIGIN = System.nanoTime();
 
     /**
      * 滑动窗口数组
@@ -47,12 +61,63 @@ public enum WindowsArray {
     private static AtomicReferenceArray<WindowsBucket> windowsArray = null;
 
     /**
-     * 初始化
+     * 窗口数量
+     */
+    private static int windowsSize = DEFAULT_WINDOWS_SIZE;
+
+    /**
+     * 单个窗口时长, 单位毫秒
+     */
+    private static long bucketWidthMs = DEFAULT_BUCKET_WIDTH_MS;
+
+    /**
+     * 初始化, 使用默认的60个1秒窗口
      */
     public void initWindowsArray() {
-        windowsArray = new AtomicReferenceArray<>(DEFAULT_WINDOWS_SIZE);
-        Stream.iterate(0, n -> n + 1).limit(DEFAULT_WINDOWS_SIZE)
-                .forEach(a -> windowsArray.set(a, new WindowsBucket()));
+        initWindowsArray(DEFAULT_WINDOWS_SIZE, DEFAULT_BUCKET_WIDTH_MS);
+    }
+
+    /**
+     * 初始化
+     *
+     * @param size 窗口数量, 非法时使用默认值
+     * @param widthMs 单个窗口时长, 单位毫秒, 非法时使用默认值
+     */
+    public void initWindowsArray(int size, long widthMs) {
+        windowsSize = size > 0 ? size : DEFAULT_WINDOWS_SIZE;
+        bucketWidthMs = widthMs > 0 ? widthMs : DEFAULT_BUCKET_WIDTH_MS;
+        final AtomicReferenceArray<WindowsBucket> buckets = new AtomicReferenceArray<>(windowsSize);
+        for (int i = 0; i < windowsSize; i++) {
+            buckets.set(i, new WindowsBucket());
+        }
+        windowsArray = buckets;
+    }
+
+    /**
+     * 获取单调时钟当前时间, 单位毫秒, 请求开始时间需使用该时钟记录
+     *
+     * @return 当前时间
+     */
+    public long currentTimeMillis() {
+        return (System.nanoTime() - CLOCK_ORIGIN) / NANOS_PER_MS;
+    }
+
+    /**
+     * 获取单个窗口时长
+     *
+     * @return 单个窗口时长, 单位毫秒
+     */
+    public long getBucketWidthMs() {
+        return bucketWidthMs;
+    }
+
+    /**
+     * 获取窗口数量
+     *
+     * @return 窗口数量
+     */
+    public int getWindowsSize() {
+        return windowsSize;
     }
 
     /**
@@ -61,16 +126,21 @@ public enum WindowsArray {
      * @return 当前时间点窗口
      */
     public WindowsBucket getCurrentWindow() {
-        return windowsArray.get(calculateCurrentWindowsIndex());
+        return getValidWindow(currentTimeMillis());
     }
 
     /**
      * 获取当前时间点前一个窗口
      *
-     * @return 当前时间点前一个窗口
+     * @return 当前时间点前一个窗口, 若该窗口期间无数据或已被复用则返回null
      */
     public WindowsBucket getPreviousWindow() {
-        return windowsArray.get(calculatePreviousWindowsIndex());
+        final long previousTime = currentTimeMillis() - bucketWidthMs;
+        if (previousTime < 0) {
+            return null;
+        }
+        final WindowsBucket bucket = windowsArray.get(calculateIndex(previousTime));
+        return bucket.isWindowOf(calculateWindowStart(previousTime)) ? bucket : null;
     }
 
     /**
@@ -84,12 +154,20 @@ public enum WindowsArray {
     }
 
     /**
-     * 获取当前线程数
+     * 获取当前线程数, 请求按开始时间记录在不同窗口, 因此需累加滑动窗口范围内所有窗口的线程数
      *
      * @return 当前线程数
      */
     public long getThreadNum() {
-        return getCurrentWindow().threadNum.sum();
+        final long oldestWindowStart = calculateWindowStart(currentTimeMillis()) - (windowsSize - 1) * bucketWidthMs;
+        long threadNum = 0L;
+        for (int i = 0; i < windowsSize; i++) {
+            final WindowsBucket bucket = windowsArray.get(i);
+            if (bucket.getWindowStart() >= oldestWindowStart) {
+                threadNum += bucket.threadNum.sum();
+            }
+        }
+        return threadNum;
     }
 
     /**
@@ -98,7 +176,10 @@ public enum WindowsArray {
      * @param startTime 请求时间
      */
     public void addSuccess(long startTime) {
-        windowsArray.get(calculateWindowsIndex(startTime)).success.increment();
+        final WindowsBucket bucket = getValidWindow(startTime);
+        if (bucket != null) {
+            bucket.success.increment();
+        }
     }
 
     /**
@@ -108,7 +189,10 @@ public enum WindowsArray {
      * @param responseTime 响应时间
      */
     public void addRt(long startTime, long responseTime) {
-        windowsArray.get(calculateWindowsIndex(startTime)).rt.add(responseTime);
+        final WindowsBucket bucket = getValidWindow(startTime);
+        if (bucket != null) {
+            bucket.rt.add(responseTime);
+        }
     }
 
     /**
@@ -117,7 +201,10 @@ public enum WindowsArray {
      * @param startTime 请求时间
      */
     public void addThreadNum(long startTime) {
-        windowsArray.get(calculateWindowsIndex(startTime)).threadNum.increment();
+        final WindowsBucket bucket = getValidWindow(startTime);
+        if (bucket != null) {
+            bucket.threadNum.increment();
+        }
     }
 
     /**
@@ -126,7 +213,10 @@ public enum WindowsArray {
      * @param startTime 请求时间
      */
     public void decreaseThreadNum(long startTime) {
-        windowsArray.get(calculateWindowsIndex(startTime)).threadNum.decrement();
+        final WindowsBucket bucket = getValidWindow(startTime);
+        if (bucket != null) {
+            bucket.threadNum.decrement();
+        }
     }
 
     /**
@@ -135,64 +225,59 @@ public enum WindowsArray {
      * @return 当前时间点窗口索引
      */
     public int calculateCurrentWindowsIndex() {
-        return Calendar.getInstance().get(Calendar.SECOND) % DEFAULT_WINDOWS_SIZE;
-    }
-
-    /**
-     * 重置下一个窗口数据
-     */
-    public void resetNextWindows() {
-        WindowsBucket windowsBucket = getWindow(calculateNextWindowsIndex());
-        windowsBucket.success.reset();
-        windowsBucket.rt.reset();
-        windowsBucket.threadNum.reset();
-    }
-
-    /**
-     * 计算当前时间点下一个窗口索引
-     *
-     * @return 当前时间点下一个窗口索引
-     */
-    public int calculateNextWindowsIndex() {
-        int nextIndex = calculateCurrentWindowsIndex() + 1;
-        if (nextIndex >= DEFAULT_WINDOWS_SIZE) {
-            nextIndex = 0;
-        }
-        return nextIndex;
+        return calculateIndex(currentTimeMillis());
     }
 
     /**
      * 计算窗口索引
      *
      * @param startTime 请求时间
-     * @return 窗口索引
+     * @return 窗口索引, 若请求时间已超出整个滑动窗口范围则返回-1
      */
     public int calculateWindowsIndex(long startTime) {
-        if (System.currentTimeMillis() - startTime > DEFAULT_WINDOWS_SIZE * CommonConst.S_MS_UNIT) {
+        if (startTime < 0 || currentTimeMillis() - startTime > windowsSize * bucketWidthMs) {
             return -1;
         }
-        return (int) (startTime / CommonConst.S_MS_UNIT % DEFAULT_WINDOWS_SIZE);
+        return calculateIndex(startTime);
     }
 
     /**
-     * 计算当前时间前一个窗口索引
+     * 获取滑动窗口数组
      *
-     * @return 当前时间前一个窗口索引
+     * @return 滑动窗口
      */
-    public int calculatePreviousWindowsIndex() {
-        int previousIndex = calculateCurrentWindowsIndex() - 1;
-        if (previousIndex < 0) {
-            previousIndex = DEFAULT_WINDOWS_SIZE - 1;
-        }
-        return previousIndex;
+    public AtomicReferenceArray<WindowsBucket> getWindowsArray() {
+        return windowsArray;
     }
 
     /**
-     * 获取滑动窗口数组
+     * 获取指定时间所属的窗口, 窗口过期则复用
      *
-     * @return 滑动窗口
+     * @param time 单调时钟时间
+     * @return 窗口, 若时间已过期(窗口已被更新的时间复用)则返回null
      */
-    public AtomicReferenceArray<WindowsBucket> getWindowsArray() {
-        return windowsArray;
+    private WindowsBucket getValidWindow(long time) {
+        if (time < 0) {
+            return null;
+        }
+        final WindowsBucket bucket = windowsArray.get(calculateIndex(time));
+        final long windowStart = calculateWindowStart(time);
+        final long oldWindowStart = bucket.getWindowStart();
+        if (oldWindowStart == windowStart) {
+            return bucket;
+        }
+        if (oldWindowStart > windowStart) {
+            return null;
+        }
+        bucket.resetTo(oldWindowStart, windowStart);
+        return bucket.isWindowOf(windowStart) ? bucket : null;
+    }
+
+    private int calculateIndex(long time) {
+        return (int) (time / bucketWidthMs % windowsSize);
+    }
+
+    private long calculateWindowStart(long time) {
+        return time - time % bucketWidthMs;
     }
 }
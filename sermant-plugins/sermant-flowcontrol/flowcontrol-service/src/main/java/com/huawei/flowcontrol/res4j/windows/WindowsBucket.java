@@ -26,19 +26,59 @@ import java.util.concurrent.atomic.LongAdder;
  * @since 2022-12-07
  */
 class WindowsBucket {
-
     /**
      * 响应时间
      */
-    LongAdder rt = new LongAdder();
+    final LongAdder rt = new LongAdder();
 
     /**
      * 线程数
      */
-    LongAdder threadNum = new LongAdder();
+    final LongAdder threadNum = new LongAdder();
 
     /**
      * 成功数
      */
-    LongAdder success = new LongAdder();
+    final LongAdder success = new LongAdder();
+
+    /**
+     * 当前窗口起始时间, 单位毫秒, 基于单调时钟
+     */
+    private volatile long windowStart = -1L;
+
+    /**
+     * 获取窗口起始时间
+     *
+     * @return 窗口起始时间
+     */
+    long getWindowStart() {
+        return windowStart;
+    }
+
+    /**
+     * 判断窗口是否属于指定起始时间
+     *
+     * @param start 窗口起始时间
+     * @return 是否属于
+     */
+    boolean isWindowOf(long start) {
+        return windowStart == start;
+    }
+
+    /**
+     * 将过期窗口复用为新的窗口, 仅第一个进入的线程执行重置
+     * <p>先重置数据再发布新的起始时间, 保证看到新起始时间的线程记录的数据不会被重置清除</p>
+     *
+     * @param expectStart 旧窗口起始时间
+     * @param newStart 新窗口起始时间
+     */
+    synchronized void resetTo(long expectStart, long newStart) {
+        if (windowStart != expectStart) {
+            return;
+        }
+        success.reset();
+        rt.reset();
+        threadNum.reset();
+        windowStart = newStart;
+    }
 }
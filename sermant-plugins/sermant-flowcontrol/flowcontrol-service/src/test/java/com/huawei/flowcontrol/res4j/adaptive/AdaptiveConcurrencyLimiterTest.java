@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.huawei.flowcontrol.res4j.adaptive;
+
+import com.huawei.flowcontrol.common.core.rule.AdaptiveConcurrencyRule;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 自适应并发限制器测试, 使用合成的延迟模拟器驱动
+ *
+ * @author zhouss
+ * @since 2023-01-12
+ */
+public class AdaptiveConcurrencyLimiterTest {
+    private static final long BASE_RTT_NANOS = 10_000_000L;
+
+    private static final int OFFERED_CONCURRENCY = 500;
+
+    private static final int ROUNDS = 3000;
+
+    /**
+     * 健康延迟下上限逐步增长至最大值
+     */
+    @Test
+    public void testGrowUnderHealthyLatency() {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", buildRule());
+        final LatencySimulator simulator = new LatencySimulator(Integer.MAX_VALUE);
+        run(limiter, simulator, ROUNDS);
+        Assert.assertEquals(buildRule().getMaxLimit(), limiter.getLimit());
+    }
+
+    /**
+     * 过载时上限收敛至服务容量附近, 容量下降后上限随之下降
+     */
+    @Test
+    public void testConvergeToCapacity() {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", buildRule());
+        final LatencySimulator simulator = new LatencySimulator(50);
+        run(limiter, simulator, ROUNDS);
+        Assert.assertTrue(limiter.getLimit() >= 50);
+        Assert.assertTrue(limiter.getLimit() <= 100);
+        simulator.capacity = 10;
+        run(limiter, simulator, ROUNDS);
+        Assert.assertTrue(limiter.getLimit() >= 10);
+        Assert.assertTrue(limiter.getLimit() <= 30);
+        Assert.assertEquals(0, limiter.getInFlight());
+    }
+
+    /**
+     * 执行异常时同样采样, 即使异常请求响应很快, 上限也会收缩
+     */
+    @Test
+    public void testShrinkOnError() {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", buildRule());
+        run(limiter, new LatencySimulator(Integer.MAX_VALUE), ROUNDS);
+        Assert.assertEquals(buildRule().getMaxLimit(), limiter.getLimit());
+        for (int round = 0; round < ROUNDS; round++) {
+            int acquired = 0;
+            while (acquired < OFFERED_CONCURRENCY && limiter.tryAcquirePermission()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.onError(BASE_RTT_NANOS);
+            }
+        }
+        Assert.assertTrue(limiter.getLimit() < buildRule().getMaxLimit() / 2);
+        Assert.assertEquals(0, limiter.getInFlight());
+    }
+
+    /**
+     * 达到上限后拒绝, 释放后可再次获取
+     */
+    @Test
+    public void testAcquire() {
+        final AdaptiveConcurrencyRule rule = buildRule();
+        rule.setInitialLimit(1);
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", rule);
+        Assert.assertTrue(limiter.tryAcquirePermission());
+        Assert.assertFalse(limiter.tryAcquirePermission());
+        limiter.releasePermission();
+        Assert.assertTrue(limiter.tryAcquirePermission());
+        limiter.onComplete(BASE_RTT_NANOS);
+        Assert.assertEquals(0, limiter.getInFlight());
+    }
+
+    private AdaptiveConcurrencyRule buildRule() {
+        final AdaptiveConcurrencyRule rule = new AdaptiveConcurrencyRule();
+        rule.setMaxLimit(300);
+        rule.setWindowDuration("0");
+        rule.setMinWindowSamples(10);
+        rule.setProbeInterval(Integer.MAX_VALUE);
+        return rule;
+    }
+
+    /**
+     * 每轮以固定并发压测, 获取许可的请求以模拟器给出的延迟完成
+     *
+     * @param limiter 限制器
+     * @param simulator 延迟模拟器
+     * @param rounds 轮数
+     */
+    private void run(AdaptiveConcurrencyLimiter limiter, LatencySimulator simulator, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (acquired < OFFERED_CONCURRENCY && limiter.tryAcquirePermission()) {
+                acquired++;
+            }
+            final long rtt = simulator.rtt(limiter.getInFlight());
+            for (int i = 0; i < acquired; i++) {
+                limiter.onComplete(rtt);
+            }
+        }
+    }
+
+    /**
+     * 合成延迟模拟器, 并发不超过容量时延迟恒定, 超过后请求排队, 延迟随并发线性增长
+     */
+    private static class LatencySimulator {
+        private int capacity;
+
+        LatencySimulator(int capacity) {
+            this.capacity = capacity;
+        }
+
+        long rtt(int concurrency) {
+            if (concurrency <= capacity) {
+                return BASE_RTT_NANOS;
+            }
+            return BASE_RTT_NANOS * concurrency / capacity;
+        }
+    }
+}
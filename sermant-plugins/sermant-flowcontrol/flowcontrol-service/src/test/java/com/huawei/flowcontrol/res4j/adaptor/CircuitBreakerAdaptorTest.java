@@ -0,0 +1,232 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.huawei.flowcontrol.res4j.adaptor;
+
+import com.huawei.flowcontrol.common.core.rule.CircuitBreakerRule;
+import com.huawei.flowcontrol.common.entity.MetricEntity;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker.State;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig.SlidingWindowType;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 熔断适配器测试
+ *
+ * @author zhouss
+ * @since 2023-01-19
+ */
+public class CircuitBreakerAdaptorTest {
+    private static final int MIN_CALLS = 4;
+
+    private static final int WINDOW_SECONDS = 10;
+
+    private static final long FAST_CALL_MS = 1L;
+
+    private static final long SLOW_CALL_MS = 200L;
+
+    private static final long SECOND_MS = 1000L;
+
+    private static final float NOT_CALCULATED_RATE = -1f;
+
+    private final MutableClock clock = new MutableClock();
+
+    /**
+     * 测试关闭状态下走快速路径, 调用结果仅记录在适配器窗口中
+     */
+    @Test
+    public void testFastPath() {
+        final CircuitBreaker circuitBreaker = create(SlidingWindowType.TIME_BASED);
+        final MetricEntity metricEntity = new MetricEntity();
+        final CircuitBreaker adaptor = new CircuitBreakerAdaptor(circuitBreaker, new CircuitBreakerRule(),
+                metricEntity, clock);
+        Assert.assertTrue(adaptor.tryAcquirePermission());
+        adaptor.onSuccess(FAST_CALL_MS, TimeUnit.MILLISECONDS);
+        adaptor.onError(SLOW_CALL_MS, TimeUnit.MILLISECONDS, new RuntimeException("error"));
+        Assert.assertNotSame(circuitBreaker.getMetrics(), adaptor.getMetrics());
+        Assert.assertEquals(2, adaptor.getMetrics().getNumberOfBufferedCalls());
+        Assert.assertEquals(1, adaptor.getMetrics().getNumberOfFailedCalls());
+        Assert.assertEquals(1, adaptor.getMetrics().getNumberOfSlowFailedCalls());
+        Assert.assertEquals(0, circuitBreaker.getMetrics().getNumberOfBufferedCalls());
+        Assert.assertEquals(2L, metricEntity.getFuseRequest().sum());
+        Assert.assertEquals(1L, metricEntity.getFailedFuseRequest().sum());
+    }
+
+    /**
+     * 测试失败率超过阈值后熔断
+     */
+    @Test
+    public void testOpenOnFailureRate() {
+        final CircuitBreaker circuitBreaker = create(SlidingWindowType.TIME_BASED);
+        final CircuitBreaker adaptor = new CircuitBreakerAdaptor(circuitBreaker, new CircuitBreakerRule(), null,
+                clock);
+        recordErrors(adaptor, MIN_CALLS - 1);
+        Assert.assertEquals(State.CLOSED, adaptor.getState());
+        Assert.assertEquals(NOT_CALCULATED_RATE, adaptor.getMetrics().getFailureRate(), 0f);
+        recordErrors(adaptor, 1);
+        Assert.assertEquals(State.OPEN, circuitBreaker.getState());
+        Assert.assertFalse(adaptor.tryAcquirePermission());
+    }
+
+    /**
+     * 测试慢调用比例超过阈值后熔断
+     */
+    @Test
+    public void testOpenOnSlowCallRate() {
+        final CircuitBreaker adaptor = new CircuitBreakerAdaptor(create(SlidingWindowType.TIME_BASED),
+                new CircuitBreakerRule(), null, clock);
+        for (int i = 0; i < MIN_CALLS - 1; i++) {
+            adaptor.onResult(SLOW_CALL_MS, TimeUnit.MILLISECONDS, new Object());
+        }
+        Assert.assertEquals(State.CLOSED, adaptor.getState());
+        Assert.assertEquals(MIN_CALLS - 1, adaptor.getMetrics().getNumberOfSlowSuccessfulCalls());
+        adaptor.onResult(SLOW_CALL_MS, TimeUnit.MILLISECONDS, new Object());
+        Assert.assertEquals(State.OPEN, adaptor.getState());
+    }
+
+    /**
+     * 测试成功调用滑出窗口后, 在进入新的一秒时评估并熔断
+     */
+    @Test
+    public void testOpenOnRollover() {
+        final CircuitBreaker adaptor = new CircuitBreakerAdaptor(create(SlidingWindowType.TIME_BASED),
+                new CircuitBreakerRule(), null, clock);
+        for (int i = 0; i <= MIN_CALLS; i++) {
+            adaptor.onSuccess(FAST_CALL_MS, TimeUnit.MILLISECONDS);
+        }
+        clock.advance(WINDOW_SECONDS / 2 * SECOND_MS);
+        recordErrors(adaptor, MIN_CALLS);
+        Assert.assertEquals(State.CLOSED, adaptor.getState());
+        clock.advance((WINDOW_SECONDS / 2 + 1) * SECOND_MS);
+        Assert.assertTrue(adaptor.tryAcquirePermission());
+        adaptor.onSuccess(FAST_CALL_MS, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(State.OPEN, adaptor.getState());
+    }
+
+    /**
+     * 测试滑动窗口, 窗口内多个秒的数据合并评估, 滑出窗口的数据不再参与评估
+     */
+    @Test
+    public void testSlidingWindow() {
+        final CircuitBreaker adaptor = new CircuitBreakerAdaptor(create(SlidingWindowType.TIME_BASED),
+                new CircuitBreakerRule(), null, clock);
+        recordErrors(adaptor, MIN_CALLS / 2);
+        clock.advance(WINDOW_SECONDS * SECOND_MS);
+        recordErrors(adaptor, MIN_CALLS / 2);
+        Assert.assertEquals(State.CLOSED, adaptor.getState());
+        Assert.assertEquals(MIN_CALLS / 2, adaptor.getMetrics().getNumberOfBufferedCalls());
+        clock.advance(WINDOW_SECONDS / 2 * SECOND_MS);
+        recordErrors(adaptor, MIN_CALLS / 2);
+        Assert.assertEquals(State.OPEN, adaptor.getState());
+    }
+
+    /**
+     * 测试非关闭状态交由原生熔断器处理, 恢复关闭后重新启用快速路径
+     */
+    @Test
+    public void testHalfOpenDelegated() {
+        final CircuitBreaker circuitBreaker = create(SlidingWindowType.TIME_BASED);
+        final CircuitBreaker adaptor = new CircuitBreakerAdaptor(circuitBreaker, new CircuitBreakerRule(), null,
+                clock);
+        adaptor.transitionToOpenState();
+        Assert.assertFalse(adaptor.tryAcquirePermission());
+        adaptor.transitionToHalfOpenState();
+        Assert.assertTrue(adaptor.tryAcquirePermission());
+        adaptor.onSuccess(FAST_CALL_MS, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(State.CLOSED, circuitBreaker.getState());
+        Assert.assertNotSame(circuitBreaker.getMetrics(), adaptor.getMetrics());
+        Assert.assertEquals(0, adaptor.getMetrics().getNumberOfBufferedCalls());
+    }
+
+    /**
+     * 测试基于调用数的窗口
+     */
+    @Test
+    public void testCountBasedWindow() {
+        final CircuitBreaker adaptor = new CircuitBreakerAdaptor(create(SlidingWindowType.COUNT_BASED),
+                new CircuitBreakerRule(), null, clock);
+        for (int i = 0; i < MIN_CALLS; i++) {
+            Assert.assertTrue(adaptor.tryAcquirePermission());
+            adaptor.onError(FAST_CALL_MS, TimeUnit.MILLISECONDS, new RuntimeException("error"));
+        }
+        Assert.assertEquals(State.OPEN, adaptor.getState());
+        Assert.assertFalse(adaptor.tryAcquirePermission());
+    }
+
+    private void recordErrors(CircuitBreaker adaptor, int count) {
+        for (int i = 0; i < count; i++) {
+            adaptor.onError(FAST_CALL_MS, TimeUnit.MILLISECONDS, new RuntimeException("error"));
+        }
+    }
+
+    private CircuitBreaker create(SlidingWindowType type) {
+        return CircuitBreaker.of("test", CircuitBreakerConfig.custom()
+                .failureRateThreshold(50f)
+                .slowCallRateThreshold(50f)
+                .slowCallDurationThreshold(Duration.ofMillis(SLOW_CALL_MS / 2))
+                .minimumNumberOfCalls(MIN_CALLS)
+                .permittedNumberOfCallsInHalfOpenState(1)
+                .waitDurationInOpenState(Duration.ofSeconds(WINDOW_SECONDS))
+                .slidingWindowType(type)
+                .slidingWindowSize(WINDOW_SECONDS)
+                .build());
+    }
+
+    /**
+     * 可调整时间的时钟
+     *
+     * @since 2023-01-19
+     */
+    private static class MutableClock extends Clock {
+        private long millis = System.currentTimeMillis();
+
+        void advance(long deltaMs) {
+            millis += deltaMs;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+}
@@ -19,6 +19,8 @@ package com.huawei.flowcontrol.res4j.chain.context;
 
 import static org.junit.Assert.assertNull;
 
+import com.huawei.flowcontrol.common.entity.FlowControlResult;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -94,6 +96,22 @@ public class ChainContextTest {
         assertNull(((ThreadLocal<?>) local).get());
     }
 
+    /**
+     * 测试清理上下文时重置流控结果, 避免同线程后续请求读取到旧结果
+     */
+    @Test
+    public void testResetFlowControlResult() {
+        final RequestContext context = ChainContext.getThreadLocalContext("testFlowControlResult");
+        context.setFlowControlResult(new FlowControlResult());
+        context.save("key", "value");
+        context.remove("key");
+        assertNull(context.getFlowControlResult());
+        context.setFlowControlResult(new FlowControlResult());
+        context.clear();
+        assertNull(context.getFlowControlResult());
+        ChainContext.remove();
+    }
+
     /**
      * 测试配置前缀
      */
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.huawei.flowcontrol.res4j.chain.handler;
+
+import com.huawei.flowcontrol.common.core.ResolverManager;
+import com.huawei.flowcontrol.common.core.resolver.AdaptiveConcurrencyRuleResolver;
+import com.huawei.flowcontrol.common.entity.FlowControlResult;
+import com.huawei.flowcontrol.res4j.chain.HandlerChainEntry;
+
+import org.junit.Assert;
+
+/**
+ * 自适应并发测试
+ *
+ * @author zhouss
+ * @since 2023-01-12
+ */
+public class AdaptiveConcurrencyRequestHandlerTest extends BaseEntityTest implements RequestTest {
+    /**
+     * 测试并发超过上限时拒绝
+     */
+    @Override
+    public void test(HandlerChainEntry entry, String sourceName) {
+        final String otherSourceName = sourceName + "_other";
+        final FlowControlResult firstResult = new FlowControlResult();
+        entry.onBefore(sourceName, httpServerEntity, firstResult);
+        Assert.assertFalse(firstResult.isSkip());
+        final FlowControlResult secondResult = new FlowControlResult();
+        entry.onBefore(otherSourceName, httpServerEntity, secondResult);
+        Assert.assertTrue(secondResult.isSkip());
+        Assert.assertTrue(secondResult.buildResponseMsg().contains("Adaptive concurrency limit"));
+        entry.onResult(otherSourceName, new Object());
+        entry.onResult(sourceName, new Object());
+
+        // 释放后可再次进入, 客户端请求不受影响
+        final FlowControlResult thirdResult = new FlowControlResult();
+        entry.onBefore(otherSourceName, httpServerEntity, thirdResult);
+        Assert.assertFalse(thirdResult.isSkip());
+        final FlowControlResult clientResult = new FlowControlResult();
+        entry.onBefore(sourceName, httpClientEntity, clientResult);
+        Assert.assertFalse(clientResult.isSkip());
+        entry.onResult(sourceName, new Object());
+        entry.onResult(otherSourceName, new Object());
+    }
+
+    @Override
+    public void publishRule() {
+        ResolverManager.INSTANCE.resolve(buildKey(AdaptiveConcurrencyRuleResolver.CONFIG_KEY), getRule(), false);
+    }
+
+    @Override
+    public void clear() {
+        ResolverManager.INSTANCE.resolve(buildKey(AdaptiveConcurrencyRuleResolver.CONFIG_KEY), null, true);
+    }
+
+    private String getRule() {
+        return "initialLimit: 1\n"
+                + "minLimit: 1\n"
+                + "maxLimit: 1";
+    }
+}
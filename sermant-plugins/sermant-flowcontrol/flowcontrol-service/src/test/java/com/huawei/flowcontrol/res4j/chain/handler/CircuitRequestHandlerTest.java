@@ -194,8 +194,8 @@ public class CircuitRequestHandlerTest extends BaseEntityTest implements Request
         Assert.assertNotNull(metricEntity);
         Assert.assertNotNull(metricEntity.getFuseRequest());
         Assert.assertTrue(metricEntity.getFuseRequest().longValue() > 0);
-        long total = metricEntity.getFailedFuseRequest().get() + metricEntity.getIgnoreFulFuseRequest().get()
-                + metricEntity.getSuccessFulFuseRequest().get();
+        long total = metricEntity.getFailedFuseRequest().sum() + metricEntity.getIgnoreFulFuseRequest().sum()
+                + metricEntity.getSuccessFulFuseRequest().sum();
         Assert.assertEquals(total, metricEntity.getFuseRequest().longValue());
     }
 }
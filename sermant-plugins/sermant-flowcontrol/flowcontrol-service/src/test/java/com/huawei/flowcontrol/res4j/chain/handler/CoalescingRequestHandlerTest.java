@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.huawei.flowcontrol.res4j.chain.handler;
+
+import com.huawei.flowcontrol.common.core.ResolverManager;
+import com.huawei.flowcontrol.common.core.resolver.CoalescingRuleResolver;
+import com.huawei.flowcontrol.common.entity.DubboRequestEntity;
+import com.huawei.flowcontrol.common.entity.FlowControlResult;
+import com.huawei.flowcontrol.common.entity.RequestEntity.RequestType;
+import com.huawei.flowcontrol.res4j.chain.HandlerChainEntry;
+
+import org.junit.Assert;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 请求合并测试
+ *
+ * @author zhouss
+ * @since 2023-01-19
+ */
+public class CoalescingRequestHandlerTest implements RequestTest {
+    private static final long WAIT_MS = TimeUnit.SECONDS.toMillis(3);
+
+    private static final long CHECK_INTERVAL_MS = 10L;
+
+    private static final String RESULT = "result";
+
+    /**
+     * 测试相同调用合并, 不同参数、不同attachments、参数不可序列化与首个请求完成后均重新发起
+     */
+    @Override
+    public void test(HandlerChainEntry entry, String sourceName) {
+        final FlowControlResult leaderResult = new FlowControlResult();
+        entry.onDubboBefore(sourceName, createEntity("a"), leaderResult, false);
+        Assert.assertFalse(leaderResult.isSkip());
+
+        // 不同参数不合并
+        final FlowControlResult otherResult = new FlowControlResult();
+        final String otherSourceName = sourceName + "_other";
+        entry.onDubboBefore(otherSourceName, createEntity("b"), otherResult, false);
+        Assert.assertFalse(otherResult.isSkip());
+        entry.onDubboResult(otherSourceName, RESULT, false);
+
+        // 不同attachments不合并
+        final FlowControlResult tenantResult = new FlowControlResult();
+        final String tenantSourceName = sourceName + "_tenant";
+        entry.onDubboBefore(tenantSourceName, createEntity("a", Collections.singletonMap("tenant", "other")),
+                tenantResult, false);
+        Assert.assertFalse(tenantResult.isSkip());
+        entry.onDubboResult(tenantSourceName, RESULT, false);
+
+        // 参数无法序列化时不合并
+        final Object unserializable = new Object();
+        final String unserializableSourceName = sourceName + "_unserializable";
+        final FlowControlResult firstResult = new FlowControlResult();
+        entry.onDubboBefore(unserializableSourceName, createEntity(unserializable), firstResult, false);
+        final FlowControlResult secondResult = new FlowControlResult();
+        entry.onDubboBefore(unserializableSourceName, createEntity(unserializable), secondResult, false);
+        Assert.assertFalse(firstResult.isSkip());
+        Assert.assertFalse(secondResult.isSkip());
+        entry.onDubboResult(unserializableSourceName, RESULT, false);
+        entry.onDubboResult(unserializableSourceName, RESULT, false);
+
+        final AtomicReference<FlowControlResult> followerResult = new AtomicReference<>();
+        final Thread follower = new Thread(() -> {
+            final FlowControlResult result = new FlowControlResult();
+            entry.onDubboBefore(sourceName, createEntity("a"), result, false);
+            entry.onDubboResult(sourceName, null, false);
+            followerResult.set(result);
+        });
+        follower.start();
+        waitForWaiting(follower);
+        entry.onDubboResult(sourceName, RESULT, false);
+        joinQuietly(follower);
+        Assert.assertNotNull(followerResult.get());
+        Assert.assertTrue(followerResult.get().isSkip());
+        Assert.assertEquals(RESULT, followerResult.get().getResponse().getResult());
+
+        // 调用完成后重新发起
+        final FlowControlResult nextResult = new FlowControlResult();
+        entry.onDubboBefore(sourceName, createEntity("a"), nextResult, false);
+        Assert.assertFalse(nextResult.isSkip());
+        entry.onDubboResult(sourceName, RESULT, false);
+    }
+
+    private DubboRequestEntity createEntity(Object argument) {
+        return createEntity(argument, Collections.emptyMap());
+    }
+
+    private DubboRequestEntity createEntity(Object argument, Map<String, String> attachments) {
+        final DubboRequestEntity entity = new DubboRequestEntity(API_PATH, attachments, RequestType.CLIENT,
+                "application");
+        entity.setArguments(new Object[]{argument});
+        return entity;
+    }
+
+    private void waitForWaiting(Thread thread) {
+        final long deadline = System.currentTimeMillis() + WAIT_MS;
+        while (thread.getState() != Thread.State.TIMED_WAITING && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(CHECK_INTERVAL_MS);
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void joinQuietly(Thread thread) {
+        try {
+            thread.join(WAIT_MS);
+        } catch (InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void publishRule() {
+        ResolverManager.INSTANCE.resolve(buildKey(CoalescingRuleResolver.CONFIG_KEY), getRule(), false);
+    }
+
+    @Override
+    public void clear() {
+        ResolverManager.INSTANCE.resolve(buildKey(CoalescingRuleResolver.CONFIG_KEY), null, true);
+    }
+
+    private String getRule() {
+        return "maxWaitDuration: " + WAIT_MS;
+    }
+}
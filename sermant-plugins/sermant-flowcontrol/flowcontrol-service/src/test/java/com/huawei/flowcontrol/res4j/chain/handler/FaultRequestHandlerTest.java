@@ -19,12 +19,16 @@ package com.huawei.flowcontrol.res4j.chain.handler;
 
 import com.huawei.flowcontrol.common.core.ResolverManager;
 import com.huawei.flowcontrol.common.core.resolver.FaultRuleResolver;
+import com.huawei.flowcontrol.common.entity.DubboRequestEntity;
 import com.huawei.flowcontrol.common.entity.FlowControlResult;
 import com.huawei.flowcontrol.common.entity.RequestEntity;
+import com.huawei.flowcontrol.common.entity.RequestEntity.RequestType;
 import com.huawei.flowcontrol.res4j.chain.HandlerChainEntry;
 
 import org.junit.Assert;
 
+import java.util.Collections;
+
 /**
  * 错误注入测试
  *
@@ -59,6 +63,16 @@ public class FaultRequestHandlerTest extends BaseEntityTest implements RequestTe
         final long start = System.currentTimeMillis();
         checkHttp(httpClientEntity);
         Assert.assertTrue((System.currentTimeMillis() - start) > sleepMs);
+
+        // 异步请求不阻塞当前线程, 由调用方延迟完成
+        final DubboRequestEntity asyncEntity = new DubboRequestEntity(API_PATH, Collections.emptyMap(),
+                RequestType.CLIENT, "application");
+        asyncEntity.setAsync(true);
+        final long asyncStart = System.currentTimeMillis();
+        final FlowControlResult asyncResult = checkDubbo(asyncEntity, false);
+        Assert.assertTrue((System.currentTimeMillis() - asyncStart) < sleepMs);
+        Assert.assertFalse(asyncResult.isSkip());
+        Assert.assertEquals(sleepMs, asyncResult.getDelayTimeMs());
     }
 
     private FlowControlResult checkHttp(RequestEntity requestEntity) {
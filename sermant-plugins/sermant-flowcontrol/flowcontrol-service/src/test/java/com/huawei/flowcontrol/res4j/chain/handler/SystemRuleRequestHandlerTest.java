@@ -23,6 +23,7 @@ import com.huawei.flowcontrol.common.entity.FlowControlResult;
 import com.huawei.flowcontrol.common.entity.RequestEntity;
 import com.huawei.flowcontrol.res4j.chain.HandlerChainEntry;
 import com.huawei.flowcontrol.res4j.windows.SystemStatus;
+import com.huawei.flowcontrol.res4j.windows.SystemStatusSnapshot;
 import org.junit.Assert;
 
 public class SystemRuleRequestHandlerTest extends BaseEntityTest implements RequestTest {
@@ -40,14 +41,13 @@ public class SystemRuleRequestHandlerTest extends BaseEntityTest implements Requ
     public void test(HandlerChainEntry entry, String sourceName) {
         this.entry = entry;
         this.sourceName = sourceName;
-        SystemStatus.getInstance().setQps(20D);
+        publishStatus(-1D, 20D, 0D);
         Assert.assertEquals(checkHttp(httpServerEntity).buildResponseMsg(), "Trigger qps flow control");
-        SystemStatus.getInstance().setQps(5D);
-        SystemStatus.getInstance().setCurrentCpuUsage(0.8D);
+        publishStatus(0.8D, 5D, 0D);
         Assert.assertEquals(checkHttp(httpServerEntity).buildResponseMsg(), "Trigger cpu flow control");
-        SystemStatus.getInstance().setCurrentCpuUsage(0.5D);
-        SystemStatus.getInstance().setAveRt(20D);
+        publishStatus(0.5D, 5D, 20D);
         Assert.assertEquals(checkHttp(httpServerEntity).buildResponseMsg(), "Trigger rt flow control");
+        SystemStatus.getInstance().reset();
     }
 
     @Override
@@ -60,6 +60,11 @@ public class SystemRuleRequestHandlerTest extends BaseEntityTest implements Requ
         ResolverManager.INSTANCE.resolve(buildKey(SystemRuleResolver.CONFIG_KEY), null, true);
     }
 
+    private void publishStatus(double cpuUsage, double qps, double aveRt) {
+        SystemStatus.getInstance().publish(new SystemStatusSnapshot(-1D, cpuUsage, qps, aveRt, Long.MAX_VALUE,
+                Long.MIN_VALUE));
+    }
+
     private FlowControlResult checkHttp(RequestEntity requestEntity) {
         final FlowControlResult flowControlResult = new FlowControlResult();
         entry.onBefore(sourceName, requestEntity, flowControlResult);
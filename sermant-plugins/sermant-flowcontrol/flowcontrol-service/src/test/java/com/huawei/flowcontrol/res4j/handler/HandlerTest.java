@@ -18,7 +18,9 @@
 package com.huawei.flowcontrol.res4j.handler;
 
 import com.huawei.flowcontrol.common.config.FlowControlConfig;
+import com.huawei.flowcontrol.common.core.ResolverManager;
 import com.huawei.flowcontrol.common.core.constants.RuleConstants;
+import com.huawei.flowcontrol.common.core.resolver.BulkheadRuleResolver;
 import com.huawei.flowcontrol.common.core.rule.BulkheadRule;
 import com.huawei.flowcontrol.common.core.rule.CircuitBreakerRule;
 import com.huawei.flowcontrol.common.core.rule.RateLimitingRule;
@@ -43,6 +45,8 @@ import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -157,6 +161,30 @@ public class HandlerTest {
         Assert.assertTrue(realRule.isForceClosed());
     }
 
+    /**
+     * 测试处理器列表按已匹配业务场景缓存, 规则变更后重新创建
+     */
+    @Test
+    public void testHandlerListCache() {
+        final String configKey = BulkheadRuleResolver.CONFIG_KEY + "." + BUSINESS_NAME;
+        final BulkheadHandler bulkheadHandler = new BulkheadHandler();
+        try {
+            ResolverManager.INSTANCE.resolve(configKey, "maxConcurrentCalls: " + MAX_CALLS, false);
+            final List<Bulkhead> handlers = bulkheadHandler.createOrGetHandlers(
+                    Collections.singleton(BUSINESS_NAME));
+            Assert.assertEquals(1, handlers.size());
+            Assert.assertSame(handlers, bulkheadHandler.createOrGetHandlers(Collections.singleton(BUSINESS_NAME)));
+            Assert.assertTrue(bulkheadHandler.createOrGetHandlers(Collections.singleton("other")).isEmpty());
+            ResolverManager.INSTANCE.resolve(configKey, "maxConcurrentCalls: " + (MAX_CALLS + 1), false);
+            final List<Bulkhead> updated = bulkheadHandler.createOrGetHandlers(Collections.singleton(BUSINESS_NAME));
+            Assert.assertNotSame(handlers, updated);
+            Assert.assertEquals(MAX_CALLS + 1, updated.get(0).getBulkheadConfig().getMaxConcurrentCalls());
+        } finally {
+            ResolverManager.INSTANCE.resolve(configKey, null, true);
+        }
+        Assert.assertTrue(bulkheadHandler.createOrGetHandlers(Collections.singleton(BUSINESS_NAME)).isEmpty());
+    }
+
     private void testCirHandler(CircuitBreakerHandler handler) {
         final CircuitBreakerRule circuitBreakerRule = new CircuitBreakerRule();
         circuitBreakerRule.setFailureRateThreshold(FAILURE_RATE_THRESHOLD);
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.huawei.flowcontrol.res4j.limiter;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Duration;
+
+/**
+ * 尝试获取许可隔离仓测试
+ *
+ * @author zhouss
+ * @since 2023-01-17
+ */
+public class TryAcquireBulkheadTest {
+    private static final int MAX_CALLS = 2;
+
+    /**
+     * 测试获取与释放许可
+     */
+    @Test
+    public void testAcquireAndRelease() {
+        final Bulkhead bulkhead = new TryAcquireBulkhead("test", BulkheadConfig.custom()
+                .maxConcurrentCalls(MAX_CALLS)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        for (int i = 0; i < MAX_CALLS; i++) {
+            bulkhead.acquirePermission();
+        }
+        Assert.assertFalse(bulkhead.tryAcquirePermission());
+        boolean isFull = false;
+        try {
+            bulkhead.acquirePermission();
+        } catch (BulkheadFullException ex) {
+            isFull = true;
+        }
+        Assert.assertTrue(isFull);
+        Assert.assertEquals(0, bulkhead.getMetrics().getAvailableConcurrentCalls());
+        bulkhead.onComplete();
+        Assert.assertTrue(bulkhead.tryAcquirePermission());
+        bulkhead.onComplete();
+        bulkhead.onComplete();
+        bulkhead.onComplete();
+        Assert.assertEquals(MAX_CALLS, bulkhead.getMetrics().getAvailableConcurrentCalls());
+    }
+
+    /**
+     * 测试动态修改配置
+     */
+    @Test
+    public void testChangeConfig() {
+        final Bulkhead bulkhead = new TryAcquireBulkhead("test", BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .build());
+        Assert.assertTrue(bulkhead.tryAcquirePermission());
+        Assert.assertFalse(bulkhead.tryAcquirePermission());
+        bulkhead.changeConfig(BulkheadConfig.custom().maxConcurrentCalls(MAX_CALLS).build());
+        Assert.assertEquals(MAX_CALLS, bulkhead.getMetrics().getMaxAllowedConcurrentCalls());
+        Assert.assertTrue(bulkhead.tryAcquirePermission());
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.huawei.flowcontrol.res4j.limiter;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 尝试获取许可限流器测试
+ *
+ * @author zhouss
+ * @since 2023-01-17
+ */
+public class TryAcquireRateLimiterTest {
+    private static final int LIMIT = 5;
+
+    private static final long REFRESH_PERIOD_MS = 200L;
+
+    /**
+     * 测试单窗口内许可数限制及窗口刷新
+     *
+     * @throws InterruptedException 中断抛出
+     */
+    @Test
+    public void testAcquire() throws InterruptedException {
+        final RateLimiter rateLimiter = createRateLimiter(LIMIT, REFRESH_PERIOD_MS);
+
+        // 等待进入新窗口起点, 避免测试过程跨越窗口
+        awaitNextCycle(rateLimiter);
+        for (int i = 0; i < LIMIT; i++) {
+            Assert.assertTrue(rateLimiter.acquirePermission());
+        }
+        Assert.assertFalse(rateLimiter.acquirePermission());
+        Assert.assertEquals(0, rateLimiter.getMetrics().getAvailablePermissions());
+        Thread.sleep(REFRESH_PERIOD_MS);
+        Assert.assertTrue(rateLimiter.acquirePermission());
+    }
+
+    /**
+     * 测试多线程并发获取许可不超限
+     *
+     * @throws InterruptedException 中断抛出
+     */
+    @Test
+    public void testConcurrentAcquire() throws InterruptedException {
+        final int limit = 1000;
+        final int threads = 8;
+        final int attemptsPerThread = 500;
+        final RateLimiter rateLimiter = createRateLimiter(limit, TimeUnit.MINUTES.toMillis(1));
+        final AtomicInteger acquired = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(threads);
+        final ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executorService.execute(() -> {
+                for (int j = 0; j < attemptsPerThread; j++) {
+                    if (rateLimiter.acquirePermission()) {
+                        acquired.incrementAndGet();
+                    }
+                }
+                latch.countDown();
+            });
+        }
+        Assert.assertTrue(latch.await(1, TimeUnit.MINUTES));
+        executorService.shutdown();
+        Assert.assertEquals(limit, acquired.get());
+    }
+
+    /**
+     * 测试动态修改许可数及清空许可
+     *
+     * @throws InterruptedException 中断抛出
+     */
+    @Test
+    public void testChangeLimitAndDrain() throws InterruptedException {
+        final RateLimiter rateLimiter = createRateLimiter(1, REFRESH_PERIOD_MS);
+        awaitNextCycle(rateLimiter);
+        rateLimiter.changeLimitForPeriod(LIMIT);
+        Assert.assertEquals(LIMIT, rateLimiter.getRateLimiterConfig().getLimitForPeriod());
+        Assert.assertTrue(rateLimiter.acquirePermission(LIMIT - 1));
+        rateLimiter.drainPermissions();
+        Assert.assertFalse(rateLimiter.acquirePermission());
+        Assert.assertEquals(-1L, rateLimiter.reservePermission());
+    }
+
+    private RateLimiter createRateLimiter(int limit, long refreshPeriodMs) {
+        return new TryAcquireRateLimiter("test", RateLimiterConfig.custom()
+                .limitForPeriod(limit)
+                .limitRefreshPeriod(Duration.ofMillis(refreshPeriodMs))
+                .timeoutDuration(Duration.ZERO)
+                .build());
+    }
+
+    private void awaitNextCycle(RateLimiter rateLimiter) throws InterruptedException {
+        rateLimiter.drainPermissions();
+        while (rateLimiter.getMetrics().getAvailablePermissions() == 0) {
+            Thread.sleep(1L);
+        }
+    }
+}
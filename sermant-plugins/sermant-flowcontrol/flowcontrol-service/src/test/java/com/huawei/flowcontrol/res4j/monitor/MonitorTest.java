@@ -20,19 +20,14 @@ import com.huawei.flowcontrol.common.enums.MetricType;
 import com.huawei.flowcontrol.common.util.StringUtils;
 import com.huawei.flowcontrol.res4j.service.ServiceCollectorService;
 
-import com.huaweicloud.sermant.core.utils.ReflectUtils;
-
 import io.prometheus.client.Collector;
-import io.prometheus.client.GaugeMetricFamily;
 
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 监控测试类
@@ -45,14 +40,6 @@ public class MonitorTest {
 
     private static final String NAME = "default";
 
-    private static final String COLLECT_FUSE_METRIC_NAME = "collectFuseMetric";
-
-    private static final String COPY_METHOD_NAME = "copy";
-
-    private static final String COPY_VALUE_METHOD_NAME = "copyValue";
-
-    private static final String CURRENT_MAP_METHOD_NAME = "getCurrentMap";
-
     @Test
     public void testCollect() {
         ServiceCollectorService service = new ServiceCollectorService();
@@ -66,7 +53,7 @@ public class MonitorTest {
         }
         Map<String, MetricEntity> monitors = new ConcurrentHashMap<>();
         MetricEntity metricEntity = new MetricEntity();
-        metricEntity.getFuseRequest().getAndAdd(DEFAULT_VALUE);
+        metricEntity.getFuseRequest().add(DEFAULT_VALUE);
         monitors.put(NAME, metricEntity);
         ServiceCollectorService.MONITORS.clear();
         ServiceCollectorService.MONITORS.putAll(monitors);
@@ -81,47 +68,50 @@ public class MonitorTest {
 
     @Test
     public void testCollectFuseMetric() {
-        Map<String, GaugeMetricFamily> map = new ConcurrentHashMap<>();
-        ReflectUtils.invokeMethod(new ServiceCollectorService(), COLLECT_FUSE_METRIC_NAME,
-                new Class[]{Map.class, String.class, MetricEntity.class}, new Object[]{map, NAME, new MetricEntity()});
-        Assert.assertFalse(map.isEmpty());
-        map.forEach((k, v) -> {
-            Assert.assertNotNull(k);
-            Assert.assertTrue(v != null && v.samples != null);
-            v.samples.forEach(sample -> {
-                Assert.assertNotNull(sample.name);
-                Assert.assertEquals(0.0, sample.value, 0.0);
-            });
+        ServiceCollectorService.MONITORS.clear();
+        MetricEntity metricEntity = new MetricEntity();
+        metricEntity.setName(NAME);
+        ServiceCollectorService.MONITORS.put(NAME, metricEntity);
+        List<Collector.MetricFamilySamples> metricFamilySamplesList = new ServiceCollectorService().collect();
+        Assert.assertFalse(metricFamilySamplesList.isEmpty());
+        metricFamilySamplesList.forEach(metricFamilySamples -> {
+            Assert.assertNotNull(metricFamilySamples.name);
+            metricFamilySamples.samples.stream().filter(sample -> sample.labelValues.contains(NAME))
+                    .forEach(sample -> Assert.assertEquals(0.0, sample.value, 0.0));
         });
+        ServiceCollectorService.MONITORS.clear();
     }
 
     @Test
-    public void testCopy() {
+    public void testCollectIncrement() {
+        ServiceCollectorService.MONITORS.clear();
         MetricEntity metricEntity = new MetricEntity();
-        MetricEntity sourceMetric = new MetricEntity();
-        sourceMetric.getServerRequest().set(DEFAULT_VALUE);
-        ReflectUtils.invokeMethod(new ServiceCollectorService(), COPY_METHOD_NAME, new Class[]{MetricEntity.class,
-                MetricEntity.class}, new Object[]{metricEntity, sourceMetric});
-        Assert.assertEquals(metricEntity.getServerRequest().get(), sourceMetric.getServerRequest().get());
-        AtomicLong atomicLong = new AtomicLong();
-        AtomicLong sourceAtomic = new AtomicLong(DEFAULT_VALUE);
-        ReflectUtils.invokeMethod(new ServiceCollectorService(), COPY_VALUE_METHOD_NAME, new Class[]{AtomicLong.class,
-                AtomicLong.class}, new Object[]{atomicLong, sourceAtomic});
-        Assert.assertEquals(atomicLong.get(), sourceAtomic.get());
+        metricEntity.setName(NAME);
+        metricEntity.getFuseRequest().add(DEFAULT_VALUE);
+        metricEntity.getFailedFuseRequest().add(DEFAULT_VALUE / 2);
+        ServiceCollectorService.MONITORS.put(NAME, metricEntity);
+        ServiceCollectorService service = new ServiceCollectorService();
+        Assert.assertEquals(DEFAULT_VALUE, getSampleValue(service.collect(), MetricType.FUSED_REQUEST), 0.0);
+
+        // 再次采集时仅统计两次采集之间的增量
+        metricEntity.getFuseRequest().add(DEFAULT_VALUE / 2);
+        metricEntity.getFailedFuseRequest().add(DEFAULT_VALUE / 2);
+        List<Collector.MetricFamilySamples> samples = service.collect();
+        Assert.assertEquals(DEFAULT_VALUE / 2, getSampleValue(samples, MetricType.FUSED_REQUEST), 0.0);
+        Assert.assertEquals(DEFAULT_VALUE / 2, getSampleValue(samples, MetricType.FAILURE_FUSE_REQUEST), 0.0);
+        Assert.assertEquals(1.0, getSampleValue(samples, MetricType.FAILURE_RATE_FUSE_REQUEST), 0.0);
+        Assert.assertEquals(0.0, getSampleValue(service.collect(), MetricType.FUSED_REQUEST), 0.0);
+        ServiceCollectorService.MONITORS.clear();
     }
 
-    @Test
-    public void testGetCurrent() {
-        MetricEntity metricEntity = new MetricEntity();
-        metricEntity.getServerRequest().set(DEFAULT_VALUE);
-        ServiceCollectorService.MONITORS.put(NAME, metricEntity);
-        Optional<Object> optional = ReflectUtils.invokeMethod(new ServiceCollectorService(), CURRENT_MAP_METHOD_NAME,
-                null, null);
-        Assert.assertTrue(optional.isPresent());
-        Assert.assertTrue(optional.get() instanceof Map);
-        Map<String, MetricEntity> targetMap = (Map<String, MetricEntity>) optional.get();
-        MetricEntity entity = targetMap.get(NAME);
-        Assert.assertNotNull(entity);
-        Assert.assertEquals(entity.getServerRequest().get(), metricEntity.getServerRequest().get());
+    private double getSampleValue(List<Collector.MetricFamilySamples> metricFamilySamplesList, MetricType type) {
+        for (Collector.MetricFamilySamples metricFamilySamples : metricFamilySamplesList) {
+            for (Collector.MetricFamilySamples.Sample sample : metricFamilySamples.samples) {
+                if (StringUtils.equal(sample.name, type.getName()) && sample.labelValues.contains(NAME)) {
+                    return sample.value;
+                }
+            }
+        }
+        return -1D;
     }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.huawei.flowcontrol.res4j.windows;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 系统状态采样测试
+ *
+ * @author zhouss
+ * @since 2023-01-19
+ */
+public class SystemStatusTaskTest {
+    private static final int BUCKET_COUNT = 10;
+
+    private static final long BUCKET_WIDTH_MS = 10000L;
+
+    private static final int REQUEST_COUNT = 100;
+
+    /**
+     * 最大线程数按每秒成功数统计, 即窗口内成功数按窗口时长折算
+     */
+    private static final long MAX_THREAD_NUM = REQUEST_COUNT * 1000L / BUCKET_WIDTH_MS;
+
+    private static final long RT_MS = 5L;
+
+    private static final double DELTA = 1e-6d;
+
+    /**
+     * 恢复默认窗口与系统状态
+     */
+    @After
+    public void tearDown() {
+        WindowsArray.INSTANCE.initWindowsArray();
+        SystemStatus.getInstance().reset();
+    }
+
+    /**
+     * 测试采样后整体发布快照
+     */
+    @Test
+    public void testPublishSnapshot() {
+        WindowsArray.INSTANCE.initWindowsArray(BUCKET_COUNT, BUCKET_WIDTH_MS);
+        final long startTime = WindowsArray.INSTANCE.currentTimeMillis();
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            WindowsArray.INSTANCE.addSuccess(startTime);
+            WindowsArray.INSTANCE.addRt(startTime, RT_MS);
+        }
+        final SystemStatusSnapshot initial = SystemStatus.getInstance().getSnapshot();
+        final SystemStatusTask task = new SystemStatusTask();
+        task.run();
+        final SystemStatusSnapshot snapshot = SystemStatus.getInstance().getSnapshot();
+        Assert.assertNotSame(initial, snapshot);
+        Assert.assertTrue(snapshot.getQps() > 0);
+        Assert.assertEquals(RT_MS, snapshot.getAveRt(), DELTA);
+        Assert.assertEquals(RT_MS, snapshot.getMinRt(), DELTA);
+        Assert.assertEquals(MAX_THREAD_NUM, snapshot.getMaxThreadNum());
+
+        // 再次采样时平滑发布, 无新流量时最小响应时间与最大线程数保持不变
+        task.run();
+        final SystemStatusSnapshot next = SystemStatus.getInstance().getSnapshot();
+        Assert.assertNotSame(snapshot, next);
+        Assert.assertEquals(RT_MS, next.getAveRt(), DELTA);
+        Assert.assertEquals(MAX_THREAD_NUM, next.getMaxThreadNum());
+    }
+
+    /**
+     * 测试重置为初始快照
+     */
+    @Test
+    public void testReset() {
+        SystemStatus.getInstance().publish(new SystemStatusSnapshot(1D, 0.5D, REQUEST_COUNT, RT_MS, RT_MS,
+                MAX_THREAD_NUM));
+        Assert.assertEquals(REQUEST_COUNT, SystemStatus.getInstance().getQps(), DELTA);
+        Assert.assertEquals(RT_MS, SystemStatus.getInstance().getAveRt(), DELTA);
+        SystemStatus.getInstance().reset();
+        Assert.assertSame(SystemStatusSnapshot.INITIAL, SystemStatus.getInstance().getSnapshot());
+        Assert.assertEquals(-1D, SystemStatus.getInstance().getCurrentLoad(), DELTA);
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2022-2022 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.huawei.flowcontrol.res4j.windows;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 滑动窗口测试
+ *
+ * @author zhouss
+ * @since 2022-12-20
+ */
+public class WindowsArrayTest {
+    private static final int BUCKET_COUNT = 10;
+
+    private static final long BUCKET_WIDTH_MS = 100L;
+
+    /**
+     * 恢复默认窗口
+     */
+    @After
+    public void tearDown() {
+        WindowsArray.INSTANCE.initWindowsArray();
+    }
+
+    /**
+     * 测试窗口配置
+     */
+    @Test
+    public void testInit() {
+        WindowsArray.INSTANCE.initWindowsArray(BUCKET_COUNT, BUCKET_WIDTH_MS);
+        Assert.assertEquals(BUCKET_COUNT, WindowsArray.INSTANCE.getWindowsSize());
+        Assert.assertEquals(BUCKET_WIDTH_MS, WindowsArray.INSTANCE.getBucketWidthMs());
+        Assert.assertEquals(BUCKET_COUNT, WindowsArray.INSTANCE.getWindowsArray().length());
+        WindowsArray.INSTANCE.initWindowsArray(-1, 0L);
+        Assert.assertEquals(WindowsArray.DEFAULT_WINDOWS_SIZE, WindowsArray.INSTANCE.getWindowsSize());
+        Assert.assertEquals(WindowsArray.DEFAULT_BUCKET_WIDTH_MS, WindowsArray.INSTANCE.getBucketWidthMs());
+    }
+
+    /**
+     * 测试数据记录
+     */
+    @Test
+    public void testRecord() {
+        WindowsArray.INSTANCE.initWindowsArray(BUCKET_COUNT, BUCKET_WIDTH_MS);
+        final long startTime = WindowsArray.INSTANCE.currentTimeMillis();
+        WindowsArray.INSTANCE.addThreadNum(startTime);
+        WindowsArray.INSTANCE.addSuccess(startTime);
+        WindowsArray.INSTANCE.addRt(startTime, 10L);
+        final WindowsBucket bucket = WindowsArray.INSTANCE
+                .getWindow(WindowsArray.INSTANCE.calculateWindowsIndex(startTime));
+        Assert.assertEquals(1L, bucket.threadNum.sum());
+        Assert.assertEquals(1L, bucket.success.sum());
+        Assert.assertEquals(10L, bucket.rt.sum());
+        WindowsArray.INSTANCE.decreaseThreadNum(startTime);
+        Assert.assertEquals(0L, bucket.threadNum.sum());
+    }
+
+    /**
+     * 测试线程数累加滑动窗口范围内所有窗口
+     *
+     * @throws InterruptedException 线程中断
+     */
+    @Test
+    public void testThreadNumAcrossWindows() throws InterruptedException {
+        WindowsArray.INSTANCE.initWindowsArray(BUCKET_COUNT, BUCKET_WIDTH_MS);
+        if (WindowsArray.INSTANCE.currentTimeMillis() < BUCKET_WIDTH_MS) {
+            Thread.sleep(BUCKET_WIDTH_MS);
+        }
+        final long now = WindowsArray.INSTANCE.currentTimeMillis();
+        WindowsArray.INSTANCE.addThreadNum(now - BUCKET_WIDTH_MS);
+        WindowsArray.INSTANCE.addThreadNum(now);
+        WindowsArray.INSTANCE.addThreadNum(now);
+        Assert.assertEquals(3L, WindowsArray.INSTANCE.getThreadNum());
+        WindowsArray.INSTANCE.decreaseThreadNum(now - BUCKET_WIDTH_MS);
+        Assert.assertEquals(2L, WindowsArray.INSTANCE.getThreadNum());
+    }
+
+    /**
+     * 测试过期窗口复用, 过期数据不再记录
+     */
+    @Test
+    public void testExpiredWindow() {
+        WindowsArray.INSTANCE.initWindowsArray(BUCKET_COUNT, BUCKET_WIDTH_MS);
+        final long now = WindowsArray.INSTANCE.currentTimeMillis();
+        final long nextRoundTime = now + BUCKET_COUNT * BUCKET_WIDTH_MS;
+        WindowsArray.INSTANCE.addSuccess(now);
+        WindowsArray.INSTANCE.addSuccess(now);
+        final WindowsBucket bucket = WindowsArray.INSTANCE.getWindow(WindowsArray.INSTANCE.calculateWindowsIndex(now));
+        Assert.assertEquals(2L, bucket.success.sum());
+
+        // 新一轮窗口复用时重置数据
+        WindowsArray.INSTANCE.addSuccess(nextRoundTime);
+        Assert.assertEquals(1L, bucket.success.sum());
+        Assert.assertTrue(bucket.isWindowOf(nextRoundTime - nextRoundTime % BUCKET_WIDTH_MS));
+
+        // 窗口已被新一轮时间占用, 旧数据不再记录
+        WindowsArray.INSTANCE.addSuccess(now);
+        Assert.assertEquals(1L, bucket.success.sum());
+        Assert.assertEquals(-1, WindowsArray.INSTANCE.calculateWindowsIndex(-1L));
+    }
+
+    /**
+     * 测试并发复用窗口, 复用后记录的数据不会被重置清除
+     *
+     * @throws InterruptedException 线程中断
+     */
+    @Test
+    public void testConcurrentRollover() throws InterruptedException {
+        WindowsArray.INSTANCE.initWindowsArray(BUCKET_COUNT, BUCKET_WIDTH_MS);
+        final long now = WindowsArray.INSTANCE.currentTimeMillis();
+        final WindowsBucket bucket = WindowsArray.INSTANCE.getWindow(WindowsArray.INSTANCE.calculateWindowsIndex(now));
+        int threadCount = 8;
+        int rounds = 50;
+        int times = 100;
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            for (int round = 1; round <= rounds; round++) {
+                final long roundTime = now + round * BUCKET_COUNT * BUCKET_WIDTH_MS;
+                WindowsArray.INSTANCE.addThreadNum(roundTime - BUCKET_COUNT * BUCKET_WIDTH_MS);
+                final CountDownLatch start = new CountDownLatch(1);
+                final CountDownLatch finish = new CountDownLatch(threadCount);
+                for (int i = 0; i < threadCount; i++) {
+                    executor.execute(() -> {
+                        try {
+                            start.await();
+                            for (int j = 0; j < times; j++) {
+                                WindowsArray.INSTANCE.addThreadNum(roundTime);
+                                WindowsArray.INSTANCE.addSuccess(roundTime);
+                                WindowsArray.INSTANCE.decreaseThreadNum(roundTime);
+                            }
+                        } catch (InterruptedException ignored) {
+                            Thread.currentThread().interrupt();
+                        } finally {
+                            finish.countDown();
+                        }
+                    });
+                }
+                start.countDown();
+                Assert.assertTrue(finish.await(10, TimeUnit.SECONDS));
+                Assert.assertEquals((long) threadCount * times, bucket.success.sum());
+                Assert.assertEquals(0L, bucket.threadNum.sum());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -18,9 +18,11 @@ package com.huaweicloud.sermant.router.dubbo.utils;
 
 import com.huaweicloud.sermant.router.common.utils.ReflectUtils;
 
+import java.util.AbstractMap;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 反射工具类，为了同时兼容alibaba和apache dubbo，所以需要用反射的方法进行类的操作
@@ -158,9 +160,9 @@ public class DubboReflectUtils {
         }
         String className = obj.getClass().getName().startsWith("com.alibaba.dubbo")
             ? ALIBABA_RPC_CONTEXT_CLASS_NAME : APACHE_RPC_CONTEXT_CLASS_NAME;
-        Map<String, Object> attachments = new HashMap<>(getAttachmentsFromContext(className));
-        attachments.putAll(getAttachmentsByInvocation(obj));
-        return Collections.unmodifiableMap(attachments);
+
+        // 路由一般只会读取少数几个key，所以不复制attachments，只提供合并后的只读视图
+        return new AttachmentsView(getAttachmentsFromContext(className), getAttachmentsByInvocation(obj));
     }
 
     /**
@@ -185,4 +187,52 @@ public class DubboReflectUtils {
             .map(context -> ReflectUtils.getFieldValue(context, ATTACHMENTS_FIELD)
                 .map(map -> (Map<String, Object>) map).orElse(Collections.emptyMap())).orElse(Collections.emptyMap());
     }
+
+    /**
+     * RpcContext与Invocation合并后的attachments只读视图，Invocation中的值优先
+     *
+     * @since 2023-01-19
+     */
+    private static class AttachmentsView extends AbstractMap<String, Object> {
+        private final Map<String, Object> contextAttachments;
+
+        private final Map<String, Object> invocationAttachments;
+
+        private Set<Entry<String, Object>> entrySet;
+
+        AttachmentsView(Map<String, Object> contextAttachments, Map<String, Object> invocationAttachments) {
+            this.contextAttachments = contextAttachments;
+            this.invocationAttachments = invocationAttachments;
+        }
+
+        @Override
+        public Object get(Object key) {
+            Object value = invocationAttachments.get(key);
+            if (value != null || invocationAttachments.containsKey(key)) {
+                return value;
+            }
+            return contextAttachments.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return invocationAttachments.containsKey(key) || contextAttachments.containsKey(key);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return invocationAttachments.isEmpty() && contextAttachments.isEmpty();
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            // 只有遍历时才合并
+            if (entrySet == null) {
+                Map<String, Object> attachments = new HashMap<>(contextAttachments);
+                attachments.putAll(invocationAttachments);
+                entrySet = Collections.unmodifiableMap(attachments).entrySet();
+            }
+            return entrySet;
+        }
+    }
 }
\ No newline at end of file
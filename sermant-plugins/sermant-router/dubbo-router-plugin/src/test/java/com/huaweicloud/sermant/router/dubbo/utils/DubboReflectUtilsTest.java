@@ -220,6 +220,17 @@ public class DubboReflectUtilsTest {
     public void testGetAttachmentsWithRpcContext() {
         RpcContext.getContext().getAttachments().put(BAR, FOO);
         Assert.assertEquals(FOO, DubboReflectUtils.getAttachments(new RpcInvocation()).get(BAR));
+
+        // Invocation中的值优先，遍历时为合并后的结果
+        RpcInvocation invocation = new RpcInvocation();
+        invocation.setAttachment(BAR, BAR);
+        invocation.setAttachment(FOO, FOO);
+        Map<String, Object> attachments = DubboReflectUtils.getAttachments(invocation);
+        Assert.assertEquals(BAR, attachments.get(BAR));
+        Assert.assertTrue(attachments.containsKey(FOO));
+        Assert.assertEquals(2, attachments.size());
+        Assert.assertEquals(BAR, new HashMap<>(attachments).get(BAR));
+        RpcContext.getContext().getAttachments().remove(BAR);
     }
 
     /**
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.huaweicloud.sermant.router.dubbo.cache;
+
+import com.huaweicloud.sermant.router.common.utils.CollectionUtils;
+import com.huaweicloud.sermant.router.config.entity.Route;
+import com.huaweicloud.sermant.router.config.entity.Rule;
+import com.huaweicloud.sermant.router.config.utils.RuleUtils;
+import com.huaweicloud.sermant.router.dubbo.utils.RouteUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 接口维度的路由规则缓存，缓存匹配的规则以及不同参数值对应的路由，规则版本变化后失效
+ *
+ * @author provenceee
+ * @since 2023-01-19
+ */
+public class RuleCache {
+    /**
+     * 路由结果的最大缓存数，超过后不再缓存，避免参数值过多时占用过多内存
+     */
+    private static final int MAX_ROUTE_CACHE_SIZE = 1000;
+
+    private final long version;
+
+    private final String appName;
+
+    private final List<Rule> rules;
+
+    private final List<Map<String, String>> tags;
+
+    private final Map<List<Object>, List<Route>> routes = new ConcurrentHashMap<>();
+
+    /**
+     * 构造方法
+     *
+     * @param version 规则版本号
+     * @param appName 本服务服务名
+     * @param rules 匹配的规则
+     */
+    public RuleCache(long version, String appName, List<Rule> rules) {
+        this.version = version;
+        this.appName = appName;
+        this.rules = rules;
+        this.tags = RuleUtils.getTags(rules, true);
+    }
+
+    /**
+     * 缓存是否有效
+     *
+     * @param currentVersion 当前规则版本号
+     * @param currentAppName 当前本服务服务名
+     * @return 是否有效
+     */
+    public boolean isValid(long currentVersion, String currentAppName) {
+        return version == currentVersion && Objects.equals(appName, currentAppName);
+    }
+
+    /**
+     * 获取匹配的路由，规则所引用的参数值相同时直接使用缓存的结果
+     *
+     * @param arguments dubbo的arguments参数
+     * @param attachments dubbo的attachments参数
+     * @return 匹配的路由
+     */
+    public List<Route> getRoutes(Object[] arguments, Map<String, Object> attachments) {
+        if (CollectionUtils.isEmpty(rules)) {
+            return Collections.emptyList();
+        }
+        List<Object> key = RouteUtils.getRouteKey(rules, arguments, attachments);
+        List<Route> routeList = routes.get(key);
+        if (routeList == null) {
+            routeList = RouteUtils.getRoutes(rules, arguments, attachments);
+            if (routes.size() < MAX_ROUTE_CACHE_SIZE) {
+                routes.put(key, routeList);
+            }
+        }
+        return routeList;
+    }
+
+    /**
+     * 获取匹配的规则
+     *
+     * @return 规则
+     */
+    public List<Rule> getRules() {
+        return rules;
+    }
+
+    /**
+     * 获取规则中的所有标签
+     *
+     * @return 标签
+     */
+    public List<Map<String, String>> getTags() {
+        return tags;
+    }
+}
@@ -28,18 +28,19 @@ import com.huaweicloud.sermant.router.config.cache.ConfigCache;
 import com.huaweicloud.sermant.router.config.entity.EnabledStrategy;
 import com.huaweicloud.sermant.router.config.entity.Route;
 import com.huaweicloud.sermant.router.config.entity.RouterConfiguration;
-import com.huaweicloud.sermant.router.config.entity.Rule;
+import com.huaweicloud.sermant.router.config.metric.RouterMetric;
 import com.huaweicloud.sermant.router.config.utils.RuleUtils;
 import com.huaweicloud.sermant.router.dubbo.cache.DubboCache;
+import com.huaweicloud.sermant.router.dubbo.cache.RuleCache;
 import com.huaweicloud.sermant.router.dubbo.strategy.RuleStrategyHandler;
 import com.huaweicloud.sermant.router.dubbo.utils.DubboReflectUtils;
-import com.huaweicloud.sermant.router.dubbo.utils.RouteUtils;
 
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * AbstractDirectory的service
@@ -61,11 +62,16 @@ public class AbstractDirectoryServiceImpl implements AbstractDirectoryService {
 
     private static final String POINT = ".";
 
+    private static final String METRIC_SOURCE = "dubbo";
+
     private final RouterConfig routerConfig;
 
     // 用于过滤实例的tags集合，value为null，代表含有该标签的实例全部过滤，不判断value值
     private final Map<String, String> allMismatchTags;
 
+    // 接口维度的路由规则缓存，key为目标服务名与接口名
+    private final Map<String, RuleCache> ruleCaches = new ConcurrentHashMap<>();
+
     /**
      * 构造方法
      */
@@ -119,13 +125,17 @@ public class AbstractDirectoryServiceImpl implements AbstractDirectoryService {
         if (!shouldHandle(invokers)) {
             return invokers;
         }
+        long startTime = RouterMetric.INSTANCE.getStartTime();
         List<Object> targetInvokers;
         if (routerConfig.isUseRequestRouter()) {
             targetInvokers = getTargetInvokersByRequest(targetService, invokers, invocation);
         } else {
             targetInvokers = getTargetInvokersByRules(invokers, invocation, queryMap, targetService, serviceInterface);
         }
-        return getZoneInvokers(targetService, targetInvokers);
+        List<Object> zoneInvokers = getZoneInvokers(targetService, targetInvokers);
+        RouterMetric.INSTANCE.recordRoute(METRIC_SOURCE, targetService, startTime, invokers.size(),
+            zoneInvokers.size());
+        return zoneInvokers;
     }
 
     /**
@@ -193,15 +203,28 @@ public class AbstractDirectoryServiceImpl implements AbstractDirectoryService {
         }
         String interfaceName = getGroup(queryMap) + "/" + serviceInterface + POINT
             + DubboReflectUtils.getMethodName(invocation) + ":" + getVersion(queryMap);
-        List<Rule> rules = RuleUtils
-            .getRules(configuration, targetService, interfaceName, DubboCache.INSTANCE.getAppName());
-        List<Route> routes = RouteUtils.getRoutes(rules, DubboReflectUtils.getArguments(invocation),
+        RuleCache ruleCache = getRuleCache(configuration, targetService, interfaceName);
+        List<Route> routes = ruleCache.getRoutes(DubboReflectUtils.getArguments(invocation),
             parseAttachments(invocation));
+        RouterMetric.INSTANCE.recordRule(METRIC_SOURCE, targetService, ruleCache.getRules(), routes);
         if (!CollectionUtils.isEmpty(routes)) {
             return RuleStrategyHandler.INSTANCE.getMatchInvokers(targetService, invokers, routes);
         }
-        return RuleStrategyHandler.INSTANCE
-            .getMismatchInvokers(targetService, invokers, RuleUtils.getTags(rules, true), true);
+        return RuleStrategyHandler.INSTANCE.getMismatchInvokers(targetService, invokers, ruleCache.getTags(), true);
+    }
+
+    private RuleCache getRuleCache(RouterConfiguration configuration, String targetService, String interfaceName) {
+        // 版本号需在读取规则之前获取，保证缓存的规则不会比版本号旧
+        long version = configuration.getVersion();
+        String appName = DubboCache.INSTANCE.getAppName();
+        String key = targetService + "@" + interfaceName;
+        RuleCache ruleCache = ruleCaches.get(key);
+        if (ruleCache == null || !ruleCache.isValid(version, appName)) {
+            ruleCache = new RuleCache(version, appName,
+                RuleUtils.getRules(configuration, targetService, interfaceName, appName));
+            ruleCaches.put(key, ruleCache);
+        }
+        return ruleCache;
     }
 
     private List<Object> getTargetInvokersByRequest(String targetName, List<Object> invokers, Object invocation) {
@@ -216,8 +239,9 @@ public class AbstractDirectoryServiceImpl implements AbstractDirectoryService {
 
         // 用于过滤实例的tags集合，value为null，代表含有该标签的实例全部过滤，不判断value值
         Map<String, String> mismatchTags = new HashMap<>();
-        for (String key : attachments.keySet()) {
-            if (!requestTags.contains(key)) {
+        // 只读取需要的key，避免遍历attachments时合并全部附件
+        for (String key : requestTags) {
+            if (!attachments.containsKey(key)) {
                 continue;
             }
             String replaceDashKey = key;
@@ -19,7 +19,10 @@ package com.huaweicloud.sermant.router.dubbo.strategy;
 import com.huaweicloud.sermant.core.common.LoggerFactory;
 import com.huaweicloud.sermant.core.utils.StringUtils;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.logging.Logger;
 
 /**
@@ -31,6 +34,11 @@ import java.util.logging.Logger;
 public abstract class TypeStrategy {
     private static final Logger LOGGER = LoggerFactory.getLogger();
 
+    /**
+     * 预先解析好的参数值获取方法，key为获取参数的方式
+     */
+    private final Map<String, Function<Object, Optional<String>>> accessors = new ConcurrentHashMap<>();
+
     /**
      * 获取参数值
      *
@@ -38,7 +46,27 @@ public abstract class TypeStrategy {
      * @param type 获取参数的方式
      * @return 参数值
      */
-    public abstract Optional<String> getValue(Object arg, String type);
+    public Optional<String> getValue(Object arg, String type) {
+        return getAccessor(type).apply(arg);
+    }
+
+    /**
+     * 获取参数值的获取方法，获取参数的方式只在首次使用时解析
+     *
+     * @param type 获取参数的方式
+     * @return 参数值的获取方法
+     */
+    public Function<Object, Optional<String>> getAccessor(String type) {
+        return accessors.computeIfAbsent(type == null ? "" : type, this::createAccessor);
+    }
+
+    /**
+     * 解析获取参数的方式，创建参数值的获取方法
+     *
+     * @param type 获取参数的方式
+     * @return 参数值的获取方法
+     */
+    protected abstract Function<Object, Optional<String>> createAccessor(String type);
 
     /**
      * 是否匹配规则
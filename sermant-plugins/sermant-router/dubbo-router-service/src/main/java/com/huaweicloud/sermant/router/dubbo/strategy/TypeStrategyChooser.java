@@ -26,8 +26,11 @@ import com.huaweicloud.sermant.router.dubbo.strategy.type.MapTypeStrategy;
 import com.huaweicloud.sermant.router.dubbo.strategy.type.ObjectTypeStrategy;
 
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.logging.Logger;
 
 /**
@@ -46,8 +49,14 @@ public enum TypeStrategyChooser {
 
     private final Set<TypeStrategy> typeStrategies;
 
+    /**
+     * 预先解析好的参数值获取方法，key为策略表达式，value的key为参数索引
+     */
+    private final Map<String, Map<String, Function<Object[], Optional<String>>>> accessors;
+
     TypeStrategyChooser() {
         typeStrategies = new HashSet<>();
+        accessors = new ConcurrentHashMap<>();
         init();
     }
 
@@ -100,20 +109,35 @@ public enum TypeStrategyChooser {
         if (arguments == null) {
             return Optional.empty();
         }
+        return accessors.computeIfAbsent(type == null ? "" : type, value -> new ConcurrentHashMap<>())
+            .computeIfAbsent(key, value -> createAccessor(type, key)).apply(arguments);
+    }
+
+    /**
+     * 解析策略表达式与参数索引，创建参数值的获取方法
+     *
+     * @param type 策略表达式
+     * @param key 参数索引
+     * @return 参数值的获取方法
+     */
+    private Function<Object[], Optional<String>> createAccessor(String type, String key) {
         Optional<TypeStrategy> typeStrategy = choose(type);
         if (!typeStrategy.isPresent()) {
-            return Optional.empty();
+            return arguments -> Optional.empty();
         }
         int index;
         try {
             index = Integer.parseInt(key.substring(RouterConstant.DUBBO_SOURCE_TYPE_PREFIX.length()));
         } catch (NumberFormatException e) {
             LOGGER.warning("Source type " + key + " is invalid.");
-            return Optional.empty();
+            return arguments -> Optional.empty();
         }
-        if (index < 0 || index >= arguments.length || arguments[index] == null) {
-            return Optional.empty();
-        }
-        return typeStrategy.get().getValue(arguments[index], type);
+        Function<Object, Optional<String>> accessor = typeStrategy.get().getAccessor(type);
+        return arguments -> {
+            if (index < 0 || index >= arguments.length || arguments[index] == null) {
+                return Optional.empty();
+            }
+            return accessor.apply(arguments[index]);
+        };
     }
 }
\ No newline at end of file
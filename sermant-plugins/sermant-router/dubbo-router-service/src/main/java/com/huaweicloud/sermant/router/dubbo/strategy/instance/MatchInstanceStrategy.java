@@ -18,7 +18,9 @@ package com.huaweicloud.sermant.router.dubbo.strategy.instance;
 
 import com.huaweicloud.sermant.router.common.constants.RouterConstant;
 import com.huaweicloud.sermant.router.config.strategy.AbstractInstanceStrategy;
+import com.huaweicloud.sermant.router.config.strategy.InstanceTagIndex;
 
+import java.util.BitSet;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -52,6 +54,18 @@ public class MatchInstanceStrategy extends AbstractInstanceStrategy<Object, Map<
         return false;
     }
 
+    @Override
+    public BitSet getMatchIndexes(InstanceTagIndex<Object> index, Map<String, String> tag) {
+        BitSet bitSet = new BitSet();
+        for (Map.Entry<String, String> entry : tag.entrySet()) {
+            String value = entry.getValue();
+            if (value != null) {
+                bitSet.or(index.getEqualIndexes(getKey(entry.getKey()), value));
+            }
+        }
+        return bitSet;
+    }
+
     private String getKey(String tag) {
         if (VERSION_KEY.equals(tag)) {
             return RouterConstant.VERSION_KEY;
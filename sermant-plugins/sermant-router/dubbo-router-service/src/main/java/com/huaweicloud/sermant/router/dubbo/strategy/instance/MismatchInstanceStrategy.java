@@ -18,7 +18,9 @@ package com.huaweicloud.sermant.router.dubbo.strategy.instance;
 
 import com.huaweicloud.sermant.router.common.constants.RouterConstant;
 import com.huaweicloud.sermant.router.config.strategy.AbstractInstanceStrategy;
+import com.huaweicloud.sermant.router.config.strategy.InstanceTagIndex;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -62,6 +64,19 @@ public class MismatchInstanceStrategy extends AbstractInstanceStrategy<Object, L
         return true;
     }
 
+    @Override
+    public BitSet getMatchIndexes(InstanceTagIndex<Object> index, List<Map<String, String>> tags) {
+        BitSet bitSet = index.getAllIndexes();
+        for (Map<String, String> mismatchTag : tags) {
+            for (Map.Entry<String, String> entry : mismatchTag.entrySet()) {
+                String value = entry.getValue();
+                String key = getKey(entry.getKey());
+                bitSet.andNot(value == null ? index.getKeyIndexes(key) : index.getEqualIndexes(key, value));
+            }
+        }
+        return bitSet;
+    }
+
     private String getKey(String tag) {
         if (VERSION_KEY.equals(tag)) {
             return RouterConstant.VERSION_KEY;
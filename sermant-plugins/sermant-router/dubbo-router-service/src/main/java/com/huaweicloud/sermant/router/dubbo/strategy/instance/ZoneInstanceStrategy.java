@@ -18,7 +18,9 @@ package com.huaweicloud.sermant.router.dubbo.strategy.instance;
 
 import com.huaweicloud.sermant.router.common.constants.RouterConstant;
 import com.huaweicloud.sermant.router.config.strategy.AbstractInstanceStrategy;
+import com.huaweicloud.sermant.router.config.strategy.InstanceTagIndex;
 
+import java.util.BitSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
@@ -42,4 +44,9 @@ public class ZoneInstanceStrategy extends AbstractInstanceStrategy<Object, Strin
     public boolean isMatch(Object invoker, String zone, Function<Object, Map<String, String>> mapper) {
         return Objects.equals(getMetadata(invoker, mapper).get(RouterConstant.ZONE_KEY), zone);
     }
+
+    @Override
+    public BitSet getMatchIndexes(InstanceTagIndex<Object> index, String zone) {
+        return index.getEqualIndexes(RouterConstant.ZONE_KEY, zone);
+    }
 }
\ No newline at end of file
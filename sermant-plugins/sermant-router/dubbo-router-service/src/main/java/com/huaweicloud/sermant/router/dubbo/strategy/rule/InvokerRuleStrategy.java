@@ -22,6 +22,8 @@ import com.huaweicloud.sermant.router.dubbo.strategy.instance.MismatchInstanceSt
 import com.huaweicloud.sermant.router.dubbo.strategy.instance.ZoneInstanceStrategy;
 import com.huaweicloud.sermant.router.dubbo.utils.DubboReflectUtils;
 
+import java.util.List;
+
 /**
  * 路由规则匹配策略
  *
@@ -36,4 +38,19 @@ public class InvokerRuleStrategy extends AbstractRuleStrategy<Object> {
         super("dubbo", new MatchInstanceStrategy(), new MismatchInstanceStrategy(), new ZoneInstanceStrategy(),
             obj -> DubboReflectUtils.getParameters(DubboReflectUtils.getUrl(obj)));
     }
+
+    /**
+     * dubbo每个接口各有一份invoker列表，需按接口区分索引
+     *
+     * @param serviceName 服务名
+     * @param instances 实例列表
+     * @return 缓存键
+     */
+    @Override
+    protected String getIndexKey(String serviceName, List<Object> instances) {
+        if (instances == null || instances.isEmpty()) {
+            return serviceName;
+        }
+        return serviceName + "@" + DubboReflectUtils.getServiceInterface(DubboReflectUtils.getUrl(instances.get(0)));
+    }
 }
\ No newline at end of file
@@ -19,6 +19,7 @@ package com.huaweicloud.sermant.router.dubbo.strategy.type;
 import com.huaweicloud.sermant.router.dubbo.strategy.TypeStrategy;
 
 import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * 数据匹配策略
@@ -28,17 +29,24 @@ import java.util.Optional;
  */
 public class ArrayTypeStrategy extends TypeStrategy {
     @Override
-    public Optional<String> getValue(Object arg, String type) {
-        if (arg.getClass().isArray()) {
-            Object[] arr = (Object[]) arg;
-            int index = Integer.parseInt(getKey(type));
-            if (index < 0 || index >= arr.length) {
-                return Optional.empty();
-            }
-            Object object = arr[index];
-            return object == null ? Optional.empty() : Optional.of(String.valueOf(object));
+    protected Function<Object, Optional<String>> createAccessor(String type) {
+        int index;
+        try {
+            index = Integer.parseInt(getKey(type));
+        } catch (NumberFormatException ignored) {
+            return arg -> Optional.empty();
         }
-        return Optional.empty();
+        return arg -> {
+            if (arg.getClass().isArray()) {
+                Object[] arr = (Object[]) arg;
+                if (index < 0 || index >= arr.length) {
+                    return Optional.empty();
+                }
+                Object object = arr[index];
+                return object == null ? Optional.empty() : Optional.of(String.valueOf(object));
+            }
+            return Optional.empty();
+        };
     }
 
     @Override
@@ -20,6 +20,7 @@ import com.huaweicloud.sermant.core.utils.StringUtils;
 import com.huaweicloud.sermant.router.dubbo.strategy.TypeStrategy;
 
 import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * 空匹配策略
@@ -29,8 +30,8 @@ import java.util.Optional;
  */
 public class EmptyTypeStrategy extends TypeStrategy {
     @Override
-    public Optional<String> getValue(Object arg, String type) {
-        return arg == null ? Optional.empty() : Optional.of(String.valueOf(arg));
+    protected Function<Object, Optional<String>> createAccessor(String type) {
+        return arg -> arg == null ? Optional.empty() : Optional.of(String.valueOf(arg));
     }
 
     @Override
@@ -21,7 +21,11 @@ import com.huaweicloud.sermant.router.common.constants.RouterConstant;
 import com.huaweicloud.sermant.router.dubbo.strategy.TypeStrategy;
 
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.logging.Logger;
 
 /**
@@ -34,14 +38,25 @@ public class EnabledTypeStrategy extends TypeStrategy {
     private static final Logger LOGGER = LoggerFactory.getLogger();
 
     @Override
-    public Optional<String> getValue(Object arg, String type) {
-        try {
-            Object object = arg.getClass().getMethod(getKey(type)).invoke(arg);
-            return object == null ? Optional.empty() : Optional.of(String.valueOf(object));
-        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
-            LOGGER.warning("Cannot invoke the method, type is " + type);
-            return Optional.of(Boolean.FALSE.toString());
-        }
+    protected Function<Object, Optional<String>> createAccessor(String type) {
+        String methodName = getKey(type);
+
+        // 参数类型一般是固定的，按类型缓存方法，避免每次请求都查找方法
+        Map<Class<?>, Optional<Method>> methods = new ConcurrentHashMap<>();
+        return arg -> {
+            Optional<Method> method = methods.computeIfAbsent(arg.getClass(), clazz -> getMethod(clazz, methodName));
+            if (!method.isPresent()) {
+                LOGGER.warning("Cannot invoke the method, type is " + type);
+                return Optional.of(Boolean.FALSE.toString());
+            }
+            try {
+                Object object = method.get().invoke(arg);
+                return object == null ? Optional.empty() : Optional.of(String.valueOf(object));
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                LOGGER.warning("Cannot invoke the method, type is " + type);
+                return Optional.of(Boolean.FALSE.toString());
+            }
+        };
     }
 
     @Override
@@ -58,4 +73,12 @@ public class EnabledTypeStrategy extends TypeStrategy {
     public String getEndFlag() {
         return "()";
     }
+
+    private Optional<Method> getMethod(Class<?> clazz, String methodName) {
+        try {
+            return Optional.of(clazz.getMethod(methodName));
+        } catch (NoSuchMethodException ignored) {
+            return Optional.empty();
+        }
+    }
 }
\ No newline at end of file
@@ -20,6 +20,7 @@ import com.huaweicloud.sermant.router.dubbo.strategy.TypeStrategy;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * 列表匹配策略
@@ -29,17 +30,24 @@ import java.util.Optional;
  */
 public class ListTypeStrategy extends TypeStrategy {
     @Override
-    public Optional<String> getValue(Object arg, String type) {
-        if (arg instanceof List) {
-            List<?> list = (List<?>) arg;
-            int index = Integer.parseInt(getKey(type));
-            if (index < 0 || index >= list.size()) {
-                return Optional.empty();
-            }
-            Object object = list.get(index);
-            return object == null ? Optional.empty() : Optional.of(String.valueOf(object));
+    protected Function<Object, Optional<String>> createAccessor(String type) {
+        int index;
+        try {
+            index = Integer.parseInt(getKey(type));
+        } catch (NumberFormatException ignored) {
+            return arg -> Optional.empty();
         }
-        return Optional.empty();
+        return arg -> {
+            if (arg instanceof List) {
+                List<?> list = (List<?>) arg;
+                if (index < 0 || index >= list.size()) {
+                    return Optional.empty();
+                }
+                Object object = list.get(index);
+                return object == null ? Optional.empty() : Optional.of(String.valueOf(object));
+            }
+            return Optional.empty();
+        };
     }
 
     @Override
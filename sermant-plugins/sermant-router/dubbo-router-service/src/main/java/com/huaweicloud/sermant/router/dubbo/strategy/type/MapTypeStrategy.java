@@ -20,6 +20,7 @@ import com.huaweicloud.sermant.router.dubbo.strategy.TypeStrategy;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * map匹配策略
@@ -29,13 +30,15 @@ import java.util.Optional;
  */
 public class MapTypeStrategy extends TypeStrategy {
     @Override
-    public Optional<String> getValue(Object arg, String type) {
-        if (arg instanceof Map) {
-            Map<?, ?> map = (Map<?, ?>) arg;
-            Object object = map.get(getKey(type));
-            return object == null ? Optional.empty() : Optional.of(String.valueOf(object));
-        }
-        return Optional.empty();
+    protected Function<Object, Optional<String>> createAccessor(String type) {
+        String key = getKey(type);
+        return arg -> {
+            if (arg instanceof Map) {
+                Object object = ((Map<?, ?>) arg).get(key);
+                return object == null ? Optional.empty() : Optional.of(String.valueOf(object));
+            }
+            return Optional.empty();
+        };
     }
 
     @Override
@@ -16,11 +16,17 @@
 
 package com.huaweicloud.sermant.router.dubbo.strategy.type;
 
+import com.huaweicloud.sermant.core.common.LoggerFactory;
 import com.huaweicloud.sermant.core.utils.StringUtils;
 import com.huaweicloud.sermant.router.common.utils.ReflectUtils;
 import com.huaweicloud.sermant.router.dubbo.strategy.TypeStrategy;
 
+import java.lang.reflect.Field;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.logging.Logger;
 
 /**
  * 实体匹配策略
@@ -29,9 +35,16 @@ import java.util.Optional;
  * @since 2021-10-13
  */
 public class ObjectTypeStrategy extends TypeStrategy {
+    private static final Logger LOGGER = LoggerFactory.getLogger();
+
     @Override
-    public Optional<String> getValue(Object arg, String type) {
-        return ReflectUtils.getFieldValue(arg, getKey(type)).map(String::valueOf);
+    protected Function<Object, Optional<String>> createAccessor(String type) {
+        String fieldName = getKey(type);
+
+        // 参数类型一般是固定的，按类型缓存字段，避免每次请求都查找字段
+        Map<Class<?>, Optional<Field>> fields = new ConcurrentHashMap<>();
+        return arg -> fields.computeIfAbsent(arg.getClass(), clazz -> findField(clazz, fieldName))
+            .flatMap(field -> getFieldValue(field, arg)).map(String::valueOf);
     }
 
     @Override
@@ -51,4 +64,21 @@ public class ObjectTypeStrategy extends TypeStrategy {
     public String getEndFlag() {
         return "";
     }
+
+    private Optional<Field> findField(Class<?> clazz, String fieldName) {
+        Optional<Field> field = ReflectUtils.findField(clazz, fieldName);
+        if (!field.isPresent()) {
+            LOGGER.warning("Cannot get the field, fieldName is " + fieldName);
+        }
+        return field;
+    }
+
+    private Optional<Object> getFieldValue(Field field, Object arg) {
+        try {
+            return Optional.ofNullable(field.get(arg));
+        } catch (IllegalAccessException ignored) {
+            LOGGER.warning("Cannot get the field, fieldName is " + field.getName());
+            return Optional.empty();
+        }
+    }
 }
\ No newline at end of file
@@ -26,6 +26,7 @@ import com.huaweicloud.sermant.router.config.entity.Rule;
 import com.huaweicloud.sermant.router.config.entity.ValueMatch;
 import com.huaweicloud.sermant.router.dubbo.strategy.TypeStrategyChooser;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -71,6 +72,49 @@ public class RouteUtils {
         return Collections.emptyList();
     }
 
+    /**
+     * 获取规则所引用的参数值，参数值相同的请求匹配的路由也相同，可作为路由结果的缓存key
+     *
+     * @param list 有效的规则
+     * @param arguments dubbo的arguments参数
+     * @param attachments dubbo的attachments参数
+     * @return 规则所引用的参数值
+     */
+    public static List<Object> getRouteKey(List<Rule> list, Object[] arguments, Map<String, Object> attachments) {
+        List<Object> key = new ArrayList<>();
+        for (Rule rule : list) {
+            Match match = rule.getMatch();
+            if (match == null) {
+                // 与getRoutes一致，后面的规则不再参与匹配
+                break;
+            }
+            if (!CollectionUtils.isEmpty(match.getAttachments()) && !CollectionUtils.isEmpty(attachments)) {
+                key.add(RouteKeyType.ATTACHMENTS);
+                for (String attachmentKey : match.getAttachments().keySet()) {
+                    key.add(Optional.ofNullable(attachments.get(attachmentKey)).map(String::valueOf).orElse(null));
+                }
+            } else if (!CollectionUtils.isEmpty(match.getArgs()) && arguments != null && arguments.length > 0) {
+                key.add(RouteKeyType.ARGS);
+                addArgumentKey(key, match.getArgs(), arguments);
+            } else {
+                key.add(RouteKeyType.NONE);
+            }
+        }
+        return key;
+    }
+
+    private static void addArgumentKey(List<Object> key, Map<String, List<MatchRule>> args, Object[] arguments) {
+        for (Entry<String, List<MatchRule>> entry : args.entrySet()) {
+            String argKey = entry.getKey();
+            if (!argKey.startsWith(RouterConstant.DUBBO_SOURCE_TYPE_PREFIX)) {
+                continue;
+            }
+            for (MatchRule matchRule : entry.getValue()) {
+                key.add(TypeStrategyChooser.INSTANCE.getValue(matchRule.getType(), argKey, arguments).orElse(null));
+            }
+        }
+    }
+
     /**
      * 根据arguments参数获取匹配的路由
      *
@@ -90,14 +134,13 @@ public class RouteUtils {
             List<MatchRule> matchRuleList = entry.getValue();
             for (MatchRule matchRule : matchRuleList) {
                 ValueMatch valueMatch = matchRule.getValueMatch();
-                List<String> values = valueMatch.getValues();
                 MatchStrategy matchStrategy = valueMatch.getMatchStrategy();
                 String arg = TypeStrategyChooser.INSTANCE.getValue(matchRule.getType(), key, arguments).orElse(null);
-                if (!isFullMatch && matchStrategy.isMatch(values, arg, matchRule.isCaseInsensitive())) {
+                if (!isFullMatch && matchStrategy.isValueMatch(valueMatch, arg, matchRule.isCaseInsensitive())) {
                     // 如果不是全匹配，且匹配了一个，那么直接return
                     return rule.getRoute();
                 }
-                if (isFullMatch && !matchStrategy.isMatch(values, arg, matchRule.isCaseInsensitive())) {
+                if (isFullMatch && !matchStrategy.isValueMatch(valueMatch, arg, matchRule.isCaseInsensitive())) {
                     // 如果是全匹配，且有一个不匹配，则继续下一个规则
                     return Collections.emptyList();
                 }
@@ -134,14 +177,13 @@ public class RouteUtils {
             List<MatchRule> matchRuleList = entry.getValue();
             for (MatchRule matchRule : matchRuleList) {
                 ValueMatch valueMatch = matchRule.getValueMatch();
-                List<String> values = valueMatch.getValues();
                 MatchStrategy matchStrategy = valueMatch.getMatchStrategy();
                 String arg = Optional.ofNullable(attachments.get(key)).map(String::valueOf).orElse(null);
-                if (!isFullMatch && matchStrategy.isMatch(values, arg, matchRule.isCaseInsensitive())) {
+                if (!isFullMatch && matchStrategy.isValueMatch(valueMatch, arg, matchRule.isCaseInsensitive())) {
                     // 如果不是全匹配，且匹配了一个，直接返回
                     return rule.getRoute();
                 }
-                if (isFullMatch && !matchStrategy.isMatch(values, arg, matchRule.isCaseInsensitive())) {
+                if (isFullMatch && !matchStrategy.isValueMatch(valueMatch, arg, matchRule.isCaseInsensitive())) {
                     // 如果是全匹配，且又一个不匹配，继续下一个规则
                     return Collections.emptyList();
                 }
@@ -155,4 +197,26 @@ public class RouteUtils {
         // 如果不是全匹配，走到这里，说明没有一个规则能够匹配，继续下一个规则
         return Collections.emptyList();
     }
+
+    /**
+     * 路由缓存key中规则的匹配来源
+     *
+     * @since 2023-01-19
+     */
+    private enum RouteKeyType {
+        /**
+         * 根据attachments匹配
+         */
+        ATTACHMENTS,
+
+        /**
+         * 根据arguments匹配
+         */
+        ARGS,
+
+        /**
+         * 不参与匹配
+         */
+        NONE
+    }
 }
\ No newline at end of file
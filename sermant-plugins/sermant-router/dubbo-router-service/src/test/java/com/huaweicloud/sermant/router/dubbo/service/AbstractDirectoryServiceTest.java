@@ -46,8 +46,10 @@ import org.junit.Test;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -99,6 +101,7 @@ public class AbstractDirectoryServiceTest {
         ConfigCache.getLabel(RouterConstant.DUBBO_CACHE_NAME).resetRouteRule(Collections.emptyMap());
         config.setUseRequestRouter(false);
         config.setRequestTags(null);
+        config.setParseHeaderTag(null);
     }
 
     /**
@@ -200,6 +203,55 @@ public class AbstractDirectoryServiceTest {
         Assert.assertEquals(invoker2, targetInvokers.get(0));
     }
 
+    /**
+     * 测试路由规则缓存
+     */
+    @Test
+    public void testGetTargetInvokerByRulesWithCache() {
+        initRule();
+        config.setEnabledDubboZoneRouter(false);
+        List<Object> invokers = new ArrayList<>();
+        ApacheInvoker<Object> invoker1 = new ApacheInvoker<>("1.0.0");
+        invokers.add(invoker1);
+        ApacheInvoker<Object> invoker2 = new ApacheInvoker<>("1.0.1");
+        invokers.add(invoker2);
+        TestObject testObject = new TestObject();
+        Invocation invocation = new ApacheInvocation();
+        invocation.setAttachment("bar", "bar1");
+        Object[] arguments = new Object[]{invocation};
+        Map<String, String> queryMap = testObject.getQueryMap();
+        queryMap.put("side", "consumer");
+        queryMap.put("interface", "com.huaweicloud.foo.FooTest");
+        DubboCache.INSTANCE.putApplication("com.huaweicloud.foo.FooTest", "foo");
+        List<Object> targetInvokers = (List<Object>) service.selectInvokers(testObject, arguments, invokers);
+        Assert.assertEquals(Collections.singletonList(invoker2), targetInvokers);
+
+        // 规则引用的参数值变化，不能使用缓存的路由
+        invocation.setAttachment("bar", "bar2");
+        targetInvokers = (List<Object>) service.selectInvokers(testObject, arguments, invokers);
+        Assert.assertEquals(Collections.singletonList(invoker1), targetInvokers);
+        invocation.setAttachment("bar", "bar1");
+        targetInvokers = (List<Object>) service.selectInvokers(testObject, arguments, invokers);
+        Assert.assertEquals(Collections.singletonList(invoker2), targetInvokers);
+
+        // 服务维度的规则更新后，缓存失效
+        RouterConfiguration configuration = ConfigCache.getLabel(RouterConstant.DUBBO_CACHE_NAME);
+        Rule rule = configuration.getRouteRule().get("foo").get(0);
+        Route route = new Route();
+        route.setWeight(100);
+        route.setTags(Collections.singletonMap("version", "1.0.0"));
+        Rule newRule = new Rule();
+        newRule.setMatch(rule.getMatch());
+        newRule.setRoute(Collections.singletonList(route));
+        configuration.updateServiceRule("foo", Collections.singletonList(newRule));
+        targetInvokers = (List<Object>) service.selectInvokers(testObject, arguments, invokers);
+        Assert.assertEquals(Collections.singletonList(invoker1), targetInvokers);
+
+        // 规则删除后，缓存失效
+        configuration.removeServiceRule("foo");
+        targetInvokers = (List<Object>) service.selectInvokers(testObject, arguments, invokers);
+        Assert.assertEquals(invokers, targetInvokers);
+    }
     /**
      * 测试getTargetInstancesByRequest方法
      */
@@ -247,6 +299,45 @@ public class AbstractDirectoryServiceTest {
         Assert.assertEquals(invoker1, targetInvokers.get(0));
     }
 
+    /**
+     * 测试getTargetInstancesByRequest方法使用附件中的流量标识时
+     */
+    @Test
+    public void testGetTargetInstancesByRequestWithFlowContext() {
+        config.setUseRequestRouter(true);
+        config.setRequestTags(Arrays.asList("foo", "bar", "version"));
+        config.setParseHeaderTag("x-sermant-flow");
+        List<Object> invokers = new ArrayList<>();
+        ApacheInvoker<Object> invoker1 = new ApacheInvoker<>("1.0.0",
+            Collections.singletonMap(RouterConstant.PARAMETERS_KEY_PREFIX + "bar", "bar1"));
+        invokers.add(invoker1);
+        ApacheInvoker<Object> invoker2 = new ApacheInvoker<>("1.0.1",
+            Collections.singletonMap(RouterConstant.PARAMETERS_KEY_PREFIX + "foo", "bar2"));
+        invokers.add(invoker2);
+        TestObject testObject = new TestObject();
+        Invocation invocation = new ApacheInvocation();
+        Object[] arguments = new Object[]{invocation};
+        Map<String, String> queryMap = testObject.getQueryMap();
+        queryMap.put("side", "consumer");
+        queryMap.put("group", "fooGroup");
+        queryMap.put("version", "0.0.1");
+        queryMap.put("interface", "com.huaweicloud.foo.FooTest");
+        DubboCache.INSTANCE.putApplication("com.huaweicloud.foo.FooTest", "foo");
+
+        // 流量标识foo: bar2覆盖附件中的foo: bar1，匹配foo: bar2实例
+        Base64.Encoder encoder = Base64.getEncoder();
+        String flowContext = encoder.encodeToString("FOO".getBytes(StandardCharsets.UTF_8)) + ":"
+            + encoder.encodeToString("bar2".getBytes(StandardCharsets.UTF_8));
+        invocation.setAttachment("foo", "bar1");
+        invocation.setAttachment("x-sermant-flow", flowContext);
+        List<Object> targetInvokers = (List<Object>) service.selectInvokers(testObject, arguments, invokers);
+        Assert.assertEquals(Collections.singletonList(invoker2), targetInvokers);
+
+        // 同一流量标识再次解码时结果不变
+        targetInvokers = (List<Object>) service.selectInvokers(testObject, arguments, invokers);
+        Assert.assertEquals(Collections.singletonList(invoker2), targetInvokers);
+    }
+
     /**
      * 测试getTargetInstancesByRequest方法不匹配时
      */
@@ -140,4 +140,21 @@ public class TypeStrategyChooserTest {
         // 测试非数字
         Assert.assertNull(chooser.getValue("[bar]", "args0", arguments).orElse(null));
     }
+
+    /**
+     * 测试同一表达式用于不同类型的参数
+     */
+    @Test
+    public void testObjectWithDifferentClass() {
+        Entity entity = new Entity();
+        entity.setTest("foo");
+        arguments[0] = entity;
+        Assert.assertEquals("foo", chooser.getValue(".test", "args0", arguments).orElse(null));
+
+        // 参数类型变化后，按新类型查找字段
+        arguments[0] = Collections.singletonMap("test", "bar");
+        Assert.assertNull(chooser.getValue(".test", "args0", arguments).orElse(null));
+        arguments[0] = entity;
+        Assert.assertEquals("foo", chooser.getValue(".test", "args0", arguments).orElse(null));
+    }
 }
\ No newline at end of file
@@ -93,6 +93,12 @@ public class RouterConfig implements PluginConfig {
     @ConfigFieldKey("parse-header-tag")
     private String parseHeaderTag;
 
+    /**
+     * 是否开启路由指标采集
+     */
+    @ConfigFieldKey("enabled-metric")
+    private boolean enabledMetric;
+
     /**
      * 构造方法
      */
@@ -195,4 +201,12 @@ public class RouterConfig implements PluginConfig {
     public void setParseHeaderTag(String parseHeaderTag) {
         this.parseHeaderTag = parseHeaderTag;
     }
+
+    public boolean isEnabledMetric() {
+        return enabledMetric;
+    }
+
+    public void setEnabledMetric(boolean enabledMetric) {
+        this.enabledMetric = enabledMetric;
+    }
 }
\ No newline at end of file
@@ -21,13 +21,16 @@ import com.huaweicloud.sermant.core.utils.StringUtils;
 import com.huaweicloud.sermant.router.common.config.RouterConfig;
 
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
+import java.util.AbstractMap;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 流量标识解码工具类.
@@ -38,6 +41,17 @@ import java.util.Map;
 public class FlowContextUtils {
     private static final Base64.Decoder DECODER = Base64.getDecoder();
     private static final int TAG_PART_NUM = 2;
+    private static final int MAX_CACHE_SIZE = 1000;
+
+    /**
+     * 已解码的流量标识，key为编码后的字符串，同一流量标识在调用链的每一跳都会被解码，所以缓存解码结果，缓存已满时清空
+     */
+    private static final Map<String, Map<String, String>> DECODED_TAGS = new ConcurrentHashMap<>();
+
+    /**
+     * 已解码的流量标识（值为List形式），key为编码后的字符串
+     */
+    private static final Map<String, Map<String, List<String>>> DECODED_LIST_TAGS = new ConcurrentHashMap<>();
     private static volatile RouterConfig routerConfig;
 
     private FlowContextUtils() {
@@ -53,17 +67,15 @@ public class FlowContextUtils {
         if (StringUtils.isEmpty(encodeTagsString)) {
             return Collections.emptyMap();
         }
-        String[] tags = encodeTagsString.split(",");
-        Map<String, List<String>> tagMapping = new HashMap<>();
-        for (String tag : tags) {
-            final String[] parts = tag.split(":");
-            if (parts.length != TAG_PART_NUM) {
-                continue;
-            }
-            List<String> list = new ArrayList<>();
-            list.add(new String(DECODER.decode(parts[1]), StandardCharsets.UTF_8));
-            tagMapping.put(decode(parts[0]).toLowerCase(Locale.ENGLISH), list);
+        Map<String, List<String>> tagMapping = DECODED_LIST_TAGS.get(encodeTagsString);
+        if (tagMapping != null) {
+            return tagMapping;
         }
+        Map<String, String> tags = getDecodedTags(encodeTagsString);
+        Map<String, List<String>> map = new HashMap<>();
+        tags.forEach((key, value) -> map.put(key, Collections.singletonList(value)));
+        tagMapping = Collections.unmodifiableMap(map);
+        cache(DECODED_LIST_TAGS, encodeTagsString, tagMapping);
         return tagMapping;
     }
 
@@ -81,17 +93,43 @@ public class FlowContextUtils {
         if (encode == null) {
             return attachments;
         }
-        String encodeTags = String.valueOf(encode);
-        Map<String, Object> allAttachments = new HashMap<>(attachments);
+
+        // 不复制附件，读取附件时才解码流量标识，路由规则不使用附件时不需要解码
+        return new FlowContextAttachments(attachments, String.valueOf(encode));
+    }
+
+    private static Map<String, String> getDecodedTags(String encodeTags) {
+        Map<String, String> decodedTags = DECODED_TAGS.get(encodeTags);
+        if (decodedTags != null) {
+            return decodedTags;
+        }
+        Map<String, String> map = new HashMap<>();
         String[] tags = encodeTags.split(",");
         for (String tag : tags) {
             final String[] parts = tag.split(":");
             if (parts.length != TAG_PART_NUM) {
                 continue;
             }
-            allAttachments.put(decode(parts[0]).toLowerCase(Locale.ENGLISH), decode(parts[1]));
+            map.put(decode(parts[0]).toLowerCase(Locale.ENGLISH), decode(parts[1]));
         }
-        return Collections.unmodifiableMap(allAttachments);
+        decodedTags = Collections.unmodifiableMap(map);
+        cache(DECODED_TAGS, encodeTags, decodedTags);
+        return decodedTags;
+    }
+
+    /**
+     * 缓存解码结果，缓存已满时先清空，避免不再出现的流量标识常驻内存，同时保证新的流量标识仍能被缓存
+     *
+     * @param cache 缓存
+     * @param key 编码后的字符串
+     * @param value 解码结果
+     * @param <V> 解码结果类型
+     */
+    private static <V> void cache(Map<String, V> cache, String key, V value) {
+        if (cache.size() >= MAX_CACHE_SIZE) {
+            cache.clear();
+        }
+        cache.put(key, value);
     }
 
     /**
@@ -120,4 +158,51 @@ public class FlowContextUtils {
         }
         return routerConfig.getParseHeaderTag();
     }
+
+    /**
+     * 包含流量标识的附件，流量标识在首次读取时解码，解码后的流量标识会覆盖同名附件
+     *
+     * @since 2023-01-19
+     */
+    private static class FlowContextAttachments extends AbstractMap<String, Object> {
+        private final Map<String, Object> attachments;
+
+        private final String encodeTags;
+
+        private volatile Map<String, Object> allAttachments;
+
+        FlowContextAttachments(Map<String, Object> attachments, String encodeTags) {
+            this.attachments = attachments;
+            this.encodeTags = encodeTags;
+        }
+
+        @Override
+        public Object get(Object key) {
+            Map<String, String> tags = getDecodedTags(encodeTags);
+            return tags.containsKey(key) ? tags.get(key) : attachments.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return getDecodedTags(encodeTags).containsKey(key) || attachments.containsKey(key);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            // 附件中至少含有编码后的流量标识
+            return false;
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            Map<String, Object> map = allAttachments;
+            if (map == null) {
+                Map<String, Object> newAttachments = new HashMap<>(attachments);
+                newAttachments.putAll(getDecodedTags(encodeTags));
+                map = Collections.unmodifiableMap(newAttachments);
+                allAttachments = map;
+            }
+            return map.entrySet();
+        }
+    }
 }
@@ -69,6 +69,25 @@ public class ReflectUtils {
         return Optional.empty();
     }
 
+    /**
+     * 查找字段（包括父类的私有字段），找到的字段已设置为可访问，调用方可自行缓存
+     *
+     * @param clazz 类
+     * @param fieldName 字段名
+     * @return 字段
+     */
+    public static Optional<Field> findField(Class<?> clazz, String fieldName) {
+        Class<?> currClass = clazz;
+        while (currClass != null && currClass != Object.class) {
+            try {
+                return Optional.ofNullable(getAccessibleObject(currClass.getDeclaredField(fieldName)));
+            } catch (NoSuchFieldException e) {
+                currClass = currClass.getSuperclass();
+            }
+        }
+        return Optional.empty();
+    }
+
     /**
      * 获取权限检查类
      *
@@ -146,17 +165,7 @@ public class ReflectUtils {
     }
 
     private static Optional<Field> getField(Object obj, String fieldName) {
-        return FIELD_MAP.computeIfAbsent(buildFieldKey(obj, fieldName), key -> {
-            Class<?> currClass = obj.getClass();
-            while (currClass != Object.class) {
-                try {
-                    return Optional.ofNullable(getAccessibleObject(currClass.getDeclaredField(fieldName)));
-                } catch (NoSuchFieldException e) {
-                    currClass = currClass.getSuperclass();
-                }
-            }
-            return Optional.empty();
-        });
+        return FIELD_MAP.computeIfAbsent(buildFieldKey(obj, fieldName), key -> findField(obj.getClass(), fieldName));
     }
 
     private static String buildMethodKey(Class<?> clazz, String methodName, Class<?> parameterClass) {
@@ -20,6 +20,7 @@ import com.alibaba.fastjson.annotation.JSONField;
 
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 /**
  * 匹配规则
@@ -38,6 +39,12 @@ public class Match {
      */
     private String path;
 
+    /**
+     * 预编译的path正则表达式，规则加载时设置，不参与序列化
+     */
+    @JSONField(serialize = false, deserialize = false)
+    private Pattern pathPattern;
+
     /**
      * 是否全匹配
      */
@@ -89,6 +96,14 @@ public class Match {
         this.path = path;
     }
 
+    public Pattern getPathPattern() {
+        return pathPattern;
+    }
+
+    public void setPathPattern(Pattern pathPattern) {
+        this.pathPattern = pathPattern;
+    }
+
     public boolean isFullMatch() {
         return fullMatch;
     }
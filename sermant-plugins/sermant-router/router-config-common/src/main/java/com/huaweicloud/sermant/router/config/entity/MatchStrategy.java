@@ -31,6 +31,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Locale;
+import java.util.regex.Pattern;
 
 /**
  * 值匹配策略
@@ -90,6 +91,27 @@ public enum MatchStrategy {
         this.valueMatchStrategy = valueMatchStrategy;
     }
 
+    /**
+     * 是否匹配，正则匹配策略优先使用规则加载时预编译的正则表达式
+     *
+     * @param valueMatch 值匹配规则
+     * @param arg 参数值
+     * @param isCaseInsensitive 是否区分大小写
+     * @return 是否匹配
+     */
+    public boolean isValueMatch(ValueMatch valueMatch, String arg, boolean isCaseInsensitive) {
+        Pattern pattern = valueMatch.getPattern();
+        if (pattern == null) {
+            return isMatch(valueMatch.getValues(), arg, isCaseInsensitive);
+        }
+        if (arg == null) {
+            return false;
+        }
+
+        // 如果大小写不敏感，预编译的是转成大写后的正则表达式
+        return pattern.matcher(isCaseInsensitive ? arg : arg.toUpperCase(Locale.ROOT)).matches();
+    }
+
     /**
      * 是否匹配
      *
@@ -16,6 +16,9 @@
 
 package com.huaweicloud.sermant.router.config.entity;
 
+import com.alibaba.fastjson.annotation.JSONField;
+
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -35,6 +38,17 @@ public class Route {
      */
     private Map<String, String> tags;
 
+    /**
+     * key中的"-"替换成"."后的路由标签（dubbo需要），首次使用时计算并缓存，避免每次路由时复制标签
+     */
+    private volatile Map<String, String> dashReplacedTags;
+
+    /**
+     * 所属规则的标识
+     */
+    @JSONField(serialize = false, deserialize = false)
+    private String ruleId = "";
+
     public void setWeight(Integer weight) {
         this.weight = weight;
     }
@@ -45,9 +59,49 @@ public class Route {
 
     public void setTags(Map<String, String> tags) {
         this.tags = tags;
+        this.dashReplacedTags = null;
     }
 
     public Map<String, String> getTags() {
         return this.tags;
     }
+
+    public String getRuleId() {
+        return ruleId;
+    }
+
+    public void setRuleId(String ruleId) {
+        this.ruleId = ruleId;
+    }
+
+    /**
+     * 获取key中的"-"替换成"."后的路由标签
+     *
+     * @return 路由标签
+     */
+    @JSONField(serialize = false)
+    public Map<String, String> getDashReplacedTags() {
+        Map<String, String> replacedTags = dashReplacedTags;
+        if (replacedTags == null) {
+            replacedTags = replaceDash(tags);
+            dashReplacedTags = replacedTags;
+        }
+        return replacedTags;
+    }
+
+    private static Map<String, String> replaceDash(Map<String, String> tags) {
+        if (tags == null || tags.keySet().stream().noneMatch(key -> key != null && key.contains("-"))) {
+            return tags;
+        }
+        Map<String, String> map = new HashMap<>();
+        tags.forEach((key, value) -> {
+            if (key != null && key.contains("-")) {
+                // dubbo会把key中的"-"替换成"."
+                map.put(key.replace("-", "."), value);
+            } else {
+                map.put(key, value);
+            }
+        });
+        return map;
+    }
 }
\ No newline at end of file
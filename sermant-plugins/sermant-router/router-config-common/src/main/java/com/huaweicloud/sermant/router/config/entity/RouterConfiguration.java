@@ -21,6 +21,7 @@ import com.huaweicloud.sermant.router.common.utils.CollectionUtils;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 路由标签
@@ -34,6 +35,16 @@ public class RouterConfiguration {
      */
     private final Map<String, List<Rule>> routeRule = new ConcurrentHashMap<>();
 
+    /**
+     * 规则版本号，规则每次变化后递增，用于判断基于规则的缓存是否失效
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * 按目标服务与请求路径筛选后的规则，key为目标服务名，value的key为本服务名与请求路径，规则变化时清空
+     */
+    private final Map<String, Map<List<String>, List<Rule>>> targetRules = new ConcurrentHashMap<>();
+
     public Map<String, List<Rule>> getRouteRule() {
         return routeRule;
     }
@@ -44,8 +55,73 @@ public class RouterConfiguration {
      * @param map 路由规则
      */
     public void resetRouteRule(Map<String, List<Rule>> map) {
+        map.values().forEach(RouterConfiguration::setRuleIds);
         routeRule.clear();
         routeRule.putAll(map);
+        version.incrementAndGet();
+        targetRules.clear();
+    }
+
+    /**
+     * 更新服务的路由规则
+     *
+     * @param serviceName 服务名
+     * @param rules 路由规则
+     */
+    public void updateServiceRule(String serviceName, List<Rule> rules) {
+        setRuleIds(rules);
+        routeRule.put(serviceName, rules);
+        version.incrementAndGet();
+        targetRules.remove(serviceName);
+    }
+
+    /**
+     * 删除服务的路由规则
+     *
+     * @param serviceName 服务名
+     */
+    public void removeServiceRule(String serviceName) {
+        routeRule.remove(serviceName);
+        version.incrementAndGet();
+        targetRules.remove(serviceName);
+    }
+
+    /**
+     * 获取目标服务按请求路径筛选后的规则缓存，需在读取规则之前获取，规则变化后旧的缓存不再被引用
+     *
+     * @param serviceName 目标服务名
+     * @return 规则缓存
+     */
+    public Map<List<String>, List<Rule>> getTargetRules(String serviceName) {
+        return targetRules.computeIfAbsent(serviceName, key -> new ConcurrentHashMap<>());
+    }
+
+    /**
+     * 获取规则版本号，需在读取规则之前获取，版本号不变时规则一定没有变化
+     *
+     * @return 规则版本号
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * 设置规则标识为规则在列表中的下标，规则的路由记录所属规则的标识
+     *
+     * @param rules 路由规则，已按优先级排序
+     */
+    private static void setRuleIds(List<Rule> rules) {
+        if (rules == null) {
+            return;
+        }
+        for (int i = 0; i < rules.size(); i++) {
+            Rule rule = rules.get(i);
+            String id = String.valueOf(i);
+            rule.setId(id);
+            if (rule.getRoute() != null) {
+                rule.getRoute().forEach(route -> route.setRuleId(id));
+            }
+        }
     }
 
     /**
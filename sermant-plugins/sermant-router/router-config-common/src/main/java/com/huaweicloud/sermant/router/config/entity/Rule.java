@@ -16,6 +16,8 @@
 
 package com.huaweicloud.sermant.router.config.entity;
 
+import com.alibaba.fastjson.annotation.JSONField;
+
 import java.util.List;
 
 /**
@@ -40,6 +42,12 @@ public class Rule {
      */
     private List<Route> route;
 
+    /**
+     * 规则标识，存入路由配置时设置为规则在目标服务规则列表（已按优先级排序）中的下标，用于区分优先级相同的规则
+     */
+    @JSONField(serialize = false, deserialize = false)
+    private String id = "";
+
     public void setPrecedence(int precedence) {
         this.precedence = precedence;
     }
@@ -63,4 +71,12 @@ public class Rule {
     public List<Route> getRoute() {
         return this.route;
     }
-}
\ No newline at end of file
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+}
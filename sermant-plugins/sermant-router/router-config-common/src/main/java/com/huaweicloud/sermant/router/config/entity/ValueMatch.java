@@ -16,7 +16,10 @@
 
 package com.huaweicloud.sermant.router.config.entity;
 
+import com.alibaba.fastjson.annotation.JSONField;
+
 import java.util.List;
+import java.util.regex.Pattern;
 
 /**
  * 值匹配
@@ -35,6 +38,12 @@ public class ValueMatch {
      */
     private List<String> values;
 
+    /**
+     * 预编译的正则表达式，仅正则匹配策略在规则加载时设置，不参与序列化
+     */
+    @JSONField(serialize = false, deserialize = false)
+    private Pattern pattern;
+
     public MatchStrategy getMatchStrategy() {
         return matchStrategy;
     }
@@ -50,4 +59,12 @@ public class ValueMatch {
     public void setValues(List<String> values) {
         this.values = values;
     }
-}
\ No newline at end of file
+
+    public Pattern getPattern() {
+        return pattern;
+    }
+
+    public void setPattern(Pattern pattern) {
+        this.pattern = pattern;
+    }
+}
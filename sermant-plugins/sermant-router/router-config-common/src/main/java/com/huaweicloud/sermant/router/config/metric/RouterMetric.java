@@ -0,0 +1,361 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.huaweicloud.sermant.router.config.metric;
+
+import com.huaweicloud.sermant.core.plugin.config.PluginConfigManager;
+import com.huaweicloud.sermant.router.common.config.RouterConfig;
+import com.huaweicloud.sermant.router.common.utils.CollectionUtils;
+import com.huaweicloud.sermant.router.config.entity.Route;
+import com.huaweicloud.sermant.router.config.entity.Rule;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 路由指标，记录路由耗时、规则命中次数及过滤后的实例数，只做计数，由监控服务采集
+ *
+ * @author provenceee
+ * @since 2023-01-19
+ */
+public enum RouterMetric {
+    /**
+     * 实例
+     */
+    INSTANCE;
+
+    /**
+     * 路由耗时分布的上界，单位纳秒
+     */
+    private static final long[] BUCKETS = {10_000L, 50_000L, 100_000L, 500_000L, 1_000_000L, 5_000_000L,
+        10_000_000L, 50_000_000L};
+
+    private static final int MAX_METRIC_SIZE = 1000;
+
+    /**
+     * 路由耗时，key为来源（dubbo/spring）
+     */
+    private final Map<String, Latency> latencies = new ConcurrentHashMap<>();
+
+    /**
+     * 规则命中次数
+     */
+    private final Map<RuleKey, LongAdder> ruleCounts = new ConcurrentHashMap<>();
+
+    /**
+     * 最近一次路由前后的实例数
+     */
+    private final Map<ServiceKey, InstanceCount> instanceCounts = new ConcurrentHashMap<>();
+
+    private volatile RouterConfig routerConfig;
+
+    /**
+     * 是否开启路由指标采集
+     *
+     * @return 是否开启
+     */
+    public boolean isEnabled() {
+        RouterConfig config = routerConfig;
+        if (config == null) {
+            config = PluginConfigManager.getPluginConfig(RouterConfig.class);
+            routerConfig = config;
+        }
+        return config != null && config.isEnabledMetric();
+    }
+
+    /**
+     * 获取路由开始时间，未开启指标采集时返回0
+     *
+     * @return 开始时间，单位纳秒
+     */
+    public long getStartTime() {
+        return isEnabled() ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * 记录一次路由
+     *
+     * @param source 来源
+     * @param serviceName 目标服务名
+     * @param startTime 开始时间，为0时不记录
+     * @param total 路由前的实例数
+     * @param filtered 路由后的实例数
+     */
+    public void recordRoute(String source, String serviceName, long startTime, int total, int filtered) {
+        if (startTime == 0L) {
+            return;
+        }
+        latencies.computeIfAbsent(source, key -> new Latency()).record(System.nanoTime() - startTime);
+        ServiceKey key = new ServiceKey(source, serviceName);
+        InstanceCount count = instanceCounts.get(key);
+        if (count == null) {
+            if (instanceCounts.size() >= MAX_METRIC_SIZE) {
+                return;
+            }
+            count = instanceCounts.computeIfAbsent(key, value -> new InstanceCount());
+        }
+        count.total = total;
+        count.filtered = filtered;
+    }
+
+    /**
+     * 记录规则的匹配结果，规则按顺序匹配，命中的规则记录为命中，之前的规则记录为未匹配，路由为空时全部记录为未匹配
+     *
+     * @param source 来源
+     * @param serviceName 目标服务名
+     * @param rules 规则
+     * @param routes 命中的路由
+     */
+    public void recordRule(String source, String serviceName, List<Rule> rules, List<Route> routes) {
+        if (CollectionUtils.isEmpty(rules) || !isEnabled()) {
+            return;
+        }
+        for (Rule rule : rules) {
+            if (rule.getRoute() == routes) {
+                recordRule(source, serviceName, rule.getId(), RuleResult.MATCH);
+                return;
+            }
+            recordRule(source, serviceName, rule.getId(), RuleResult.MISMATCH);
+        }
+    }
+
+    /**
+     * 记录规则的匹配结果
+     *
+     * @param source 来源
+     * @param serviceName 目标服务名
+     * @param rule 规则标识，即规则在目标服务规则列表中的下标
+     * @param result 匹配结果
+     */
+    public void recordRule(String source, String serviceName, String rule, RuleResult result) {
+        if (!isEnabled()) {
+            return;
+        }
+        RuleKey key = new RuleKey(source, serviceName, rule, result);
+        LongAdder count = ruleCounts.get(key);
+        if (count == null) {
+            if (ruleCounts.size() >= MAX_METRIC_SIZE) {
+                return;
+            }
+            count = ruleCounts.computeIfAbsent(key, value -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    /**
+     * 获取路由耗时分布的上界
+     *
+     * @return 上界，单位纳秒
+     */
+    public long[] getBuckets() {
+        return BUCKETS.clone();
+    }
+
+    public Map<String, Latency> getLatencies() {
+        return Collections.unmodifiableMap(latencies);
+    }
+
+    public Map<RuleKey, LongAdder> getRuleCounts() {
+        return Collections.unmodifiableMap(ruleCounts);
+    }
+
+    public Map<ServiceKey, InstanceCount> getInstanceCounts() {
+        return Collections.unmodifiableMap(instanceCounts);
+    }
+
+    /**
+     * 清空指标
+     */
+    public void clear() {
+        latencies.clear();
+        ruleCounts.clear();
+        instanceCounts.clear();
+        routerConfig = null;
+    }
+
+    /**
+     * 规则匹配结果
+     *
+     * @since 2023-01-19
+     */
+    public enum RuleResult {
+        /**
+         * 命中规则
+         */
+        MATCH,
+
+        /**
+         * 规则未匹配
+         */
+        MISMATCH,
+
+        /**
+         * 命中规则，但过滤后没有实例，返回全部实例
+         */
+        FALLBACK
+    }
+
+    /**
+     * 路由耗时分布
+     *
+     * @since 2023-01-19
+     */
+    public static class Latency {
+        private final LongAdder[] counts = new LongAdder[BUCKETS.length + 1];
+
+        private final LongAdder sum = new LongAdder();
+
+        Latency() {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = new LongAdder();
+            }
+        }
+
+        private void record(long nanos) {
+            int index = 0;
+            while (index < BUCKETS.length && nanos > BUCKETS[index]) {
+                index++;
+            }
+            counts[index].increment();
+            sum.add(nanos);
+        }
+
+        /**
+         * 获取各区间的次数，最后一个为超过所有上界的次数
+         *
+         * @return 次数
+         */
+        public long[] getCounts() {
+            long[] result = new long[counts.length];
+            for (int i = 0; i < counts.length; i++) {
+                result[i] = counts[i].sum();
+            }
+            return result;
+        }
+
+        /**
+         * 获取总耗时
+         *
+         * @return 总耗时，单位纳秒
+         */
+        public long getSum() {
+            return sum.sum();
+        }
+    }
+
+    /**
+     * 服务维度的key
+     *
+     * @since 2023-01-19
+     */
+    public static class ServiceKey {
+        private final String source;
+
+        private final String serviceName;
+
+        ServiceKey(String source, String serviceName) {
+            this.source = source;
+            this.serviceName = serviceName;
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public String getServiceName() {
+            return serviceName;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            ServiceKey that = (ServiceKey) obj;
+            return Objects.equals(source, that.source) && Objects.equals(serviceName, that.serviceName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(source, serviceName);
+        }
+    }
+
+    /**
+     * 规则维度的key
+     *
+     * @since 2023-01-19
+     */
+    public static class RuleKey extends ServiceKey {
+        private final String rule;
+
+        private final RuleResult result;
+
+        RuleKey(String source, String serviceName, String rule, RuleResult result) {
+            super(source, serviceName);
+            this.rule = rule;
+            this.result = result;
+        }
+
+        public String getRule() {
+            return rule;
+        }
+
+        public RuleResult getResult() {
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!super.equals(obj)) {
+                return false;
+            }
+            RuleKey that = (RuleKey) obj;
+            return Objects.equals(rule, that.rule) && result == that.result;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(super.hashCode(), rule, result);
+        }
+    }
+
+    /**
+     * 路由前后的实例数
+     *
+     * @since 2023-01-19
+     */
+    public static class InstanceCount {
+        private volatile int total;
+
+        private volatile int filtered;
+
+        public int getTotal() {
+            return total;
+        }
+
+        public int getFiltered() {
+            return filtered;
+        }
+    }
+}
\ No newline at end of file
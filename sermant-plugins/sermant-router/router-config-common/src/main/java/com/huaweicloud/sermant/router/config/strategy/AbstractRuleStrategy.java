@@ -20,6 +20,8 @@ import com.huaweicloud.sermant.core.common.LoggerFactory;
 import com.huaweicloud.sermant.core.utils.StringUtils;
 import com.huaweicloud.sermant.router.common.utils.CollectionUtils;
 import com.huaweicloud.sermant.router.config.entity.Route;
+import com.huaweicloud.sermant.router.config.metric.RouterMetric;
+import com.huaweicloud.sermant.router.config.metric.RouterMetric.RuleResult;
 import com.huaweicloud.sermant.router.config.utils.RuleUtils;
 import com.huaweicloud.sermant.router.config.utils.RuleUtils.RouteResult;
 
@@ -30,6 +32,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -44,6 +48,8 @@ import java.util.logging.Logger;
 public abstract class AbstractRuleStrategy<I> implements RuleStrategy<I> {
     private static final Logger LOGGER = LoggerFactory.getLogger();
 
+    private static final int MAX_INDEX_SIZE = 16;
+
     private final InstanceStrategy<I, Map<String, String>> matchInstanceStrategy;
 
     private final InstanceStrategy<I, List<Map<String, String>>> mismatchInstanceStrategy;
@@ -54,6 +60,12 @@ public abstract class AbstractRuleStrategy<I> implements RuleStrategy<I> {
 
     private final String source;
 
+    /**
+     * 实例标签索引，key为实例列表来源（见getIndexKey），value为按最近使用排序的实例列表的索引（同一来源会先后过滤全部实例与路由后的实例），
+     * 实例列表变化时重建
+     */
+    private final Map<String, List<InstanceTagIndex<I>>> indexes = new ConcurrentHashMap<>();
+
     /**
      * 构造方法
      *
@@ -76,7 +88,8 @@ public abstract class AbstractRuleStrategy<I> implements RuleStrategy<I> {
     @Override
     public List<I> getMatchInstances(String serviceName, List<I> instances, List<Route> routes, boolean isReplaceDash) {
         RouteResult<?> result = RuleUtils.getTargetTags(routes, isReplaceDash);
-        return getInstances(getStrategy(result.isMatch()), result.getTags(), serviceName, instances, true);
+        String ruleId = CollectionUtils.isEmpty(routes) ? "" : routes.get(0).getRuleId();
+        return getInstances(getStrategy(result.isMatch()), result.getTags(), serviceName, instances, true, ruleId);
     }
 
     @Override
@@ -84,13 +97,14 @@ public abstract class AbstractRuleStrategy<I> implements RuleStrategy<I> {
         if (CollectionUtils.isEmpty(tags)) {
             return Collections.emptyList();
         }
-        return getInstances(matchInstanceStrategy, tags, serviceName, instances, false);
+        return getInstances(matchInstanceStrategy, tags, serviceName, instances, false, null);
     }
 
     @Override
     public List<I> getMismatchInstances(String serviceName, List<I> instances, List<Map<String, String>> tags,
         boolean isReturnAllInstancesWhenMismatch) {
-        return getInstances(mismatchInstanceStrategy, tags, serviceName, instances, isReturnAllInstancesWhenMismatch);
+        return getInstances(mismatchInstanceStrategy, tags, serviceName, instances, isReturnAllInstancesWhenMismatch,
+            null);
     }
 
     /**
@@ -105,17 +119,27 @@ public abstract class AbstractRuleStrategy<I> implements RuleStrategy<I> {
         if (StringUtils.isBlank(zone)) {
             return instances;
         }
-        return getInstances(zoneInstanceStrategy, zone, serviceName, instances, true);
+        return getInstances(zoneInstanceStrategy, zone, serviceName, instances, true, null);
     }
 
     private <T> List<I> getInstances(InstanceStrategy<I, T> instanceStrategy, T tags, String serviceName,
-        List<I> instances, boolean isReturnAllInstancesWhenMismatch) {
-        List<I> resultList = new ArrayList<>();
-        for (I instance : instances) {
-            if (instanceStrategy.isMatch(instance, tags, mapper)) {
-                resultList.add(instance);
-            }
+        List<I> instances, boolean isReturnAllInstancesWhenMismatch, String ruleId) {
+        // 按标签组合（区域路由时为区域）缓存过滤结果及匹配不上时是否返回全部实例的结果，实例列表不变时直接复用
+        // 缓存的结果不能引用入参的实例列表（可能被原地修改），所以匹配不上时使用索引中的实例快照
+        InstanceTagIndex<I> index = getIndex(serviceName, instances);
+        List<I> group = index.getGroup(new GroupKey(instanceStrategy, tags, isReturnAllInstancesWhenMismatch),
+            key -> filterInstances(index, instanceStrategy, tags, serviceName, isReturnAllInstancesWhenMismatch));
+
+        // 只有匹配不上时才会返回全部实例的列表，其它结果都是新的列表；区域路由、请求标签路由的回退不属于规则回退，不记录
+        if (ruleId != null && group == index.getAllInstances()) {
+            RouterMetric.INSTANCE.recordRule(source, serviceName, ruleId, RuleResult.FALLBACK);
         }
+        return group;
+    }
+
+    private <T> List<I> filterInstances(InstanceTagIndex<I> index, InstanceStrategy<I, T> instanceStrategy, T tags,
+        String serviceName, boolean isReturnAllInstancesWhenMismatch) {
+        List<I> resultList = index.getInstances(instanceStrategy.getMatchIndexes(index, tags));
         boolean mismatch = CollectionUtils.isEmpty(resultList);
         if (!mismatch) {
             if (LOGGER.isLoggable(Level.FINE)) {
@@ -131,11 +155,95 @@ public abstract class AbstractRuleStrategy<I> implements RuleStrategy<I> {
                 "Cannot match instances, will return empty instances, %s serviceName is %s, tags is %s.", source,
                 serviceName, JSONObject.toJSONString(tags)));
         }
-        return isReturnAllInstancesWhenMismatch && mismatch ? instances : resultList;
+        return isReturnAllInstancesWhenMismatch && mismatch ? index.getAllInstances()
+            : Collections.unmodifiableList(resultList);
+    }
+
+    /**
+     * 获取实例索引的缓存键，默认为服务名；同一服务存在多个实例列表来源时（例如dubbo的每个接口各有一份invoker列表），子类需加以区分
+     *
+     * @param serviceName 服务名
+     * @param instances 实例列表
+     * @return 缓存键
+     */
+    protected String getIndexKey(String serviceName, List<I> instances) {
+        return serviceName;
+    }
+
+    private InstanceTagIndex<I> getIndex(String serviceName, List<I> instances) {
+        if (serviceName == null) {
+            return new InstanceTagIndex<>(instances, mapper);
+        }
+        String indexKey = getIndexKey(serviceName, instances);
+        List<InstanceTagIndex<I>> sourceIndexes = indexes.getOrDefault(indexKey, Collections.emptyList());
+        for (int i = 0; i < sourceIndexes.size(); i++) {
+            InstanceTagIndex<I> index = sourceIndexes.get(i);
+            if (index.isSameInstances(instances)) {
+                if (i > 0) {
+                    // 命中的索引移到最前面
+                    indexes.put(indexKey, moveToFront(index, sourceIndexes, i));
+                }
+                return index;
+            }
+        }
+
+        // 新索引放在最前面，超过上限时淘汰最久未使用的索引
+        InstanceTagIndex<I> index = new InstanceTagIndex<>(instances, mapper);
+        indexes.put(indexKey, moveToFront(index, sourceIndexes, -1));
+        return index;
+    }
+
+    private List<InstanceTagIndex<I>> moveToFront(InstanceTagIndex<I> index, List<InstanceTagIndex<I>> oldIndexes,
+        int skipPosition) {
+        List<InstanceTagIndex<I>> newIndexes = new ArrayList<>(Math.min(oldIndexes.size() + 1, MAX_INDEX_SIZE));
+        newIndexes.add(index);
+        for (int i = 0; i < oldIndexes.size() && newIndexes.size() < MAX_INDEX_SIZE; i++) {
+            if (i != skipPosition) {
+                newIndexes.add(oldIndexes.get(i));
+            }
+        }
+        return newIndexes;
     }
 
     private <T> InstanceStrategy<I, T> getStrategy(boolean isMatch) {
         return isMatch ? (InstanceStrategy<I, T>) matchInstanceStrategy
             : (InstanceStrategy<I, T>) mismatchInstanceStrategy;
     }
+
+    /**
+     * 实例分组条件
+     *
+     * @since 2023-01-19
+     */
+    private static final class GroupKey {
+        private final Object strategy;
+
+        private final Object tags;
+
+        private final boolean isReturnAllInstancesWhenMismatch;
+
+        GroupKey(Object strategy, Object tags, boolean isReturnAllInstancesWhenMismatch) {
+            this.strategy = strategy;
+            this.tags = tags;
+            this.isReturnAllInstancesWhenMismatch = isReturnAllInstancesWhenMismatch;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof GroupKey)) {
+                return false;
+            }
+            GroupKey groupKey = (GroupKey) obj;
+            return strategy == groupKey.strategy && isReturnAllInstancesWhenMismatch
+                == groupKey.isReturnAllInstancesWhenMismatch && Objects.equals(tags, groupKey.tags);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(strategy), tags, isReturnAllInstancesWhenMismatch);
+        }
+    }
 }
\ No newline at end of file
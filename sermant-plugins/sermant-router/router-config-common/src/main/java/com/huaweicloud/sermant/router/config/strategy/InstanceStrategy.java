@@ -16,6 +16,7 @@
 
 package com.huaweicloud.sermant.router.config.strategy;
 
+import java.util.BitSet;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -37,4 +38,13 @@ public interface InstanceStrategy<I, T> {
      * @return 是否匹配
      */
     boolean isMatch(I instance, T tags, Function<I, Map<String, String>> mapper);
+
+    /**
+     * 根据实例标签索引获取匹配的实例下标，结果需与isMatch一致
+     *
+     * @param index 实例标签索引
+     * @param tags 标签
+     * @return 匹配的实例下标
+     */
+    BitSet getMatchIndexes(InstanceTagIndex<I> index, T tags);
 }
\ No newline at end of file
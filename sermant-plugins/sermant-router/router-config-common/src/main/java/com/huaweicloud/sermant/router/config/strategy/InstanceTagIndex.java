@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.huaweicloud.sermant.router.config.strategy;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 实例标签索引，按metadata的key/value记录实例下标，标签匹配时只需做位集合运算
+ *
+ * @param <I> 实例泛型
+ * @author provenceee
+ * @since 2023-01-19
+ */
+public class InstanceTagIndex<I> {
+    private static final int MAX_GROUP_SIZE = 1000;
+
+    private final List<I> instances;
+
+    /**
+     * 全部实例的只读列表
+     */
+    private final List<I> allInstances;
+
+    /**
+     * 已计算过的实例分组，key为分组条件（策略及标签），实例列表变化时随索引一起重建
+     */
+    private final Map<Object, List<I>> groups = new ConcurrentHashMap<>();
+
+    /**
+     * 包含某个key的实例，key为metadata的key
+     */
+    private final Map<String, BitSet> keyIndexes = new HashMap<>();
+
+    /**
+     * 某个key为某个值的实例，key为metadata的key，value的key为metadata的值（不为null）
+     */
+    private final Map<String, Map<String, BitSet>> valueIndexes = new HashMap<>();
+
+    /**
+     * 构造方法
+     *
+     * @param instances 实例列表
+     * @param mapper 获取metadata的方法
+     */
+    public InstanceTagIndex(List<I> instances, Function<I, Map<String, String>> mapper) {
+        this.instances = new ArrayList<>(instances);
+        this.allInstances = Collections.unmodifiableList(this.instances);
+        for (int i = 0; i < this.instances.size(); i++) {
+            addIndex(i, getMetadata(this.instances.get(i), mapper));
+        }
+    }
+
+    /**
+     * 实例列表是否与建立索引时一致（同一批实例对象，且顺序相同），原列表可能被原地修改，所以逐个比较
+     *
+     * @param list 实例列表
+     * @return 是否一致
+     */
+    public boolean isSameInstances(List<I> list) {
+        if (list == null || list.size() != instances.size()) {
+            return false;
+        }
+        for (int i = 0; i < instances.size(); i++) {
+            if (list.get(i) != instances.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 获取所有实例的下标
+     *
+     * @return 实例下标
+     */
+    public BitSet getAllIndexes() {
+        BitSet bitSet = new BitSet(instances.size());
+        bitSet.set(0, instances.size());
+        return bitSet;
+    }
+
+    /**
+     * 获取全部实例，建立索引后实例不会变化，所以每次返回同一个只读列表
+     *
+     * @return 实例列表
+     */
+    public List<I> getAllInstances() {
+        return allInstances;
+    }
+
+    /**
+     * 获取包含该key的实例下标
+     *
+     * @param key metadata的key
+     * @return 实例下标
+     */
+    public BitSet getKeyIndexes(String key) {
+        BitSet bitSet = keyIndexes.get(key);
+        return bitSet == null ? new BitSet() : (BitSet) bitSet.clone();
+    }
+
+    /**
+     * 获取metadata中key对应的值与value相等的实例下标，value为null时，为不含该key或者值为null的实例
+     *
+     * @param key metadata的key
+     * @param value 期望值
+     * @return 实例下标
+     */
+    public BitSet getEqualIndexes(String key, String value) {
+        Map<String, BitSet> values = valueIndexes.getOrDefault(key, Collections.emptyMap());
+        if (value != null) {
+            BitSet bitSet = values.get(value);
+            return bitSet == null ? new BitSet() : (BitSet) bitSet.clone();
+        }
+        BitSet bitSet = getAllIndexes();
+        for (BitSet valueBitSet : values.values()) {
+            bitSet.andNot(valueBitSet);
+        }
+        return bitSet;
+    }
+
+    /**
+     * 根据下标获取实例
+     *
+     * @param indexes 实例下标
+     * @return 实例列表
+     */
+    public List<I> getInstances(BitSet indexes) {
+        List<I> list = new ArrayList<>(indexes.cardinality());
+        for (int i = indexes.nextSetBit(0); i >= 0 && i < instances.size(); i = indexes.nextSetBit(i + 1)) {
+            list.add(instances.get(i));
+        }
+        return list;
+    }
+
+    /**
+     * 获取分组条件对应的实例，首次获取时计算并缓存，分组条件需实现equals与hashCode
+     *
+     * @param key 分组条件
+     * @param creator 计算分组实例的方法，返回的列表需不可修改
+     * @return 实例列表
+     */
+    public List<I> getGroup(Object key, Function<Object, List<I>> creator) {
+        List<I> group = groups.get(key);
+        if (group != null) {
+            return group;
+        }
+        if (groups.size() >= MAX_GROUP_SIZE) {
+            return creator.apply(key);
+        }
+        return groups.computeIfAbsent(key, creator);
+    }
+
+    private void addIndex(int index, Map<String, String> metadata) {
+        for (Entry<String, String> entry : metadata.entrySet()) {
+            String key = entry.getKey();
+            keyIndexes.computeIfAbsent(key, value -> new BitSet()).set(index);
+            if (entry.getValue() != null) {
+                valueIndexes.computeIfAbsent(key, value -> new HashMap<>())
+                    .computeIfAbsent(entry.getValue(), value -> new BitSet()).set(index);
+            }
+        }
+    }
+
+    private Map<String, String> getMetadata(I instance, Function<I, Map<String, String>> mapper) {
+        if (mapper == null || instance == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> metadata = mapper.apply(instance);
+        return metadata == null ? Collections.emptyMap() : metadata;
+    }
+}
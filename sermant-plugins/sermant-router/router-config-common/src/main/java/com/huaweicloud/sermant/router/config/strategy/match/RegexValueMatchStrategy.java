@@ -20,6 +20,7 @@ import com.huaweicloud.sermant.router.common.utils.CollectionUtils;
 import com.huaweicloud.sermant.router.config.strategy.ValueMatchStrategy;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
@@ -32,12 +33,24 @@ import java.util.regex.PatternSyntaxException;
 public class RegexValueMatchStrategy implements ValueMatchStrategy {
     @Override
     public boolean isMatch(List<String> values, String arg) {
+        if (CollectionUtils.isEmpty(values) || values.get(0) == null || arg == null) {
+            return false;
+        }
+        return compile(values.get(0)).map(pattern -> pattern.matcher(arg).matches()).orElse(false);
+    }
+
+    /**
+     * 编译正则表达式，路由规则加载时调用，编译结果保存在对应的规则上，避免每次请求重复编译
+     *
+     * @param regex 正则表达式
+     * @return 编译后的正则表达式，正则表达式不合法时为空
+     */
+    public static Optional<Pattern> compile(String regex) {
         try {
-            return !CollectionUtils.isEmpty(values) && values.get(0) != null && arg != null
-                && Pattern.matches(values.get(0), arg);
+            return Optional.of(Pattern.compile(regex));
         } catch (PatternSyntaxException ignored) {
-            // 正则表达式不符合，返回false
-            return false;
+            // 正则表达式不符合，返回空
+            return Optional.empty();
         }
     }
-}
\ No newline at end of file
+}
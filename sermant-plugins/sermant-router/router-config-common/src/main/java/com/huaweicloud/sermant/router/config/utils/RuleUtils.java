@@ -21,20 +21,23 @@ import com.huaweicloud.sermant.core.utils.StringUtils;
 import com.huaweicloud.sermant.router.common.utils.CollectionUtils;
 import com.huaweicloud.sermant.router.config.entity.Match;
 import com.huaweicloud.sermant.router.config.entity.MatchRule;
+import com.huaweicloud.sermant.router.config.entity.MatchStrategy;
 import com.huaweicloud.sermant.router.config.entity.Route;
 import com.huaweicloud.sermant.router.config.entity.RouterConfiguration;
 import com.huaweicloud.sermant.router.config.entity.Rule;
+import com.huaweicloud.sermant.router.config.entity.ValueMatch;
+import com.huaweicloud.sermant.router.config.strategy.match.RegexValueMatchStrategy;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
@@ -55,8 +58,18 @@ public class RuleUtils {
 
     private static final Map<String, Set<String>> SERVICE_MATCH_KEYS = new ConcurrentHashMap<>();
 
+    /**
+     * 所有需要缓存的key，规则变化时重新计算，避免每次请求时合并
+     */
+    private static volatile Set<String> allMatchKeys = Collections.emptySet();
+
     private static final int ONO_HUNDRED = 100;
 
+    /**
+     * 每个目标服务最多缓存的请求路径数，超过后不再缓存，避免路径中含有参数时缓存无限增长
+     */
+    private static final int MAX_TARGET_RULES_SIZE = 1000;
+
     private RuleUtils() {
     }
 
@@ -78,17 +91,38 @@ public class RuleUtils {
         if (CollectionUtils.isEmpty(routeRule)) {
             return Collections.emptyList();
         }
+
+        // 筛选结果按请求路径缓存，规则变化时清空，避免每次请求重复匹配source与path，缓存需在读取规则之前获取
+        Map<List<String>, List<Rule>> targetRules = configuration.getTargetRules(targetService);
+        List<String> key = Arrays.asList(serviceName, path);
+        List<Rule> cached = targetRules.get(key);
+        if (cached != null) {
+            return cached;
+        }
         List<Rule> rules = routeRule.get(targetService);
         if (CollectionUtils.isEmpty(rules)) {
             return Collections.emptyList();
         }
-        List<Rule> list = new ArrayList<>();
-        for (Rule rule : rules) {
-            if (isTargetRule(rule, path, serviceName)) {
+        List<Rule> list = Collections.unmodifiableList(filterRules(rules, path, serviceName));
+        if (targetRules.size() < MAX_TARGET_RULES_SIZE) {
+            targetRules.put(key, list);
+        }
+        return list;
+    }
+
+    private static List<Rule> filterRules(List<Rule> rules, String path, String serviceName) {
+        // 规则已按目标服务预先分组，全部命中时直接返回该服务的规则列表，只有存在不命中的规则时才复制
+        List<Rule> list = null;
+        for (int i = 0; i < rules.size(); i++) {
+            Rule rule = rules.get(i);
+            boolean isTarget = isTargetRule(rule, path, serviceName);
+            if (list == null && !isTarget) {
+                list = new ArrayList<>(rules.subList(0, i));
+            } else if (list != null && isTarget) {
                 list.add(rule);
             }
         }
-        return list;
+        return list == null ? rules : list;
     }
 
     /**
@@ -105,7 +139,7 @@ public class RuleUtils {
         List<Map<String, String>> tags = new ArrayList<>();
         for (Rule rule : rules) {
             for (Route route : rule.getRoute()) {
-                tags.add(replaceDash(route.getTags(), isReplaceDash));
+                tags.add(getTags(route, isReplaceDash));
             }
         }
         return tags;
@@ -118,13 +152,13 @@ public class RuleUtils {
      */
     public static void initMatchKeys(RouterConfiguration configuration) {
         MATCH_KEYS.clear();
-        if (RouterConfiguration.isInValid(configuration)) {
-            return;
-        }
-        Map<String, List<Rule>> routeRules = configuration.getRouteRule();
-        for (List<Rule> rules : routeRules.values()) {
-            addKeys(rules, MATCH_KEYS);
+        if (!RouterConfiguration.isInValid(configuration)) {
+            Map<String, List<Rule>> routeRules = configuration.getRouteRule();
+            for (List<Rule> rules : routeRules.values()) {
+                addKeys(rules, MATCH_KEYS);
+            }
         }
+        refreshMatchKeys();
     }
 
     /**
@@ -136,11 +170,12 @@ public class RuleUtils {
     public static void updateMatchKeys(String serviceName, List<Rule> rules) {
         if (CollectionUtils.isEmpty(rules)) {
             SERVICE_MATCH_KEYS.remove(serviceName);
-            return;
+        } else {
+            Set<String> keys = SERVICE_MATCH_KEYS.computeIfAbsent(serviceName, value -> new CopyOnWriteArraySet<>());
+            keys.clear();
+            addKeys(rules, keys);
         }
-        Set<String> keys = SERVICE_MATCH_KEYS.computeIfAbsent(serviceName, value -> new CopyOnWriteArraySet<>());
-        keys.clear();
-        addKeys(rules, keys);
+        refreshMatchKeys();
     }
 
     /**
@@ -149,11 +184,7 @@ public class RuleUtils {
      * @return 缓存的key
      */
     public static Set<String> getMatchKeys() {
-        Set<String> keys = new HashSet<>(MATCH_KEYS);
-        for (Set<String> value : SERVICE_MATCH_KEYS.values()) {
-            keys.addAll(value);
-        }
-        return Collections.unmodifiableSet(keys);
+        return allMatchKeys;
     }
 
     /**
@@ -164,7 +195,6 @@ public class RuleUtils {
      * @return 目标路由
      */
     public static RouteResult<?> getTargetTags(List<Route> routes, boolean isReplaceDash) {
-        List<Map<String, String>> tags = new ArrayList<>();
         int begin = 1;
         int num = ThreadLocalRandom.current().nextInt(ONO_HUNDRED) + 1;
         for (Route route : routes) {
@@ -172,12 +202,18 @@ public class RuleUtils {
             if (weight == null) {
                 continue;
             }
-            Map<String, String> currentTag = replaceDash(route.getTags(), isReplaceDash);
             if (num >= begin && num <= begin + weight - 1) {
-                return new RouteResult<>(true, currentTag);
+                return new RouteResult<>(true, getTags(route, isReplaceDash));
             }
             begin += weight;
-            tags.add(currentTag);
+        }
+
+        // 未命中时才收集其余路由的标签
+        List<Map<String, String>> tags = new ArrayList<>();
+        for (Route route : routes) {
+            if (route.getWeight() != null) {
+                tags.add(getTags(route, isReplaceDash));
+            }
         }
         return new RouteResult<>(false, tags);
     }
@@ -209,6 +245,13 @@ public class RuleUtils {
             // 无attachments规则，将headers规则更新到attachments规则
             setAttachmentsByHeaders(rule.getMatch());
 
+            // 去掉path不是合法正则表达式的规则
+            if (isInvalidPath(rule.getMatch())) {
+                LOGGER.warning("Path of rule is an invalid regex, rule will be removed.");
+                iterator.remove();
+                continue;
+            }
+
             // 去掉无效的路由
             removeInvalidRoute(routes);
         }
@@ -275,7 +318,7 @@ public class RuleUtils {
             }
             String matchPath = match.getPath();
             if (!CollectionUtils.isEmpty(match.getAttachments()) || !CollectionUtils.isEmpty(match.getHeaders())) {
-                if (StringUtils.isExist(matchPath) && !Pattern.matches(matchPath, getInterfaceName(path))) {
+                if (StringUtils.isExist(matchPath) && !isMatchPath(match, getInterfaceName(path))) {
                     return false;
                 }
             } else if (!CollectionUtils.isEmpty(match.getArgs())) {
@@ -287,6 +330,15 @@ public class RuleUtils {
         return !CollectionUtils.isEmpty(rule.getRoute());
     }
 
+    private static boolean isMatchPath(Match match, String interfaceName) {
+        Pattern pattern = match.getPathPattern();
+        if (pattern != null) {
+            return pattern.matcher(interfaceName).matches();
+        }
+        return RegexValueMatchStrategy.compile(match.getPath())
+            .map(compiled -> compiled.matcher(interfaceName).matches()).orElse(false);
+    }
+
     /**
      * 在attachment和header规则匹配是，删除接口中的方法名
      *
@@ -318,7 +370,48 @@ public class RuleUtils {
     private static boolean isInvalidMatchRule(MatchRule matchRule) {
         return matchRule == null || matchRule.getValueMatch() == null
             || CollectionUtils.isEmpty(matchRule.getValueMatch().getValues())
-            || matchRule.getValueMatch().getMatchStrategy() == null;
+            || matchRule.getValueMatch().getMatchStrategy() == null || isInvalidRegex(matchRule);
+    }
+
+    /**
+     * 配置加载时预编译正则表达式并保存在值匹配规则上，不合法的正则表达式视为无效规则
+     *
+     * @param matchRule 匹配规则
+     * @return 是否为不合法的正则表达式
+     */
+    private static boolean isInvalidRegex(MatchRule matchRule) {
+        ValueMatch valueMatch = matchRule.getValueMatch();
+        if (valueMatch.getMatchStrategy() != MatchStrategy.REGEX) {
+            return false;
+        }
+        String regex = valueMatch.getValues().get(0);
+        if (regex == null) {
+            LOGGER.warning("Regex is null, match rule will be removed.");
+            return true;
+        }
+
+        // 大小写不敏感时，匹配使用的是转成大写后的正则表达式
+        Optional<Pattern> pattern = RegexValueMatchStrategy.compile(matchRule.isCaseInsensitive() ? regex
+            : regex.toUpperCase(Locale.ROOT));
+        if (!pattern.isPresent()) {
+            LOGGER.warning(String.format(Locale.ROOT, "Regex [%s] is invalid, match rule will be removed.", regex));
+            return true;
+        }
+        valueMatch.setPattern(pattern.get());
+        return false;
+    }
+
+    private static boolean isInvalidPath(Match match) {
+        if (match == null || StringUtils.isBlank(match.getPath())) {
+            return false;
+        }
+        if (CollectionUtils.isEmpty(match.getAttachments()) && CollectionUtils.isEmpty(match.getHeaders())) {
+            // args规则的path为等值匹配
+            return false;
+        }
+        Optional<Pattern> pattern = RegexValueMatchStrategy.compile(match.getPath());
+        pattern.ifPresent(match::setPathPattern);
+        return !pattern.isPresent();
     }
 
     private static boolean isInvalidRoute(Route route) {
@@ -336,6 +429,14 @@ public class RuleUtils {
         }
     }
 
+    private static synchronized void refreshMatchKeys() {
+        Set<String> keys = new HashSet<>(MATCH_KEYS);
+        for (Set<String> value : SERVICE_MATCH_KEYS.values()) {
+            keys.addAll(value);
+        }
+        allMatchKeys = Collections.unmodifiableSet(keys);
+    }
+
     private static void addKeys(Set<String> keys, Map<String, List<MatchRule>> matchRule) {
         if (CollectionUtils.isEmpty(matchRule)) {
             return;
@@ -346,20 +447,8 @@ public class RuleUtils {
         }
     }
 
-    private static Map<String, String> replaceDash(Map<String, String> tags, boolean isReplaceDash) {
-        if (!isReplaceDash) {
-            return tags;
-        }
-        Map<String, String> map = new HashMap<>();
-        tags.forEach((key, value) -> {
-            if (key != null && key.contains("-")) {
-                // dubbo会把key中的"-"替换成"."
-                map.put(key.replace("-", "."), value);
-            } else {
-                map.put(key, value);
-            }
-        });
-        return map;
+    private static Map<String, String> getTags(Route route, boolean isReplaceDash) {
+        return isReplaceDash ? route.getDashReplacedTags() : route.getTags();
     }
 
     /**
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.huaweicloud.sermant.router.config.strategy;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 测试路由规则匹配策略
+ *
+ * @author provenceee
+ * @since 2023-01-19
+ */
+public class AbstractRuleStrategyTest {
+    private static final int LIST_SIZE = 17;
+
+    private static final String SERVICE_NAME = "foo";
+
+    private static final String ZONE = "az1";
+
+    /**
+     * 测试实例索引按最近使用淘汰，频繁使用的实例列表不会被重建
+     */
+    @Test
+    public void testIndexLru() {
+        AtomicInteger count = new AtomicInteger();
+        TestRuleStrategy strategy = new TestRuleStrategy(instance -> {
+            count.incrementAndGet();
+            return instance;
+        });
+        List<List<Map<String, String>>> lists = new ArrayList<>();
+        for (int i = 0; i < LIST_SIZE; i++) {
+            lists.add(Collections.singletonList(Collections.singletonMap("zone", ZONE)));
+        }
+        List<Map<String, String>> hotList = lists.get(0);
+        Assert.assertEquals(hotList, strategy.getZoneInstances(SERVICE_NAME, hotList, ZONE));
+        for (int i = 1; i < LIST_SIZE; i++) {
+            strategy.getZoneInstances(SERVICE_NAME, lists.get(i), ZONE);
+            Assert.assertEquals(hotList, strategy.getZoneInstances(SERVICE_NAME, hotList, ZONE));
+        }
+
+        // 每个实例列表只建立一次索引
+        Assert.assertEquals(LIST_SIZE, count.get());
+    }
+
+    /**
+     * 测试用路由规则匹配策略
+     *
+     * @since 2023-01-19
+     */
+    private static class TestRuleStrategy extends AbstractRuleStrategy<Map<String, String>> {
+        TestRuleStrategy(Function<Map<String, String>, Map<String, String>> mapper) {
+            super("test", null, null, new ZoneStrategy(), mapper);
+        }
+    }
+
+    /**
+     * 测试用区域路由策略
+     *
+     * @since 2023-01-19
+     */
+    private static class ZoneStrategy implements InstanceStrategy<Map<String, String>, String> {
+        @Override
+        public boolean isMatch(Map<String, String> instance, String tags,
+            Function<Map<String, String>, Map<String, String>> mapper) {
+            return tags.equals(mapper.apply(instance).get("zone"));
+        }
+
+        @Override
+        public BitSet getMatchIndexes(InstanceTagIndex<Map<String, String>> index, String tags) {
+            return index.getEqualIndexes("zone", tags);
+        }
+    }
+}
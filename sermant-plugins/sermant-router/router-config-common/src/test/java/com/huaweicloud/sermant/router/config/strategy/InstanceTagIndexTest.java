@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.huaweicloud.sermant.router.config.strategy;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 测试实例标签索引
+ *
+ * @author provenceee
+ * @since 2023-01-19
+ */
+public class InstanceTagIndexTest {
+    private List<Map<String, String>> instances;
+
+    @Before
+    public void before() {
+        instances = new ArrayList<>();
+        instances.add(createMetadata("1.0.0", "az1"));
+        instances.add(createMetadata("1.0.1", "az1"));
+        instances.add(createMetadata("1.0.1", null));
+        instances.add(Collections.singletonMap("group", "red"));
+    }
+
+    /**
+     * 测试按标签获取实例下标
+     */
+    @Test
+    public void testGetIndexes() {
+        InstanceTagIndex<Map<String, String>> index = new InstanceTagIndex<>(instances, instance -> instance);
+        Assert.assertEquals(4, index.getAllIndexes().cardinality());
+        Assert.assertEquals(Arrays.asList(instances.get(1), instances.get(2)),
+            index.getInstances(index.getEqualIndexes("version", "1.0.1")));
+        Assert.assertTrue(index.getEqualIndexes("version", "1.0.2").isEmpty());
+
+        // 值为null时，为不含该key或者值为null的实例
+        Assert.assertEquals(Arrays.asList(instances.get(2), instances.get(3)),
+            index.getInstances(index.getEqualIndexes("zone", null)));
+        Assert.assertEquals(3, index.getKeyIndexes("zone").cardinality());
+        Assert.assertTrue(index.getKeyIndexes("foo").isEmpty());
+
+        // 返回的下标为副本，修改不影响索引
+        BitSet bitSet = index.getEqualIndexes("zone", "az1");
+        bitSet.clear();
+        Assert.assertEquals(2, index.getEqualIndexes("zone", "az1").cardinality());
+    }
+
+    /**
+     * 测试实例列表变化判断
+     */
+    @Test
+    public void testIsSameInstances() {
+        AtomicInteger count = new AtomicInteger();
+        InstanceTagIndex<Map<String, String>> index = new InstanceTagIndex<>(instances, instance -> {
+            count.incrementAndGet();
+            return instance;
+        });
+        Assert.assertEquals(instances.size(), count.get());
+        Assert.assertTrue(index.isSameInstances(instances));
+        Assert.assertTrue(index.isSameInstances(new ArrayList<>(instances)));
+        Assert.assertFalse(index.isSameInstances(instances.subList(0, 2)));
+        List<Map<String, String>> list = new ArrayList<>(instances);
+        list.set(0, createMetadata("1.0.0", "az1"));
+        Assert.assertFalse(index.isSameInstances(list));
+    }
+
+    private Map<String, String> createMetadata(String version, String zone) {
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("version", version);
+        metadata.put("zone", zone);
+        return metadata;
+    }
+}
@@ -17,6 +17,7 @@
 package com.huaweicloud.sermant.router.config.strategy.match;
 
 import com.huaweicloud.sermant.router.config.entity.MatchStrategy;
+import com.huaweicloud.sermant.router.config.entity.ValueMatch;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -25,6 +26,8 @@ import org.junit.Test;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
 
 /**
  * 值匹配策略测试
@@ -169,6 +172,20 @@ public class MatchStrategyTest {
 
         // 测试values.get(0) == null
         Assert.assertFalse(regex.isMatch(nullValueList, "bar", true));
+
+        // 测试使用预编译的正则表达式
+        ValueMatch valueMatch = new ValueMatch();
+        valueMatch.setValues(regexValues);
+        valueMatch.setMatchStrategy(regex);
+        valueMatch.setPattern(Pattern.compile(regexValues.get(0)));
+        Assert.assertTrue(regex.isValueMatch(valueMatch, "bar", true));
+        Assert.assertFalse(regex.isValueMatch(valueMatch, "Bar", true));
+        Assert.assertFalse(regex.isValueMatch(valueMatch, null, true));
+        valueMatch.setPattern(Pattern.compile(regexValues.get(0).toUpperCase(Locale.ROOT)));
+        Assert.assertTrue(regex.isValueMatch(valueMatch, "BaR", false));
+
+        // 测试无效正则表达式无法编译
+        Assert.assertFalse(RegexValueMatchStrategy.compile(invalidRegexValues.get(0)).isPresent());
     }
 
     /**
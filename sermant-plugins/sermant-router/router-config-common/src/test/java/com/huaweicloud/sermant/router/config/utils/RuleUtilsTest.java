@@ -25,6 +25,7 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -87,7 +88,86 @@ public class RuleUtilsTest {
         RuleUtils.updateMatchKeys("test", list);
         Set<String> keys = RuleUtils.getMatchKeys();
         Assert.assertEquals(3, keys.size());
+
+        // 规则不变时不重新计算
+        Assert.assertSame(keys, RuleUtils.getMatchKeys());
         RuleUtils.updateMatchKeys("test", Collections.emptyList());
         Assert.assertTrue(RuleUtils.getMatchKeys().isEmpty());
     }
-}
\ No newline at end of file
+
+    /**
+     * 测试配置加载时去掉不合法的正则表达式
+     */
+    @Test
+    public void testRemoveInvalidRegex() {
+        String json = "[{\"precedence\":2,\"match\":{\"path\":\"com.huawei.foo.*\",\"headers\":{\"id\":"
+            + "[{\"regex\":\"*\"},{\"regex\":\"ba.*\"}]}},\"route\":[{\"weight\":100,\"tags\":"
+            + "{\"version\":\"1.0.1\"}}]},{\"precedence\":1,\"match\":{\"path\":\"*\",\"headers\":{\"id\":"
+            + "{\"exact\":\"bar\"}}},\"route\":[{\"weight\":100,\"tags\":{\"version\":\"1.0.0\"}}]}]";
+        List<Rule> rules = new ArrayList<>(JSONArray.parseArray(json, Rule.class));
+        RuleUtils.removeInvalidRules(rules);
+
+        // path不是合法正则表达式的规则被去掉
+        Assert.assertEquals(1, rules.size());
+
+        // 不合法的正则表达式匹配规则被去掉
+        Assert.assertEquals(1, rules.get(0).getMatch().getHeaders().get("id").size());
+        Assert.assertEquals("ba.*", rules.get(0).getMatch().getHeaders().get("id").get(0).getValueMatch()
+            .getValues().get(0));
+
+        // 正则表达式与path在配置加载时预编译
+        Assert.assertNotNull(rules.get(0).getMatch().getHeaders().get("id").get(0).getValueMatch().getPattern());
+        Assert.assertNotNull(rules.get(0).getMatch().getPathPattern());
+
+        // path使用预编译的正则表达式匹配
+        Assert.assertEquals(1, RuleUtils.getRules(createConfiguration(rules), "foo", "com.huawei.foo.Bar.hello:1.0.0",
+            "bar").size());
+        Assert.assertTrue(RuleUtils.getRules(createConfiguration(rules), "foo", "com.huawei.bar.Bar.hello:1.0.0",
+            "bar").isEmpty());
+    }
+
+    /**
+     * 测试按服务预先分组并按请求路径缓存的规则及预先处理的标签
+     */
+    @Test
+    public void testGetRulesAndTargetTags() {
+        String json = "[{\"precedence\":1,\"match\":{\"source\":\"bar\"},\"route\":[{\"weight\":100,"
+            + "\"tags\":{\"x-version\":\"1.0.1\"}}]},{\"precedence\":2,\"route\":[{\"weight\":100,\"tags\":"
+            + "{\"version\":\"1.0.0\"}}]}]";
+        List<Rule> rules = JSONArray.parseArray(json, Rule.class);
+        RouterConfiguration configuration = createConfiguration(rules);
+
+        // 全部命中时不复制规则
+        List<Rule> targetRules = RuleUtils.getRules(configuration, "foo", "com.huawei.foo.Bar.hello:1.0.0", "bar");
+        Assert.assertEquals(2, targetRules.size());
+        Assert.assertSame(rules.get(0), targetRules.get(0));
+
+        // 部分命中时只返回命中的规则
+        targetRules = RuleUtils.getRules(configuration, "foo", "com.huawei.foo.Bar.hello:1.0.0", "baz");
+        Assert.assertEquals(1, targetRules.size());
+        Assert.assertSame(rules.get(1), targetRules.get(0));
+
+        // 相同请求路径复用筛选结果，规则变化后重新筛选
+        Assert.assertSame(targetRules, RuleUtils.getRules(configuration, "foo", "com.huawei.foo.Bar.hello:1.0.0",
+            "baz"));
+        configuration.updateServiceRule("foo", Collections.singletonList(rules.get(0)));
+        Assert.assertTrue(RuleUtils.getRules(configuration, "foo", "com.huawei.foo.Bar.hello:1.0.0", "baz").isEmpty());
+
+        // 替换破折号后的标签只计算一次
+        RuleUtils.RouteResult<?> result = RuleUtils.getTargetTags(rules.get(0).getRoute(), true);
+        Assert.assertTrue(result.isMatch());
+        Assert.assertEquals("1.0.1", ((Map<?, ?>) result.getTags()).get("x.version"));
+        Assert.assertSame(result.getTags(), RuleUtils.getTargetTags(rules.get(0).getRoute(), true).getTags());
+        Assert.assertSame(rules.get(0).getRoute().get(0).getTags(),
+            RuleUtils.getTargetTags(rules.get(0).getRoute(), false).getTags());
+
+        // 不含破折号的标签不复制
+        Assert.assertSame(rules.get(1).getRoute().get(0).getTags(), RuleUtils.getTags(rules, true).get(1));
+    }
+
+    private RouterConfiguration createConfiguration(List<Rule> rules) {
+        RouterConfiguration configuration = new RouterConfiguration();
+        configuration.resetRouteRule(Collections.singletonMap("foo", rules));
+        return configuration;
+    }
+}
@@ -47,17 +47,17 @@ public class ServiceConfigHandler extends AbstractConfigHandler {
         RouterConfiguration configuration = ConfigCache.getLabel(cacheName);
         String serviceName = event.getKey().substring(RouterConstant.ROUTER_KEY_PREFIX.length() + 1);
         if (event.getEventType() == DynamicConfigEventType.DELETE) {
-            configuration.getRouteRule().remove(serviceName);
+            configuration.removeServiceRule(serviceName);
             RuleUtils.updateMatchKeys(serviceName, Collections.emptyList());
             return;
         }
         List<Rule> list = JSONArray.parseArray(JSONObject.toJSONString(getRule(event, serviceName)), Rule.class);
         RuleUtils.removeInvalidRules(list);
         if (CollectionUtils.isEmpty(list)) {
-            configuration.getRouteRule().remove(serviceName);
+            configuration.removeServiceRule(serviceName);
         } else {
             list.sort((o1, o2) -> o2.getPrecedence() - o1.getPrecedence());
-            configuration.getRouteRule().put(serviceName, list);
+            configuration.updateServiceRule(serviceName, list);
         }
         RuleUtils.updateMatchKeys(serviceName, list);
     }
@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.huaweicloud.sermant.router.config.service;
+
+import com.huaweicloud.sermant.core.plugin.service.PluginService;
+import com.huaweicloud.sermant.core.service.ServiceManager;
+import com.huaweicloud.sermant.core.service.monitor.RegistryService;
+import com.huaweicloud.sermant.router.config.metric.RouterMetric;
+import com.huaweicloud.sermant.router.config.metric.RouterMetric.InstanceCount;
+import com.huaweicloud.sermant.router.config.metric.RouterMetric.Latency;
+import com.huaweicloud.sermant.router.config.metric.RouterMetric.RuleKey;
+import com.huaweicloud.sermant.router.config.metric.RouterMetric.ServiceKey;
+
+import io.prometheus.client.Collector;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.CounterMetricFamily;
+import io.prometheus.client.GaugeMetricFamily;
+import io.prometheus.client.exporter.HTTPServer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 路由指标监控，采集路由耗时分布、规则命中次数及路由前后的实例数
+ *
+ * @author provenceee
+ * @since 2023-01-19
+ */
+public class MetricCollectorService extends Collector implements PluginService {
+    private static final String LATENCY_NAME = "sermant_router_evaluation_seconds";
+
+    private static final String RULE_NAME = "sermant_router_rule";
+
+    private static final String INSTANCE_NAME = "sermant_router_instances";
+
+    private static final String SOURCE_LABEL = "source";
+
+    private static final List<String> LATENCY_LABEL_NAMES = Collections.singletonList(SOURCE_LABEL);
+
+    private static final List<String> BUCKET_LABEL_NAMES = Arrays.asList(SOURCE_LABEL, "le");
+
+    private static final List<String> RULE_LABEL_NAMES = Arrays.asList(SOURCE_LABEL, "service", "rule", "result");
+
+    private static final List<String> INSTANCE_LABEL_NAMES = Arrays.asList(SOURCE_LABEL, "service", "stage");
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000D;
+
+    @Override
+    public void start() {
+        if (!RouterMetric.INSTANCE.isEnabled()) {
+            return;
+        }
+        this.register();
+        RegistryService registryService = ServiceManager.getService(RegistryService.class);
+        registryService.addHandler("router", new HTTPServer.HTTPMetricHandler(CollectorRegistry.defaultRegistry, null));
+    }
+
+    @Override
+    public List<MetricFamilySamples> collect() {
+        List<MetricFamilySamples> samples = new ArrayList<>();
+        samples.add(collectLatency());
+        CounterMetricFamily ruleFamily = new CounterMetricFamily(RULE_NAME, "router rule evaluation count",
+            RULE_LABEL_NAMES);
+        for (Map.Entry<RuleKey, LongAdder> entry : RouterMetric.INSTANCE.getRuleCounts().entrySet()) {
+            RuleKey key = entry.getKey();
+            ruleFamily.addMetric(Arrays.asList(key.getSource(), key.getServiceName(), key.getRule(),
+                key.getResult().name().toLowerCase(Locale.ROOT)), entry.getValue().sum());
+        }
+        samples.add(ruleFamily);
+        GaugeMetricFamily instanceFamily = new GaugeMetricFamily(INSTANCE_NAME,
+            "instance count before and after the latest routing", INSTANCE_LABEL_NAMES);
+        for (Map.Entry<ServiceKey, InstanceCount> entry : RouterMetric.INSTANCE.getInstanceCounts().entrySet()) {
+            ServiceKey key = entry.getKey();
+            InstanceCount count = entry.getValue();
+            instanceFamily.addMetric(Arrays.asList(key.getSource(), key.getServiceName(), "total"),
+                count.getTotal());
+            instanceFamily.addMetric(Arrays.asList(key.getSource(), key.getServiceName(), "filtered"),
+                count.getFiltered());
+        }
+        samples.add(instanceFamily);
+        return samples;
+    }
+
+    private MetricFamilySamples collectLatency() {
+        long[] buckets = RouterMetric.INSTANCE.getBuckets();
+        List<MetricFamilySamples.Sample> samples = new ArrayList<>();
+        for (Map.Entry<String, Latency> entry : RouterMetric.INSTANCE.getLatencies().entrySet()) {
+            String source = entry.getKey();
+            long[] counts = entry.getValue().getCounts();
+            long cumulativeCount = 0L;
+            for (int i = 0; i < counts.length; i++) {
+                cumulativeCount += counts[i];
+                String le = i < buckets.length ? doubleToGoString(buckets[i] / NANOS_PER_SECOND) : "+Inf";
+                samples.add(new MetricFamilySamples.Sample(LATENCY_NAME + "_bucket", BUCKET_LABEL_NAMES,
+                    Arrays.asList(source, le), cumulativeCount));
+            }
+            List<String> labelValues = Collections.singletonList(source);
+            samples.add(new MetricFamilySamples.Sample(LATENCY_NAME + "_count", LATENCY_LABEL_NAMES, labelValues,
+                cumulativeCount));
+            samples.add(new MetricFamilySamples.Sample(LATENCY_NAME + "_sum", LATENCY_LABEL_NAMES, labelValues,
+                entry.getValue().getSum() / NANOS_PER_SECOND));
+        }
+        return new MetricFamilySamples(LATENCY_NAME, Type.HISTOGRAM, "router evaluation latency", samples);
+    }
+}
\ No newline at end of file
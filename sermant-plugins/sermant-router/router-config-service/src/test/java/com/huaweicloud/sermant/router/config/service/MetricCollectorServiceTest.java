@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2023-2023 Huawei Technologies Co., Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.huaweicloud.sermant.router.config.service;
+
+import com.huaweicloud.sermant.core.plugin.config.PluginConfigManager;
+import com.huaweicloud.sermant.router.common.config.RouterConfig;
+import com.huaweicloud.sermant.router.config.entity.Route;
+import com.huaweicloud.sermant.router.config.entity.RouterConfiguration;
+import com.huaweicloud.sermant.router.config.entity.Rule;
+import com.huaweicloud.sermant.router.config.metric.RouterMetric;
+import com.huaweicloud.sermant.router.config.metric.RouterMetric.RuleResult;
+
+import io.prometheus.client.Collector.MetricFamilySamples;
+import io.prometheus.client.Collector.MetricFamilySamples.Sample;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 测试MetricCollectorService
+ *
+ * @author provenceee
+ * @since 2023-01-19
+ */
+public class MetricCollectorServiceTest {
+    private static RouterConfig config;
+
+    private static MockedStatic<PluginConfigManager> mockPluginConfigManager;
+
+    /**
+     * 初始化
+     */
+    @BeforeClass
+    public static void init() {
+        config = new RouterConfig();
+        mockPluginConfigManager = Mockito.mockStatic(PluginConfigManager.class);
+        mockPluginConfigManager.when(() -> PluginConfigManager.getPluginConfig(RouterConfig.class)).thenReturn(config);
+    }
+
+    /**
+     * 清除mock
+     */
+    @AfterClass
+    public static void clear() {
+        mockPluginConfigManager.close();
+    }
+
+    /**
+     * 重置指标
+     */
+    @After
+    public void reset() {
+        RouterMetric.INSTANCE.clear();
+    }
+
+    /**
+     * 测试未开启指标采集时不记录
+     */
+    @Test
+    public void testCollectWithDisabled() {
+        config.setEnabledMetric(false);
+        RouterMetric.INSTANCE.recordRoute("dubbo", "foo", RouterMetric.INSTANCE.getStartTime(), 2, 1);
+        RouterMetric.INSTANCE.recordRule("dubbo", "foo", "", RuleResult.MISMATCH);
+        List<MetricFamilySamples> samples = new MetricCollectorService().collect();
+        Assert.assertEquals(3, samples.size());
+        samples.forEach(family -> Assert.assertTrue(family.samples.isEmpty()));
+    }
+
+    /**
+     * 测试采集
+     */
+    @Test
+    public void testCollect() {
+        config.setEnabledMetric(true);
+        long startTime = RouterMetric.INSTANCE.getStartTime();
+        Assert.assertNotEquals(0L, startTime);
+        RouterMetric.INSTANCE.recordRoute("dubbo", "foo", startTime, 3, 1);
+
+        Route route = new Route();
+        route.setTags(Collections.singletonMap("version", "1.0.1"));
+        List<Route> routes = Collections.singletonList(route);
+        Rule otherRule = new Rule();
+        otherRule.setPrecedence(2);
+        otherRule.setRoute(Collections.singletonList(new Route()));
+        Rule rule = new Rule();
+        rule.setPrecedence(2);
+        rule.setRoute(routes);
+
+        // 优先级相同的规则按下标区分，下标在规则存入路由配置时设置
+        List<Rule> rules = Arrays.asList(otherRule, rule);
+        new RouterConfiguration().resetRouteRule(Collections.singletonMap("foo", rules));
+        RouterMetric.INSTANCE.recordRule("dubbo", "foo", rules, routes);
+        RouterMetric.INSTANCE.recordRule("dubbo", "foo", rules, routes);
+        RouterMetric.INSTANCE.recordRule("dubbo", "foo", rules, Collections.emptyList());
+        RouterMetric.INSTANCE.recordRule("dubbo", "foo", route.getRuleId(), RuleResult.FALLBACK);
+
+        // 没有规则时不记录
+        RouterMetric.INSTANCE.recordRule("dubbo", "bar", Collections.emptyList(), Collections.emptyList());
+
+        List<MetricFamilySamples> samples = new MetricCollectorService().collect();
+        Assert.assertEquals(3, samples.size());
+
+        MetricFamilySamples latency = samples.get(0);
+        Assert.assertEquals("sermant_router_evaluation_seconds", latency.name);
+        Sample inf = getSample(latency, "sermant_router_evaluation_seconds_bucket", "dubbo", "+Inf");
+        Assert.assertEquals(1D, inf.value, 0D);
+        Sample count = getSample(latency, "sermant_router_evaluation_seconds_count", "dubbo");
+        Assert.assertEquals(1D, count.value, 0D);
+
+        MetricFamilySamples ruleFamily = samples.get(1);
+        Assert.assertEquals(4, ruleFamily.samples.size());
+        Assert.assertEquals(2D, getSample(ruleFamily, "sermant_router_rule_total", "dubbo", "foo", "1", "match").value,
+            0D);
+
+        // 命中规则之前的规则及没有命中时的全部规则记录为未匹配
+        Assert.assertEquals(3D,
+            getSample(ruleFamily, "sermant_router_rule_total", "dubbo", "foo", "0", "mismatch").value, 0D);
+        Assert.assertEquals(1D,
+            getSample(ruleFamily, "sermant_router_rule_total", "dubbo", "foo", "1", "mismatch").value, 0D);
+        Assert.assertEquals(1D,
+            getSample(ruleFamily, "sermant_router_rule_total", "dubbo", "foo", "1", "fallback").value, 0D);
+
+        MetricFamilySamples instance = samples.get(2);
+        Assert.assertEquals(3D, getSample(instance, "sermant_router_instances", "dubbo", "foo", "total").value, 0D);
+        Assert.assertEquals(1D, getSample(instance, "sermant_router_instances", "dubbo", "foo", "filtered").value,
+            0D);
+    }
+
+    private Sample getSample(MetricFamilySamples family, String name, String... labelValues) {
+        List<String> values = Arrays.asList(labelValues);
+        return family.samples.stream()
+            .filter(sample -> name.equals(sample.name) && values.equals(sample.labelValues))
+            .findFirst()
+            .orElseThrow(AssertionError::new);
+    }
+}
\ No newline at end of file
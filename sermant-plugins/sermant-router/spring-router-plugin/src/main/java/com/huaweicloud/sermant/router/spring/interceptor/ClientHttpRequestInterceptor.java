@@ -25,7 +25,6 @@ import com.huaweicloud.sermant.router.common.utils.ThreadLocalUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpRequest;
 
-import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -46,7 +45,9 @@ public class ClientHttpRequestInterceptor extends AbstractInterceptor {
             HttpHeaders headers = request.getHeaders();
             putIfAbsent(headers);
             String path = request.getURI().getPath();
-            ThreadLocalUtils.setRequestData(new RequestData(getHeader(headers), path, request.getMethod().name()));
+
+            // HttpHeaders本身就是Map<String, List<String>>，直接使用，不再复制一份
+            ThreadLocalUtils.setRequestData(new RequestData(headers, path, request.getMethod().name()));
         }
         return context;
     }
@@ -73,12 +74,4 @@ public class ClientHttpRequestInterceptor extends AbstractInterceptor {
             }
         }
     }
-
-    private Map<String, List<String>> getHeader(HttpHeaders headers) {
-        Map<String, List<String>> map = new HashMap<>();
-        for (Entry<String, List<String>> entry : headers.entrySet()) {
-            map.put(entry.getKey(), entry.getValue());
-        }
-        return map;
-    }
 }
\ No newline at end of file
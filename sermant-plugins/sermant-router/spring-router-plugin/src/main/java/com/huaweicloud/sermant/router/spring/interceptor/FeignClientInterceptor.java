@@ -31,14 +31,18 @@ import com.netflix.hystrix.strategy.concurrency.HystrixRequestVariableDefault;
 
 import feign.Request;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Client增强类，发起feign请求方法
@@ -54,8 +58,7 @@ public class FeignClientInterceptor extends AbstractInterceptor {
         Object argument = context.getArguments()[0];
         if (argument instanceof Request) {
             Request request = (Request) argument;
-            Map<String, List<String>> headers = getHeaders(request.headers());
-            setHeaders(request, headers);
+            Map<String, List<String>> headers = getHeaders(request);
             ThreadLocalUtils.setRequestData(new RequestData(decodeTags(headers), getPath(request.url()),
                 request.method()));
         }
@@ -89,20 +92,25 @@ public class FeignClientInterceptor extends AbstractInterceptor {
         return "/" + path;
     }
 
-    private Map<String, List<String>> getHeaders(Map<String, Collection<String>> headers) {
+    private Map<String, List<String>> getHeaders(Request request) {
+        Map<String, Collection<String>> headers = Optional.ofNullable(request.headers()).orElse(Collections.emptyMap());
+        Map<String, List<String>> upstreamHeader = getRequestHeader().map(RequestHeader::getHeader)
+            .orElse(Collections.emptyMap());
+        if (headers.keySet().containsAll(upstreamHeader.keySet())) {
+            // 没有需要透传的上游header时，不复制请求头，直接使用只读视图
+            return new HeadersView(headers);
+        }
+
         // 传入的headers是一个unmodifiableMap，所以这里要new一个
         Map<String, List<String>> newHeaders = new HashMap<>();
-        if (headers != null) {
-            headers.forEach((key, value) -> newHeaders.put(key, new ArrayList<>(value)));
-        }
-        getRequestHeader().ifPresent(requestHeader -> {
-            Map<String, List<String>> header = requestHeader.getHeader();
-            for (Entry<String, List<String>> entry : header.entrySet()) {
-                // 使用上游传递的header
-                newHeaders.putIfAbsent(entry.getKey(), entry.getValue());
-            }
-        });
-        return Collections.unmodifiableMap(newHeaders);
+        headers.forEach((key, value) -> newHeaders.put(key, new ArrayList<>(value)));
+        for (Entry<String, List<String>> entry : upstreamHeader.entrySet()) {
+            // 使用上游传递的header
+            newHeaders.putIfAbsent(entry.getKey(), entry.getValue());
+        }
+        Map<String, List<String>> unmodifiableHeaders = Collections.unmodifiableMap(newHeaders);
+        setHeaders(request, unmodifiableHeaders);
+        return unmodifiableHeaders;
     }
 
     private void setHeaders(Request request, Map<String, List<String>> headers) {
@@ -143,4 +151,66 @@ public class FeignClientInterceptor extends AbstractInterceptor {
         }
         return headers;
     }
+
+    /**
+     * feign请求头的只读视图，值为List时直接返回，否则在读取时转换
+     *
+     * @since 2023-01-19
+     */
+    private static class HeadersView extends AbstractMap<String, List<String>> {
+        private final Map<String, Collection<String>> headers;
+
+        HeadersView(Map<String, Collection<String>> headers) {
+            this.headers = headers;
+        }
+
+        @Override
+        public List<String> get(Object key) {
+            return toList(headers.get(key));
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return headers.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return headers.size();
+        }
+
+        @Override
+        public Set<Entry<String, List<String>>> entrySet() {
+            return new AbstractSet<Entry<String, List<String>>>() {
+                @Override
+                public Iterator<Entry<String, List<String>>> iterator() {
+                    Iterator<Entry<String, Collection<String>>> iterator = headers.entrySet().iterator();
+                    return new Iterator<Entry<String, List<String>>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return iterator.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, List<String>> next() {
+                            Entry<String, Collection<String>> entry = iterator.next();
+                            return new SimpleImmutableEntry<>(entry.getKey(), toList(entry.getValue()));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return headers.size();
+                }
+            };
+        }
+
+        private static List<String> toList(Collection<String> values) {
+            if (values == null || values instanceof List) {
+                return (List<String>) values;
+            }
+            return new ArrayList<>(values);
+        }
+    }
 }
\ No newline at end of file
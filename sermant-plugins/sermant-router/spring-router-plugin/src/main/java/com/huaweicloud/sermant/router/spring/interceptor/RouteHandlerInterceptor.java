@@ -26,11 +26,9 @@ import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -60,14 +58,20 @@ public class RouteHandlerInterceptor implements HandlerInterceptor {
         if (CollectionUtils.isEmpty(matchKeys)) {
             return true;
         }
-        Collection<String> headerNames = enumeration2Collection(request.getHeaderNames(), false);
-        Map<String, List<String>> header = new HashMap<>();
+
+        // 只读取规则/请求标签中需要的请求头，不遍历所有请求头，没有需要的请求头时不创建map
+        Map<String, List<String>> header = null;
         for (String headerKey : matchKeys) {
-            if (headerNames.contains(headerKey)) {
-                header.put(headerKey, (List<String>) enumeration2Collection(request.getHeaders(headerKey), true));
+            List<String> values = enumeration2List(request.getHeaders(headerKey));
+            if (values.isEmpty()) {
+                continue;
+            }
+            if (header == null) {
+                header = new HashMap<>();
             }
+            header.put(headerKey, values);
         }
-        ThreadLocalUtils.setRequestHeader(new RequestHeader(header));
+        ThreadLocalUtils.setRequestHeader(new RequestHeader(header == null ? Collections.emptyMap() : header));
         return true;
     }
 
@@ -81,14 +85,14 @@ public class RouteHandlerInterceptor implements HandlerInterceptor {
         ThreadLocalUtils.removeRequestHeader();
     }
 
-    private Collection<String> enumeration2Collection(Enumeration<?> enumeration, boolean isConvertToList) {
-        if (enumeration == null) {
+    private List<String> enumeration2List(Enumeration<?> enumeration) {
+        if (enumeration == null || !enumeration.hasMoreElements()) {
             return Collections.emptyList();
         }
-        Collection<String> collection = isConvertToList ? new ArrayList<>() : new HashSet<>();
+        List<String> list = new ArrayList<>();
         while (enumeration.hasMoreElements()) {
-            collection.add((String) enumeration.nextElement());
+            list.add((String) enumeration.nextElement());
         }
-        return collection;
+        return list;
     }
 }
\ No newline at end of file
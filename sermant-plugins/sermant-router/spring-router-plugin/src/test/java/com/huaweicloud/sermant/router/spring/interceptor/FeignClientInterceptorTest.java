@@ -151,6 +151,23 @@ public class FeignClientInterceptorTest {
         Assert.assertEquals("foo1", headerData.get("foo").get(0));
     }
 
+    /**
+     * 测试上游header已存在于请求头时，不替换请求头
+     */
+    @Test
+    public void testBeforeWithExistHeader() {
+        Request request = (Request) context.getArguments()[0];
+        Map<String, Collection<String>> headers = request.headers();
+        ThreadLocalUtils.setRequestHeader(new RequestHeader(Collections.singletonMap("bar",
+            Collections.singletonList("bar2"))));
+        interceptor.before(context);
+        Assert.assertSame(headers, request.headers());
+        Map<String, List<String>> headerData = ThreadLocalUtils.getRequestData().getHeader();
+        Assert.assertEquals(2, headerData.size());
+        Assert.assertEquals("bar1", headerData.get("bar").get(0));
+        Assert.assertEquals("foo1", headerData.get("foo").get(0));
+    }
+
     /**
      * 测试Hystrix中没有header时
      */
@@ -26,6 +26,7 @@ import com.huaweicloud.sermant.router.config.entity.EnabledStrategy;
 import com.huaweicloud.sermant.router.config.entity.Route;
 import com.huaweicloud.sermant.router.config.entity.RouterConfiguration;
 import com.huaweicloud.sermant.router.config.entity.Rule;
+import com.huaweicloud.sermant.router.config.metric.RouterMetric;
 import com.huaweicloud.sermant.router.config.utils.RuleUtils;
 import com.huaweicloud.sermant.router.spring.cache.AppCache;
 import com.huaweicloud.sermant.router.spring.strategy.RuleStrategyHandler;
@@ -33,8 +34,10 @@ import com.huaweicloud.sermant.router.spring.utils.RouteUtils;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * BaseLoadBalancerInterceptor服务
@@ -45,23 +48,29 @@ import java.util.Map;
 public class LoadBalancerServiceImpl implements LoadBalancerService {
     private static final String VERSION_KEY = "version";
 
+    private static final String METRIC_SOURCE = "spring";
+
     private final RouterConfig routerConfig;
 
-    // 用于过滤实例的tags集合，value为null，代表含有该标签的实例全部过滤，不判断value值
-    private final Map<String, String> allMismatchTags;
+    // 用于匹配请求头的标签集合，配置的标签列表变化时重建
+    private volatile RequestTags requestTags = new RequestTags(null);
+
+    // 不传入header时用于过滤实例的tags集合，value为null，代表含有该标签的实例全部过滤，不判断value值
+    private final List<Map<String, String>> allMismatchTags;
 
     /**
      * 构造方法
      */
     public LoadBalancerServiceImpl() {
         routerConfig = PluginConfigManager.getPluginConfig(RouterConfig.class);
-        allMismatchTags = new HashMap<>();
+        Map<String, String> mismatchTags = new HashMap<>();
         for (String requestTag : routerConfig.getRequestTags()) {
-            allMismatchTags.put(requestTag, null);
+            mismatchTags.put(requestTag, null);
         }
 
         // 所有实例都含有version，所以不能存入null值
-        allMismatchTags.remove(RouterConstant.DUBBO_VERSION_KEY);
+        mismatchTags.remove(RouterConstant.DUBBO_VERSION_KEY);
+        allMismatchTags = Collections.singletonList(Collections.unmodifiableMap(mismatchTags));
     }
 
     @Override
@@ -70,8 +79,12 @@ public class LoadBalancerServiceImpl implements LoadBalancerService {
         if (!shouldHandle(instances)) {
             return instances;
         }
-        return routerConfig.isUseRequestRouter() ? getTargetInstancesByRequest(targetName, instances, header)
+        long startTime = RouterMetric.INSTANCE.getStartTime();
+        List<Object> result = routerConfig.isUseRequestRouter()
+            ? getTargetInstancesByRequest(targetName, instances, header)
             : getTargetInstancesByRules(targetName, instances, path, header);
+        RouterMetric.INSTANCE.recordRoute(METRIC_SOURCE, targetName, startTime, instances.size(), result.size());
+        return result;
     }
 
     @Override
@@ -97,6 +110,7 @@ public class LoadBalancerServiceImpl implements LoadBalancerService {
         }
         List<Rule> rules = RuleUtils.getRules(configuration, targetName, path, AppCache.INSTANCE.getAppName());
         List<Route> routes = RouteUtils.getRoutes(rules, header);
+        RouterMetric.INSTANCE.recordRule(METRIC_SOURCE, targetName, rules, routes);
         if (!CollectionUtils.isEmpty(routes)) {
             return RuleStrategyHandler.INSTANCE.getMatchInstances(targetName, instances, routes);
         }
@@ -106,8 +120,8 @@ public class LoadBalancerServiceImpl implements LoadBalancerService {
 
     private List<Object> getTargetInstancesByRequest(String targetName, List<Object> instances,
         Map<String, List<String>> header) {
-        List<String> requestTags = routerConfig.getRequestTags();
-        if (CollectionUtils.isEmpty(requestTags)) {
+        Set<String> tagSet = getRequestTags();
+        if (tagSet.isEmpty()) {
             return instances;
         }
 
@@ -116,8 +130,10 @@ public class LoadBalancerServiceImpl implements LoadBalancerService {
 
         // 用于过滤实例的tags集合，value为null，代表含有该标签的实例全部过滤，不判断value值
         Map<String, String> mismatchTags = new HashMap<>();
-        for (String key : header.keySet()) {
-            if (!requestTags.contains(key)) {
+
+        // 只读取需要的请求头，避免遍历全部请求头
+        for (String key : tagSet) {
+            if (!header.containsKey(key)) {
                 continue;
             }
             mismatchTags.put(key, null);
@@ -132,17 +148,43 @@ public class LoadBalancerServiceImpl implements LoadBalancerService {
             // 所有实例都含有version，所以不能存入null值
             mismatchTags.remove(VERSION_KEY);
         }
-        boolean isReturnAllInstancesWhenMismatch = false;
         if (CollectionUtils.isEmpty(mismatchTags)) {
-            // 不传入header时，优先匹配无标签实例，没有无标签实例时，返回全部实例
-            mismatchTags = allMismatchTags;
-            isReturnAllInstancesWhenMismatch = true;
+            // 不传入header时，优先匹配无标签实例，没有无标签实例时，返回全部实例，无标签实例的分组已预先计算并缓存
+            return RuleStrategyHandler.INSTANCE.getMismatchInstances(targetName, instances, allMismatchTags, true);
         }
+
+        // 每种标签组合对应的实例分组，在实例列表不变时会被缓存复用
         List<Object> result = RuleStrategyHandler.INSTANCE.getMatchInstancesByRequest(targetName, instances, tags);
         if (CollectionUtils.isEmpty(result)) {
             result = RuleStrategyHandler.INSTANCE.getMismatchInstances(targetName, instances,
-                Collections.singletonList(mismatchTags), isReturnAllInstancesWhenMismatch);
+                Collections.singletonList(mismatchTags), false);
         }
         return result;
     }
+
+    private Set<String> getRequestTags() {
+        List<String> tags = routerConfig.getRequestTags();
+        RequestTags current = requestTags;
+        if (current.source != tags) {
+            current = new RequestTags(tags);
+            requestTags = current;
+        }
+        return current.tags;
+    }
+
+    /**
+     * 请求标签集合
+     *
+     * @since 2023-01-19
+     */
+    private static class RequestTags {
+        private final List<String> source;
+
+        private final Set<String> tags;
+
+        RequestTags(List<String> source) {
+            this.source = source;
+            this.tags = CollectionUtils.isEmpty(source) ? Collections.emptySet() : new HashSet<>(source);
+        }
+    }
 }
\ No newline at end of file
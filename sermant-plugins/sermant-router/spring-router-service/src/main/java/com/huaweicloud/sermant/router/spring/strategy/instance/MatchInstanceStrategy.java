@@ -17,7 +17,9 @@
 package com.huaweicloud.sermant.router.spring.strategy.instance;
 
 import com.huaweicloud.sermant.router.config.strategy.AbstractInstanceStrategy;
+import com.huaweicloud.sermant.router.config.strategy.InstanceTagIndex;
 
+import java.util.BitSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
@@ -49,4 +51,13 @@ public class MatchInstanceStrategy<I> extends AbstractInstanceStrategy<I, Map<St
         }
         return false;
     }
+
+    @Override
+    public BitSet getMatchIndexes(InstanceTagIndex<I> index, Map<String, String> tag) {
+        BitSet bitSet = new BitSet();
+        for (Entry<String, String> entry : tag.entrySet()) {
+            bitSet.or(index.getEqualIndexes(entry.getKey(), entry.getValue()));
+        }
+        return bitSet;
+    }
 }
\ No newline at end of file
@@ -17,7 +17,9 @@
 package com.huaweicloud.sermant.router.spring.strategy.instance;
 
 import com.huaweicloud.sermant.router.config.strategy.AbstractInstanceStrategy;
+import com.huaweicloud.sermant.router.config.strategy.InstanceTagIndex;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -64,4 +66,19 @@ public class MismatchInstanceStrategy<I> extends AbstractInstanceStrategy<I, Lis
         }
         return true;
     }
+
+    @Override
+    public BitSet getMatchIndexes(InstanceTagIndex<I> index, List<Map<String, String>> tags) {
+        BitSet bitSet = index.getAllIndexes();
+        for (Map<String, String> mismatchTag : tags) {
+            for (Entry<String, String> entry : mismatchTag.entrySet()) {
+                String value = entry.getValue();
+                String key = entry.getKey();
+
+                // value为null时，要把含有该标签的全都过滤掉
+                bitSet.andNot(value == null ? index.getKeyIndexes(key) : index.getEqualIndexes(key, value));
+            }
+        }
+        return bitSet;
+    }
 }
\ No newline at end of file
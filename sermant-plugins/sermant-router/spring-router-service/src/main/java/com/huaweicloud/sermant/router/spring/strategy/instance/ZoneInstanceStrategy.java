@@ -17,7 +17,9 @@
 package com.huaweicloud.sermant.router.spring.strategy.instance;
 
 import com.huaweicloud.sermant.router.config.strategy.AbstractInstanceStrategy;
+import com.huaweicloud.sermant.router.config.strategy.InstanceTagIndex;
 
+import java.util.BitSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
@@ -42,4 +44,9 @@ public class ZoneInstanceStrategy<I> extends AbstractInstanceStrategy<I, String>
     public boolean isMatch(I instance, String zone, Function<I, Map<String, String>> mapper) {
         return Objects.equals(getMetadata(instance, mapper).get(ZONE_KEY), zone);
     }
+
+    @Override
+    public BitSet getMatchIndexes(InstanceTagIndex<I> index, String zone) {
+        return index.getEqualIndexes(ZONE_KEY, zone);
+    }
 }
\ No newline at end of file
@@ -71,15 +71,14 @@ public class RouteUtils {
             List<MatchRule> matchRuleList = entry.getValue();
             for (MatchRule matchRule : matchRuleList) {
                 ValueMatch valueMatch = matchRule.getValueMatch();
-                List<String> values = valueMatch.getValues();
                 MatchStrategy matchStrategy = valueMatch.getMatchStrategy();
                 List<String> list = header.get(key);
                 String arg = list == null ? null : list.get(0);
-                if (!isFullMatch && matchStrategy.isMatch(values, arg, matchRule.isCaseInsensitive())) {
+                if (!isFullMatch && matchStrategy.isValueMatch(valueMatch, arg, matchRule.isCaseInsensitive())) {
                     // 如果不是全匹配，且匹配了一个，那么直接return
                     return rule.getRoute();
                 }
-                if (isFullMatch && !matchStrategy.isMatch(values, arg, matchRule.isCaseInsensitive())) {
+                if (isFullMatch && !matchStrategy.isValueMatch(valueMatch, arg, matchRule.isCaseInsensitive())) {
                     // 如果是全匹配，且有一个不匹配，则继续下一个规则
                     return Collections.emptyList();
                 }
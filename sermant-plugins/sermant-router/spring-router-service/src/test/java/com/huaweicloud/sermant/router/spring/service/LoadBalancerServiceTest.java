@@ -210,6 +210,42 @@ public class LoadBalancerServiceTest {
         Assert.assertEquals(sameInstances, targetInstances);
     }
 
+    /**
+     * 测试getTargetInstancesByRequest方法复用实例分组
+     */
+    @Test
+    public void testGetTargetInstancesByRequestWithCache() {
+        config.setUseRequestRouter(true);
+        config.setRequestTags(Arrays.asList("foo", "bar", "version"));
+        List<Object> instances = new ArrayList<>();
+        ServiceInstance instance1 = TestDefaultServiceInstance.getTestDefaultServiceInstance("1.0.0",
+            Collections.singletonMap("foo", "bar1"));
+        instances.add(instance1);
+        ServiceInstance instance2 = TestDefaultServiceInstance.getTestDefaultServiceInstance("1.0.1");
+        instances.add(instance2);
+        Map<String, List<String>> header = new HashMap<>();
+        header.put("foo", Collections.singletonList("bar1"));
+
+        // 实例不变时，同一标签组合复用实例分组
+        List<Object> targetInstances = loadBalancerService.getTargetInstances("bar", instances, null, header);
+        Assert.assertEquals(Collections.singletonList(instance1), targetInstances);
+        Assert.assertSame(targetInstances, loadBalancerService.getTargetInstances("bar", instances, null, header));
+
+        // 无标签实例的分组同样复用
+        List<Object> untaggedInstances = loadBalancerService
+            .getTargetInstances("bar", instances, null, Collections.emptyMap());
+        Assert.assertEquals(Collections.singletonList(instance2), untaggedInstances);
+        Assert.assertSame(untaggedInstances,
+            loadBalancerService.getTargetInstances("bar", instances, null, Collections.emptyMap()));
+
+        // 实例变化时重新计算
+        ServiceInstance instance3 = TestDefaultServiceInstance.getTestDefaultServiceInstance("1.0.2",
+            Collections.singletonMap("foo", "bar1"));
+        instances.add(instance3);
+        targetInstances = loadBalancerService.getTargetInstances("bar", instances, null, header);
+        Assert.assertEquals(Arrays.asList(instance1, instance3), targetInstances);
+    }
+
     /**
      * 测试getTargetInstances方法只有一个下游时
      */
@@ -258,10 +294,24 @@ public class LoadBalancerServiceTest {
         Assert.assertEquals(1, targetInstances.size());
         Assert.assertEquals(instance2, targetInstances.get(0));
 
+        // 实例不变时复用同区域实例分组
+        Assert.assertSame(targetInstances, loadBalancerService.getZoneInstances("foo", instances, true));
+
+        // 没有同区域实例时返回全部实例，该结果同样复用
+        List<Object> sameInstances = new ArrayList<>(instances);
+        sameInstances.set(1, TestDefaultServiceInstance.getTestDefaultServiceInstance("1.0.1", "bar"));
+        targetInstances = loadBalancerService.getZoneInstances("foo", sameInstances, true);
+        Assert.assertEquals(sameInstances, targetInstances);
+        Assert.assertSame(targetInstances, loadBalancerService.getZoneInstances("foo", sameInstances, true));
+
         // 测试关闭开关
         targetInstances = loadBalancerService.getZoneInstances("foo", instances, false);
         Assert.assertEquals(2, targetInstances.size());
         Assert.assertEquals(instances, targetInstances);
+
+        // 实例变化时重新计算
+        instances.add(TestDefaultServiceInstance.getTestDefaultServiceInstance("1.0.2", "foo"));
+        Assert.assertEquals(2, loadBalancerService.getZoneInstances("foo", instances, true).size());
     }
 
     private void initRule() {
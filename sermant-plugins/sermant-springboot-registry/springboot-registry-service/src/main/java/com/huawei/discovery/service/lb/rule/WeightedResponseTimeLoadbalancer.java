@@ -16,18 +16,30 @@
 
 package com.huawei.discovery.service.lb.rule;
 
+import com.huawei.discovery.config.LbConfig;
 import com.huawei.discovery.entity.ServiceInstance;
-import com.huawei.discovery.service.lb.stats.InstanceStats;
+import com.huawei.discovery.factory.RealmServiceThreadFactory;
 import com.huawei.discovery.service.lb.stats.ServiceStats;
 import com.huawei.discovery.service.lb.stats.ServiceStatsManager;
 
+import com.huaweicloud.sermant.core.plugin.config.PluginConfigManager;
+
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
-import java.util.stream.Collectors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * 基于响应时间的负载均衡
+ * <p>
+ * 权重表按lbStatsRefreshIntervalMs周期在后台重建为别名表(alias method), 请求线程无锁读取, 以O(1)复杂度选择实例;
+ * 同一服务的每个不同实例列表(如按标签过滤后的子列表)各自缓存一张权重表, 仅在首次遇到该列表或未配置刷新周期时同步重建
+ * </p>
  *
  * @author zhouss
  * @since 2022-09-29
@@ -35,58 +47,303 @@ import java.util.stream.Collectors;
 public class WeightedResponseTimeLoadbalancer extends AbstractLoadbalancer {
     private static final double DOUBLE_GAP = 1e-6d;
 
+    private static final int REFRESH_QUEUE_SIZE = 100;
+
+    private static final long REFRESH_KEEP_ALIVE_SEC = 60L;
+
+    /**
+     * 每个服务最多缓存的权重表数量, 超过时淘汰最早构建的权重表
+     */
+    private static final int MAX_TABLE_SIZE = 8;
+
+    private static final ThreadPoolExecutor REFRESHER = createRefresher();
+
     private final AbstractLoadbalancer defaultLb = new RoundRobinLoadbalancer();
 
+    /**
+     * 权重表 map 服务名, 该服务各实例列表对应的权重表(新构建的在前), 列表构建后不再修改
+     */
+    private final Map<String, List<WeightTable>> weightTables = new ConcurrentHashMap<>();
+
+    private final long refreshIntervalMs;
+
+    /**
+     * 构造器
+     */
+    public WeightedResponseTimeLoadbalancer() {
+        refreshIntervalMs = PluginConfigManager.getPluginConfig(LbConfig.class).getLbStatsRefreshIntervalMs();
+    }
+
     @Override
     protected ServiceInstance doChoose(String serviceName, List<ServiceInstance> instances) {
-        final ServiceStats serviceStats = ServiceStatsManager.INSTANCE.getServiceStats(serviceName);
-        List<Double> responseTimeWeights = calculateResponseTimeWeight(serviceStats, instances);
-        double maxWeights = responseTimeWeights.get(responseTimeWeights.size() - 1);
-        if (maxWeights <= DOUBLE_GAP) {
+        WeightTable weightTable = getWeightTable(serviceName, instances);
+        if (weightTable == null || refreshIntervalMs <= 0) {
+            weightTable = buildWeightTable(serviceName, new ArrayList<>(instances));
+            putWeightTable(serviceName, weightTable);
+        } else if (System.currentTimeMillis() - weightTable.getCreateTime() >= refreshIntervalMs) {
+            refreshAsync(serviceName, weightTable);
+        }
+        if (!weightTable.isWeighted()) {
             // 此时还未开始统计响应时间, 采用轮询调用
             return defaultLb.doChoose(serviceName, instances);
         }
-        final double seed = ThreadLocalRandom.current().nextDouble(maxWeights);
-        ServiceInstance result = null;
-        for (int i = 0, size = responseTimeWeights.size(); i < size; i++) {
-            if (seed <= responseTimeWeights.get(i)) {
-                result = instances.get(i);
-                break;
+        return instances.get(weightTable.sample());
+    }
+
+    private WeightTable getWeightTable(String serviceName, List<ServiceInstance> instances) {
+        final List<WeightTable> tables = weightTables.get(serviceName);
+        if (tables == null) {
+            return null;
+        }
+        for (WeightTable table : tables) {
+            if (table.isSameInstances(instances)) {
+                return table;
             }
         }
-        if (result == null) {
-            return defaultLb.doChoose(serviceName, instances);
+        return null;
+    }
+
+    private void putWeightTable(String serviceName, WeightTable weightTable) {
+        weightTables.compute(serviceName, (key, tables) -> {
+            final List<WeightTable> result = new ArrayList<>(MAX_TABLE_SIZE);
+            result.add(weightTable);
+            if (tables != null) {
+                for (WeightTable table : tables) {
+                    if (result.size() < MAX_TABLE_SIZE && !table.isSameInstances(weightTable.getInstances())) {
+                        result.add(table);
+                    }
+                }
+            }
+            return result;
+        });
+    }
+
+    private void refreshAsync(String serviceName, WeightTable weightTable) {
+        if (!weightTable.markRefreshing()) {
+            return;
         }
-        return result;
+
+        // 权重表以其实例列表快照为键, 刷新时基于同一快照重新计算权重, 原权重表已被淘汰时丢弃刷新结果
+        REFRESHER.execute(new RefreshTask(weightTable, () -> {
+            final WeightTable refreshed = buildWeightTable(serviceName, weightTable.getInstances());
+            weightTables.computeIfPresent(serviceName, (key, tables) -> {
+                final int index = tables.indexOf(weightTable);
+                if (index < 0) {
+                    return tables;
+                }
+                final List<WeightTable> result = new ArrayList<>(tables);
+                result.set(index, refreshed);
+                return result;
+            });
+        }));
     }
 
     /**
-     * 计算响应时间权重
+     * 基于当前响应时间计算权重并构建别名表
      *
-     * @param serviceInstances 服务实例
-     * @param serviceStats 服务指标信息
-     * @return 权重列表
+     * @param serviceName 服务名
+     * @param instances 服务实例
+     * @return 权重表
      */
-    private List<Double> calculateResponseTimeWeight(ServiceStats serviceStats,
-            List<ServiceInstance> serviceInstances) {
-        final List<InstanceStats> instanceStats = serviceInstances.stream().map(serviceStats::getStats)
-                .collect(Collectors.toList());
+    private WeightTable buildWeightTable(String serviceName, List<ServiceInstance> instances) {
+        final ServiceStats serviceStats = ServiceStatsManager.INSTANCE.getServiceStats(serviceName);
+        final int size = instances.size();
+        final double[] responseTimes = new double[size];
         double total = 0d;
-        for (InstanceStats stats : instanceStats) {
-            total += stats.getResponseAvgTime();
+        for (int i = 0; i < size; i++) {
+            responseTimes[i] = serviceStats.getStats(instances.get(i)).getResponseAvgTime();
+            total += responseTimes[i];
+        }
+        final double[] weights = new double[size];
+        double totalWeight = 0d;
+        for (int i = 0; i < size; i++) {
+            weights[i] = total - responseTimes[i];
+            totalWeight += weights[i];
+        }
+        if (totalWeight <= DOUBLE_GAP) {
+            return new WeightTable(instances, null, null);
+        }
+        final double[] probabilities = new double[size];
+        final int[] aliases = new int[size];
+        buildAlias(weights, totalWeight, probabilities, aliases);
+        return new WeightTable(instances, probabilities, aliases);
+    }
+
+    /**
+     * 构建别名表(Vose算法), 将权重归一化后拆分为size个等概率的桶, 每个桶最多包含两个实例
+     *
+     * @param weights 权重
+     * @param totalWeight 权重总和
+     * @param probabilities 各桶选中自身实例的概率
+     * @param aliases 各桶的别名实例下标
+     */
+    private void buildAlias(double[] weights, double totalWeight, double[] probabilities, int[] aliases) {
+        final int size = weights.length;
+        final double[] scaled = new double[size];
+        final int[] small = new int[size];
+        final int[] large = new int[size];
+        int smallSize = 0;
+        int largeSize = 0;
+        for (int i = 0; i < size; i++) {
+            scaled[i] = weights[i] * size / totalWeight;
+            if (scaled[i] < 1d) {
+                small[smallSize++] = i;
+            } else {
+                large[largeSize++] = i;
+            }
         }
-        double indexWeight = 0d;
-        final List<Double> weights = new ArrayList<>(instanceStats.size());
-        for (InstanceStats stats : instanceStats) {
-            final double curWeight = total - stats.getResponseAvgTime();
-            indexWeight += curWeight;
-            weights.add(indexWeight);
+        while (smallSize > 0 && largeSize > 0) {
+            final int less = small[--smallSize];
+            final int more = large[--largeSize];
+            probabilities[less] = scaled[less];
+            aliases[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1d;
+            if (scaled[more] < 1d) {
+                small[smallSize++] = more;
+            } else {
+                large[largeSize++] = more;
+            }
+        }
+
+        // 剩余的桶由浮点误差导致, 直接选中自身
+        while (largeSize > 0) {
+            probabilities[large[--largeSize]] = 1d;
+        }
+        while (smallSize > 0) {
+            probabilities[small[--smallSize]] = 1d;
+        }
+    }
+
+    private static ThreadPoolExecutor createRefresher() {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, REFRESH_KEEP_ALIVE_SEC, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(REFRESH_QUEUE_SIZE),
+                new RealmServiceThreadFactory("springboot-registry-lb-weight-refresh-thread"),
+                WeightedResponseTimeLoadbalancer::onRefreshRejected);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 刷新任务被拒绝时丢弃该任务, 并重置刷新标记, 以便下次请求重新提交
+     *
+     * @param task 刷新任务
+     * @param executor 线程池
+     */
+    static void onRefreshRejected(Runnable task, ThreadPoolExecutor executor) {
+        if (task instanceof RefreshTask) {
+            ((RefreshTask) task).weightTable.resetRefreshing();
         }
-        return weights;
     }
 
     @Override
     public String lbType() {
         return "WeightedResponseTime";
     }
+
+    /**
+     * 权重表, 构建后不再修改, 供请求线程无锁读取
+     *
+     * @since 2023-01-19
+     */
+    static class WeightTable {
+        private final List<ServiceInstance> instances;
+
+        private final double[] probabilities;
+
+        private final int[] aliases;
+
+        private final long createTime = System.currentTimeMillis();
+
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        WeightTable(List<ServiceInstance> instances, double[] probabilities, int[] aliases) {
+            this.instances = instances;
+            this.probabilities = probabilities;
+            this.aliases = aliases;
+        }
+
+        /**
+         * 按权重选择实例下标
+         *
+         * @return 实例下标
+         */
+        int sample() {
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            final int index = random.nextInt(probabilities.length);
+            return random.nextDouble() < probabilities[index] ? index : aliases[index];
+        }
+
+        /**
+         * 标记为刷新中, 避免重复提交刷新任务
+         *
+         * @return 是否标记成功
+         */
+        boolean markRefreshing() {
+            return refreshing.compareAndSet(false, true);
+        }
+
+        /**
+         * 重置刷新标记, 刷新任务结束或未能执行时调用
+         */
+        void resetRefreshing() {
+            refreshing.set(false);
+        }
+
+        boolean isWeighted() {
+            return probabilities != null;
+        }
+
+        /**
+         * 判断是否为该权重表对应的实例列表
+         *
+         * @param target 实例列表
+         * @return 是否一致
+         */
+        boolean isSameInstances(List<ServiceInstance> target) {
+            if (target.size() != instances.size()) {
+                return false;
+            }
+            for (int i = 0; i < instances.size(); i++) {
+                final ServiceInstance instance = instances.get(i);
+                final ServiceInstance other = target.get(i);
+                if (instance != other && !instance.equals(other)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        List<ServiceInstance> getInstances() {
+            return instances;
+        }
+
+        long getCreateTime() {
+            return createTime;
+        }
+    }
+
+    /**
+     * 权重表刷新任务, 无论刷新是否成功都会重置刷新标记
+     *
+     * @since 2023-01-19
+     */
+    static class RefreshTask implements Runnable {
+        private final WeightTable weightTable;
+
+        private final Runnable refresher;
+
+        RefreshTask(WeightTable weightTable, Runnable refresher) {
+            this.weightTable = weightTable;
+            this.refresher = refresher;
+        }
+
+        @Override
+        public void run() {
+            try {
+                refresher.run();
+            } finally {
+                weightTable.resetRefreshing();
+            }
+        }
+    }
 }
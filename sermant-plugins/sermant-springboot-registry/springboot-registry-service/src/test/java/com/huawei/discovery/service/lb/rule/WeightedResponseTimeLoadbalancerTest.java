@@ -26,6 +26,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -68,6 +69,121 @@ public class WeightedResponseTimeLoadbalancerTest extends BaseLoadbalancerTest {
         Assert.assertTrue(count1 < count2);
     }
 
+    @Test
+    public void doChooseWithInstanceChanged() {
+        final WeightedResponseTimeLoadbalancer weightedResponseTimeLoadbalancer =
+                new WeightedResponseTimeLoadbalancer();
+        String serviceName = "lb-changed";
+        final ServiceInstance serviceInstance1 = CommonUtils.buildInstance(serviceName, 9999);
+        final ServiceInstance serviceInstance2 = CommonUtils.buildInstance(serviceName, 8888);
+        final ServiceInstance serviceInstance3 = CommonUtils.buildInstance(serviceName, 7777);
+        final InstanceStats stats2 = ServiceStatsManager.INSTANCE.getInstanceStats(serviceInstance2);
+        stats2.beforeRequest();
+        stats2.afterRequest(1000L);
+        Assert.assertTrue(weightedResponseTimeLoadbalancer
+                .choose(serviceName, Arrays.asList(serviceInstance1, serviceInstance2)).isPresent());
+
+        // 实例列表变化后, 只会选中新列表中的实例
+        final List<ServiceInstance> serviceInstances = Arrays.asList(serviceInstance3, serviceInstance2);
+        for (int i = 0; i < 100; i++) {
+            final Optional<ServiceInstance> choose = weightedResponseTimeLoadbalancer
+                    .choose(serviceName, serviceInstances);
+            Assert.assertTrue(choose.isPresent());
+            Assert.assertEquals(serviceInstance3, choose.get());
+        }
+    }
+
+    @Test
+    public void doChooseWithDifferentInstanceLists() {
+        final WeightedResponseTimeLoadbalancer weightedResponseTimeLoadbalancer =
+                new WeightedResponseTimeLoadbalancer();
+        String serviceName = "lb-sub-list";
+        final ServiceInstance serviceInstance1 = CommonUtils.buildInstance(serviceName, 9999);
+        final ServiceInstance serviceInstance2 = CommonUtils.buildInstance(serviceName, 8888);
+        final ServiceInstance serviceInstance3 = CommonUtils.buildInstance(serviceName, 7777);
+        final InstanceStats stats1 = ServiceStatsManager.INSTANCE.getInstanceStats(serviceInstance1);
+        stats1.beforeRequest();
+        stats1.afterRequest(1000L);
+        final List<ServiceInstance> firstList = Arrays.asList(serviceInstance1, serviceInstance2);
+        final List<ServiceInstance> secondList = Arrays.asList(serviceInstance2, serviceInstance3);
+        Assert.assertEquals(serviceInstance2, weightedResponseTimeLoadbalancer.choose(serviceName, firstList)
+                .orElse(null));
+        final InstanceStats stats2 = ServiceStatsManager.INSTANCE.getInstanceStats(serviceInstance2);
+        for (int i = 0; i < 10; i++) {
+            stats2.beforeRequest();
+            stats2.afterRequest(100000L);
+        }
+
+        // 不同实例列表各自缓存权重表, 交替调用时不会重建, 刷新周期内沿用已构建的权重
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(serviceInstance3, weightedResponseTimeLoadbalancer.choose(serviceName, secondList)
+                    .orElse(null));
+            Assert.assertEquals(serviceInstance2, weightedResponseTimeLoadbalancer.choose(serviceName, firstList)
+                    .orElse(null));
+        }
+    }
+
+    @Test
+    public void doChooseWithoutRefreshInterval() {
+        lbConfig.setLbStatsRefreshIntervalMs(0L);
+        final WeightedResponseTimeLoadbalancer weightedResponseTimeLoadbalancer =
+                new WeightedResponseTimeLoadbalancer();
+        int port1 = 9999;
+        String serviceName = "lb-refresh";
+        final ServiceInstance serviceInstance1 = CommonUtils.buildInstance(serviceName, port1);
+        final ServiceInstance serviceInstance2 = CommonUtils.buildInstance(serviceName, 8888);
+        final List<ServiceInstance> serviceInstances = Arrays.asList(serviceInstance1, serviceInstance2);
+
+        // 未统计响应时间时采用轮询
+        int count1 = 0;
+        for (int i = 0; i < 10; i++) {
+            final Optional<ServiceInstance> choose = weightedResponseTimeLoadbalancer
+                    .choose(serviceName, serviceInstances);
+            Assert.assertTrue(choose.isPresent());
+            if (choose.get().getPort() == port1) {
+                count1++;
+            }
+        }
+        Assert.assertEquals(5, count1);
+
+        // 未配置刷新周期时每次都基于最新的响应时间计算权重
+        final InstanceStats stats1 = ServiceStatsManager.INSTANCE.getInstanceStats(serviceInstance1);
+        stats1.beforeRequest();
+        stats1.afterRequest(1000L);
+        for (int i = 0; i < 100; i++) {
+            final Optional<ServiceInstance> choose = weightedResponseTimeLoadbalancer
+                    .choose(serviceName, serviceInstances);
+            Assert.assertTrue(choose.isPresent());
+            Assert.assertEquals(serviceInstance2, choose.get());
+        }
+    }
+
+    @Test
+    public void resetRefreshingWhenRefreshFailed() {
+        final WeightedResponseTimeLoadbalancer.WeightTable weightTable = new WeightedResponseTimeLoadbalancer
+                .WeightTable(Collections.emptyList(), null, null);
+
+        // 刷新任务被拒绝后可重新提交
+        Assert.assertTrue(weightTable.markRefreshing());
+        final WeightedResponseTimeLoadbalancer.RefreshTask rejectedTask = new WeightedResponseTimeLoadbalancer
+                .RefreshTask(weightTable, () -> { });
+        WeightedResponseTimeLoadbalancer.onRefreshRejected(rejectedTask, null);
+        Assert.assertTrue(weightTable.markRefreshing());
+
+        // 刷新异常后可重新提交
+        final WeightedResponseTimeLoadbalancer.RefreshTask failedTask = new WeightedResponseTimeLoadbalancer
+                .RefreshTask(weightTable, () -> {
+                    throw new IllegalStateException("refresh failed");
+                });
+        try {
+            failedTask.run();
+            Assert.fail();
+        } catch (IllegalStateException ignored) {
+            // 刷新异常向上抛出
+        }
+        Assert.assertTrue(weightTable.markRefreshing());
+    }
+
     @Override
     protected AbstractLoadbalancer getLb() {
         return new WeightedResponseTimeLoadbalancer();